@@ -0,0 +1,191 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.wildfly.clustering.ee.Manager;
+
+/**
+ * Manages creation and destruction of values to be shared across threads.
+ * Unlike {@link ConcurrentManager}, values are tracked via mutable reference counters updated via compare-and-swap, so that acquiring an existing value neither allocates nor locks.
+ * References are distributed across a number of independent maps to reduce contention between unrelated keys.
+ * @param <K> the key type
+ * @param <V> the type of the managed value
+ */
+public class StripedConcurrentManager<K, V> implements Manager<K, V> {
+
+    private static final int DEFAULT_STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+
+    private final ConcurrentMap<K, Reference<K, V>>[] stripes;
+    private final int mask;
+    private final Consumer<V> createTask;
+    private final Consumer<V> closeTask;
+
+    public StripedConcurrentManager(Consumer<V> createTask, Consumer<V> closeTask) {
+        this(createTask, closeTask, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a manager using the specified number of stripes.
+     * @param createTask a task to run when a value is created
+     * @param closeTask a task to run when a value is closed
+     * @param stripes the number of stripes, rounded up to the next power of 2
+     */
+    @SuppressWarnings("unchecked")
+    public StripedConcurrentManager(Consumer<V> createTask, Consumer<V> closeTask, int stripes) {
+        int size = Integer.highestOneBit(Math.max(stripes, 1));
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new ConcurrentMap[size];
+        for (int i = 0; i < size; ++i) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.mask = size - 1;
+        this.createTask = createTask;
+        this.closeTask = closeTask;
+    }
+
+    @Override
+    public V apply(K key, Function<Runnable, V> factory) {
+        ConcurrentMap<K, Reference<K, V>> references = this.stripes[spread(key.hashCode()) & this.mask];
+        Reference<K, V> reference = references.get(key);
+        while ((reference == null) || !reference.acquire()) {
+            if (reference != null) {
+                // Reference was closed concurrently - this blocks until the closing thread has closed its value and removed its mapping
+                references.remove(key, reference);
+            }
+            Reference<K, V> newReference = new Reference<>(references, key, this.closeTask);
+            Reference<K, V> existing = references.putIfAbsent(key, newReference);
+            if (existing == null) {
+                reference = newReference;
+                break;
+            }
+            reference = existing;
+        }
+        V value = reference.value;
+        if (value == null) {
+            synchronized (reference) {
+                value = reference.value;
+                if (value == null) {
+                    // The reference itself acts as the close task
+                    value = factory.apply(reference);
+                    if (value != null) {
+                        this.createTask.accept(value);
+                        reference.value = value;
+                    } else {
+                        reference.run();
+                    }
+                }
+            }
+        }
+        return value;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A reference counted value.
+     * A count of 0 indicates that the reference was closed, and can no longer be acquired.
+     */
+    private static class Reference<K, V> implements Runnable, BiFunction<K, Reference<K, V>, Reference<K, V>> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Reference> COUNT_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Reference.class, "count");
+
+        private final ConcurrentMap<K, Reference<K, V>> references;
+        private final K key;
+        private final Consumer<V> closeTask;
+
+        // Created with a count of 1 on behalf of its creator
+        private volatile int count = 1;
+        volatile V value;
+
+        Reference(ConcurrentMap<K, Reference<K, V>> references, K key, Consumer<V> closeTask) {
+            this.references = references;
+            this.key = key;
+            this.closeTask = closeTask;
+        }
+
+        boolean acquire() {
+            int current = this.count;
+            while (current > 0) {
+                if (COUNT_UPDATER.compareAndSet(this, current, current + 1)) {
+                    return true;
+                }
+                current = this.count;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            int current = this.count;
+            // Count can be 0 if reference was already closed
+            while (current > 0) {
+                if (current == 1) {
+                    // Release of the last reference must be atomic with removal of the mapping
+                    // so that a concurrent acquisition of the same key cannot create a new value before this value is closed
+                    this.references.computeIfPresent(this.key, this);
+                    return;
+                }
+                if (COUNT_UPDATER.compareAndSet(this, current, current - 1)) {
+                    return;
+                }
+                current = this.count;
+            }
+        }
+
+        @Override
+        public Reference<K, V> apply(K key, Reference<K, V> reference) {
+            if (reference != this) {
+                // Our reference was already removed
+                return reference;
+            }
+            int current = this.count;
+            while (current > 0) {
+                if (COUNT_UPDATER.compareAndSet(this, current, current - 1)) {
+                    if (current > 1) {
+                        // Reference was acquired concurrently
+                        return this;
+                    }
+                    V value = this.value;
+                    if (value != null) {
+                        this.closeTask.accept(value);
+                    }
+                    // Returning null will remove the mapping
+                    return null;
+                }
+                current = this.count;
+            }
+            return null;
+        }
+    }
+}
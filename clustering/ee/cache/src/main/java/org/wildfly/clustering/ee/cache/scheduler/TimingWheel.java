@@ -0,0 +1,396 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Hashed timing wheel shared by any number of schedulers.
+ * A single worker thread advances the wheel by one bucket per tick, and hands off each batch of expired entries, grouped by {@link Target}, to an executor.
+ * Both {@link #schedule(Target, Object, Instant)} and {@link Timeout#cancel()} run in O(1) time.
+ * Entries may expire up to one tick later than their requested deadline.
+ */
+public class TimingWheel implements AutoCloseable {
+
+    static final String TICK_PROPERTY = "org.wildfly.clustering.ee.scheduler.tick";
+    static final String SIZE_PROPERTY = "org.wildfly.clustering.ee.scheduler.wheel-size";
+
+    private static final Duration DEFAULT_TICK = Duration.ofMillis(Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(TICK_PROPERTY, "100")));
+    private static final int DEFAULT_SIZE = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(SIZE_PROPERTY, "512"));
+
+    // Lazily creates the shared instance
+    private static class DefaultTimingWheelHolder {
+        static final TimingWheel INSTANCE = createDefaultTimingWheel();
+
+        private static TimingWheel createDefaultTimingWheel() {
+            ThreadFactory threadFactory = new DefaultThreadFactory(TimingWheel.class);
+            int threads = Runtime.getRuntime().availableProcessors();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            return new TimingWheel(DEFAULT_TICK, DEFAULT_SIZE, threadFactory, executor);
+        }
+    }
+
+    /**
+     * Returns the timing wheel shared by all schedulers of this server.
+     * @return a shared timing wheel
+     */
+    public static TimingWheel getInstance() {
+        return DefaultTimingWheelHolder.INSTANCE;
+    }
+
+    /**
+     * The recipient of expired entries.
+     * @param <K> the entry key type
+     */
+    public interface Target<K> {
+        /**
+         * Invoked, via the executor of the timing wheel, with the entries of this target that expired during a single tick.
+         * @param timeouts a batch of expired entries
+         */
+        void expire(List<Timeout<K>> timeouts);
+    }
+
+    /**
+     * A handle to a scheduled entry.
+     * @param <K> the entry key type
+     */
+    public interface Timeout<K> {
+        /**
+         * Returns the key of this entry.
+         * @return the entry key
+         */
+        K getKey();
+
+        /**
+         * Cancels this entry, if it has not yet expired.
+         * @return true, if this entry was cancelled, false if it already expired or was previously cancelled.
+         */
+        boolean cancel();
+    }
+
+    private final long tickNanos;
+    private final Bucket[] buckets;
+    private final int mask;
+    private final Executor executor;
+    private final Thread worker;
+    private final Queue<Entry<?>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry<?>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+
+    private volatile long lagNanos = 0L;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new timing wheel.
+     * @param tick the duration of a single tick of the wheel
+     * @param size the number of buckets of the wheel, rounded up to the next power of 2
+     * @param threadFactory the factory for the worker thread that advances the wheel
+     * @param executor the executor to which batches of expired entries are handed off
+     */
+    public TimingWheel(Duration tick, int size, ThreadFactory threadFactory, Executor executor) {
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException(tick.toString());
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException(Integer.toString(size));
+        }
+        this.tickNanos = tick.toNanos();
+        int buckets = Integer.highestOneBit(size);
+        if (buckets < size) {
+            buckets <<= 1;
+        }
+        this.buckets = new Bucket[buckets];
+        for (int i = 0; i < buckets; ++i) {
+            this.buckets[i] = new Bucket();
+        }
+        this.mask = buckets - 1;
+        this.executor = executor;
+        this.worker = threadFactory.newThread(new Worker());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules the specified key to expire at the specified instant.
+     * @param target the recipient of the entry upon expiration
+     * @param key the entry key
+     * @param instant the instant at which the entry should expire
+     * @return a handle to the scheduled entry
+     */
+    public <K> Timeout<K> schedule(Target<K> target, K key, Instant instant) {
+        Entry<K> entry = new Entry<>(this, target, key, this.elapsedNanos() + toNanos(Duration.between(Instant.now(), instant)));
+        if (!this.closed) {
+            this.pending.incrementAndGet();
+            this.scheduled.add(entry);
+        } else {
+            entry.state = Entry.CANCELLED;
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the number of entries that are scheduled, but have not yet expired nor been cancelled.
+     * @return the number of pending entries
+     */
+    public long getPendingCount() {
+        return this.pending.get();
+    }
+
+    /**
+     * Returns the amount by which the most recent tick of the wheel was delayed.
+     * @return the lag of the most recent tick
+     */
+    public Duration getLag() {
+        return Duration.ofNanos(this.lagNanos);
+    }
+
+    /**
+     * Returns the duration of a single tick of this wheel.
+     * @return the tick duration
+     */
+    public Duration getTick() {
+        return Duration.ofNanos(this.tickNanos);
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.worker.interrupt();
+        if (this.executor instanceof ExecutorService) {
+            WildFlySecurityManager.doPrivilegedWithParameter((ExecutorService) this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+        }
+    }
+
+    private long elapsedNanos() {
+        return System.nanoTime() - this.startNanos;
+    }
+
+    private static long toNanos(Duration delay) {
+        if (delay.isNegative()) return 0L;
+        // Avoid overflow for very distant deadlines
+        return (delay.getSeconds() < TimeUnit.NANOSECONDS.toSeconds(Long.MAX_VALUE / 2)) ? delay.toNanos() : Long.MAX_VALUE / 2;
+    }
+
+    void cancelled(Entry<?> entry) {
+        this.pending.decrementAndGet();
+        this.cancelled.add(entry);
+    }
+
+    private class Worker implements Runnable {
+        private long tick = 0L;
+
+        @Override
+        public void run() {
+            TimingWheel wheel = TimingWheel.this;
+            while (!wheel.closed) {
+                long deadline = wheel.tickNanos * (this.tick + 1);
+                long elapsed = wheel.elapsedNanos();
+                while (elapsed < deadline) {
+                    LockSupport.parkNanos(deadline - elapsed);
+                    if (wheel.closed) return;
+                    elapsed = wheel.elapsedNanos();
+                }
+                wheel.lagNanos = elapsed - deadline;
+                this.removeCancelled();
+                this.transferScheduled();
+                Map<Target<?>, List<Timeout<?>>> expired = wheel.buckets[(int) (this.tick & wheel.mask)].expire();
+                for (Map.Entry<Target<?>, List<Timeout<?>>> entry : expired.entrySet()) {
+                    wheel.pending.addAndGet(-entry.getValue().size());
+                    this.dispatch(entry.getKey(), entry.getValue());
+                }
+                this.tick += 1;
+            }
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private void dispatch(Target target, List timeouts) {
+            try {
+                TimingWheel.this.executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        target.expire(timeouts);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Wheel was closed
+            }
+        }
+
+        private void removeCancelled() {
+            Entry<?> entry = TimingWheel.this.cancelled.poll();
+            while (entry != null) {
+                if (entry.bucket != null) {
+                    entry.bucket.remove(entry);
+                }
+                entry = TimingWheel.this.cancelled.poll();
+            }
+        }
+
+        private void transferScheduled() {
+            TimingWheel wheel = TimingWheel.this;
+            Entry<?> entry = wheel.scheduled.poll();
+            while (entry != null) {
+                if (entry.state == Entry.SCHEDULED) {
+                    long ticks = entry.deadline / wheel.tickNanos;
+                    entry.rounds = Math.max(ticks - this.tick, 0L) / wheel.buckets.length;
+                    // Never schedule into a bucket that has already passed
+                    wheel.buckets[(int) (Math.max(ticks, this.tick) & wheel.mask)].add(entry);
+                }
+                entry = wheel.scheduled.poll();
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of entries, accessed only by the worker thread.
+     */
+    private static class Bucket {
+        private Entry<?> head;
+        private Entry<?> tail;
+
+        void add(Entry<?> entry) {
+            entry.bucket = this;
+            if (this.head == null) {
+                this.head = entry;
+                this.tail = entry;
+            } else {
+                this.tail.next = entry;
+                entry.previous = this.tail;
+                this.tail = entry;
+            }
+        }
+
+        Entry<?> remove(Entry<?> entry) {
+            Entry<?> next = entry.next;
+            if (entry.previous != null) {
+                entry.previous.next = next;
+            }
+            if (entry.next != null) {
+                entry.next.previous = entry.previous;
+            }
+            if (entry == this.head) {
+                this.head = next;
+            }
+            if (entry == this.tail) {
+                this.tail = entry.previous;
+            }
+            entry.previous = null;
+            entry.next = null;
+            entry.bucket = null;
+            return next;
+        }
+
+        Map<Target<?>, List<Timeout<?>>> expire() {
+            Map<Target<?>, List<Timeout<?>>> expired = new IdentityHashMap<>();
+            Entry<?> entry = this.head;
+            while (entry != null) {
+                if (entry.rounds <= 0L) {
+                    Entry<?> next = this.remove(entry);
+                    if (entry.expire()) {
+                        expired.computeIfAbsent(entry.target, key -> new ArrayList<>()).add(entry);
+                    }
+                    entry = next;
+                } else {
+                    entry.rounds -= 1L;
+                    entry = entry.next;
+                }
+            }
+            return expired;
+        }
+    }
+
+    private static class Entry<K> implements Timeout<K> {
+        static final int SCHEDULED = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Entry> STATE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+        private final TimingWheel wheel;
+        final Target<K> target;
+        private final K key;
+        final long deadline;
+
+        volatile int state = SCHEDULED;
+
+        // Accessed only by the worker thread
+        long rounds;
+        Bucket bucket;
+        Entry<?> previous;
+        Entry<?> next;
+
+        Entry(TimingWheel wheel, Target<K> target, K key, long deadline) {
+            this.wheel = wheel;
+            this.target = target;
+            this.key = key;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public K getKey() {
+            return this.key;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (STATE_UPDATER.compareAndSet(this, SCHEDULED, CANCELLED)) {
+                this.wheel.cancelled(this);
+                return true;
+            }
+            return false;
+        }
+
+        boolean expire() {
+            return STATE_UPDATER.compareAndSet(this, SCHEDULED, EXPIRED);
+        }
+
+        @Override
+        public String toString() {
+            return this.key.toString();
+        }
+    }
+}
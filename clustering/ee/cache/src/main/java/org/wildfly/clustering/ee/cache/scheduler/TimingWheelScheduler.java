@@ -0,0 +1,188 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import org.wildfly.clustering.ee.Scheduler;
+
+/**
+ * Scheduler that registers its entries with a {@link TimingWheel}, typically shared with other schedulers.
+ * Unlike {@link LocalScheduler}, this scheduler requires no thread of its own, and both {@link #schedule(Object, Instant)} and {@link #cancel(Object)} run in O(1) time.
+ * Entries for which the task fails are retried with exponential backoff, starting at one tick of the wheel.
+ */
+public class TimingWheelScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, TimingWheel.Target<T> {
+
+    private final TimingWheel wheel;
+    private final Predicate<T> task;
+    private final Duration closeTimeout;
+    private final Map<T, TimingWheel.Timeout<T>> timeouts = new ConcurrentHashMap<>();
+    // Number of consecutive failed attempts per entry
+    private final Map<T, Integer> failures = new ConcurrentHashMap<>();
+    // Held while a batch of expired entries is processed
+    private final Lock lock = new ReentrantLock();
+
+    private volatile boolean closed = false;
+
+    public TimingWheelScheduler(Predicate<T> task, Duration closeTimeout) {
+        this(TimingWheel.getInstance(), task, closeTimeout);
+    }
+
+    public TimingWheelScheduler(TimingWheel wheel, Predicate<T> task, Duration closeTimeout) {
+        this.wheel = wheel;
+        this.task = task;
+        this.closeTimeout = closeTimeout;
+    }
+
+    static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+    @Override
+    public void schedule(T id, Instant instant) {
+        if (this.closed) return;
+        this.failures.remove(id);
+        TimingWheel.Timeout<T> previous = this.timeouts.put(id, this.wheel.schedule(this, id, instant));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    @Override
+    public void cancel(T id) {
+        this.failures.remove(id);
+        TimingWheel.Timeout<T> timeout = this.timeouts.remove(id);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<Map.Entry<T, TimingWheel.Timeout<T>>> entries = this.timeouts.entrySet().iterator();
+        return new Iterator<T>() {
+            private Map.Entry<T, TimingWheel.Timeout<T>> current = null;
+
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public T next() {
+                this.current = entries.next();
+                return this.current.getKey();
+            }
+
+            @Override
+            public void remove() {
+                entries.remove();
+                TimingWheelScheduler.this.failures.remove(this.current.getKey());
+                this.current.getValue().cancel();
+            }
+        };
+    }
+
+    @Override
+    public void expire(List<TimingWheel.Timeout<T>> timeouts) {
+        this.lock.lock();
+        try {
+            ListIterator<TimingWheel.Timeout<T>> expired = timeouts.listIterator();
+            while (expired.hasNext() && !this.closed) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // Defer the remainder of this batch to the next tick, rather than dropping it
+                    while (expired.hasNext()) {
+                        this.reschedule(expired.next(), Instant.now());
+                    }
+                    return;
+                }
+                TimingWheel.Timeout<T> timeout = expired.next();
+                T id = timeout.getKey();
+                // Skip entries that were rescheduled or cancelled after expiration
+                if (this.timeouts.get(id) == timeout) {
+                    // Remove only if task is successful
+                    if (this.task.test(id)) {
+                        if (this.timeouts.remove(id, timeout)) {
+                            this.failures.remove(id);
+                        }
+                    } else {
+                        int attempts = this.failures.merge(id, 1, Integer::sum);
+                        if (!this.reschedule(timeout, Instant.now().plus(this.getRetryDelay(attempts)))) {
+                            this.failures.remove(id);
+                        }
+                    }
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the delay before the specified retry attempt of a failed entry.
+     * @param attempts the number of consecutive failed attempts
+     * @return a retry delay, doubling with each attempt, up to {@link #MAX_RETRY_DELAY}
+     */
+    Duration getRetryDelay(int attempts) {
+        Duration delay = this.wheel.getTick().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return (delay.compareTo(MAX_RETRY_DELAY) < 0) ? delay : MAX_RETRY_DELAY;
+    }
+
+    private boolean reschedule(TimingWheel.Timeout<T> timeout, Instant instant) {
+        T id = timeout.getKey();
+        TimingWheel.Timeout<T> retry = this.wheel.schedule(this, id, instant);
+        if (!this.timeouts.replace(id, timeout, retry)) {
+            retry.cancel();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        Iterator<T> entries = this.iterator();
+        while (entries.hasNext()) {
+            entries.next();
+            entries.remove();
+        }
+        // Wait for any in-progress expiration to complete
+        if (!this.closeTimeout.isNegative() && !this.closeTimeout.isZero()) {
+            try {
+                if (this.lock.tryLock(this.closeTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    this.lock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -23,28 +23,50 @@
 package org.wildfly.clustering.ee.cache;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
 import org.wildfly.clustering.ee.Manager;
 
 /**
+ * Unit test for {@link ConcurrentManager} and {@link StripedConcurrentManager}.
  * @author Paul Ferraro
  */
+@RunWith(value = Parameterized.class)
 public class ConcurrentManagerTestCase {
 
     private static final int KEYS = 10;
     private static final int SIZE = 100;
 
+    @Parameters
+    public static Iterable<BiFunction<Consumer<ManagedObject>, Consumer<ManagedObject>, Manager<Integer, ManagedObject>>> parameters() {
+        return Arrays.asList(ConcurrentManager::new, StripedConcurrentManager::new);
+    }
+
+    private final BiFunction<Consumer<ManagedObject>, Consumer<ManagedObject>, Manager<Integer, ManagedObject>> factory;
+
+    public ConcurrentManagerTestCase(BiFunction<Consumer<ManagedObject>, Consumer<ManagedObject>, Manager<Integer, ManagedObject>> factory) {
+        this.factory = factory;
+    }
+
     @Test
     public void test() throws InterruptedException, ExecutionException {
-        Manager<Integer, ManagedObject> manager = new ConcurrentManager<>(ManagedObject::created, ManagedObject::closed);
+        Manager<Integer, ManagedObject> manager = this.factory.apply(ManagedObject::created, ManagedObject::closed);
         List<List<Future<ManagedObject>>> keyFutures = new ArrayList<>(KEYS);
         ExecutorService executor = Executors.newFixedThreadPool(KEYS);
         try {
@@ -83,7 +105,48 @@ public class ConcurrentManagerTestCase {
         }
     }
 
-    private static class ManagedObject implements AutoCloseable {
+    @Test
+    public void closeBeforeRecreate() throws Exception {
+        CountDownLatch closing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        Consumer<ManagedObject> closeTask = object -> {
+            closing.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            object.closed();
+        };
+        Manager<Integer, ManagedObject> manager = this.factory.apply(ManagedObject::created, closeTask);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ManagedObject object = manager.apply(0, ManagedObject::new);
+            Future<?> close = executor.submit(object::close);
+            Assert.assertTrue(closing.await(10, TimeUnit.SECONDS));
+
+            // A new value must not be created until the previous value was closed
+            Future<ManagedObject> future = executor.submit(() -> manager.apply(0, ManagedObject::new));
+            try {
+                future.get(100, TimeUnit.MILLISECONDS);
+                Assert.fail("New value created while previous value was closing");
+            } catch (TimeoutException e) {
+                // Expected
+            }
+            proceed.countDown();
+            close.get();
+
+            ManagedObject newObject = future.get();
+            Assert.assertNotSame(object, newObject);
+            Assert.assertTrue(object.isClosed());
+            Assert.assertFalse(newObject.isClosed());
+        } finally {
+            proceed.countDown();
+            executor.shutdown();
+        }
+    }
+
+    static class ManagedObject implements AutoCloseable {
         private volatile boolean created = false;
         private volatile boolean closed = false;
         private final Runnable closeTask;
@@ -0,0 +1,160 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheelScheduler}.
+ */
+public class TimingWheelSchedulerTestCase {
+
+    private TimingWheel wheel;
+
+    @Before
+    public void init() {
+        this.wheel = new TimingWheel(Duration.ofMillis(10L), 8, Executors.defaultThreadFactory(), Executors.newSingleThreadExecutor());
+    }
+
+    @After
+    public void destroy() {
+        this.wheel.close();
+    }
+
+    @Test
+    public void successfulTask() throws InterruptedException {
+        Predicate<UUID> task = mock(Predicate.class);
+        UUID id = UUID.randomUUID();
+
+        try (TimingWheelScheduler<UUID> scheduler = new TimingWheelScheduler<>(this.wheel, task, Duration.ZERO)) {
+            when(task.test(id)).thenReturn(true);
+
+            scheduler.schedule(id, Instant.now());
+
+            Thread.sleep(500);
+
+            verify(task).test(id);
+            Assert.assertFalse(scheduler.iterator().hasNext());
+            Assert.assertEquals(0L, this.wheel.getPendingCount());
+        }
+    }
+
+    @Test
+    public void retryUntilSuccessfulTask() throws InterruptedException {
+        Predicate<UUID> task = mock(Predicate.class);
+        UUID id = UUID.randomUUID();
+
+        try (TimingWheelScheduler<UUID> scheduler = new TimingWheelScheduler<>(this.wheel, task, Duration.ZERO)) {
+            when(task.test(id)).thenReturn(false, true);
+
+            scheduler.schedule(id, Instant.now());
+
+            Thread.sleep(500);
+
+            verify(task, times(2)).test(id);
+            Assert.assertFalse(scheduler.iterator().hasNext());
+        }
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        Predicate<UUID> task = mock(Predicate.class);
+        UUID id = UUID.randomUUID();
+
+        try (TimingWheelScheduler<UUID> scheduler = new TimingWheelScheduler<>(this.wheel, task, Duration.ZERO)) {
+            scheduler.schedule(id, Instant.now().plusMillis(100L));
+            Assert.assertEquals(1L, this.wheel.getPendingCount());
+
+            scheduler.cancel(id);
+
+            Assert.assertEquals(0L, this.wheel.getPendingCount());
+            Assert.assertFalse(scheduler.iterator().hasNext());
+
+            Thread.sleep(500);
+
+            verify(task, never()).test(id);
+        }
+    }
+
+    @Test
+    public void reschedule() throws InterruptedException {
+        Predicate<UUID> task = mock(Predicate.class);
+        UUID id = UUID.randomUUID();
+
+        try (TimingWheelScheduler<UUID> scheduler = new TimingWheelScheduler<>(this.wheel, task, Duration.ZERO)) {
+            scheduler.schedule(id, Instant.now().plusMillis(50L));
+            // Deadline exceeds a full rotation of the wheel
+            scheduler.schedule(id, Instant.now().plusSeconds(60L));
+
+            Thread.sleep(500);
+
+            verify(task, never()).test(id);
+            Assert.assertEquals(1L, this.wheel.getPendingCount());
+        }
+        Assert.assertEquals(0L, this.wheel.getPendingCount());
+    }
+
+    @Test
+    public void retryDelay() {
+        try (TimingWheelScheduler<UUID> scheduler = new TimingWheelScheduler<>(this.wheel, id -> true, Duration.ZERO)) {
+            Assert.assertEquals(Duration.ofMillis(10L), scheduler.getRetryDelay(1));
+            Assert.assertEquals(Duration.ofMillis(20L), scheduler.getRetryDelay(2));
+            Assert.assertEquals(Duration.ofMillis(40L), scheduler.getRetryDelay(3));
+            Assert.assertEquals(TimingWheelScheduler.MAX_RETRY_DELAY, scheduler.getRetryDelay(Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void interruptedBatch() throws InterruptedException {
+        AtomicInteger invocations = new AtomicInteger();
+        Predicate<UUID> task = id -> {
+            invocations.incrementAndGet();
+            Thread.currentThread().interrupt();
+            return true;
+        };
+
+        try (TimingWheelScheduler<UUID> scheduler = new TimingWheelScheduler<>(this.wheel, task, Duration.ZERO)) {
+            Instant now = Instant.now();
+            scheduler.schedule(UUID.randomUUID(), now);
+            scheduler.schedule(UUID.randomUUID(), now);
+
+            Thread.sleep(500);
+
+            // Entries remaining in an interrupted batch must not be dropped
+            Assert.assertEquals(2, invocations.get());
+            Assert.assertFalse(scheduler.iterator().hasNext());
+        }
+    }
+}
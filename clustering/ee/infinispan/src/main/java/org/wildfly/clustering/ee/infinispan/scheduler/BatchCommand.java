@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.util.List;
+
+import org.wildfly.clustering.dispatcher.Command;
+
+/**
+ * Command that executes a batch of schedule/cancel commands.
+ */
+public class BatchCommand<I, M> implements Command<Void, Scheduler<I, M>> {
+    private static final long serialVersionUID = -2541398265384263105L;
+
+    private final List<Command<Void, Scheduler<I, M>>> commands;
+
+    public BatchCommand(List<Command<Void, Scheduler<I, M>>> commands) {
+        this.commands = commands;
+    }
+
+    List<Command<Void, Scheduler<I, M>>> getCommands() {
+        return this.commands;
+    }
+
+    @Override
+    public Void execute(Scheduler<I, M> scheduler) throws Exception {
+        for (Command<Void, Scheduler<I, M>> command : this.commands) {
+            command.execute(scheduler);
+        }
+        return null;
+    }
+}
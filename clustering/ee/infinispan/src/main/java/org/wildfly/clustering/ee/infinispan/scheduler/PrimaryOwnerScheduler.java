@@ -23,9 +23,26 @@
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
+import org.infinispan.Cache;
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
 import org.wildfly.clustering.dispatcher.Command;
 import org.wildfly.clustering.dispatcher.CommandDispatcher;
 import org.wildfly.clustering.dispatcher.CommandDispatcherException;
@@ -33,61 +50,239 @@ import org.wildfly.clustering.ee.Invoker;
 import org.wildfly.clustering.ee.cache.retry.RetryingInvoker;
 import org.wildfly.clustering.ee.infinispan.logging.Logger;
 import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.infinispan.spi.scheduler.CacheSchedulerStatistics;
+import org.wildfly.clustering.infinispan.spi.scheduler.SchedulerStatistics;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 import org.wildfly.common.function.ExceptionSupplier;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Scheduler decorator that schedules/cancels a given object on the primary owner.
+ * Operations whose primary owner is the local member are executed immediately.
+ * Operations destined for a remote primary owner, i.e. following a failover, never block the caller.
+ * Instead, they are queued, retaining only the latest operation per identifier, and flushed to each primary owner as a single batch command after a short delay.
+ * Batches destined for the same primary owner are sent in order, i.e. a batch is only sent once the previous batch to that member has completed.
  * @author Paul Ferraro
  */
-public class PrimaryOwnerScheduler<I, K, M> implements org.wildfly.clustering.ee.Scheduler<I, M> {
+public class PrimaryOwnerScheduler<I, K, M> implements org.wildfly.clustering.ee.Scheduler<I, M>, SchedulerStatistics {
     private static final Invoker INVOKER = new RetryingInvoker(Duration.ZERO, Duration.ofMillis(10), Duration.ofMillis(100));
+    private static final Duration FLUSH_DELAY = Duration.ofMillis(10);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
 
     private final Function<K, Node> primaryOwnerLocator;
     private final Function<I, K> keyFactory;
     private final CommandDispatcher<Scheduler<I, M>> dispatcher;
+    private final Node localMember;
+    private final Map<I, Command<Void, Scheduler<I, M>>> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService executor;
+    private final LongAdder batched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    // Completion of the last batch sent to a given primary owner
+    private final Map<Node, CompletableFuture<Void>> sends = new ConcurrentHashMap<>();
+    private final CacheSchedulerStatistics statistics;
 
-    public <C, L> PrimaryOwnerScheduler(CommandDispatcherFactory dispatcherFactory, String name, Scheduler<I, M> scheduler, Function<K, Node> primaryOwnerLocator, Function<I, K> keyFactory) {
+    public <C, L> PrimaryOwnerScheduler(CommandDispatcherFactory dispatcherFactory, Cache<?, ?> cache, String name, Scheduler<I, M> scheduler, Function<K, Node> primaryOwnerLocator, Function<I, K> keyFactory) {
         this.dispatcher = dispatcherFactory.createCommandDispatcher(name, scheduler, this.getClass().getClassLoader());
+        this.localMember = dispatcherFactory.getGroup().getLocalMember();
         this.primaryOwnerLocator = primaryOwnerLocator;
         this.keyFactory = keyFactory;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(this.getClass()));
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = executor;
+        this.statistics = cache.getAdvancedCache().getComponentRegistry().getComponent(CacheSchedulerStatistics.class);
+        if (this.statistics != null) {
+            this.statistics.register(this);
+        }
     }
 
     @Override
     public void schedule(I id, M metaData) {
-        try {
-            this.executeOnPrimaryOwner(id, new ScheduleCommand<>(id, metaData));
-        } catch (Exception e) {
-            Logger.ROOT_LOGGER.failedToSchedule(e, id);
-        }
+        this.submit(id, new ScheduleCommand<>(id, metaData));
     }
 
     @Override
     public void cancel(I id) {
+        this.submit(id, new CancelCommand<>(id));
+    }
+
+    @Override
+    public long getPendingCount() {
+        return this.pending.size();
+    }
+
+    @Override
+    public long getBatchedCount() {
+        return this.batched.sum();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    private void submit(I id, Command<Void, Scheduler<I, M>> command) {
+        Node owner = this.locatePrimaryOwner(id);
+        // Primary owner is remote, or could not be determined
+        boolean remote = !this.localMember.equals(owner);
+        // Operations for a given identifier are serialized with any concurrent flush of that identifier
+        this.pending.compute(id, (key, previous) -> {
+            // Any pending operation, e.g. for a previous primary owner, is now obsolete
+            if (previous != null) {
+                this.dropped.increment();
+            }
+            if (remote) return command;
+            this.execute(key, command);
+            return null;
+        });
+        if (remote) {
+            this.scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (this.flushScheduled.compareAndSet(false, true)) {
+            try {
+                this.executor.schedule(this::flush, FLUSH_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Scheduler was closed
+                this.flushScheduled.set(false);
+            }
+        }
+    }
+
+    private Node locatePrimaryOwner(I id) {
+        try {
+            return this.primaryOwnerLocator.apply(this.keyFactory.apply(id));
+        } catch (RuntimeException e) {
+            // e.g. topology is in flux, defer to flush
+            return null;
+        }
+    }
+
+    private void execute(I id, Command<Void, Scheduler<I, M>> command) {
         try {
-            this.executeOnPrimaryOwner(id, new CancelCommand<>(id)).toCompletableFuture().join();
+            command.execute(this.dispatcher.getContext());
         } catch (Exception e) {
-            Logger.ROOT_LOGGER.failedToCancel(e, id);
+            log(e, id, command);
         }
     }
 
-    private CompletionStage<Void> executeOnPrimaryOwner(I id, Command<Void, Scheduler<I, M>> command) throws CommandDispatcherException {
-        K key = this.keyFactory.apply(id);
-        Function<K, Node> primaryOwnerLocator = this.primaryOwnerLocator;
+    private void flush() {
+        // Operations submitted from this point forward will trigger a subsequent flush
+        this.flushScheduled.set(false);
+        Map<Node, List<Command<Void, Scheduler<I, M>>>> batches = new HashMap<>();
+        AtomicBoolean unresolved = new AtomicBoolean(false);
+        for (I id : this.pending.keySet()) {
+            // Operations for a given identifier are serialized with any concurrent submission for that identifier
+            this.pending.computeIfPresent(id, (key, command) -> {
+                Node owner = this.locatePrimaryOwner(key);
+                if (owner == null) {
+                    // Try again later
+                    unresolved.set(true);
+                    return command;
+                }
+                if (this.localMember.equals(owner)) {
+                    this.execute(key, command);
+                } else {
+                    batches.computeIfAbsent(owner, member -> new ArrayList<>()).add(command);
+                }
+                return null;
+            });
+        }
+        for (Map.Entry<Node, List<Command<Void, Scheduler<I, M>>>> entry : batches.entrySet()) {
+            this.send(entry.getKey(), entry.getValue());
+        }
+        if (unresolved.get()) {
+            this.scheduleFlush();
+        }
+    }
+
+    private void send(Node owner, List<Command<Void, Scheduler<I, M>>> commands) {
+        Command<Void, Scheduler<I, M>> command = (commands.size() == 1) ? commands.get(0) : new BatchCommand<>(commands);
         CommandDispatcher<Scheduler<I, M>> dispatcher = this.dispatcher;
         ExceptionSupplier<CompletionStage<Void>, CommandDispatcherException> action = new ExceptionSupplier<CompletionStage<Void>, CommandDispatcherException>() {
             @Override
             public CompletionStage<Void> get() throws CommandDispatcherException {
-                Node node = primaryOwnerLocator.apply(key);
-                // This should only go remote following a failover
-                return dispatcher.executeOnMember(command, node);
+                return dispatcher.executeOnMember(command, owner);
             }
         };
-        return INVOKER.invoke(action);
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    INVOKER.invoke(action).whenComplete((result, exception) -> {
+                        if (exception != null) {
+                            log(exception, commands);
+                        }
+                        completion.complete(null);
+                    });
+                } catch (Exception e) {
+                    log(e, commands);
+                    completion.complete(null);
+                }
+            }
+        };
+        this.batched.add(commands.size());
+        completion.whenComplete((result, exception) -> this.sends.remove(owner, completion));
+        CompletableFuture<Void> previous = this.sends.put(owner, completion);
+        if (previous == null) {
+            task.run();
+        } else {
+            // Do not send until the previous batch to this member completes
+            previous.whenCompleteAsync((result, exception) -> task.run(), this::executeAsync);
+        }
+    }
+
+    private void executeAsync(Runnable task) {
+        try {
+            this.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Scheduler was closed
+            task.run();
+        }
+    }
+
+    private static <I, M> void log(Throwable exception, List<Command<Void, Scheduler<I, M>>> commands) {
+        for (Command<Void, Scheduler<I, M>> command : commands) {
+            if (command instanceof ScheduleCommand) {
+                log(exception, ((ScheduleCommand<I, M>) command).getId(), command);
+            } else if (command instanceof CancelCommand) {
+                log(exception, ((CancelCommand<I, M>) command).getId(), command);
+            }
+        }
+    }
+
+    private static <I, M> void log(Throwable exception, I id, Command<Void, Scheduler<I, M>> command) {
+        if (command instanceof CancelCommand) {
+            Logger.ROOT_LOGGER.failedToCancel(exception, id);
+        } else {
+            Logger.ROOT_LOGGER.failedToSchedule(exception, id);
+        }
     }
 
     @Override
     public void close() {
+        WildFlySecurityManager.doUnchecked(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+        try {
+            this.executor.awaitTermination(FLUSH_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Best effort delivery of any remaining operations
+        this.flush();
+        // Wait for in-flight batches before closing the dispatcher
+        try {
+            CompletableFuture.allOf(this.sends.values().toArray(new CompletableFuture<?>[0])).get(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            Logger.ROOT_LOGGER.debug(e.getLocalizedMessage(), e);
+        }
+        if (this.statistics != null) {
+            this.statistics.unregister(this);
+        }
         this.dispatcher.close();
         this.dispatcher.getContext().close();
     }
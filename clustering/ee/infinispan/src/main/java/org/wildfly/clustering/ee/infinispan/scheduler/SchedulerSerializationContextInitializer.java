@@ -22,10 +22,13 @@
 
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
+import java.util.ArrayList;
+
 import org.infinispan.protostream.SerializationContext;
 import org.infinispan.protostream.SerializationContextInitializer;
 import org.kohsuke.MetaInfServices;
 import org.wildfly.clustering.marshalling.protostream.AbstractSerializationContextInitializer;
+import org.wildfly.clustering.marshalling.protostream.FunctionalMarshaller;
 import org.wildfly.clustering.marshalling.protostream.FunctionalScalarMarshaller;
 import org.wildfly.clustering.marshalling.protostream.Scalar;
 
@@ -35,8 +38,10 @@ import org.wildfly.clustering.marshalling.protostream.Scalar;
 @MetaInfServices(SerializationContextInitializer.class)
 public class SchedulerSerializationContextInitializer extends AbstractSerializationContextInitializer {
 
+    @SuppressWarnings("unchecked")
     @Override
     public void registerMarshallers(SerializationContext context) {
+        context.registerMarshaller(new FunctionalMarshaller<>(BatchCommand.class, ArrayList.class, command -> new ArrayList<>(command.getCommands()), BatchCommand::new));
         context.registerMarshaller(new FunctionalScalarMarshaller<>(CancelCommand.class, Scalar.ANY, CancelCommand::getId, CancelCommand::new));
         context.registerMarshaller(new FunctionalScalarMarshaller<>(ScheduleCommand.class, Scalar.ANY, ScheduleCommand::getId, ScheduleCommand::new));
     }
@@ -0,0 +1,179 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.factories.ComponentRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.group.Group;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.infinispan.spi.scheduler.CacheSchedulerStatistics;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
+
+/**
+ * Unit test for {@link PrimaryOwnerScheduler}.
+ */
+public class PrimaryOwnerSchedulerTestCase {
+
+    private final CommandDispatcherFactory dispatcherFactory = mock(CommandDispatcherFactory.class);
+    private final CommandDispatcher<Scheduler<UUID, Object>> dispatcher = mock(CommandDispatcher.class);
+    private final Scheduler<UUID, Object> scheduler = mock(Scheduler.class);
+    private final Cache<Object, Object> cache = mock(Cache.class);
+    private final Node localMember = mock(Node.class);
+    private final Node remoteMember = mock(Node.class);
+    private final CacheSchedulerStatistics statistics = new CacheSchedulerStatistics();
+
+    public PrimaryOwnerSchedulerTestCase() {
+        Group group = mock(Group.class);
+        AdvancedCache<Object, Object> advancedCache = mock(AdvancedCache.class);
+        ComponentRegistry registry = mock(ComponentRegistry.class);
+
+        when(this.dispatcherFactory.<Scheduler<UUID, Object>>createCommandDispatcher(any(), same(this.scheduler), any())).thenReturn(this.dispatcher);
+        when(this.dispatcherFactory.getGroup()).thenReturn(group);
+        when(group.getLocalMember()).thenReturn(this.localMember);
+        when(this.dispatcher.getContext()).thenReturn(this.scheduler);
+        when(this.cache.getAdvancedCache()).thenReturn(advancedCache);
+        when(advancedCache.getComponentRegistry()).thenReturn(registry);
+        when(registry.getComponent(CacheSchedulerStatistics.class)).thenReturn(this.statistics);
+    }
+
+    private PrimaryOwnerScheduler<UUID, UUID, Object> createScheduler(Function<UUID, Node> primaryOwnerLocator) {
+        return new PrimaryOwnerScheduler<>(this.dispatcherFactory, this.cache, "test", this.scheduler, primaryOwnerLocator, Function.identity());
+    }
+
+    @Test
+    public void local() throws CommandDispatcherException {
+        UUID id = UUID.randomUUID();
+        Object metaData = new Object();
+
+        PrimaryOwnerScheduler<UUID, UUID, Object> subject = this.createScheduler(key -> this.localMember);
+
+        subject.schedule(id, metaData);
+
+        verify(this.scheduler).schedule(id, metaData);
+
+        subject.cancel(id);
+
+        verify(this.scheduler).cancel(id);
+
+        subject.close();
+
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+        Assert.assertEquals(0L, subject.getPendingCount());
+        Assert.assertEquals(0L, subject.getBatchedCount());
+        Assert.assertEquals(0L, subject.getDroppedCount());
+        verify(this.dispatcher).close();
+        verify(this.scheduler).close();
+    }
+
+    @Test
+    public void coalesce() throws Exception {
+        UUID id = UUID.randomUUID();
+        // Defer resolution of the primary owner, so that operations remain pending until the scheduler is closed
+        AtomicReference<Node> owner = new AtomicReference<>();
+
+        when(this.dispatcher.executeOnMember(any(), same(this.remoteMember))).thenReturn(CompletableFuture.completedFuture(null));
+
+        PrimaryOwnerScheduler<UUID, UUID, Object> subject = this.createScheduler(key -> owner.get());
+
+        subject.schedule(id, new Object());
+        subject.schedule(id, new Object());
+        subject.cancel(id);
+
+        Assert.assertEquals(1L, subject.getPendingCount());
+        Assert.assertEquals(2L, subject.getDroppedCount());
+        Assert.assertEquals(1L, this.statistics.getPendingCount());
+        Assert.assertEquals(2L, this.statistics.getDroppedCount());
+        verify(this.dispatcher, never()).executeOnMember(any(), any());
+
+        owner.set(this.remoteMember);
+
+        // Verify pending operations are flushed on close
+        subject.close();
+
+        ArgumentCaptor<Command<Void, Scheduler<UUID, Object>>> capturedCommand = ArgumentCaptor.forClass(Command.class);
+        verify(this.dispatcher).executeOnMember(capturedCommand.capture(), same(this.remoteMember));
+        Assert.assertEquals(0L, subject.getPendingCount());
+        Assert.assertEquals(1L, subject.getBatchedCount());
+        Assert.assertEquals(2L, subject.getDroppedCount());
+        // Scheduler is no longer registered, but its counters are retained
+        Assert.assertEquals(0L, this.statistics.getPendingCount());
+        Assert.assertEquals(1L, this.statistics.getBatchedCount());
+        Assert.assertEquals(2L, this.statistics.getDroppedCount());
+
+        // Only the last operation was sent
+        capturedCommand.getValue().execute(this.scheduler);
+        verify(this.scheduler).cancel(id);
+        verify(this.scheduler, never()).schedule(eq(id), any());
+        verify(this.dispatcher).close();
+    }
+
+    @Test
+    public void ordering() throws Exception {
+        UUID id1 = UUID.randomUUID();
+        UUID id2 = UUID.randomUUID();
+        CompletableFuture<Object> firstResponse = new CompletableFuture<>();
+
+        when(this.dispatcher.executeOnMember(any(), same(this.remoteMember))).thenReturn(firstResponse, CompletableFuture.completedFuture(null));
+
+        PrimaryOwnerScheduler<UUID, UUID, Object> subject = this.createScheduler(key -> this.remoteMember);
+
+        subject.schedule(id1, new Object());
+
+        verify(this.dispatcher, timeout(1000)).executeOnMember(any(), same(this.remoteMember));
+
+        subject.schedule(id2, new Object());
+
+        // Subsequent batch must not be sent while the previous batch is in-flight
+        Thread.sleep(100);
+        verify(this.dispatcher, times(1)).executeOnMember(any(), same(this.remoteMember));
+        Assert.assertEquals(2L, subject.getBatchedCount());
+
+        firstResponse.complete(null);
+
+        verify(this.dispatcher, timeout(1000).times(2)).executeOnMember(any(), same(this.remoteMember));
+
+        subject.close();
+    }
+}
@@ -22,15 +22,11 @@
 package org.wildfly.clustering.ejb.infinispan;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.util.function.Predicate;
 
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
-import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
-import org.wildfly.clustering.ee.cache.scheduler.ScheduledEntries;
-import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
-import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheelScheduler;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
 import org.wildfly.clustering.ejb.infinispan.bean.InfinispanBeanKey;
@@ -48,15 +44,14 @@ import org.wildfly.clustering.infinispan.spi.distribution.Locality;
  */
 public class BeanExpirationScheduler<I, T> implements Scheduler<I, ImmutableBeanEntry<I>>, Predicate<I> {
 
-    private final LocalScheduler<I> scheduler;
+    private final TimingWheelScheduler<I> scheduler;
     private final Batcher<TransactionBatch> batcher;
     private final BeanFactory<I, T> factory;
     private final ExpirationConfiguration<T> expiration;
     private final BeanRemover<I, T> remover;
 
     public BeanExpirationScheduler(Group group, Batcher<TransactionBatch> batcher, BeanFactory<I, T> factory, ExpirationConfiguration<T> expiration, BeanRemover<I, T> remover, Duration closeTimeout) {
-        ScheduledEntries<I, Instant> entries = group.isSingleton() ? new LinkedScheduledEntries<>() : new SortedScheduledEntries<>();
-        this.scheduler = new LocalScheduler<>(entries, this, closeTimeout);
+        this.scheduler = new TimingWheelScheduler<>(this, closeTimeout);
         this.batcher = batcher;
         this.factory = factory;
         this.expiration = expiration;
@@ -32,9 +32,7 @@ import org.wildfly.clustering.dispatcher.CommandDispatcher;
 import org.wildfly.clustering.dispatcher.CommandDispatcherException;
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
-import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
-import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
-import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheelScheduler;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
 import org.wildfly.clustering.ejb.infinispan.bean.InfinispanBeanKey;
@@ -49,7 +47,7 @@ import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
  */
 public class EagerEvictionScheduler<I, T> implements Scheduler<I, ImmutableBeanEntry<I>>, Predicate<I> {
 
-    private final LocalScheduler<I> scheduler;
+    private final TimingWheelScheduler<I> scheduler;
     private final Batcher<TransactionBatch> batcher;
     private final Map<I, I> beanGroups = new ConcurrentHashMap<>();
     private final BeanFactory<I, T> factory;
@@ -58,7 +56,7 @@ public class EagerEvictionScheduler<I, T> implements Scheduler<I, ImmutableBeanE
     private final CommandDispatcher<BeanGroupEvictor<I>> dispatcher;
 
     public EagerEvictionScheduler(Group group, Batcher<TransactionBatch> batcher, BeanFactory<I, T> factory, BeanGroupEvictor<I> evictor, Duration idleTimeout, CommandDispatcherFactory dispatcherFactory, String dispatcherName, Duration closeTimeout) {
-        this.scheduler = new LocalScheduler<>(group.isSingleton() ? new LinkedScheduledEntries<>() : new SortedScheduledEntries<>(), this, closeTimeout);
+        this.scheduler = new TimingWheelScheduler<>(this, closeTimeout);
         this.batcher = batcher;
         this.factory = factory;
         this.idleTimeout = idleTimeout;
@@ -35,6 +35,7 @@ import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.wildfly.clustering.infinispan.spi.scheduler.CacheSchedulerStatistics;
 
 /**
  * @author Paul Ferraro
@@ -67,6 +68,7 @@ public class CacheRuntimeResourceDefinition extends ChildResourceDefinition<Mana
         new MetricHandler<>(new CacheInterceptorMetricExecutor<>(this.executors, InvalidationInterceptor.class), CacheInvalidationInterceptorMetric.class).register(registration);
         new MetricHandler<>(new CacheComponentMetricExecutor<>(this.executors, ActivationManager.class), CacheActivationMetric.class).register(registration);
         new MetricHandler<>(new CacheComponentMetricExecutor<>(this.executors, PassivationManager.class), CachePassivationMetric.class).register(registration);
+        new MetricHandler<>(new CacheComponentMetricExecutor<>(this.executors, CacheSchedulerStatistics.class), CacheSchedulerMetric.class).register(registration);
         new MetricHandler<>(new ClusteredCacheMetricExecutor(this.executors), ClusteredCacheMetric.class).register(registration);
         new OperationHandler<>(new CacheInterceptorOperationExecutor<>(this.executors, CacheMgmtInterceptor.class), CacheOperation.class).register(registration);
 
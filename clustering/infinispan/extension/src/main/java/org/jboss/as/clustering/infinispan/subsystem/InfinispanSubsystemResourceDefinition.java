@@ -29,6 +29,7 @@ import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.ManagementResourceRegistration;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.SubsystemRegistration;
 import org.jboss.as.clustering.controller.DeploymentChainContributingResourceRegistration;
 import org.jboss.as.clustering.controller.RequirementCapability;
@@ -105,6 +106,10 @@ public class InfinispanSubsystemResourceDefinition extends SubsystemResourceDefi
         ResourceServiceHandler handler = new InfinispanSubsystemServiceHandler();
         new DeploymentChainContributingResourceRegistration(descriptor, handler, this).register(registration);
 
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new TimingWheelMetricExecutor(), TimingWheelMetric.class).register(registration);
+        }
+
         new CacheContainerResourceDefinition().register(registration);
         new RemoteCacheContainerResourceDefinition().register(registration);
     }
@@ -29,6 +29,7 @@ import org.infinispan.eviction.impl.PassivationManager;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.annotations.InfinispanModule;
 import org.infinispan.lifecycle.ModuleLifecycle;
+import org.wildfly.clustering.infinispan.spi.scheduler.CacheSchedulerStatistics;
 
 /**
  * @author Paul Ferraro
@@ -44,5 +45,7 @@ public class WildFlyInfinispanModuleLifecycle implements ModuleLifecycle {
             PassivationManager passivation = registry.getLocalComponent(PassivationManager.class);
             passivation.skipPassivationOnStop(true);
         }
+        // Aggregates the statistics of any schedulers of this cache
+        registry.registerComponent(new CacheSchedulerStatistics(), CacheSchedulerStatistics.class);
     }
 }
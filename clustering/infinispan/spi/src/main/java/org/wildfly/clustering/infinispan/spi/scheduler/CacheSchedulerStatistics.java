@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.infinispan.spi.scheduler;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache component that aggregates the statistics of the schedulers of a cache, e.g. of each bean of a deployment.
+ * The counters of unregistered schedulers are retained, so that cache-level counters never decrease.
+ */
+public class CacheSchedulerStatistics implements SchedulerStatistics {
+
+    private final Set<SchedulerStatistics> schedulers = ConcurrentHashMap.newKeySet();
+    // Counters of unregistered schedulers
+    private long batched = 0;
+    private long dropped = 0;
+
+    /**
+     * Registers the statistics of a scheduler of this cache.
+     * @param statistics the statistics of a scheduler
+     */
+    public void register(SchedulerStatistics statistics) {
+        this.schedulers.add(statistics);
+    }
+
+    /**
+     * Unregisters the statistics of a scheduler of this cache.
+     * @param statistics the statistics of a scheduler
+     */
+    public synchronized void unregister(SchedulerStatistics statistics) {
+        if (this.schedulers.remove(statistics)) {
+            this.batched += statistics.getBatchedCount();
+            this.dropped += statistics.getDroppedCount();
+        }
+    }
+
+    @Override
+    public long getPendingCount() {
+        return this.sum(SchedulerStatistics::getPendingCount);
+    }
+
+    @Override
+    public synchronized long getBatchedCount() {
+        return this.batched + this.sum(SchedulerStatistics::getBatchedCount);
+    }
+
+    @Override
+    public synchronized long getDroppedCount() {
+        return this.dropped + this.sum(SchedulerStatistics::getDroppedCount);
+    }
+
+    private long sum(ToLongFunction<SchedulerStatistics> function) {
+        long result = 0;
+        for (SchedulerStatistics statistics : this.schedulers) {
+            result += function.applyAsLong(statistics);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.infinispan.spi.scheduler;
+
+/**
+ * Statistics of a scheduler that dispatches operations to the primary owner of a cache entry.
+ */
+public interface SchedulerStatistics {
+
+    /**
+     * Returns the number of operations awaiting transmission to a remote primary owner.
+     * @return the number of pending operations
+     */
+    long getPendingCount();
+
+    /**
+     * Returns the number of queued operations sent to a remote primary owner.
+     * @return the number of batched operations
+     */
+    long getBatchedCount();
+
+    /**
+     * Returns the number of pending operations that were superseded by a subsequent operation for the same identifier.
+     * @return the number of dropped operations
+     */
+    long getDroppedCount();
+}
@@ -49,6 +49,7 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
 import org.jgroups.JChannel;
+import org.wildfly.clustering.dispatcher.CommandDispatcherFactory;
 import org.wildfly.clustering.jgroups.spi.JGroupsRequirement;
 import org.wildfly.clustering.service.IdentityServiceConfigurator;
 import org.wildfly.clustering.service.ServiceNameProvider;
@@ -64,9 +65,11 @@ import org.wildfly.clustering.spi.GroupServiceConfiguratorProvider;
 public class ChannelServiceHandler implements ResourceServiceHandler {
 
     private final ServiceValueRegistry<JChannel> registry;
+    private final ServiceValueRegistry<CommandDispatcherFactory> dispatcherFactoryRegistry;
 
-    public ChannelServiceHandler(ServiceValueRegistry<JChannel> registry) {
+    public ChannelServiceHandler(ServiceValueRegistry<JChannel> registry, ServiceValueRegistry<CommandDispatcherFactory> dispatcherFactoryRegistry) {
         this.registry = registry;
+        this.dispatcherFactoryRegistry = dispatcherFactoryRegistry;
     }
 
     @Override
@@ -98,6 +101,8 @@ public class ChannelServiceHandler implements ResourceServiceHandler {
                 configurator.configure(context).build(target).install();
             }
         }
+
+        new ServiceValueCaptorServiceConfigurator<>(this.dispatcherFactoryRegistry.add(registry.getServiceName(ClusteringRequirement.COMMAND_DISPATCHER_FACTORY))).build(target).install();
     }
 
     @Override
@@ -121,6 +126,7 @@ public class ChannelServiceHandler implements ResourceServiceHandler {
             }
         }
 
+        context.removeService(new ServiceValueCaptorServiceConfigurator<>(this.dispatcherFactoryRegistry.remove(registry.getServiceName(ClusteringRequirement.COMMAND_DISPATCHER_FACTORY))).getServiceName());
         context.removeService(new ServiceValueCaptorServiceConfigurator<>(this.registry.remove(JCHANNEL.getServiceName(address))).getServiceName());
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.jgroups.subsystem;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.spi.dispatcher.CommandStatistics;
+import org.wildfly.clustering.spi.dispatcher.CommandStatisticsProvider;
+
+/**
+ * Enumerates management metrics for the commands dispatched via the command dispatcher factory of a channel.
+ */
+public enum CommandDispatcherMetric implements Metric<CommandStatisticsProvider> {
+
+    DISPATCHED_COMMANDS("dispatched-commands", MeasurementUnit.NONE, CommandStatistics::getCount),
+    DISPATCHED_COMMAND_BYTES("dispatched-command-bytes", MeasurementUnit.BYTES, CommandStatistics::getBytes),
+    COMMAND_MARSHALLING_TIME("command-marshalling-time", MeasurementUnit.MILLISECONDS, statistics -> statistics.getTime(TimeUnit.MILLISECONDS)),
+    ;
+    private final AttributeDefinition definition;
+    private final ToLongFunction<CommandStatistics> function;
+
+    CommandDispatcherMetric(String name, MeasurementUnit unit, ToLongFunction<CommandStatistics> function) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG, true)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+        this.function = function;
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+
+    @Override
+    public ModelNode execute(CommandStatisticsProvider provider) {
+        long result = 0;
+        for (CommandStatistics statistics : provider.getCommandStatistics().values()) {
+            result += this.function.applyAsLong(statistics);
+        }
+        return new ModelNode(result);
+    }
+}
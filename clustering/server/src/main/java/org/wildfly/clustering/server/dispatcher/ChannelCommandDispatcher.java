@@ -24,11 +24,8 @@ package org.wildfly.clustering.server.dispatcher;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
@@ -107,23 +104,27 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
             return this.localDispatcher.executeOnMember(command, member);
         }
         Buffer buffer = this.createBuffer(command);
-        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
+        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), address, this.options, this.context);
         return request.send(buffer);
     }
 
     @Override
     public <R> Map<Node, CompletionStage<R>> executeOnGroup(Command<R, ? super CC> command, Node... excludedMembers) throws CommandDispatcherException {
-        Set<Node> excluded = (excludedMembers != null) ? new HashSet<>(Arrays.asList(excludedMembers)) : Collections.emptySet();
-        Map<Node, CompletionStage<R>> results = new ConcurrentHashMap<>();
-        Buffer buffer = this.createBuffer(command);
-        for (Node member : this.group.getMembership().getMembers()) {
-            if (!excluded.contains(member)) {
+        List<Node> members = this.group.getMembership().getMembers();
+        Map<Node, CompletionStage<R>> results = new ConcurrentHashMap<>(members.size());
+        // Marshal command lazily, only if there are remote members
+        Buffer buffer = null;
+        for (Node member : members) {
+            if (!contains(excludedMembers, member)) {
                 Address address = this.group.getAddress(member);
                 if (this.localAddress.equals(address)) {
                     results.put(member, this.localDispatcher.executeOnMember(command, member));
                 } else {
                     try {
-                        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
+                        if (buffer == null) {
+                            buffer = this.createBuffer(command);
+                        }
+                        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), address, this.options, this.context);
                         CompletionStage<R> future = request.send(buffer);
                         results.put(member, future);
                         future.whenComplete(new PruneCancellationTask<>(results, member));
@@ -140,6 +141,18 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         return results;
     }
 
+    // Excluded members are typically few, so a linear scan is cheaper than building a set
+    private static boolean contains(Node[] members, Node member) {
+        if (members != null) {
+            for (Node excluded : members) {
+                if (member.equals(excluded)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private <R> Buffer createBuffer(Command<R, ? super CC> command) {
         try {
             ByteBuffer buffer = this.marshaller.marshal(command);
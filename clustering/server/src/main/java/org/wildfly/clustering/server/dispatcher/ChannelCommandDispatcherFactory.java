@@ -70,6 +70,8 @@ import org.wildfly.clustering.server.group.AddressableNode;
 import org.wildfly.clustering.server.logging.ClusteringServerLogger;
 import org.wildfly.clustering.service.concurrent.ServiceExecutor;
 import org.wildfly.clustering.service.concurrent.StampedLockServiceExecutor;
+import org.wildfly.clustering.spi.dispatcher.CommandStatistics;
+import org.wildfly.clustering.spi.dispatcher.CommandStatisticsProvider;
 import org.wildfly.common.function.ExceptionSupplier;
 import org.wildfly.common.function.Functions;
 import org.wildfly.security.manager.WildFlySecurityManager;
@@ -80,7 +82,7 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  * all of which will share the same {@link MessageDispatcher} instance.
  * @author Paul Ferraro
  */
-public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDispatcherFactory, RequestHandler, org.wildfly.clustering.spi.group.Group<Address>, MembershipListener, Runnable, Function<GroupListener, ExecutorService> {
+public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDispatcherFactory, CommandStatisticsProvider, RequestHandler, org.wildfly.clustering.spi.group.Group<Address>, MembershipListener, Runnable, Function<GroupListener, ExecutorService> {
 
     static final Optional<Object> NO_SUCH_SERVICE = Optional.of(NoSuchService.INSTANCE);
     static final ExceptionSupplier<Object, Exception> NO_SUCH_SERVICE_SUPPLIER = Functions.constantExceptionSupplier(NoSuchService.INSTANCE);
@@ -91,6 +93,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
     private final ServiceExecutor executor = new StampedLockServiceExecutor();
     private final Map<GroupListener, ExecutorService> listeners = new ConcurrentHashMap<>();
     private final AtomicReference<View> view = new AtomicReference<>();
+    private final CommandMarshallingStatistics statistics = new CommandMarshallingStatistics();
     private final ByteBufferMarshaller marshaller;
     private final MessageDispatcher dispatcher;
     private final Duration timeout;
@@ -118,6 +121,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
 
     @Override
     public void run() {
+        ClusteringServerLogger.ROOT_LOGGER.debugf("Command marshalling statistics for %s:%s", this.getName(), this.statistics);
         this.shutdown(this.executorService);
         this.dispatcher.stop();
         this.dispatcher.getChannel().setUpHandler(null);
@@ -133,6 +137,11 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         this.executor.close(this);
     }
 
+    @Override
+    public Map<Class<?>, CommandStatistics> getCommandStatistics() {
+        return this.statistics.getCommandStatistics();
+    }
+
     private void shutdown(ExecutorService executor) {
         WildFlySecurityManager.doUnchecked(executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
         try {
@@ -222,7 +231,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         if (this.contexts.putIfAbsent(id, context) != null) {
             throw ClusteringServerLogger.ROOT_LOGGER.commandDispatcherAlreadyExists(id);
         }
-        CommandMarshaller<C> marshaller = new CommandDispatcherMarshaller<>(this.marshaller, id, factory);
+        CommandMarshaller<C> marshaller = new CommandDispatcherMarshaller<>(this.marshaller, id, dispatcherMarshaller, this.statistics);
         CommandDispatcher<C> localDispatcher = new LocalCommandDispatcher<>(this.getLocalMember(), commandContext);
         return new ChannelCommandDispatcher<>(this.dispatcher, marshaller, dispatcherMarshaller, this, this.timeout, localDispatcher, () -> {
             localDispatcher.close();
@@ -28,29 +28,59 @@ import java.util.AbstractMap;
 import java.util.Map;
 
 import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
-import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 
 /**
+ * Marshals a command, along with the identifier of its dispatcher.
+ * The command itself is marshalled exactly once, into a buffer reused by the calling thread,
+ * such that the size of the resulting message can be computed exactly prior to marshalling the enclosing entry.
  * @author Paul Ferraro
  */
-public class CommandDispatcherMarshaller<C, MC> implements CommandMarshaller<C> {
+public class CommandDispatcherMarshaller<C> implements CommandMarshaller<C> {
+
+    // Buffers that grew beyond this capacity are not retained by their thread
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<ByteBufferOutputStream> BUFFERS = new ThreadLocal<>();
 
     private final ByteBufferMarshaller marshaller;
     private final Object id;
-    private final MarshalledValueFactory<MC> factory;
+    private final ByteBufferMarshaller commandMarshaller;
+    private final CommandMarshallingStatistics statistics;
 
-    public CommandDispatcherMarshaller(ByteBufferMarshaller marshaller, Object id, MarshalledValueFactory<MC> factory) {
+    public CommandDispatcherMarshaller(ByteBufferMarshaller marshaller, Object id, ByteBufferMarshaller commandMarshaller, CommandMarshallingStatistics statistics) {
         this.marshaller = marshaller;
         this.id = id;
-        this.factory = factory;
+        this.commandMarshaller = commandMarshaller;
+        this.statistics = statistics;
     }
 
     @Override
     public <R> ByteBuffer marshal(Command<R, ? super C> command) throws IOException {
-        MarshalledValue<Command<R, ? super C>, MC> value = this.factory.createMarshalledValue(command);
-        Map.Entry<Object, MarshalledValue<Command<R, ? super C>, MC>> entry = new AbstractMap.SimpleImmutableEntry<>(this.id, value);
-        return this.marshaller.write(entry);
+        long start = System.nanoTime();
+        ByteBufferOutputStream output = BUFFERS.get();
+        if (output != null) {
+            // Detach buffer from thread while in use
+            BUFFERS.remove();
+            output.reset();
+        } else {
+            output = new ByteBufferOutputStream();
+        }
+        try {
+            this.commandMarshaller.writeTo(output, command);
+            // The marshalled command is copied into the returned buffer, so the thread buffer is free to be reused afterwards
+            MarshalledValue<Command<R, ? super C>, ByteBufferMarshaller> value = new ByteBufferMarshalledValue<>(output.getBuffer());
+            Map.Entry<Object, MarshalledValue<Command<R, ? super C>, ByteBufferMarshaller>> entry = new AbstractMap.SimpleImmutableEntry<>(this.id, value);
+            // The returned buffer is retained by the channel until the message is acknowledged, thus cannot be pooled
+            ByteBuffer buffer = this.marshaller.write(entry);
+            this.statistics.record(command.getClass(), buffer.limit() - buffer.arrayOffset(), System.nanoTime() - start);
+            return buffer;
+        } finally {
+            if (output.getBuffer().capacity() <= MAX_RETAINED_BUFFER_CAPACITY) {
+                BUFFERS.set(output);
+            }
+        }
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.clustering.spi.dispatcher.CommandStatistics;
+import org.wildfly.clustering.spi.dispatcher.CommandStatisticsProvider;
+
+/**
+ * Accumulates the number of bytes marshalled, and the time spent marshalling, per command type.
+ */
+public class CommandMarshallingStatistics implements CommandStatisticsProvider {
+
+    private final Map<Class<?>, CommandTypeStatistics> statistics = new ConcurrentHashMap<>();
+
+    void record(Class<?> commandClass, int bytes, long nanos) {
+        CommandTypeStatistics statistics = this.statistics.get(commandClass);
+        if (statistics == null) {
+            statistics = this.statistics.computeIfAbsent(commandClass, key -> new CommandTypeStatistics());
+        }
+        statistics.record(bytes, nanos);
+    }
+
+    @Override
+    public Map<Class<?>, CommandStatistics> getCommandStatistics() {
+        return Collections.unmodifiableMap(this.statistics);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<Class<?>, CommandTypeStatistics> entry : this.statistics.entrySet()) {
+            builder.append(System.lineSeparator()).append(entry.getKey().getName()).append(": ").append(entry.getValue());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Marshalling statistics of a single command type.
+     */
+    private static class CommandTypeStatistics implements CommandStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void record(int bytes, long nanos) {
+            this.count.increment();
+            this.bytes.add(bytes);
+            this.nanos.add(nanos);
+        }
+
+        @Override
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        @Override
+        public long getBytes() {
+            return this.bytes.sum();
+        }
+
+        @Override
+        public long getTime(TimeUnit unit) {
+            return unit.convert(this.nanos.sum(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            long count = this.getCount();
+            return String.format("count = %d, bytes = %d, average bytes = %d, average time = %d ns", count, this.getBytes(), (count > 0) ? this.getBytes() / count : 0, (count > 0) ? this.nanos.sum() / count : 0);
+        }
+    }
+}
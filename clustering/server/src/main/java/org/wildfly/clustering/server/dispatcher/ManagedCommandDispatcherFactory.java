@@ -23,6 +23,7 @@
 package org.wildfly.clustering.server.dispatcher;
 
 import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -30,6 +31,8 @@ import org.wildfly.clustering.dispatcher.CommandDispatcher;
 import org.wildfly.clustering.dispatcher.CommandDispatcherFactory;
 import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.server.logging.ClusteringServerLogger;
+import org.wildfly.clustering.spi.dispatcher.CommandStatistics;
+import org.wildfly.clustering.spi.dispatcher.CommandStatisticsProvider;
 
 /**
  * A {@link CommandDispatcherFactory} decorator that allows multiple invocations of {@link #createCommandDispatcher(Object, Object)} for a given identifier,
@@ -37,7 +40,7 @@ import org.wildfly.clustering.server.logging.ClusteringServerLogger;
  * The managed {@link CommandDispatcher} instance is only closed after {@link CommandDispatcher#close()} is invoked on all instances.
  * @author Paul Ferraro
  */
-public class ManagedCommandDispatcherFactory implements AutoCloseableCommandDispatcherFactory {
+public class ManagedCommandDispatcherFactory implements AutoCloseableCommandDispatcherFactory, CommandStatisticsProvider {
 
     private final AutoCloseableCommandDispatcherFactory factory;
     private final Map<Object, Map.Entry<CommandDispatcher<?>, Integer>> dispatchers = new HashMap<>();
@@ -56,6 +59,11 @@ public class ManagedCommandDispatcherFactory implements AutoCloseableCommandDisp
         return this.factory.getGroup();
     }
 
+    @Override
+    public Map<Class<?>, CommandStatistics> getCommandStatistics() {
+        return (this.factory instanceof CommandStatisticsProvider) ? ((CommandStatisticsProvider) this.factory).getCommandStatistics() : Collections.emptyMap();
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <C> CommandDispatcher<C> createCommandDispatcher(Object id, C context, ClassLoader loader) {
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.spi.dispatcher.CommandStatistics;
+
+/**
+ * Unit test for {@link CommandDispatcherMarshaller}.
+ */
+public class CommandDispatcherMarshallerTestCase {
+
+    @Test
+    public void reuse() throws Exception {
+        ByteBufferMarshaller marshaller = mock(ByteBufferMarshaller.class);
+        ByteBufferMarshaller commandMarshaller = mock(ByteBufferMarshaller.class);
+        Command<Void, Object> command = mock(Command.class);
+        List<OutputStream> outputs = new ArrayList<>();
+        int[] size = new int[] { 16 };
+
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(0);
+            outputs.add(output);
+            output.write(new byte[size[0]]);
+            return null;
+        }).when(commandMarshaller).writeTo(any(OutputStream.class), same(command));
+        when(marshaller.write(any())).thenAnswer(invocation -> ByteBuffer.allocate(size[0] + 8));
+
+        CommandMarshaller<Object> subject = new CommandDispatcherMarshaller<>(marshaller, "id", commandMarshaller, new CommandMarshallingStatistics());
+
+        subject.marshal(command);
+        subject.marshal(command);
+
+        // Buffer of calling thread is reused
+        assertEquals(2, outputs.size());
+        assertSame(outputs.get(0), outputs.get(1));
+
+        // Buffer of another thread is not shared
+        Thread thread = new Thread(() -> {
+            try {
+                subject.marshal(command);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(3, outputs.size());
+        assertNotSame(outputs.get(0), outputs.get(2));
+
+        // Oversized buffers are not retained
+        size[0] = 128 * 1024;
+        subject.marshal(command);
+
+        assertEquals(4, outputs.size());
+        assertSame(outputs.get(0), outputs.get(3));
+
+        size[0] = 16;
+        subject.marshal(command);
+
+        assertEquals(5, outputs.size());
+        assertNotSame(outputs.get(3), outputs.get(4));
+    }
+
+    @Test
+    public void statistics() throws Exception {
+        ByteBufferMarshaller marshaller = mock(ByteBufferMarshaller.class);
+        ByteBufferMarshaller commandMarshaller = mock(ByteBufferMarshaller.class);
+        Command<Void, Object> command = mock(Command.class);
+        CommandMarshallingStatistics statistics = new CommandMarshallingStatistics();
+
+        when(marshaller.write(any())).thenReturn(ByteBuffer.allocate(10), ByteBuffer.allocate(20));
+
+        CommandMarshaller<Object> subject = new CommandDispatcherMarshaller<>(marshaller, "id", commandMarshaller, statistics);
+
+        assertTrue(statistics.getCommandStatistics().isEmpty());
+
+        subject.marshal(command);
+        subject.marshal(command);
+
+        Map<Class<?>, CommandStatistics> result = statistics.getCommandStatistics();
+        assertEquals(1, result.size());
+        CommandStatistics commandStatistics = result.get(command.getClass());
+        assertNotNull(commandStatistics);
+        assertEquals(2L, commandStatistics.getCount());
+        assertEquals(30L, commandStatistics.getBytes());
+        assertTrue(commandStatistics.getTime(TimeUnit.NANOSECONDS) > 0);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.wildfly.clustering.spi.dispatcher.CommandStatistics;
+
+/**
+ * Unit test for {@link CommandMarshallingStatistics}.
+ */
+public class CommandMarshallingStatisticsTestCase {
+
+    @Test
+    public void test() {
+        CommandMarshallingStatistics subject = new CommandMarshallingStatistics();
+
+        assertTrue(subject.getCommandStatistics().isEmpty());
+
+        subject.record(String.class, 10, TimeUnit.MILLISECONDS.toNanos(1));
+        subject.record(Integer.class, 100, TimeUnit.MILLISECONDS.toNanos(2));
+        subject.record(String.class, 20, TimeUnit.MILLISECONDS.toNanos(3));
+
+        Map<Class<?>, CommandStatistics> statistics = subject.getCommandStatistics();
+        assertEquals(2, statistics.size());
+
+        CommandStatistics stringStatistics = statistics.get(String.class);
+        assertEquals(2L, stringStatistics.getCount());
+        assertEquals(30L, stringStatistics.getBytes());
+        assertEquals(4L, stringStatistics.getTime(TimeUnit.MILLISECONDS));
+
+        CommandStatistics integerStatistics = statistics.get(Integer.class);
+        assertEquals(1L, integerStatistics.getCount());
+        assertEquals(100L, integerStatistics.getBytes());
+        assertEquals(2L, integerStatistics.getTime(TimeUnit.MILLISECONDS));
+
+        try {
+            statistics.remove(String.class);
+            fail("Statistics should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+    }
+}
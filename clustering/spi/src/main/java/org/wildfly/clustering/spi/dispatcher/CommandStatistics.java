@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.spi.dispatcher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marshalling statistics of a single command type.
+ */
+public interface CommandStatistics {
+
+    /**
+     * Returns the number of marshalled commands.
+     * @return a number of commands
+     */
+    long getCount();
+
+    /**
+     * Returns the total number of bytes marshalled.
+     * @return a number of bytes
+     */
+    long getBytes();
+
+    /**
+     * Returns the total time spent marshalling.
+     * @param unit the desired unit of time
+     * @return the marshalling duration
+     */
+    long getTime(TimeUnit unit);
+}
@@ -25,6 +25,7 @@ package org.wildfly.clustering.web.cache.session;
 import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.session.CoarseSessionAttributesStatistics;
 import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
 
 /**
@@ -41,4 +42,12 @@ public interface SessionAttributesFactoryConfiguration<S, C, L, V, SV> {
     CacheProperties getCacheProperties();
     Immutability getImmutability();
     HttpSessionActivationListenerProvider<S, C, L> getHttpSessionActivationListenerProvider();
+
+    default boolean isAttributeFingerprintEnabled() {
+        return false;
+    }
+
+    default CoarseSessionAttributesStatistics getCoarseSessionAttributesStatistics() {
+        return null;
+    }
 }
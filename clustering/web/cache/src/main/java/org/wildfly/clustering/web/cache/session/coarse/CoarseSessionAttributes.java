@@ -21,9 +21,11 @@
  */
 package org.wildfly.clustering.web.cache.session.coarse;
 
+import java.io.IOException;
 import java.io.NotSerializableException;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.Mutator;
@@ -31,6 +33,7 @@ import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.marshalling.spi.Marshallability;
 import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.session.CoarseSessionAttributesStatistics;
 
 /**
  * Exposes session attributes for a coarse granularity session.
@@ -43,9 +46,22 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
     private final Immutability immutability;
     private final CacheProperties properties;
     private final SessionActivationNotifier notifier;
+    private final SessionAttributesFingerprinter fingerprinter;
+    private final CoarseSessionAttributesStatistics statistics;
     private final AtomicBoolean dirty = new AtomicBoolean(false);
+    // Fingerprint of the attributes prior to the first retrieval of a mutable attribute
+    private final AtomicReference<byte[]> fingerprint = new AtomicReference<>();
 
     public CoarseSessionAttributes(Map<String, Object> attributes, Mutator mutator, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier) {
+        this(attributes, mutator, marshallability, immutability, properties, notifier, null, null);
+    }
+
+    /**
+     * Creates session attributes that skip mutation if all mutable attributes that were read are unchanged, according to their fingerprint.
+     * @param fingerprinter computes a fingerprint of the marshalled session attributes, or null, to always mutate the session when a mutable attribute was read
+     * @param statistics records performed and skipped mutations, or null, if statistics are not recorded
+     */
+    public CoarseSessionAttributes(Map<String, Object> attributes, Mutator mutator, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier, SessionAttributesFingerprinter fingerprinter, CoarseSessionAttributesStatistics statistics) {
         super(attributes);
         this.attributes = attributes;
         this.mutator = mutator;
@@ -53,6 +69,8 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
         this.immutability = immutability;
         this.properties = properties;
         this.notifier = notifier;
+        this.fingerprinter = fingerprinter;
+        this.statistics = statistics;
         if (this.notifier != null) {
             this.notifier.postActivate();
         }
@@ -84,19 +102,55 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
     @Override
     public Object getAttribute(String name) {
         Object value = this.attributes.get(name);
-        if (!this.immutability.test(value)) {
-            this.dirty.set(true);
+        if (!this.immutability.test(value) && !this.dirty.get()) {
+            // Defer mutation until close, if we can detect whether or not the caller modified this attribute
+            if (!this.captureFingerprint()) {
+                this.dirty.set(true);
+            }
         }
         return value;
     }
 
+    private boolean captureFingerprint() {
+        if (this.fingerprinter == null) return false;
+        if (this.fingerprint.get() != null) return true;
+        byte[] fingerprint = this.fingerprint();
+        if (fingerprint == null) return false;
+        this.fingerprint.compareAndSet(null, fingerprint);
+        return true;
+    }
+
+    private byte[] fingerprint() {
+        try {
+            return this.fingerprinter.fingerprint();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     @Override
     public void close() {
         if (this.notifier != null) {
             this.notifier.prePassivate();
         }
+        byte[] fingerprint = this.fingerprint.getAndSet(null);
         if (this.dirty.compareAndSet(true, false)) {
-            this.mutator.mutate();
+            this.mutate();
+        } else if (fingerprint != null) {
+            if (SessionAttributesFingerprinter.equals(fingerprint, this.fingerprint())) {
+                if (this.statistics != null) {
+                    this.statistics.recordSkippedWrite();
+                }
+            } else {
+                this.mutate();
+            }
+        }
+    }
+
+    private void mutate() {
+        this.mutator.mutate();
+        if (this.statistics != null) {
+            this.statistics.recordWrite();
         }
     }
 }
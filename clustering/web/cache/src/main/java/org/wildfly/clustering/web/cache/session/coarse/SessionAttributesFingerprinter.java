@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.coarse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+
+/**
+ * Computes a fingerprint of the attributes of a coarse granularity session from the marshalled value used to mutate the session.
+ * Used to skip the mutation of a session whose mutable attributes were read, but not modified.
+ * A fingerprint is a SHA-256 digest of the marshalled form of the session attributes.
+ */
+public class SessionAttributesFingerprinter {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private final ByteBufferMarshalledValue<?> value;
+
+    /**
+     * Creates a fingerprinter for the specified marshalled session attributes.
+     * @param value the marshalled value of the attributes of a session, whose marshalled form reflects the current state of the session attributes
+     */
+    public SessionAttributesFingerprinter(ByteBufferMarshalledValue<?> value) {
+        this.value = value;
+    }
+
+    /**
+     * Computes a fingerprint of the current state of the session attributes.
+     * @return a fingerprint of the session attributes, or null, if the marshalled form of the attributes is not available.
+     * @throws IOException if the session attributes could not be marshalled
+     */
+    public byte[] fingerprint() throws IOException {
+        ByteBuffer buffer = this.value.getBuffer();
+        if (buffer == null) return null;
+        MessageDigest digest = createDigest();
+        digest.update(buffer.duplicate());
+        return digest.digest();
+    }
+
+    /**
+     * Indicates whether the specified fingerprints are equal.
+     * @param fingerprint1 a fingerprint
+     * @param fingerprint2 another fingerprint
+     * @return true, if both fingerprints are non-null and equal, false otherwise.
+     */
+    public static boolean equals(byte[] fingerprint1, byte[] fingerprint2) {
+        return (fingerprint1 != null) && (fingerprint2 != null) && MessageDigest.isEqual(fingerprint1, fingerprint2);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform implementation is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
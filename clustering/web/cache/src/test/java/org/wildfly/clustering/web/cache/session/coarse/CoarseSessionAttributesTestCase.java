@@ -0,0 +1,160 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.coarse;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.Marshallability;
+import org.wildfly.clustering.web.session.CoarseSessionAttributesStatistics;
+
+/**
+ * Unit test for {@link CoarseSessionAttributes}.
+ */
+public class CoarseSessionAttributesTestCase {
+    private final Map<String, Object> attributes = new HashMap<>();
+    private final Mutator mutator = mock(Mutator.class);
+    private final Marshallability marshallability = mock(Marshallability.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final SessionAttributesFingerprinter fingerprinter = mock(SessionAttributesFingerprinter.class);
+    private final CoarseSessionAttributesStatistics statistics = new CoarseSessionAttributesStatistics();
+
+    @Test
+    public void getMutableAttributeWithoutFingerprinter() {
+        Object value = new Object();
+        this.attributes.put("name", value);
+        when(this.immutability.test(value)).thenReturn(false);
+
+        CoarseSessionAttributes attributes = new CoarseSessionAttributes(this.attributes, this.mutator, this.marshallability, this.immutability, this.properties, null, null, this.statistics);
+
+        assertSame(value, attributes.getAttribute("name"));
+
+        attributes.close();
+
+        verify(this.mutator).mutate();
+        assertEquals(1L, this.statistics.getWriteCount());
+        assertEquals(0L, this.statistics.getSkippedWriteCount());
+    }
+
+    @Test
+    public void getUnmodifiedMutableAttribute() throws IOException {
+        Object value = new Object();
+        this.attributes.put("name", value);
+        when(this.immutability.test(value)).thenReturn(false);
+        when(this.fingerprinter.fingerprint()).thenReturn(new byte[] { 1, 2 }, new byte[] { 1, 2 });
+
+        CoarseSessionAttributes attributes = new CoarseSessionAttributes(this.attributes, this.mutator, this.marshallability, this.immutability, this.properties, null, this.fingerprinter, this.statistics);
+
+        assertSame(value, attributes.getAttribute("name"));
+        assertSame(value, attributes.getAttribute("name"));
+
+        attributes.close();
+
+        verify(this.mutator, never()).mutate();
+        // Fingerprint is computed once on first read, and once on close
+        verify(this.fingerprinter, times(2)).fingerprint();
+        assertEquals(0L, this.statistics.getWriteCount());
+        assertEquals(1L, this.statistics.getSkippedWriteCount());
+    }
+
+    @Test
+    public void getModifiedMutableAttribute() throws IOException {
+        Object value = new Object();
+        this.attributes.put("name", value);
+        when(this.immutability.test(value)).thenReturn(false);
+        when(this.fingerprinter.fingerprint()).thenReturn(new byte[] { 1, 2 }, new byte[] { 1, 3 });
+
+        CoarseSessionAttributes attributes = new CoarseSessionAttributes(this.attributes, this.mutator, this.marshallability, this.immutability, this.properties, null, this.fingerprinter, this.statistics);
+
+        assertSame(value, attributes.getAttribute("name"));
+
+        attributes.close();
+
+        verify(this.mutator).mutate();
+        assertEquals(1L, this.statistics.getWriteCount());
+        assertEquals(0L, this.statistics.getSkippedWriteCount());
+    }
+
+    @Test
+    public void getMutableAttributeWithoutFingerprint() throws IOException {
+        Object value = new Object();
+        this.attributes.put("name", value);
+        when(this.immutability.test(value)).thenReturn(false);
+        when(this.fingerprinter.fingerprint()).thenThrow(new IOException());
+
+        CoarseSessionAttributes attributes = new CoarseSessionAttributes(this.attributes, this.mutator, this.marshallability, this.immutability, this.properties, null, this.fingerprinter, this.statistics);
+
+        assertSame(value, attributes.getAttribute("name"));
+
+        attributes.close();
+
+        verify(this.mutator).mutate();
+    }
+
+    @Test
+    public void setAttribute() throws IOException {
+        Object value = new Object();
+        this.attributes.put("name", value);
+        Object newValue = new Object();
+        when(this.immutability.test(value)).thenReturn(false);
+        when(this.properties.isMarshalling()).thenReturn(false);
+        when(this.fingerprinter.fingerprint()).thenReturn(new byte[] { 1, 2 });
+
+        CoarseSessionAttributes attributes = new CoarseSessionAttributes(this.attributes, this.mutator, this.marshallability, this.immutability, this.properties, null, this.fingerprinter, this.statistics);
+
+        assertSame(value, attributes.getAttribute("name"));
+        assertSame(value, attributes.setAttribute("name", newValue));
+
+        attributes.close();
+
+        verify(this.mutator).mutate();
+        // Fingerprint is not compared on close for explicit modifications
+        verify(this.fingerprinter).fingerprint();
+        assertEquals(1L, this.statistics.getWriteCount());
+        assertEquals(0L, this.statistics.getSkippedWriteCount());
+    }
+
+    @Test
+    public void fingerprint() throws IOException {
+        byte[] fingerprint = new SessionAttributesFingerprinter(new ByteBufferMarshalledValue<>(ByteBuffer.wrap(new byte[] { 1, 2 }))).fingerprint();
+
+        assertTrue(SessionAttributesFingerprinter.equals(fingerprint, new SessionAttributesFingerprinter(new ByteBufferMarshalledValue<>(ByteBuffer.wrap(new byte[] { 1, 2 }))).fingerprint()));
+        assertFalse(SessionAttributesFingerprinter.equals(fingerprint, new SessionAttributesFingerprinter(new ByteBufferMarshalledValue<>(ByteBuffer.wrap(new byte[] { 1, 3 }))).fingerprint()));
+        assertFalse(SessionAttributesFingerprinter.equals(fingerprint, null));
+        // Digest is computed from the remaining bytes, without consuming the buffer
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] { 1, 2 });
+        new SessionAttributesFingerprinter(new ByteBufferMarshalledValue<>(buffer)).fingerprint();
+        assertEquals(2, buffer.remaining());
+    }
+}
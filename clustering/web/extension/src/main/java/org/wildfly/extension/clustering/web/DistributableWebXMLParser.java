@@ -24,6 +24,9 @@ package org.wildfly.extension.clustering.web;
 
 import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import org.jboss.as.clustering.controller.Schema;
 import org.jboss.as.clustering.controller.persistence.AttributeXMLBuilderOperator;
 import org.jboss.as.controller.PersistentResourceXMLDescription;
@@ -61,7 +64,7 @@ public class DistributableWebXMLParser extends PersistentResourceXMLParser {
     private PersistentResourceXMLBuilder getInfinispanSessionManagementResourceXMLBuilder() {
         PersistentResourceXMLBuilder builder = new AttributeXMLBuilderOperator()
                 .addAttributes(InfinispanSessionManagementResourceDefinition.Attribute.class)
-                .addAttributes(SessionManagementResourceDefinition.Attribute.class)
+                .addAttributes(this.getSessionManagementAttributes())
                 .apply(builder(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH));
         this.addAffinityChildren(builder)
                 .addChild(builder(PrimaryOwnerAffinityResourceDefinition.PATH).setXmlElementName("primary-owner-affinity"));
@@ -74,11 +77,15 @@ public class DistributableWebXMLParser extends PersistentResourceXMLParser {
     private PersistentResourceXMLBuilder getHotRodSessionManagementResourceXMLBuilder() {
         PersistentResourceXMLBuilder builder = new AttributeXMLBuilderOperator()
                 .addAttributes(HotRodSessionManagementResourceDefinition.Attribute.class)
-                .addAttributes(SessionManagementResourceDefinition.Attribute.class)
+                .addAttributes(this.getSessionManagementAttributes())
                 .apply(builder(HotRodSessionManagementResourceDefinition.WILDCARD_PATH));
         return this.addAffinityChildren(builder);
     }
 
+    private Set<SessionManagementResourceDefinition.Attribute> getSessionManagementAttributes() {
+        return this.schema.since(DistributableWebSchema.VERSION_3_0) ? EnumSet.allOf(SessionManagementResourceDefinition.Attribute.class) : EnumSet.of(SessionManagementResourceDefinition.Attribute.GRANULARITY);
+    }
+
     @SuppressWarnings("static-method")
     private PersistentResourceXMLBuilder addAffinityChildren(PersistentResourceXMLBuilder builder) {
         return builder
@@ -42,6 +42,7 @@ public class InfinispanSessionManagementResourceTransformer implements Consumer<
     public void accept(ModelVersion version) {
         ResourceTransformationDescriptionBuilder builder = this.parent.addChildResource(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH);
 
+        new SessionManagementResourceTransformer(builder).accept(version);
         new RankedAffinityResourceTransformer(builder).accept(version);
     }
 }
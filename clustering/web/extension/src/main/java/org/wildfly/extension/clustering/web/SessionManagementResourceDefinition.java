@@ -22,24 +22,25 @@
 
 package org.wildfly.extension.clustering.web;
 
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityProvider;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.ChildResourceDefinition;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
-import org.jboss.as.clustering.controller.ResourceServiceConfiguratorFactory;
-import org.jboss.as.clustering.controller.ResourceServiceHandler;
 import org.jboss.as.clustering.controller.SimpleResourceRegistration;
-import org.jboss.as.clustering.controller.SimpleResourceServiceHandler;
 import org.jboss.as.clustering.controller.UnaryCapabilityNameResolver;
 import org.jboss.as.clustering.controller.UnaryRequirementCapability;
 import org.jboss.as.clustering.controller.validation.EnumValidator;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.service.UnaryRequirement;
 import org.wildfly.clustering.web.WebProviderRequirement;
@@ -79,6 +80,12 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
                 return builder.setValidator(new EnumValidator<>(SessionGranularity.class));
             }
         },
+        ATTRIBUTE_FINGERPRINTING("attribute-fingerprinting", ModelType.BOOLEAN) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setRequired(false).setDefaultValue(ModelNode.FALSE);
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
@@ -97,9 +104,9 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
     }
 
     private final UnaryOperator<ResourceDescriptor> configurator;
-    private final ResourceServiceConfiguratorFactory factory;
+    private final Function<PathAddress, SessionManagementServiceConfigurator<?>> factory;
 
-    public SessionManagementResourceDefinition(PathElement path, UnaryOperator<ResourceDescriptor> configurator, ResourceServiceConfiguratorFactory factory) {
+    public SessionManagementResourceDefinition(PathElement path, UnaryOperator<ResourceDescriptor> configurator, Function<PathAddress, SessionManagementServiceConfigurator<?>> factory) {
         super(path, DistributableWebExtension.SUBSYSTEM_RESOLVER.createChildResolver(path, PathElement.pathElement("session-management")));
         this.configurator = configurator;
         this.factory = factory;
@@ -112,9 +119,13 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
                 .addAttributes(Attribute.class)
                 .addCapabilities(Capability.class)
                 ;
-        ResourceServiceHandler handler = new SimpleResourceServiceHandler(this.factory);
+        SessionManagementServiceHandler handler = new SessionManagementServiceHandler(this.factory);
         new SimpleResourceRegistration(descriptor, handler).register(registration);
 
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(handler, SessionManagementMetric.class).register(registration);
+        }
+
         new NoAffinityResourceDefinition().register(registration);
         new LocalAffinityResourceDefinition().register(registration);
 
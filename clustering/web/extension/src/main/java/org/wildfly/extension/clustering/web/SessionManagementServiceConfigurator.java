@@ -22,6 +22,7 @@
 
 package org.wildfly.extension.clustering.web;
 
+import static org.wildfly.extension.clustering.web.SessionManagementResourceDefinition.Attribute.ATTRIBUTE_FINGERPRINTING;
 import static org.wildfly.extension.clustering.web.SessionManagementResourceDefinition.Attribute.GRANULARITY;
 
 import java.util.function.Consumer;
@@ -45,6 +46,7 @@ import org.wildfly.clustering.service.ServiceConfigurator;
 import org.wildfly.clustering.service.ServiceSupplierDependency;
 import org.wildfly.clustering.service.SupplierDependency;
 import org.wildfly.clustering.web.routing.RouteLocatorServiceConfiguratorFactory;
+import org.wildfly.clustering.web.session.CoarseSessionAttributesStatistics;
 import org.wildfly.clustering.web.session.DistributableSessionManagementConfiguration;
 import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
 import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
@@ -55,7 +57,10 @@ import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
  */
 public abstract class SessionManagementServiceConfigurator<C extends DistributableSessionManagementConfiguration> extends CapabilityServiceNameProvider implements ResourceServiceConfigurator, DistributableSessionManagementConfiguration, Supplier<DistributableSessionManagementProvider> {
 
+    private final CoarseSessionAttributesStatistics statistics = new CoarseSessionAttributesStatistics();
+
     private volatile SessionGranularity granularity;
+    private volatile boolean fingerprinting;
     private volatile SupplierDependency<RouteLocatorServiceConfiguratorFactory<C>> factory;
 
     SessionManagementServiceConfigurator(PathAddress address) {
@@ -65,6 +70,7 @@ public abstract class SessionManagementServiceConfigurator<C extends Distributab
     @Override
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.granularity = ModelNodes.asEnum(GRANULARITY.resolveModelAttribute(context, model), SessionGranularity.class);
+        this.fingerprinting = ATTRIBUTE_FINGERPRINTING.resolveModelAttribute(context, model).asBoolean();
         this.factory = new ServiceSupplierDependency<>(new AffinityServiceNameProvider(context.getCurrentAddress()));
         return this;
     }
@@ -83,6 +89,16 @@ public abstract class SessionManagementServiceConfigurator<C extends Distributab
         return this.granularity.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public boolean isAttributeFingerprintEnabled() {
+        return this.fingerprinting;
+    }
+
+    @Override
+    public CoarseSessionAttributesStatistics getCoarseSessionAttributesStatistics() {
+        return this.statistics;
+    }
+
     public RouteLocatorServiceConfiguratorFactory<C> getRouteLocatorServiceConfiguratorFactory() {
         return this.factory.get();
     }
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.clustering.controller.MetricExecutor;
+import org.jboss.as.clustering.controller.ResourceServiceHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.clustering.web.session.CoarseSessionAttributesStatistics;
+
+/**
+ * Installs/removes the service of a session management provider, and executes metrics against the session statistics of its installed configuration.
+ * Statistics span all deployments using a given session management provider.
+ */
+public class SessionManagementServiceHandler implements ResourceServiceHandler, MetricExecutor<CoarseSessionAttributesStatistics> {
+
+    private final Function<PathAddress, SessionManagementServiceConfigurator<?>> factory;
+    private final Map<PathAddress, CoarseSessionAttributesStatistics> statistics = new ConcurrentHashMap<>();
+
+    public SessionManagementServiceHandler(Function<PathAddress, SessionManagementServiceConfigurator<?>> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public void installServices(OperationContext context, ModelNode model) throws OperationFailedException {
+        PathAddress address = context.getCurrentAddress();
+        SessionManagementServiceConfigurator<?> configurator = this.factory.apply(address);
+        configurator.configure(context, model).build(context.getServiceTarget()).install();
+        this.statistics.put(address, configurator.getCoarseSessionAttributesStatistics());
+    }
+
+    @Override
+    public void removeServices(OperationContext context, ModelNode model) throws OperationFailedException {
+        PathAddress address = context.getCurrentAddress();
+        this.statistics.remove(address);
+        context.removeService(this.factory.apply(address).getServiceName());
+    }
+
+    @Override
+    public ModelNode execute(OperationContext context, Metric<CoarseSessionAttributesStatistics> metric) throws OperationFailedException {
+        CoarseSessionAttributesStatistics statistics = this.statistics.get(context.getCurrentAddress());
+        return (statistics != null) ? metric.execute(statistics) : null;
+    }
+}
@@ -26,7 +26,7 @@ import java.time.Duration;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.wildfly.clustering.Registrar;
 import org.wildfly.clustering.ee.Batcher;
-import org.wildfly.clustering.ee.cache.ConcurrentManager;
+import org.wildfly.clustering.ee.cache.StripedConcurrentManager;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.hotrod.tx.HotRodBatcher;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
@@ -39,6 +39,7 @@ import org.wildfly.clustering.web.cache.session.SessionFactory;
 import org.wildfly.clustering.web.cache.session.SessionMetaDataFactory;
 import org.wildfly.clustering.web.hotrod.session.coarse.CoarseSessionAttributesFactory;
 import org.wildfly.clustering.web.hotrod.session.fine.FineSessionAttributesFactory;
+import org.wildfly.clustering.web.session.CoarseSessionAttributesStatistics;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
 import org.wildfly.clustering.web.session.SessionManager;
 import org.wildfly.clustering.web.session.SessionManagerConfiguration;
@@ -105,7 +106,7 @@ public class HotRodSessionManagerFactory<S, SC, AL, MC, LC> implements SessionMa
                 return transactionTimeout;
             }
         };
-        return new ConcurrentSessionManager<>(new HotRodSessionManager<>(this.factory, config), ConcurrentManager::new);
+        return new ConcurrentSessionManager<>(new HotRodSessionManager<>(this.factory, config), StripedConcurrentManager::new);
     }
 
     @Override
@@ -140,5 +141,15 @@ public class HotRodSessionManagerFactory<S, SC, AL, MC, LC> implements SessionMa
         public <CK, CV> RemoteCache<CK, CV> getCache() {
             return this.configuration.getCache();
         }
+
+        @Override
+        public boolean isAttributeFingerprintEnabled() {
+            return this.configuration.isAttributeFingerprintEnabled();
+        }
+
+        @Override
+        public CoarseSessionAttributesStatistics getCoarseSessionAttributesStatistics() {
+            return this.configuration.getCoarseSessionAttributesStatistics();
+        }
     }
 }
@@ -45,6 +45,7 @@ import org.wildfly.clustering.service.ServiceSupplierDependency;
 import org.wildfly.clustering.service.SimpleServiceNameProvider;
 import org.wildfly.clustering.service.SupplierDependency;
 import org.wildfly.clustering.web.LocalContextFactory;
+import org.wildfly.clustering.web.session.CoarseSessionAttributesStatistics;
 import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 import org.wildfly.clustering.web.session.SessionManagerFactory;
 import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
@@ -100,6 +101,16 @@ public class HotRodSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, LC>
         return this.configuration.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public boolean isAttributeFingerprintEnabled() {
+        return this.configuration.isAttributeFingerprintEnabled();
+    }
+
+    @Override
+    public CoarseSessionAttributesStatistics getCoarseSessionAttributesStatistics() {
+        return this.configuration.getCoarseSessionAttributesStatistics();
+    }
+
     @Override
     public Integer getMaxActiveSessions() {
         return this.factoryConfiguration.getMaxActiveSessions();
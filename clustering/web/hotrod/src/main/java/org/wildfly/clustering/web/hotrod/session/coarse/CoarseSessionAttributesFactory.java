@@ -32,6 +32,7 @@ import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.MutatorFactory;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.hotrod.RemoteCacheMutatorFactory;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
@@ -40,8 +41,10 @@ import org.wildfly.clustering.web.cache.session.SessionAttributes;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
 import org.wildfly.clustering.web.cache.session.coarse.CoarseSessionAttributes;
+import org.wildfly.clustering.web.cache.session.coarse.SessionAttributesFingerprinter;
 import org.wildfly.clustering.web.hotrod.logging.Logger;
 import org.wildfly.clustering.web.hotrod.session.HotRodSessionAttributesFactoryConfiguration;
+import org.wildfly.clustering.web.session.CoarseSessionAttributesStatistics;
 import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
 import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
@@ -57,6 +60,8 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     private final CacheProperties properties;
     private final MutatorFactory<SessionAttributesKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final boolean fingerprinting;
+    private final CoarseSessionAttributesStatistics statistics;
 
     public CoarseSessionAttributesFactory(HotRodSessionAttributesFactoryConfiguration<S, C, L, Map<String, Object>, V> configuration) {
         this.cache = configuration.getCache();
@@ -65,6 +70,8 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new RemoteCacheMutatorFactory<>(this.cache);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
+        this.fingerprinting = configuration.isAttributeFingerprintEnabled();
+        this.statistics = configuration.getCoarseSessionAttributesStatistics();
     }
 
     @Override
@@ -96,9 +103,12 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     @Override
     public SessionAttributes createSessionAttributes(String id, Map<String, Object> attributes, ImmutableSessionMetaData metaData, C context) {
         try {
-            Mutator mutator = this.mutatorFactory.createMutator(new SessionAttributesKey(id), this.marshaller.write(attributes));
+            V value = this.marshaller.write(attributes);
+            Mutator mutator = this.mutatorFactory.createMutator(new SessionAttributesKey(id), value);
+            // The marshalled value of the mutator reflects the current state of the session attributes
+            SessionAttributesFingerprinter fingerprinter = (this.fingerprinting && (value instanceof ByteBufferMarshalledValue)) ? new SessionAttributesFingerprinter((ByteBufferMarshalledValue<?>) value) : null;
             SessionActivationNotifier notifier = this.properties.isPersistent() ? new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, attributes)), context) : null;
-            return new CoarseSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier);
+            return new CoarseSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier, fingerprinter, this.statistics);
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
@@ -69,6 +69,7 @@ import org.wildfly.clustering.spi.NodeFactory;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 import org.wildfly.clustering.web.LocalContextFactory;
 import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.clustering.web.session.CoarseSessionAttributesStatistics;
 import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 import org.wildfly.clustering.web.session.SessionManagerFactory;
 import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
@@ -195,6 +196,16 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, L
         return this.configuration.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public boolean isAttributeFingerprintEnabled() {
+        return this.configuration.isAttributeFingerprintEnabled();
+    }
+
+    @Override
+    public CoarseSessionAttributesStatistics getCoarseSessionAttributesStatistics() {
+        return this.configuration.getCoarseSessionAttributesStatistics();
+    }
+
     @Override
     public Integer getMaxActiveSessions() {
         return this.factoryConfiguration.getMaxActiveSessions();
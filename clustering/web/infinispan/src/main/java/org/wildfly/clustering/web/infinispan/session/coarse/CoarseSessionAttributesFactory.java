@@ -40,6 +40,7 @@ import org.wildfly.clustering.ee.infinispan.InfinispanMutatorFactory;
 import org.wildfly.clustering.infinispan.spi.PredicateKeyFilter;
 import org.wildfly.clustering.infinispan.spi.listener.PostActivateListener;
 import org.wildfly.clustering.infinispan.spi.listener.PrePassivateListener;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
@@ -49,10 +50,12 @@ import org.wildfly.clustering.web.cache.session.SessionAttributes;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
 import org.wildfly.clustering.web.cache.session.coarse.CoarseSessionAttributes;
+import org.wildfly.clustering.web.cache.session.coarse.SessionAttributesFingerprinter;
 import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
 import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKey;
 import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKeyFilter;
+import org.wildfly.clustering.web.session.CoarseSessionAttributesStatistics;
 import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
 import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
@@ -70,6 +73,8 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     private final MutatorFactory<SessionAttributesKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
     private final Function<String, SessionAttributeActivationNotifier> notifierFactory;
+    private final boolean fingerprinting;
+    private final CoarseSessionAttributesStatistics statistics;
     private final Object evictListener;
     private final Object prePassivateListener;
     private final Object postActivateListener;
@@ -82,6 +87,9 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
         this.mutatorFactory = new InfinispanMutatorFactory<>(this.cache, this.properties);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
         this.notifierFactory = configuration.getActivationNotifierFactory();
+        // Fingerprints are only meaningful if attributes are marshalled
+        this.fingerprinting = this.properties.isMarshalling() && configuration.isAttributeFingerprintEnabled();
+        this.statistics = configuration.getCoarseSessionAttributesStatistics();
         this.prePassivateListener = !this.properties.isPersistent() ? new PrePassivateListener<>(this::prePassivate, configuration.getExecutor()) : null;
         this.postActivateListener = !this.properties.isPersistent() ? new PostActivateListener<>(this::postActivate, configuration.getExecutor()) : null;
         if (this.prePassivateListener != null) {
@@ -160,9 +168,12 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     @Override
     public SessionAttributes createSessionAttributes(String id, Map<String, Object> attributes, ImmutableSessionMetaData metaData, C context) {
         try {
-            Mutator mutator = (this.properties.isTransactional() && metaData.isNew()) ? Mutator.PASSIVE : this.mutatorFactory.createMutator(new SessionAttributesKey(id), this.marshaller.write(attributes));
+            V value = (this.properties.isTransactional() && metaData.isNew()) ? null : this.marshaller.write(attributes);
+            Mutator mutator = (value != null) ? this.mutatorFactory.createMutator(new SessionAttributesKey(id), value) : Mutator.PASSIVE;
+            // The marshalled value of the mutator reflects the current state of the session attributes
+            SessionAttributesFingerprinter fingerprinter = (this.fingerprinting && (value instanceof ByteBufferMarshalledValue)) ? new SessionAttributesFingerprinter((ByteBufferMarshalledValue<?>) value) : null;
             SessionActivationNotifier notifier = this.properties.isPersistent() ? new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, attributes)), context) : null;
-            return new CoarseSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier);
+            return new CoarseSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier, fingerprinter, this.statistics);
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
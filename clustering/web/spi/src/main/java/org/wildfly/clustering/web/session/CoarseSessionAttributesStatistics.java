@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.session;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics for the mutations of coarse granularity sessions.
+ */
+public class CoarseSessionAttributesStatistics {
+
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder skippedWrites = new LongAdder();
+
+    /**
+     * Records the mutation of a session.
+     */
+    public void recordWrite() {
+        this.writes.increment();
+    }
+
+    /**
+     * Records a skipped mutation of a session, whose mutable attributes were read, but not modified.
+     */
+    public void recordSkippedWrite() {
+        this.skippedWrites.increment();
+    }
+
+    /**
+     * @return the number of session mutations performed
+     */
+    public long getWriteCount() {
+        return this.writes.sum();
+    }
+
+    /**
+     * @return the number of session mutations skipped, since the fingerprint of their attributes was unchanged
+     */
+    public long getSkippedWriteCount() {
+        return this.skippedWrites.sum();
+    }
+}
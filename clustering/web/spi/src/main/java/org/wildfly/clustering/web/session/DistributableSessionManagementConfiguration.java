@@ -29,4 +29,20 @@ package org.wildfly.clustering.web.session;
 public interface DistributableSessionManagementConfiguration {
 
     SessionAttributePersistenceStrategy getAttributePersistenceStrategy();
+
+    /**
+     * Indicates whether a coarse granularity session, whose mutable attributes were read, is only mutated if the marshalled form of its attributes changed.
+     * @return true, if the marshalled form of the attributes of a coarse granularity session is compared via its fingerprint, false otherwise.
+     */
+    default boolean isAttributeFingerprintEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns the statistics of the mutations of coarse granularity sessions.
+     * @return mutation statistics, or null, if mutations are not recorded.
+     */
+    default CoarseSessionAttributesStatistics getCoarseSessionAttributesStatistics() {
+        return null;
+    }
 }
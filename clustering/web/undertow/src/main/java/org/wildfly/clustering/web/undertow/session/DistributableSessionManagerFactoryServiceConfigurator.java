@@ -54,6 +54,7 @@ import org.wildfly.clustering.service.ServiceConfigurator;
 import org.wildfly.clustering.service.SimpleServiceNameProvider;
 import org.wildfly.clustering.web.container.SessionManagerFactoryConfiguration;
 import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
+import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
 
 import io.undertow.servlet.api.SessionManagerFactory;
 
@@ -89,10 +90,12 @@ public class DistributableSessionManagerFactoryServiceConfigurator extends Simpl
 
     private final SessionManagerFactoryConfiguration configuration;
     private final CapabilityServiceConfigurator configurator;
+    private final UndertowMetricsCollector metricsCollector;
 
-    public DistributableSessionManagerFactoryServiceConfigurator(ServiceName name, SessionManagerFactoryConfiguration configuration, DistributableSessionManagementProvider provider, Immutability immutability) {
+    public DistributableSessionManagerFactoryServiceConfigurator(ServiceName name, SessionManagerFactoryConfiguration configuration, DistributableSessionManagementProvider provider, Immutability immutability, UndertowMetricsCollector metricsCollector) {
         super(name);
         this.configuration = configuration;
+        this.metricsCollector = metricsCollector;
         ByteBufferMarshaller marshaller = createMarshaller(configuration.getModule());
         MarshalledValueFactory<ByteBufferMarshaller> factory = new ByteBufferMarshalledValueFactory(marshaller);
         this.configurator = provider.getSessionManagerFactoryServiceConfigurator(new SessionManagerFactoryConfigurationAdapter<>(configuration, factory, immutability));
@@ -104,7 +107,7 @@ public class DistributableSessionManagerFactoryServiceConfigurator extends Simpl
 
     @Override
     public SessionManagerFactory apply(org.wildfly.clustering.web.session.SessionManagerFactory<ServletContext, Map<String, Object>, Batch> factory) {
-        return new DistributableSessionManagerFactory(factory, this.configuration);
+        return new DistributableSessionManagerFactory(factory, this.configuration, this.metricsCollector);
     }
 
     @Override
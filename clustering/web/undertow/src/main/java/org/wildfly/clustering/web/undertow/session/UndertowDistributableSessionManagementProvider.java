@@ -30,6 +30,7 @@ import org.wildfly.clustering.web.container.SessionManagerFactoryConfiguration;
 import org.wildfly.clustering.web.container.WebDeploymentConfiguration;
 import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
 import org.wildfly.clustering.web.undertow.routing.DistributableSessionIdentifierCodecServiceConfigurator;
+import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
 
 /**
  * {@link SessionManagementProvider} for Undertow.
@@ -39,10 +40,12 @@ public class UndertowDistributableSessionManagementProvider implements SessionMa
 
     private final DistributableSessionManagementProvider provider;
     private final Immutability immutability;
+    private final UndertowMetricsCollector metricsCollector;
 
-    public UndertowDistributableSessionManagementProvider(DistributableSessionManagementProvider provider, Immutability immutability) {
+    public UndertowDistributableSessionManagementProvider(DistributableSessionManagementProvider provider, Immutability immutability, UndertowMetricsCollector metricsCollector) {
         this.provider = provider;
         this.immutability = immutability;
+        this.metricsCollector = metricsCollector;
     }
 
     @Override
@@ -52,6 +55,6 @@ public class UndertowDistributableSessionManagementProvider implements SessionMa
 
     @Override
     public CapabilityServiceConfigurator getSessionManagerFactoryServiceConfigurator(ServiceName name, SessionManagerFactoryConfiguration configuration) {
-        return new DistributableSessionManagerFactoryServiceConfigurator(name, configuration, this.provider, this.immutability);
+        return new DistributableSessionManagerFactoryServiceConfigurator(name, configuration, this.provider, this.immutability, this.metricsCollector);
     }
 }
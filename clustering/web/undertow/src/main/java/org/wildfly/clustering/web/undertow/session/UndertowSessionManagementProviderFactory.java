@@ -37,6 +37,8 @@ import org.wildfly.clustering.web.container.SessionManagementProvider;
 import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
 import org.wildfly.clustering.web.session.LegacySessionManagementProviderFactory;
 import org.wildfly.clustering.web.undertow.logging.UndertowClusteringLogger;
+import org.wildfly.extension.undertow.deployment.UndertowAttachments;
+import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
 import org.wildfly.extension.undertow.session.SessionManagementProviderFactory;
 
 /**
@@ -72,6 +74,8 @@ public class UndertowSessionManagementProviderFactory implements SessionManageme
         }
         Module module = unit.getAttachment(Attachments.MODULE);
         List<String> immutableClasses = unit.getAttachmentList(DistributableSessionManagementProvider.IMMUTABILITY_ATTACHMENT_KEY);
-        return new UndertowDistributableSessionManagementProvider(provider, new SimpleImmutability(module.getClassLoader(), immutableClasses));
+        // Attached by the web deployment, or by the parent of the web deployments sharing a session manager
+        UndertowMetricsCollector metricsCollector = unit.getAttachment(UndertowAttachments.METRICS_COLLECTOR);
+        return new UndertowDistributableSessionManagementProvider(provider, new SimpleImmutability(module.getClassLoader(), immutableClasses), metricsCollector);
     }
 }
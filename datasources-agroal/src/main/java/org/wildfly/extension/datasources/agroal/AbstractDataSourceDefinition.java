@@ -221,7 +221,15 @@ abstract class AbstractDataSourceDefinition extends PersistentResourceDefinition
             .setRestartAllServices()
             .build();
 
-    static final ObjectTypeAttributeDefinition CONNECTION_POOL_ATTRIBUTE = ObjectTypeAttributeDefinition.create("connection-pool", MAX_SIZE_ATTRIBUTE, MIN_SIZE_ATTRIBUTE, INITIAL_SIZE_ATTRIBUTE, BLOCKING_TIMEOUT_MILLIS_ATTRIBUTE, BACKGROUND_VALIDATION_ATTRIBUTE, LEAK_DETECTION_ATTRIBUTE, IDLE_REMOVAL_ATTRIBUTE)
+    static final SimpleAttributeDefinition PREPARED_STATEMENT_CACHE_SIZE_ATTRIBUTE = create("prepared-statement-cache-size", ModelType.INT)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.ZERO)
+            .setRequired(false)
+            .setRestartAllServices()
+            .setValidator(new IntRangeValidator(0) )
+            .build();
+
+    static final ObjectTypeAttributeDefinition CONNECTION_POOL_ATTRIBUTE = ObjectTypeAttributeDefinition.create("connection-pool", MAX_SIZE_ATTRIBUTE, MIN_SIZE_ATTRIBUTE, INITIAL_SIZE_ATTRIBUTE, BLOCKING_TIMEOUT_MILLIS_ATTRIBUTE, BACKGROUND_VALIDATION_ATTRIBUTE, LEAK_DETECTION_ATTRIBUTE, IDLE_REMOVAL_ATTRIBUTE, PREPARED_STATEMENT_CACHE_SIZE_ATTRIBUTE)
             .build();
 
     // --- Operations //
@@ -314,11 +322,38 @@ abstract class AbstractDataSourceDefinition extends PersistentResourceDefinition
             .setStorageRuntime()
             .build();
 
-    private static final ObjectTypeAttributeDefinition STATISTICS = ObjectTypeAttributeDefinition.create("statistics", STATISTICS_ACQUIRE_COUNT_ATTRIBUTE, STATISTICS_ACTIVE_COUNT_ATTRIBUTE, STATISTICS_AVAILABLE_COUNT_ATTRIBUTE, STATISTICS_AWAITING_COUNT_ATTRIBUTE, STATISTICS_CREATION_COUNT_ATTRIBUTE, STATISTICS_DESTOY_COUNT_ATTRIBUTE, STATISTICS_FLUSH_COUNT_ATTRIBUTE, STATISTICS_INVALID_COUNT_ATTRIBUTE, STATISTICS_LEAK_DETECTION_COUNT_ATTRIBUTE, STATISTICS_MAX_USED_COUNT_ATTRIBUTE, STATISTICS_REAP_COUNT_ATTRIBUTE, STATISTICS_BLOCKING_TIME_AVERAGE_ATTRIBUTE, STATISTICS_BLOCKING_TIME_MAX_ATTRIBUTE, STATISTICS_BLOCKING_TIME_TOTAL_ATTRIBUTE, STATISTICS_CREATION_TIME_AVERAGE_ATTRIBUTE, STATISTICS_CREATION_TIME_MAX_ATTRIBUTE, STATISTICS_CREATION_TIME_TOTAL_ATTRIBUTE)
+    static final SimpleAttributeDefinition STATISTICS_ACQUIRE_TIME_P50_ATTRIBUTE = createTimePercentile("acquire-time-p50");
+
+    static final SimpleAttributeDefinition STATISTICS_ACQUIRE_TIME_P99_ATTRIBUTE = createTimePercentile("acquire-time-p99");
+
+    static final SimpleAttributeDefinition STATISTICS_ACQUIRE_TIME_P999_ATTRIBUTE = createTimePercentile("acquire-time-p999");
+
+    static final SimpleAttributeDefinition STATISTICS_IN_USE_TIME_P50_ATTRIBUTE = createTimePercentile("in-use-time-p50");
+
+    static final SimpleAttributeDefinition STATISTICS_IN_USE_TIME_P99_ATTRIBUTE = createTimePercentile("in-use-time-p99");
+
+    static final SimpleAttributeDefinition STATISTICS_IN_USE_TIME_P999_ATTRIBUTE = createTimePercentile("in-use-time-p999");
+
+    static final SimpleAttributeDefinition STATISTICS_PREPARED_STATEMENT_CACHE_HIT_COUNT_ATTRIBUTE = create("prepared-statement-cache-hit-count", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition STATISTICS_PREPARED_STATEMENT_CACHE_MISS_COUNT_ATTRIBUTE = create("prepared-statement-cache-miss-count", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    private static final ObjectTypeAttributeDefinition STATISTICS = ObjectTypeAttributeDefinition.create("statistics", STATISTICS_ACQUIRE_COUNT_ATTRIBUTE, STATISTICS_ACTIVE_COUNT_ATTRIBUTE, STATISTICS_AVAILABLE_COUNT_ATTRIBUTE, STATISTICS_AWAITING_COUNT_ATTRIBUTE, STATISTICS_CREATION_COUNT_ATTRIBUTE, STATISTICS_DESTOY_COUNT_ATTRIBUTE, STATISTICS_FLUSH_COUNT_ATTRIBUTE, STATISTICS_INVALID_COUNT_ATTRIBUTE, STATISTICS_LEAK_DETECTION_COUNT_ATTRIBUTE, STATISTICS_MAX_USED_COUNT_ATTRIBUTE, STATISTICS_REAP_COUNT_ATTRIBUTE, STATISTICS_BLOCKING_TIME_AVERAGE_ATTRIBUTE, STATISTICS_BLOCKING_TIME_MAX_ATTRIBUTE, STATISTICS_BLOCKING_TIME_TOTAL_ATTRIBUTE, STATISTICS_CREATION_TIME_AVERAGE_ATTRIBUTE, STATISTICS_CREATION_TIME_MAX_ATTRIBUTE, STATISTICS_CREATION_TIME_TOTAL_ATTRIBUTE, STATISTICS_ACQUIRE_TIME_P50_ATTRIBUTE, STATISTICS_ACQUIRE_TIME_P99_ATTRIBUTE, STATISTICS_ACQUIRE_TIME_P999_ATTRIBUTE, STATISTICS_IN_USE_TIME_P50_ATTRIBUTE, STATISTICS_IN_USE_TIME_P99_ATTRIBUTE, STATISTICS_IN_USE_TIME_P999_ATTRIBUTE, STATISTICS_PREPARED_STATEMENT_CACHE_HIT_COUNT_ATTRIBUTE, STATISTICS_PREPARED_STATEMENT_CACHE_MISS_COUNT_ATTRIBUTE)
             .setRequired(false)
             .setStorageRuntime()
             .build();
 
+    private static SimpleAttributeDefinition createTimePercentile(String name) {
+        return create(name, ModelType.LONG)
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .setStorageRuntime()
+                .build();
+    }
+
     // --- //
 
     AbstractDataSourceDefinition(Parameters parameters) {
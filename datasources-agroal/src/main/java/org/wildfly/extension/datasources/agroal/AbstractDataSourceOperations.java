@@ -149,16 +149,20 @@ class AbstractDataSourceOperations {
     // --- //
 
     private static AgroalDataSource getDataSource(OperationContext context) throws OperationFailedException {
+        return getDataSourceService(context).getValue();
+    }
+
+    private static DataSourceService getDataSourceService(OperationContext context) throws OperationFailedException {
         ServiceRegistry registry = context.getServiceRegistry(false);
         String dataSourceName = context.getCurrentAddressValue();
 
         switch (context.getCurrentAddress().getLastElement().getKey()) {
             case DataSourceOperations.DATASOURCE_SERVICE_NAME:
                 ServiceController<?> controller = registry.getRequiredService(AbstractDataSourceDefinition.DATA_SOURCE_CAPABILITY.getCapabilityServiceName(dataSourceName));
-                return ((AgroalDataSource) controller.getValue());
+                return ((DataSourceService) controller.getService());
             case XADataSourceOperations.XADATASOURCE_SERVICE_NAME:
                 ServiceController<?> xaController = registry.getRequiredService(AbstractDataSourceDefinition.DATA_SOURCE_CAPABILITY.getCapabilityServiceName(dataSourceName));
-                return ((AgroalDataSource) xaController.getValue());
+                return ((DataSourceService) xaController.getService());
             default:
                 throw AgroalLogger.SERVICE_LOGGER.unknownDatasourceServiceType(context.getCurrentAddress().getLastElement().getKey());
         }
@@ -279,7 +283,8 @@ class AbstractDataSourceOperations {
         @Override
         public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
             if (context.isNormalServer()) {
-                AgroalDataSourceMetrics metrics = getDataSource(context).getMetrics();
+                DataSourceService service = getDataSourceService(context);
+                AgroalDataSourceMetrics metrics = service.getValue().getMetrics();
 
                 ModelNode result = new ModelNode();
 
@@ -303,6 +308,18 @@ class AbstractDataSourceOperations {
                 result.get(AbstractDataSourceDefinition.STATISTICS_CREATION_TIME_MAX_ATTRIBUTE.getName()).set(metrics.creationTimeMax().toMillis());
                 result.get(AbstractDataSourceDefinition.STATISTICS_CREATION_TIME_TOTAL_ATTRIBUTE.getName()).set(metrics.creationTimeTotal().toMillis());
 
+                ConnectionTimes times = service.getConnectionTimes();
+                result.get(AbstractDataSourceDefinition.STATISTICS_ACQUIRE_TIME_P50_ATTRIBUTE.getName()).set(times.getAcquireTimePercentile(0.5));
+                result.get(AbstractDataSourceDefinition.STATISTICS_ACQUIRE_TIME_P99_ATTRIBUTE.getName()).set(times.getAcquireTimePercentile(0.99));
+                result.get(AbstractDataSourceDefinition.STATISTICS_ACQUIRE_TIME_P999_ATTRIBUTE.getName()).set(times.getAcquireTimePercentile(0.999));
+                result.get(AbstractDataSourceDefinition.STATISTICS_IN_USE_TIME_P50_ATTRIBUTE.getName()).set(times.getInUseTimePercentile(0.5));
+                result.get(AbstractDataSourceDefinition.STATISTICS_IN_USE_TIME_P99_ATTRIBUTE.getName()).set(times.getInUseTimePercentile(0.99));
+                result.get(AbstractDataSourceDefinition.STATISTICS_IN_USE_TIME_P999_ATTRIBUTE.getName()).set(times.getInUseTimePercentile(0.999));
+
+                PreparedStatementCaches caches = service.getPreparedStatementCaches();
+                result.get(AbstractDataSourceDefinition.STATISTICS_PREPARED_STATEMENT_CACHE_HIT_COUNT_ATTRIBUTE.getName()).set((caches != null) ? caches.getHitCount() : 0L);
+                result.get(AbstractDataSourceDefinition.STATISTICS_PREPARED_STATEMENT_CACHE_MISS_COUNT_ATTRIBUTE.getName()).set((caches != null) ? caches.getMissCount() : 0L);
+
                 context.getResult().set(result);
             }
         }
@@ -313,7 +330,13 @@ class AbstractDataSourceOperations {
         @Override
         public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
             if (context.isNormalServer()) {
-                getDataSource(context).getMetrics().reset();
+                DataSourceService service = getDataSourceService(context);
+                service.getValue().getMetrics().reset();
+                service.getConnectionTimes().reset();
+                PreparedStatementCaches caches = service.getPreparedStatementCaches();
+                if (caches != null) {
+                    caches.reset();
+                }
             }
         }
     }
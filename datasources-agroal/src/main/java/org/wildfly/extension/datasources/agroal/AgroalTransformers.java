@@ -25,7 +25,9 @@ import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
 import static org.jboss.as.controller.security.CredentialReference.CLEAR_TEXT;
 import static org.jboss.as.controller.security.CredentialReference.STORE;
 import static org.wildfly.extension.datasources.agroal.AbstractDataSourceDefinition.CONNECTION_FACTORY_ATTRIBUTE;
+import static org.wildfly.extension.datasources.agroal.AbstractDataSourceDefinition.CONNECTION_POOL_ATTRIBUTE;
 import static org.wildfly.extension.datasources.agroal.AbstractDataSourceDefinition.CREDENTIAL_REFERENCE;
+import static org.wildfly.extension.datasources.agroal.AbstractDataSourceDefinition.PREPARED_STATEMENT_CACHE_SIZE_ATTRIBUTE;
 
 import java.util.Map;
 
@@ -40,11 +42,14 @@ import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.extension.datasources.agroal.logging.AgroalLogger;
 
 public class AgroalTransformers implements ExtensionTransformerRegistration {
 
     static final ModelVersion AGROAL_1_0 = ModelVersion.create(1, 0, 0);
     static final ModelVersion AGROAL_2_0 = ModelVersion.create(2, 0, 0);
+    static final ModelVersion AGROAL_3_0 = ModelVersion.create(3, 0, 0);
 
     @Override
     public String getSubsystemName() {
@@ -55,13 +60,30 @@ public class AgroalTransformers implements ExtensionTransformerRegistration {
     public void registerTransformers(SubsystemTransformerRegistration registration) {
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(registration.getCurrentSubsystemVersion());
 
+        // 3.0.0 to 2.0.0 (WildFly 18)
+        from3(chainedBuilder);
         // 2.0.0 (WildFly 18) to 1.0.0 (WildFly 17)
         from2(chainedBuilder);
 
-        chainedBuilder.buildAndRegister(registration, new ModelVersion[] { AGROAL_1_0 });
+        chainedBuilder.buildAndRegister(registration, new ModelVersion[] { AGROAL_2_0, AGROAL_1_0 });
 
     }
 
+    private static void from3(ChainedTransformationDescriptionBuilder chainedBuilder) {
+        ResourceTransformationDescriptionBuilder builder = chainedBuilder.createBuilder(AGROAL_3_0, AGROAL_2_0);
+
+        ResourceTransformationDescriptionBuilder datasourceBuilder = builder.addChildResource(PathElement.pathElement("datasource"));
+        datasourceBuilder
+                .getAttributeBuilder()
+                .addRejectCheck(REJECT_PREPARED_STATEMENT_CACHE, CONNECTION_POOL_ATTRIBUTE)
+                .end();
+        ResourceTransformationDescriptionBuilder xaDatasourceBuilder = builder.addChildResource(PathElement.pathElement("xa-datasource"));
+        xaDatasourceBuilder
+                .getAttributeBuilder()
+                .addRejectCheck(REJECT_PREPARED_STATEMENT_CACHE, CONNECTION_POOL_ATTRIBUTE)
+                .end();
+    }
+
     private static void from2(ChainedTransformationDescriptionBuilder chainedBuilder) {
         ResourceTransformationDescriptionBuilder builder = chainedBuilder.createBuilder(AGROAL_2_0, AGROAL_1_0);
 
@@ -77,6 +99,24 @@ public class AgroalTransformers implements ExtensionTransformerRegistration {
                 .end();
     }
 
+    private static final RejectAttributeChecker REJECT_PREPARED_STATEMENT_CACHE = new RejectAttributeChecker.DefaultRejectAttributeChecker() {
+
+        @Override
+        public String getRejectionLogMessage(Map<String, ModelNode> attributes) {
+            return AgroalLogger.SERVICE_LOGGER.preparedStatementCacheNotSupported(PREPARED_STATEMENT_CACHE_SIZE_ATTRIBUTE.getName());
+        }
+
+        @Override
+        protected boolean rejectAttribute(PathAddress address, String attributeName, ModelNode attributeValue, TransformationContext context) {
+            if (attributeValue.hasDefined(PREPARED_STATEMENT_CACHE_SIZE_ATTRIBUTE.getName())) {
+                ModelNode cacheSize = attributeValue.get(PREPARED_STATEMENT_CACHE_SIZE_ATTRIBUTE.getName());
+                // Expressions cannot be resolved here, so reject them conservatively
+                return (cacheSize.getType() == ModelType.EXPRESSION) || (cacheSize.asInt() > 0);
+            }
+            return false;
+        }
+    };
+
     private static final RejectAttributeChecker REJECT_CREDENTIAL_REFERENCE_WITH_BOTH_STORE_AND_CLEAR_TEXT = new RejectAttributeChecker.DefaultRejectAttributeChecker() {
 
         @Override
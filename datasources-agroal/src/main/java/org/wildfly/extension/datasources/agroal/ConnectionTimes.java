@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.datasources.agroal;
+
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceListener;
+import org.jboss.as.ee.utils.LatencyHistogram;
+
+/**
+ * Records the distribution of the time taken to acquire a connection from the pool, and of the time a connection is held before being returned to the pool.
+ * Times are only recorded while metrics are enabled for the data source.
+ */
+class ConnectionTimes implements AgroalDataSourceListener {
+
+    private final Supplier<AgroalDataSource> dataSource;
+    private final LatencyHistogram acquireTimes = new LatencyHistogram();
+    private final LatencyHistogram inUseTimes = new LatencyHistogram();
+    // Start of the current acquisition attempt of each thread, or 0 if none
+    private final ThreadLocal<long[]> acquireStart = ThreadLocal.withInitial(() -> new long[1]);
+    // Time at which each physical connection was acquired, or 0 if not acquired
+    private final Map<Connection, AtomicLong> acquired = new ConcurrentHashMap<>();
+
+    ConnectionTimes(Supplier<AgroalDataSource> dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    private boolean isEnabled() {
+        AgroalDataSource dataSource = this.dataSource.get();
+        return (dataSource != null) && dataSource.getConfiguration().metricsEnabled();
+    }
+
+    @Override
+    public void beforeConnectionAcquire() {
+        // Connections associated with a transaction are returned without firing onConnectionAcquire(...), thus any start time is overwritten by the next acquisition attempt
+        this.acquireStart.get()[0] = this.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    @Override
+    public void onConnectionAcquire(Connection connection) {
+        long[] start = this.acquireStart.get();
+        if (start[0] != 0L) {
+            long now = System.nanoTime();
+            this.acquireTimes.record(TimeUnit.NANOSECONDS.toMicros(now - start[0]));
+            start[0] = 0L;
+            this.acquired.computeIfAbsent(connection, key -> new AtomicLong()).set(now);
+        }
+    }
+
+    @Override
+    public void onConnectionReturn(Connection connection) {
+        AtomicLong acquired = this.acquired.get(connection);
+        if (acquired != null) {
+            long start = acquired.getAndSet(0L);
+            if (start != 0L) {
+                this.inUseTimes.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            }
+        }
+    }
+
+    @Override
+    public void onConnectionDestroy(Connection connection) {
+        this.acquired.remove(connection);
+    }
+
+    /**
+     * Returns the specified percentile of the time taken to acquire a connection.
+     * @param percentile a percentile between 0 and 1, e.g. 0.99
+     * @return a time in microseconds
+     */
+    long getAcquireTimePercentile(double percentile) {
+        return this.acquireTimes.percentile(percentile);
+    }
+
+    /**
+     * Returns the specified percentile of the time a connection was held before being returned to the pool.
+     * @param percentile a percentile between 0 and 1, e.g. 0.99
+     * @return a time in microseconds
+     */
+    long getInUseTimePercentile(double percentile) {
+        return this.inUseTimes.percentile(percentile);
+    }
+
+    void reset() {
+        this.acquireTimes.reset();
+        this.inUseTimes.reset();
+    }
+}
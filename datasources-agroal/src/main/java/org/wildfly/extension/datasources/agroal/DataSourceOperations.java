@@ -80,6 +80,7 @@ class DataSourceOperations {
             ModelNode poolModel = AbstractDataSourceDefinition.CONNECTION_POOL_ATTRIBUTE.resolveModelAttribute(context, model);
             AgroalConnectionPoolConfigurationSupplier connectionPoolConfiguration = AbstractDataSourceOperations.connectionPoolConfiguration(context, poolModel);
             connectionPoolConfiguration.connectionFactoryConfiguration(connectionFactoryConfiguration);
+            int preparedStatementCacheSize = AbstractDataSourceDefinition.PREPARED_STATEMENT_CACHE_SIZE_ATTRIBUTE.resolveModelAttribute(context, poolModel).asInt();
 
             AgroalDataSourceConfigurationSupplier dataSourceConfiguration = new AgroalDataSourceConfigurationSupplier();
             dataSourceConfiguration.connectionPoolConfiguration(connectionPoolConfiguration);
@@ -90,7 +91,7 @@ class DataSourceOperations {
             boolean connectable = DataSourceDefinition.CONNECTABLE_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
             String driverName = AbstractDataSourceDefinition.DRIVER_ATTRIBUTE.resolveModelAttribute(context, factoryModel).asString();
 
-            DataSourceService dataSourceService = new DataSourceService(datasourceName, jndiName, jta, connectable, false, dataSourceConfiguration);
+            DataSourceService dataSourceService = new DataSourceService(datasourceName, jndiName, jta, connectable, false, preparedStatementCacheSize, dataSourceConfiguration);
 
             CapabilityServiceBuilder serviceBuilder = context.getCapabilityServiceTarget().addCapability(AbstractDataSourceDefinition.DATA_SOURCE_CAPABILITY.fromBaseCapability(datasourceName))
                     .setInstance(dataSourceService)
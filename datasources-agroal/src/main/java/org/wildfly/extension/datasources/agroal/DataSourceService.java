@@ -80,9 +80,12 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
     private final boolean jta;
     private final boolean connectable;
     private final boolean xa;
+    private final int preparedStatementCacheSize;
 
     private final AgroalDataSourceConfigurationSupplier dataSourceConfiguration;
-    private AgroalDataSource agroalDataSource;
+    private final ConnectionTimes connectionTimes = new ConnectionTimes(this);
+    private volatile AgroalDataSource agroalDataSource;
+    private volatile PreparedStatementCaches preparedStatementCaches;
 
     private InjectedValue<Class> driverInjector = new InjectedValue<>();
     private InjectedValue<AuthenticationContext> authenticationContextInjector = new InjectedValue<>();
@@ -90,11 +93,16 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
     private InjectedValue<TransactionSynchronizationRegistry> transactionSynchronizationRegistryInjector = new InjectedValue<>();
 
     public DataSourceService(String dataSourceName, String jndiName, boolean jta, boolean connectable, boolean xa, AgroalDataSourceConfigurationSupplier dataSourceConfiguration) {
+        this(dataSourceName, jndiName, jta, connectable, xa, 0, dataSourceConfiguration);
+    }
+
+    public DataSourceService(String dataSourceName, String jndiName, boolean jta, boolean connectable, boolean xa, int preparedStatementCacheSize, AgroalDataSourceConfigurationSupplier dataSourceConfiguration) {
         this.dataSourceName = dataSourceName;
         this.jndiName = jndiName;
         this.jta = jta;
         this.connectable = connectable;
         this.xa = xa;
+        this.preparedStatementCacheSize = preparedStatementCacheSize;
         this.dataSourceConfiguration = dataSourceConfiguration;
     }
 
@@ -174,11 +182,20 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
         }
 
         try {
-            agroalDataSource = AgroalDataSource.from(dataSourceConfiguration, new LoggingDataSourceListener(dataSourceName));
+            DataSource boundDataSource;
+            if (preparedStatementCacheSize > 0) {
+                preparedStatementCaches = new PreparedStatementCaches(preparedStatementCacheSize);
+                agroalDataSource = AgroalDataSource.from(dataSourceConfiguration, new LoggingDataSourceListener(dataSourceName), connectionTimes, preparedStatementCaches);
+                boundDataSource = new PreparedStatementCachingDataSource(agroalDataSource, preparedStatementCaches);
+            } else {
+                preparedStatementCaches = null;
+                agroalDataSource = AgroalDataSource.from(dataSourceConfiguration, new LoggingDataSourceListener(dataSourceName), connectionTimes);
+                boundDataSource = agroalDataSource;
+            }
 
             ContextNames.BindInfo bindInfo = ContextNames.bindInfoFor(jndiName);
             BinderService binderService = new BinderService(bindInfo.getBindName());
-            binderService.getManagedObjectInjector().inject(new ImmediateManagedReferenceFactory(agroalDataSource));
+            binderService.getManagedObjectInjector().inject(new ImmediateManagedReferenceFactory(boundDataSource));
             context.getChildTarget().addService(bindInfo.getBinderServiceName(), binderService)
                    .addDependency(bindInfo.getParentContextServiceName(), ServiceBasedNamingStore.class, binderService.getNamingStoreInjector())
                    .install();
@@ -218,6 +235,18 @@ public class DataSourceService implements Service<AgroalDataSource>, Supplier<Ag
         return agroalDataSource;
     }
 
+    ConnectionTimes getConnectionTimes() {
+        return connectionTimes;
+    }
+
+    /**
+     * Returns the prepared statement caches of this data source.
+     * @return the prepared statement caches, or null, if prepared statement caching is disabled
+     */
+    PreparedStatementCaches getPreparedStatementCaches() {
+        return preparedStatementCaches;
+    }
+
     // --- //
 
     public InjectedValue<Class> getDriverInjector() {
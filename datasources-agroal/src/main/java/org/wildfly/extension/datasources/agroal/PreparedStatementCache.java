@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.datasources.agroal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Least recently used cache of the prepared statements of a single physical connection.
+ * A cached statement is removed from the cache while in use, and returned to the cache when closed by the application.
+ * Statements evicted from the cache, or remaining in the cache when the physical connection is destroyed, are closed.
+ */
+class PreparedStatementCache {
+
+    private final Connection connection;
+    private final int size;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    // Insertion order is usage order, since statements are removed while in use; null once closed
+    private Map<Key, PreparedStatement> statements = new LinkedHashMap<>();
+
+    PreparedStatementCache(Connection connection, int size, LongAdder hits, LongAdder misses) {
+        this.connection = connection;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Removes the prepared statement with the specified key from this cache, preparing a new statement if none exists.
+     * @param key a statement key
+     * @return a prepared statement of the physical connection
+     * @throws SQLException if the statement could not be prepared
+     */
+    PreparedStatement take(Key key) throws SQLException {
+        PreparedStatement statement;
+        synchronized (this) {
+            statement = (this.statements != null) ? this.statements.remove(key) : null;
+        }
+        if (statement != null) {
+            this.hits.increment();
+            return statement;
+        }
+        this.misses.increment();
+        return key.prepare(this.connection);
+    }
+
+    /**
+     * Returns the specified prepared statement to this cache, evicting the least recently used statement if this cache is full.
+     * @param key a statement key
+     * @param statement a statement previously returned by {@link #take(Key)}
+     */
+    void release(Key key, PreparedStatement statement) {
+        PreparedStatement discarded = statement;
+        synchronized (this) {
+            // Discard duplicate statements for the same key, e.g. if the same SQL was prepared twice concurrently
+            if ((this.statements != null) && !this.statements.containsKey(key)) {
+                this.statements.put(key, statement);
+                discarded = null;
+                if (this.statements.size() > this.size) {
+                    Iterator<PreparedStatement> eldest = this.statements.values().iterator();
+                    discarded = eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        if (discarded != null) {
+            close(discarded);
+        }
+    }
+
+    /**
+     * Closes all statements within this cache.  Statements subsequently released to this cache are closed immediately.
+     */
+    void close() {
+        List<PreparedStatement> statements;
+        synchronized (this) {
+            if (this.statements == null) return;
+            statements = new ArrayList<>(this.statements.values());
+            this.statements = null;
+        }
+        for (PreparedStatement statement : statements) {
+            close(statement);
+        }
+    }
+
+    private static void close(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Physical connection may already be closed
+        }
+    }
+
+    /**
+     * Identifies a cacheable statement.
+     * Statements prepared without explicit result set characteristics use the JDBC defaults, and thus share cache entries with equivalent statements.
+     */
+    static class Key {
+        private final String sql;
+        private final boolean callable;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+
+        Key(String sql, boolean callable, int resultSetType, int resultSetConcurrency) {
+            this.sql = sql;
+            this.callable = callable;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+        }
+
+        boolean isCallable() {
+            return this.callable;
+        }
+
+        PreparedStatement prepare(Connection connection) throws SQLException {
+            return this.callable ? connection.prepareCall(this.sql, this.resultSetType, this.resultSetConcurrency) : connection.prepareStatement(this.sql, this.resultSetType, this.resultSetConcurrency);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = this.sql.hashCode();
+            result = 31 * result + Boolean.hashCode(this.callable);
+            result = 31 * result + this.resultSetType;
+            return 31 * result + this.resultSetConcurrency;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Key)) return false;
+            Key key = (Key) object;
+            return this.sql.equals(key.sql) && (this.callable == key.callable) && (this.resultSetType == key.resultSetType) && (this.resultSetConcurrency == key.resultSetConcurrency);
+        }
+
+        @Override
+        public String toString() {
+            return this.sql;
+        }
+    }
+}
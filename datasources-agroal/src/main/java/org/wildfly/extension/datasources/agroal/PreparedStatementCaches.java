@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.datasources.agroal;
+
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.agroal.api.AgroalDataSourceListener;
+
+/**
+ * Tracks the prepared statement cache of each physical connection of a pool.
+ * Agroal only exposes physical connections to its listeners, thus the physical connection of the most recent acquisition is captured per thread.
+ */
+class PreparedStatementCaches implements AgroalDataSourceListener {
+
+    private final int size;
+    private final Map<Connection, PreparedStatementCache> caches = new ConcurrentHashMap<>();
+    private final ThreadLocal<Connection> acquired = new ThreadLocal<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    PreparedStatementCaches(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public void beforeConnectionAcquire() {
+        // Connections associated with a transaction are returned without firing onConnectionAcquire(...)
+        this.acquired.remove();
+    }
+
+    @Override
+    public void onConnectionAcquire(Connection connection) {
+        this.acquired.set(connection);
+    }
+
+    @Override
+    public void onConnectionDestroy(Connection connection) {
+        PreparedStatementCache cache = this.caches.remove(connection);
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    /**
+     * Returns the prepared statement cache of the physical connection just acquired by the current thread.
+     * @return a prepared statement cache, or null, if no physical connection was acquired by the current thread
+     */
+    PreparedStatementCache acquired() {
+        Connection connection = this.acquired.get();
+        if (connection == null) return null;
+        this.acquired.remove();
+        return this.caches.computeIfAbsent(connection, this::createCache);
+    }
+
+    private PreparedStatementCache createCache(Connection connection) {
+        return new PreparedStatementCache(connection, this.size, this.hits, this.misses);
+    }
+
+    long getHitCount() {
+        return this.hits.sum();
+    }
+
+    long getMissCount() {
+        return this.misses.sum();
+    }
+
+    void reset() {
+        this.hits.reset();
+        this.misses.reset();
+    }
+}
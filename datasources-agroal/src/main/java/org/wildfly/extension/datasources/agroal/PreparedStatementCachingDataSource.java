@@ -0,0 +1,334 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.datasources.agroal;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.wildfly.extension.datasources.agroal.logging.AgroalLogger;
+
+/**
+ * Data source decorator that reuses the prepared statements of each physical connection of an Agroal pool.
+ * Only statements prepared without auto-generated keys or result set holdability are cached.
+ * Cached statements are prepared directly against the physical connection, and are thus not tracked by Agroal.
+ * Any cached statements still in use by the application are returned to the cache when the connection is closed.
+ * Before a statement is returned to the cache, its result sets are closed, and its parameters, batch, and any modified settings are reset.
+ * Statements whose state cannot be reset, e.g. following {@link java.sql.Statement#setCursorName(String)}, are closed instead.
+ * Connections associated with an existing transaction, i.e. not acquired from the pool, do not use the cache.
+ */
+class PreparedStatementCachingDataSource implements DataSource {
+
+    private static final ClassLoader PROXY_LOADER = PreparedStatementCachingDataSource.class.getClassLoader();
+
+    private final DataSource dataSource;
+    private final PreparedStatementCaches caches;
+
+    PreparedStatementCachingDataSource(DataSource dataSource, PreparedStatementCaches caches) {
+        this.dataSource = dataSource;
+        this.caches = caches;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = this.dataSource.getConnection();
+        PreparedStatementCache cache = this.caches.acquired();
+        return (cache != null) ? (Connection) Proxy.newProxyInstance(PROXY_LOADER, new Class<?>[] { Connection.class }, new ConnectionHandler(connection, cache)) : connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return this.dataSource.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return this.dataSource.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        this.dataSource.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        this.dataSource.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return this.dataSource.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return this.dataSource.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> targetClass) throws SQLException {
+        return targetClass.isInstance(this.dataSource) ? targetClass.cast(this.dataSource) : this.dataSource.unwrap(targetClass);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> targetClass) throws SQLException {
+        return targetClass.isInstance(this.dataSource) || this.dataSource.isWrapperFor(targetClass);
+    }
+
+    /**
+     * Invokes the specified method of a proxy on its target, preserving the identity semantics of the proxy.
+     */
+    static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Intercepts statement preparation and closing of a pooled connection.
+     */
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final PreparedStatementCache cache;
+        // Cached statements currently in use, guarded by this
+        private final Map<StatementHandler, Boolean> statements = new IdentityHashMap<>();
+
+        ConnectionHandler(Connection connection, PreparedStatementCache cache) {
+            this.connection = connection;
+            this.cache = cache;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return PreparedStatementCachingDataSource.invoke(proxy, this.connection, method, args);
+            }
+            switch (method.getName()) {
+                case "prepareStatement":
+                case "prepareCall": {
+                    PreparedStatementCache.Key key = createKey(method, args);
+                    if (key != null) {
+                        if (this.connection.isClosed()) {
+                            // Let the connection report its closed state
+                            return PreparedStatementCachingDataSource.invoke(proxy, this.connection, method, args);
+                        }
+                        PreparedStatement statement = this.cache.take(key);
+                        StatementHandler handler = new StatementHandler((Connection) proxy, this, key, statement);
+                        synchronized (this) {
+                            this.statements.put(handler, Boolean.TRUE);
+                        }
+                        Class<?> statementClass = key.isCallable() ? CallableStatement.class : PreparedStatement.class;
+                        return Proxy.newProxyInstance(PROXY_LOADER, new Class<?>[] { statementClass }, handler);
+                    }
+                    break;
+                }
+                case "close": {
+                    List<StatementHandler> statements;
+                    synchronized (this) {
+                        statements = new ArrayList<>(this.statements.keySet());
+                    }
+                    for (StatementHandler statement : statements) {
+                        statement.close();
+                    }
+                    break;
+                }
+                default:
+                    break;
+            }
+            return PreparedStatementCachingDataSource.invoke(proxy, this.connection, method, args);
+        }
+
+        void release(StatementHandler handler, PreparedStatementCache.Key key, PreparedStatement statement) {
+            synchronized (this) {
+                this.statements.remove(handler);
+            }
+            try {
+                if (handler.reset()) {
+                    this.cache.release(key, statement);
+                    return;
+                }
+            } catch (SQLException e) {
+                // Statement is no longer usable
+            }
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // Ignore
+            }
+        }
+
+        /**
+         * Creates a cache key for the specified statement preparation method, or null, if the statement is not cacheable.
+         */
+        private static PreparedStatementCache.Key createKey(Method method, Object[] args) {
+            boolean callable = method.getName().equals("prepareCall");
+            Class<?>[] types = method.getParameterTypes();
+            if (types.length == 1) {
+                return new PreparedStatementCache.Key((String) args[0], callable, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            }
+            if ((types.length == 3) && (types[1] == int.class) && (types[2] == int.class)) {
+                return new PreparedStatementCache.Key((String) args[0], callable, (Integer) args[1], (Integer) args[2]);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns a cached statement to the cache on close, rather than closing it.
+     */
+    private static class StatementHandler implements InvocationHandler {
+        // Setters of statement settings that are restored to their JDBC defaults before the statement is returned to the cache
+        private static final Set<String> RESTORABLE_SETTERS = new HashSet<>(Arrays.asList("setMaxRows", "setLargeMaxRows", "setMaxFieldSize", "setFetchSize", "setFetchDirection", "setQueryTimeout", "setEscapeProcessing"));
+        // Methods that modify statement state that cannot be restored
+        private static final Set<String> UNRESTORABLE_METHODS = new HashSet<>(Arrays.asList("setCursorName", "setPoolable", "closeOnCompletion"));
+
+        private final Connection connection;
+        private final ConnectionHandler connectionHandler;
+        private final PreparedStatementCache.Key key;
+        private final PreparedStatement statement;
+        // Result sets returned to the application since the last execution
+        private final List<ResultSet> resultSets = new ArrayList<>();
+        private volatile boolean closed = false;
+        private boolean executed = false;
+        private boolean batched = false;
+        private boolean modified = false;
+        private boolean restorable = true;
+
+        StatementHandler(Connection connection, ConnectionHandler connectionHandler, PreparedStatementCache.Key key, PreparedStatement statement) {
+            this.connection = connection;
+            this.connectionHandler = connectionHandler;
+            this.key = key;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    this.close();
+                    return null;
+                case "isClosed":
+                    return this.closed;
+                case "getConnection":
+                    return this.connection;
+                default:
+                    if (method.getDeclaringClass() == Object.class) {
+                        return PreparedStatementCachingDataSource.invoke(proxy, this.statement, method, args);
+                    }
+                    if (this.closed) {
+                        throw AgroalLogger.POOL_LOGGER.statementClosed();
+                    }
+                    this.track(method.getName());
+                    Object result = PreparedStatementCachingDataSource.invoke(proxy, this.statement, method, args);
+                    if (result instanceof ResultSet) {
+                        this.resultSets.add((ResultSet) result);
+                    }
+                    return result;
+            }
+        }
+
+        private void track(String name) {
+            if (name.startsWith("execute")) {
+                this.executed = true;
+                // Execution implicitly closes any current result sets
+                this.resultSets.clear();
+            } else if (name.equals("addBatch")) {
+                this.batched = true;
+            } else if (RESTORABLE_SETTERS.contains(name)) {
+                this.modified = true;
+            } else if (UNRESTORABLE_METHODS.contains(name)) {
+                this.restorable = false;
+            }
+        }
+
+        /**
+         * Closes the result sets of the physical statement, and restores its state, such that it can be reused.
+         * @return true, if the statement can be returned to the cache, false if it must be closed
+         * @throws SQLException if the statement could not be reset
+         */
+        boolean reset() throws SQLException {
+            for (ResultSet resultSet : this.resultSets) {
+                resultSet.close();
+            }
+            this.resultSets.clear();
+            if (this.executed) {
+                ResultSet resultSet = this.statement.getResultSet();
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+            }
+            if (!this.restorable) return false;
+            this.statement.clearParameters();
+            if (this.batched) {
+                this.statement.clearBatch();
+            }
+            if (this.modified) {
+                this.statement.setMaxRows(0);
+                this.statement.setMaxFieldSize(0);
+                this.statement.setFetchSize(0);
+                this.statement.setFetchDirection(ResultSet.FETCH_FORWARD);
+                this.statement.setQueryTimeout(0);
+                this.statement.setEscapeProcessing(true);
+            }
+            return true;
+        }
+
+        void close() {
+            if (!this.closed) {
+                this.closed = true;
+                this.connectionHandler.release(this, this.key, this.statement);
+            }
+        }
+    }
+}
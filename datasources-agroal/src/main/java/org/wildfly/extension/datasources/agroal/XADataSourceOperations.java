@@ -73,6 +73,7 @@ class XADataSourceOperations extends AbstractAddStepHandler {
             ModelNode poolModel = AbstractDataSourceDefinition.CONNECTION_POOL_ATTRIBUTE.resolveModelAttribute(context, model);
             AgroalConnectionPoolConfigurationSupplier connectionPoolConfiguration = AbstractDataSourceOperations.connectionPoolConfiguration(context, poolModel);
             connectionPoolConfiguration.connectionFactoryConfiguration(connectionFactoryConfiguration);
+            int preparedStatementCacheSize = AbstractDataSourceDefinition.PREPARED_STATEMENT_CACHE_SIZE_ATTRIBUTE.resolveModelAttribute(context, poolModel).asInt();
 
             AgroalDataSourceConfigurationSupplier dataSourceConfiguration = new AgroalDataSourceConfigurationSupplier();
             dataSourceConfiguration.connectionPoolConfiguration(connectionPoolConfiguration);
@@ -81,7 +82,7 @@ class XADataSourceOperations extends AbstractAddStepHandler {
             String jndiName = AbstractDataSourceDefinition.JNDI_NAME_ATTRIBUTE.resolveModelAttribute(context, model).asString();
             String driverName = AbstractDataSourceDefinition.DRIVER_ATTRIBUTE.resolveModelAttribute(context, factoryModel).asString();
 
-            DataSourceService dataSourceService = new DataSourceService(datasourceName, jndiName, false, false, true, dataSourceConfiguration);
+            DataSourceService dataSourceService = new DataSourceService(datasourceName, jndiName, false, false, true, preparedStatementCacheSize, dataSourceConfiguration);
 
             CapabilityServiceBuilder serviceBuilder = context.getCapabilityServiceTarget().addCapability(AbstractDataSourceDefinition.DATA_SOURCE_CAPABILITY.fromBaseCapability(datasourceName))
                     .setInstance(dataSourceService)
@@ -115,6 +115,9 @@ public interface AgroalLogger extends BasicLogger {
     @Message(id = 304, value = "JNDI name shouldn't include '//' or end with '/'")
     OperationFailedException jndiNameShouldValidate();
 
+    @Message(id = 305, value = "A non-zero '%s' is not supported by the target model version")
+    String preparedStatementCacheNotSupported(String attributeName);
+
     // -- Deployment //
 
     @Message(id = 401, value = "Invalid connection provider. Either a java.sql.Driver or javax.sql.DataSource implementation is required. Fix the connection-provider for the driver")
@@ -143,4 +146,7 @@ public interface AgroalLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 601, value = "%s: %s")
     void poolWarning(String datasourceName, String warn);
+
+    @Message(id = 602, value = "Statement is closed")
+    SQLException statementClosed();
 }
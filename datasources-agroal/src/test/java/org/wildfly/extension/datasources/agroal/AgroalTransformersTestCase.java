@@ -66,7 +66,7 @@ public class AgroalTransformersTestCase extends AbstractSubsystemBaseTest {
     @Test
     public void testRejectingTransformersEAP_7_2_0() throws Exception {
         PathAddress address = PathAddress.pathAddress(ModelDescriptionConstants.SUBSYSTEM, AgroalExtension.SUBSYSTEM_NAME);
-        testRejectingTransformers(EAP_7_2_0, AGROAL_1_0, "agroal_2_0-reject.xml", new FailedOperationTransformationConfig()
+        testRejectingTransformers(EAP_7_2_0, AGROAL_1_0, "agroal_3_0-reject.xml", new FailedOperationTransformationConfig()
                 .addFailedAttribute(address.append(PathElement.pathElement("datasource", "datasource1")),
                         FailedOperationTransformationConfig.REJECTED_RESOURCE)
                 .addFailedAttribute(address.append(PathElement.pathElement("xa-datasource", "datasource2")),
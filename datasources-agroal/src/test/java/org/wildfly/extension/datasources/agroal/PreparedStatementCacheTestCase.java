@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.datasources.agroal;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PreparedStatementCache}.
+ */
+public class PreparedStatementCacheTestCase {
+
+    private final Connection connection = mock(Connection.class);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Test
+    public void take() throws SQLException {
+        PreparedStatementCache cache = new PreparedStatementCache(this.connection, 2, this.hits, this.misses);
+        PreparedStatementCache.Key key = new PreparedStatementCache.Key("SELECT 1", false, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        PreparedStatement statement = mock(PreparedStatement.class);
+
+        when(this.connection.prepareStatement("SELECT 1", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+
+        Assert.assertSame(statement, cache.take(key));
+        Assert.assertEquals(0, this.hits.sum());
+        Assert.assertEquals(1, this.misses.sum());
+
+        cache.release(key, statement);
+
+        Assert.assertSame(statement, cache.take(key));
+        Assert.assertEquals(1, this.hits.sum());
+        Assert.assertEquals(1, this.misses.sum());
+
+        // Statement is not cached while in use, thus a concurrent request prepares a new statement
+        PreparedStatement concurrentStatement = mock(PreparedStatement.class);
+        when(this.connection.prepareStatement("SELECT 1", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(concurrentStatement);
+
+        Assert.assertSame(concurrentStatement, cache.take(key));
+        Assert.assertEquals(2, this.misses.sum());
+
+        cache.release(key, statement);
+        // Duplicate statement is closed
+        cache.release(key, concurrentStatement);
+
+        verify(statement, never()).close();
+        verify(concurrentStatement).close();
+    }
+
+    @Test
+    public void callable() throws SQLException {
+        PreparedStatementCache cache = new PreparedStatementCache(this.connection, 2, this.hits, this.misses);
+        PreparedStatementCache.Key key = new PreparedStatementCache.Key("{call test}", true, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE);
+        CallableStatement statement = mock(CallableStatement.class);
+
+        when(this.connection.prepareCall("{call test}", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE)).thenReturn(statement);
+
+        Assert.assertSame(statement, cache.take(key));
+
+        // Statements prepared with different result set characteristics do not share cache entries
+        cache.release(key, statement);
+        PreparedStatementCache.Key otherKey = new PreparedStatementCache.Key("{call test}", true, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        CallableStatement otherStatement = mock(CallableStatement.class);
+        when(this.connection.prepareCall("{call test}", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(otherStatement);
+
+        Assert.assertSame(otherStatement, cache.take(otherKey));
+        Assert.assertEquals(2, this.misses.sum());
+    }
+
+    @Test
+    public void evict() throws SQLException {
+        PreparedStatementCache cache = new PreparedStatementCache(this.connection, 2, this.hits, this.misses);
+        PreparedStatementCache.Key[] keys = new PreparedStatementCache.Key[3];
+        PreparedStatement[] statements = new PreparedStatement[3];
+        for (int i = 0; i < 3; ++i) {
+            String sql = "SELECT " + i;
+            keys[i] = new PreparedStatementCache.Key(sql, false, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statements[i] = mock(PreparedStatement.class);
+            when(this.connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statements[i]);
+            Assert.assertSame(statements[i], cache.take(keys[i]));
+        }
+        cache.release(keys[0], statements[0]);
+        cache.release(keys[1], statements[1]);
+        // Use statement 0, such that statement 1 becomes the least recently used
+        Assert.assertSame(statements[0], cache.take(keys[0]));
+        cache.release(keys[0], statements[0]);
+        cache.release(keys[2], statements[2]);
+
+        verify(statements[1]).close();
+        verify(statements[0], never()).close();
+        verify(statements[2], never()).close();
+
+        cache.close();
+
+        verify(statements[0]).close();
+        verify(statements[2]).close();
+
+        // Statements released after the cache is closed are closed immediately
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(this.connection.prepareStatement("SELECT 1", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+        Assert.assertSame(statement, cache.take(keys[1]));
+        cache.release(keys[1], statement);
+
+        verify(statement).close();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.datasources.agroal;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PreparedStatementCachingDataSource}.
+ */
+public class PreparedStatementCachingDataSourceTestCase {
+
+    private static final String SQL = "SELECT 1";
+
+    private final DataSource dataSource = mock(DataSource.class);
+    // Agroal returns a wrapper of the physical connection
+    private final Connection connection = mock(Connection.class);
+    private final Connection physicalConnection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final PreparedStatementCaches caches = new PreparedStatementCaches(2);
+    private final DataSource subject = new PreparedStatementCachingDataSource(this.dataSource, this.caches);
+
+    public PreparedStatementCachingDataSourceTestCase() throws SQLException {
+        when(this.dataSource.getConnection()).thenAnswer(invocation -> {
+            this.caches.beforeConnectionAcquire();
+            this.caches.onConnectionAcquire(this.physicalConnection);
+            return this.connection;
+        });
+        when(this.physicalConnection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(this.statement);
+    }
+
+    @Test
+    public void reuse() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(this.statement.executeQuery()).thenReturn(resultSet);
+
+        try (Connection connection = this.subject.getConnection()) {
+            PreparedStatement statement = connection.prepareStatement(SQL);
+            Assert.assertSame(connection, statement.getConnection());
+            statement.setInt(1, 1);
+            Assert.assertSame(resultSet, statement.executeQuery());
+            statement.close();
+
+            Assert.assertTrue(statement.isClosed());
+            // Closing the statement closes its result sets
+            verify(resultSet).close();
+            verify(this.statement).clearParameters();
+            verify(this.statement, never()).clearBatch();
+            verify(this.statement, never()).setMaxRows(0);
+            verify(this.statement, never()).close();
+        }
+        verify(this.connection).close();
+
+        try (Connection connection = this.subject.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.execute();
+            }
+        }
+
+        verify(this.physicalConnection, times(1)).prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(this.statement, never()).close();
+        Assert.assertEquals(1, this.caches.getHitCount());
+        Assert.assertEquals(1, this.caches.getMissCount());
+
+        // Cached statements are closed when the physical connection is destroyed
+        this.caches.onConnectionDestroy(this.physicalConnection);
+
+        verify(this.statement).close();
+    }
+
+    @Test
+    public void restore() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(this.statement.getResultSet()).thenReturn(resultSet);
+
+        try (Connection connection = this.subject.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(SQL)) {
+                statement.setMaxRows(10);
+                statement.setFetchSize(100);
+                statement.setQueryTimeout(5);
+                statement.setFetchDirection(ResultSet.FETCH_REVERSE);
+                statement.addBatch();
+                statement.execute();
+            }
+        }
+
+        // Current result set was never retrieved by the application
+        verify(resultSet).close();
+        verify(this.statement).clearBatch();
+        verify(this.statement).setMaxRows(0);
+        verify(this.statement).setFetchSize(0);
+        verify(this.statement).setQueryTimeout(0);
+        verify(this.statement).setFetchDirection(ResultSet.FETCH_FORWARD);
+        verify(this.statement, never()).close();
+    }
+
+    @Test
+    public void unrestorable() throws SQLException {
+        try (Connection connection = this.subject.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(SQL)) {
+                statement.setCursorName("cursor");
+            }
+        }
+
+        verify(this.statement).close();
+
+        try (Connection connection = this.subject.getConnection()) {
+            connection.prepareStatement(SQL).close();
+        }
+
+        Assert.assertEquals(0, this.caches.getHitCount());
+        Assert.assertEquals(2, this.caches.getMissCount());
+    }
+
+    @Test
+    public void callable() throws SQLException {
+        CallableStatement statement = mock(CallableStatement.class);
+        when(this.physicalConnection.prepareCall("{call test}", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+
+        try (Connection connection = this.subject.getConnection()) {
+            try (CallableStatement call = connection.prepareCall("{call test}")) {
+                call.registerOutParameter(1, java.sql.Types.INTEGER);
+                call.execute();
+            }
+        }
+
+        verify(statement).registerOutParameter(1, java.sql.Types.INTEGER);
+        verify(statement, never()).close();
+    }
+
+    @Test
+    public void closeConnection() throws SQLException {
+        PreparedStatement statement;
+        try (Connection connection = this.subject.getConnection()) {
+            statement = connection.prepareStatement(SQL);
+        }
+
+        // Statements left open by the application are returned to the cache
+        Assert.assertTrue(statement.isClosed());
+        verify(this.statement).clearParameters();
+        verify(this.statement, never()).close();
+    }
+
+    @Test
+    public void uncacheable() throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(this.connection.prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS)).thenReturn(statement);
+
+        try (Connection connection = this.subject.getConnection()) {
+            Assert.assertSame(statement, connection.prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS));
+        }
+
+        Assert.assertEquals(0, this.caches.getMissCount());
+    }
+
+    @Test
+    public void transaction() throws SQLException {
+        // Connections already enlisted in a transaction are returned without acquisition from the pool
+        doReturn(this.connection).when(this.dataSource).getConnection();
+
+        Assert.assertSame(this.connection, this.subject.getConnection());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket histogram of latencies, recorded in microseconds.
+ * Each power of 2 is divided into 4 linear sub-buckets, thus reported percentiles have a relative error of at most 25%.
+ * Each bucket is a {@link LongAdder}, so that threads recording latencies concurrently do not contend on the same counter.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Latencies of 2^36 microseconds (~19 hours) or more are recorded within the last bucket
+    private static final int MAX_EXPONENT = 36;
+    public static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            this.counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the specified latency.
+     * @param micros a latency in microseconds
+     */
+    public void record(long micros) {
+        this.counts[index(micros)].increment();
+    }
+
+    /**
+     * Discards all recorded latencies.
+     */
+    public void reset() {
+        for (LongAdder count : this.counts) {
+            count.reset();
+        }
+    }
+
+    /**
+     * Adds the count of each bucket of this histogram to the specified array.
+     * @param counts an array of {@link #BUCKETS} bucket counts
+     */
+    public void accumulateInto(long[] counts) {
+        for (int i = 0; i < BUCKETS; ++i) {
+            counts[i] += this.counts[i].sum();
+        }
+    }
+
+    /**
+     * Computes the specified percentile of the recorded latencies.
+     * @param percentile a percentile between 0 and 1, e.g. 0.99
+     * @return the latency in microseconds below which the specified percentile of recorded latencies fall, or 0 if no latencies were recorded
+     */
+    public long percentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        this.accumulateInto(counts);
+        return percentile(counts, percentile);
+    }
+
+    /**
+     * Computes the specified percentile from the specified bucket counts.
+     * @param counts an array of {@link #BUCKETS} bucket counts
+     * @param percentile a percentile between 0 and 1, e.g. 0.99
+     * @return the latency in microseconds below which the specified percentile of recorded latencies fall, or 0 if no latencies were recorded
+     */
+    public static long percentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(percentile * total), 1L);
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(counts.length - 1);
+    }
+
+    /**
+     * Returns the index of the bucket that records the specified latency.
+     * @param value a latency in microseconds
+     * @return a bucket index
+     */
+    public static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(value, 0L);
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the highest value recorded within the specified bucket.
+     * @param index a bucket index
+     * @return a latency in microseconds
+     */
+    public static long highestValue(int index) {
+        if (index < SUB_BUCKETS * 2) {
+            return index;
+        }
+        int exponent = (index / SUB_BUCKETS) + SUB_BUCKET_BITS - 1;
+        int subBucket = index & (SUB_BUCKETS - 1);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void index() {
+        for (long value = 0; value < 1000000; ++value) {
+            int index = LatencyHistogram.index(value);
+            long highest = LatencyHistogram.highestValue(index);
+            Assert.assertTrue(value <= highest);
+            // Relative error is at most 25%
+            Assert.assertTrue(highest - value <= value / 4);
+            if (index > 0) {
+                Assert.assertTrue(LatencyHistogram.highestValue(index - 1) < value);
+            }
+        }
+        Assert.assertEquals(0, LatencyHistogram.index(-1));
+        Assert.assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.percentile(0.99));
+
+        for (int i = 1; i <= 1000; ++i) {
+            histogram.record(i);
+        }
+        assertApproximately(500, histogram.percentile(0.5));
+        assertApproximately(990, histogram.percentile(0.99));
+
+        long[] counts = new long[LatencyHistogram.BUCKETS];
+        histogram.accumulateInto(counts);
+        histogram.accumulateInto(counts);
+        Assert.assertEquals(histogram.percentile(0.5), LatencyHistogram.percentile(counts, 0.5));
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.percentile(0.5));
+    }
+
+    @Test
+    public void concurrentRecord() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int iterations = 100000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < iterations; ++j) {
+                        histogram.record(100);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long[] counts = new long[LatencyHistogram.BUCKETS];
+        histogram.accumulateInto(counts);
+        Assert.assertEquals((long) threads * iterations, counts[LatencyHistogram.index(100)]);
+    }
+
+    private static void assertApproximately(long expected, long actual) {
+        Assert.assertTrue(actual >= expected);
+        Assert.assertTrue(actual - expected <= expected / 4);
+    }
+}
@@ -19,20 +19,24 @@
  * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
  * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
  */
+
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ee.utils.LatencyHistogram;
 
 /**
+ * Invocation metrics of a component.
+ * Metrics are accumulated per method, via striped counters, and only aggregated when read.
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
@@ -40,11 +44,13 @@ public class InvocationMetrics {
         final long invocations;
         final long executionTime;
         final long waitTime;
+        final long[] executionTimes;
 
-        private Values(final long invocations, final long waitTime, final long executionTime) {
+        private Values(final long invocations, final long waitTime, final long executionTime, final long[] executionTimes) {
             this.invocations = invocations;
             this.executionTime = executionTime;
             this.waitTime = waitTime;
+            this.executionTimes = executionTimes;
         }
 
         public long getExecutionTime() {
@@ -58,40 +64,52 @@ public class InvocationMetrics {
         public long getWaitTime() {
             return waitTime;
         }
+
+        /**
+         * Returns the specified percentile of execution times.
+         * @param percentile a percentile between 0 and 1, e.g. 0.99
+         * @return an execution time in microseconds
+         */
+        public long getExecutionTimePercentile(final double percentile) {
+            return LatencyHistogram.percentile(executionTimes, percentile);
+        }
+    }
+
+    private static class MethodMetrics {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder waitTime = new LongAdder();
+        final LongAdder executionNanos = new LongAdder();
+        final LatencyHistogram executionTimes = new LatencyHistogram();
+
+        void record(final long invocationWaitTime, final long invocationExecutionNanos) {
+            invocations.increment();
+            waitTime.add(invocationWaitTime);
+            executionNanos.add(invocationExecutionNanos);
+            executionTimes.record(TimeUnit.NANOSECONDS.toMicros(invocationExecutionNanos));
+        }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
+    private final ConcurrentMap<Method, MethodMetrics> methods = new ConcurrentHashMap<Method, MethodMetrics>();
 
-    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
-        concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
-        }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
-        }
-    }
+    private final LongAdder remoteResolutions = new LongAdder();
+    private final LongAdder remoteResolutionTime = new LongAdder();
 
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
+    /**
+     * Records the completion of an invocation.
+     * @param method the invoked method
+     * @param invocationWaitTime the time, in milliseconds, spent waiting to obtain an instance
+     * @param invocationExecutionNanos the time, in nanoseconds, spent executing the method
+     */
+    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionNanos) {
+        concurrent.decrementAndGet();
+        MethodMetrics metrics = methods.get(method);
+        if (metrics == null) {
+            metrics = methods.computeIfAbsent(method, key -> new MethodMetrics());
         }
-        return ref;
+        metrics.record(invocationWaitTime, invocationExecutionNanos);
     }
 
     public long getConcurrent() {
@@ -99,62 +117,65 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        long nanos = 0;
+        for (MethodMetrics metrics : methods.values()) {
+            nanos += metrics.executionNanos.sum();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        long invocations = 0;
+        for (MethodMetrics metrics : methods.values()) {
+            invocations += metrics.invocations.sum();
+        }
+        return invocations;
+    }
+
+    /**
+     * Returns the specified percentile of execution times across all methods.
+     * @param percentile a percentile between 0 and 1, e.g. 0.99
+     * @return an execution time in microseconds
+     */
+    public long getExecutionTimePercentile(final double percentile) {
+        final long[] executionTimes = new long[LatencyHistogram.BUCKETS];
+        for (MethodMetrics metrics : methods.values()) {
+            metrics.executionTimes.accumulateInto(executionTimes);
+        }
+        return LatencyHistogram.percentile(executionTimes, percentile);
     }
 
+    /**
+     * Returns a snapshot of the metrics of each method, by method name.
+     * Metrics of overloaded methods are combined.
+     * @return a map of metric values per method name
+     */
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
+        final Map<String, MethodMetrics[]> groups = new HashMap<String, MethodMetrics[]>();
+        for (Map.Entry<Method, MethodMetrics> entry : methods.entrySet()) {
+            groups.merge(entry.getKey().getName(), new MethodMetrics[] { entry.getValue() }, InvocationMetrics::concat);
+        }
+        final Map<String, Values> result = new HashMap<String, Values>(groups.size() * 2);
+        for (Map.Entry<String, MethodMetrics[]> entry : groups.entrySet()) {
+            long invocations = 0;
+            long waitTime = 0;
+            long executionNanos = 0;
+            final long[] executionTimes = new long[LatencyHistogram.BUCKETS];
+            for (MethodMetrics metrics : entry.getValue()) {
+                invocations += metrics.invocations.sum();
+                waitTime += metrics.waitTime.sum();
+                executionNanos += metrics.executionNanos.sum();
+                metrics.executionTimes.accumulateInto(executionTimes);
             }
-        };
+            result.put(entry.getKey(), new Values(invocations, waitTime, TimeUnit.NANOSECONDS.toMillis(executionNanos), executionTimes));
+        }
+        return result;
+    }
+
+    private static MethodMetrics[] concat(final MethodMetrics[] metrics1, final MethodMetrics[] metrics2) {
+        final MethodMetrics[] result = Arrays.copyOf(metrics1, metrics1.length + metrics2.length);
+        System.arraycopy(metrics2, 0, result, metrics1.length, metrics2.length);
+        return result;
     }
 
     public long getPeakConcurrent() {
@@ -162,7 +183,29 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        long waitTime = 0;
+        for (MethodMetrics metrics : methods.values()) {
+            waitTime += metrics.waitTime.sum();
+        }
+        return waitTime;
+    }
+
+    /**
+     * Records the time taken to resolve this component and the invoked method of a remote invocation.
+     * @param resolutionTime the resolution time, in nanoseconds
+     */
+    public void remoteResolution(final long resolutionTime) {
+        remoteResolutions.increment();
+        remoteResolutionTime.add(resolutionTime);
+    }
+
+    /**
+     * Returns the average time taken to resolve this component and the invoked method of a remote invocation.
+     * @return an average resolution time in nanoseconds, or 0 if this component was never invoked remotely
+     */
+    public long getRemoteResolutionTime() {
+        final long resolutions = remoteResolutions.sum();
+        return (resolutions > 0) ? remoteResolutionTime.sum() / resolutions : 0;
     }
 
     void startInvocation() {
@@ -31,6 +31,7 @@ import javax.resource.spi.ResourceAdapter;
 
 import org.jboss.as.connector.util.ConnectorServices;
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
+import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.ee.component.Attachments;
 import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentConfiguration;
@@ -78,6 +79,7 @@ import org.jboss.msc.service.ServiceName;
 public class MessageDrivenComponentDescription extends EJBComponentDescription {
 
     private static final String STRICT_MAX_POOL_CONFIG_CAPABILITY_NAME = "org.wildfly.ejb3.pool-config";
+    private static final String STRIPED_MAX_POOL_CONFIG_CAPABILITY_NAME = "org.wildfly.ejb3.striped-pool-config";
     private static final String DEFAULT_MDB_POOL_CONFIG_CAPABILITY_NAME = "org.wildfly.ejb3.pool-config.mdb-default";
 
     private final Properties activationProps;
@@ -162,7 +164,9 @@ public class MessageDrivenComponentDescription extends EJBComponentDescription {
                             }
                         } else {
                             // pool name has been explicitly set so the pool config is a required dependency
-                            ServiceName poolConfigServiceName = support.getCapabilityServiceName(STRICT_MAX_POOL_CONFIG_CAPABILITY_NAME, poolName);
+                            // it refers to a strict-max-pool, unless a striped-max-pool of that name exists
+                            String poolConfigCapabilityName = support.hasCapability(RuntimeCapability.buildDynamicCapabilityName(STRIPED_MAX_POOL_CONFIG_CAPABILITY_NAME, poolName)) ? STRIPED_MAX_POOL_CONFIG_CAPABILITY_NAME : STRICT_MAX_POOL_CONFIG_CAPABILITY_NAME;
+                            ServiceName poolConfigServiceName = support.getCapabilityServiceName(poolConfigCapabilityName, poolName);
                             serviceBuilder.addDependency(poolConfigServiceName, PoolConfig.class, mdbComponentCreateService.getPoolConfigInjector());
                         }
                     }
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.stateful;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the time spent waiting to acquire the lock of the instances of a stateful session bean.
+ * Only contended acquisitions are recorded, so uncontended invocations do not pay the cost of reading the clock.
+ */
+public class LockWaitStatistics {
+
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    /**
+     * Records a contended lock acquisition.
+     * @param nanos the time spent waiting for the lock, in nanoseconds
+     * @param acquired indicates whether the lock was acquired, or whether the wait timed out
+     */
+    void record(long nanos, boolean acquired) {
+        this.waits.increment();
+        if (!acquired) {
+            this.timeouts.increment();
+        }
+        this.waitTime.add(nanos);
+        long max = this.maxWaitTime.get();
+        while ((nanos > max) && !this.maxWaitTime.compareAndSet(max, nanos)) {
+            max = this.maxWaitTime.get();
+        }
+    }
+
+    /**
+     * Returns the number of invocations that had to wait for the lock of a bean instance.
+     * @return a number of invocations
+     */
+    public long getWaitCount() {
+        return this.waits.sum();
+    }
+
+    /**
+     * Returns the number of invocations that failed to acquire the lock of a bean instance within the access timeout.
+     * @return a number of invocations
+     */
+    public long getTimeoutCount() {
+        return this.timeouts.sum();
+    }
+
+    /**
+     * Returns the total time spent waiting for the lock of a bean instance.
+     * @return a duration in milliseconds
+     */
+    public long getWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.waitTime.sum());
+    }
+
+    /**
+     * Returns the longest time spent waiting for the lock of a bean instance.
+     * @return a duration in milliseconds
+     */
+    public long getMaxWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxWaitTime.get());
+    }
+}
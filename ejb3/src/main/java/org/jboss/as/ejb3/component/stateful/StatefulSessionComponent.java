@@ -107,6 +107,7 @@ public class StatefulSessionComponent extends SessionBeanComponent implements St
     private final Set<Object> serialiableInterceptorContextKeys;
 
     private final TimerService timerService;
+    private final LockWaitStatistics lockWaitStatistics = new LockWaitStatistics();
 
     /**
      * Construct a new instance.
@@ -133,6 +134,14 @@ public class StatefulSessionComponent extends SessionBeanComponent implements St
         this.cacheFactory = ejbComponentCreateService.getCacheFactory();
     }
 
+    /**
+     * Returns the statistics of the time spent waiting to acquire the lock of an instance of this component.
+     * @return lock wait statistics
+     */
+    public LockWaitStatistics getLockWaitStatistics() {
+        return this.lockWaitStatistics;
+    }
+
     @Override
     public StatefulSessionComponentInstance createInstance() {
         return (StatefulSessionComponentInstance) super.createInstance();
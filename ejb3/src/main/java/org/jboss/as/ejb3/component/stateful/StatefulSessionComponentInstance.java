@@ -42,6 +42,7 @@ import org.jboss.as.naming.ManagedReference;
 import org.jboss.ejb.client.SessionID;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.wildfly.transaction.client.AbstractTransaction;
 import org.wildfly.transaction.client.ContextTransactionManager;
 
@@ -50,6 +51,8 @@ import org.wildfly.transaction.client.ContextTransactionManager;
  */
 public class StatefulSessionComponentInstance extends SessionBeanComponentInstance implements Identifiable<SessionID>, Contextual<Object> {
     private static final long serialVersionUID = 3803978357389448971L;
+    // Indicates whether the lock of a bean instance should be granted to concurrent invocations in arrival order
+    private static final boolean FAIR_LOCK = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.stateful.lock.fair", "false"));
 
     private final SessionID id;
 
@@ -68,7 +71,7 @@ public class StatefulSessionComponentInstance extends SessionBeanComponentInstan
     /**
      * The transaction lock for the stateful bean
      */
-    private final OwnableReentrantLock lock = new OwnableReentrantLock();
+    private final OwnableReentrantLock lock = new OwnableReentrantLock(FAIR_LOCK);
 
     /**
      * true if this bean has been enrolled in a transaction
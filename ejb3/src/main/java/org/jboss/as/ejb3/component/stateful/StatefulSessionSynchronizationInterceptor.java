@@ -89,7 +89,13 @@ public class StatefulSessionSynchronizationInterceptor extends AbstractEJBInterc
         }
         // we obtain a lock in this synchronization interceptor because the lock needs to be tied to the synchronization
         // so that it can released on the tx synchronization callbacks
-        boolean acquired = lock.tryLock(timeout.getValue(), timeout.getTimeUnit(), lockOwner);
+        boolean acquired = lock.tryLock(lockOwner);
+        if (!acquired) {
+            // Only measure contended acquisitions
+            long start = System.nanoTime();
+            acquired = lock.tryLock(timeout.getValue(), timeout.getTimeUnit(), lockOwner);
+            component.getLockWaitStatistics().record(System.nanoTime() - start, acquired);
+        }
         if (!acquired) {
             throw EjbLogger.ROOT_LOGGER.failToObtainLock(component.getComponentName(), timeout.getValue(), timeout.getTimeUnit());
         }
@@ -29,6 +29,7 @@ import java.util.Collection;
 import javax.ejb.TransactionManagementType;
 
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
+import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.ee.component.Attachments;
 import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentConfiguration;
@@ -73,6 +74,7 @@ import static org.jboss.as.server.deployment.Attachments.CAPABILITY_SERVICE_SUPP
 public class StatelessComponentDescription extends SessionBeanComponentDescription {
 
     private static final String STRICT_MAX_POOL_CONFIG_CAPABILITY_NAME = "org.wildfly.ejb3.pool-config";
+    private static final String STRIPED_MAX_POOL_CONFIG_CAPABILITY_NAME = "org.wildfly.ejb3.striped-pool-config";
     private static final String DEFAULT_SLSB_POOL_CONFIG_CAPABILITY_NAME = "org.wildfly.ejb3.pool-config.slsb-default";
 
     private String poolConfigName;
@@ -121,7 +123,9 @@ public class StatelessComponentDescription extends SessionBeanComponentDescripti
                             }
                         } else {
                             // pool name has been explicitly set so the pool config is a required dependency
-                            ServiceName poolConfigServiceName = support.getCapabilityServiceName(STRICT_MAX_POOL_CONFIG_CAPABILITY_NAME, poolName);
+                            // it refers to a strict-max-pool, unless a striped-max-pool of that name exists
+                            String poolConfigCapabilityName = support.hasCapability(RuntimeCapability.buildDynamicCapabilityName(STRIPED_MAX_POOL_CONFIG_CAPABILITY_NAME, poolName)) ? STRIPED_MAX_POOL_CONFIG_CAPABILITY_NAME : STRICT_MAX_POOL_CONFIG_CAPABILITY_NAME;
+                            ServiceName poolConfigServiceName = support.getCapabilityServiceName(poolConfigCapabilityName, poolName);
                             serviceBuilder.addDependency(poolConfigServiceName, PoolConfig.class, statelessSessionComponentCreateService.getPoolConfigInjector());
                         }
                     }
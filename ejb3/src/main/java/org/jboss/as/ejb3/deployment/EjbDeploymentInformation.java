@@ -27,13 +27,16 @@ import static org.wildfly.common.Assert.checkNotNullParam;
 import org.jboss.as.ee.component.ComponentView;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.iiop.EjbIIOPService;
+import org.jboss.ejb.client.EJBMethodLocator;
 import org.jboss.msc.value.InjectedValue;
 
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Runtime information about an Jakarta Enterprise Beans in a module
@@ -52,6 +55,7 @@ public class EjbDeploymentInformation {
 
     private final InjectedValue<EjbIIOPService> iorFactory;
     private final Set<String> remoteViewClassNames = new HashSet<String>();
+    private final Map<String, ViewMethodIndex> viewMethodIndexes = new ConcurrentHashMap<String, ViewMethodIndex>();
 
     /**
      * @param ejbName               The EJB name
@@ -112,6 +116,25 @@ public class EjbDeploymentInformation {
         return value.getValue();
     }
 
+    /**
+     * Returns the method of the specified view that matches the passed <code>methodLocator</code>.
+     * The methods of each view are indexed by their locator upon first use, so that subsequent lookups run in constant time.
+     *
+     * @param viewClassName The fully qualified classname of the view
+     * @param methodLocator The locator of the method
+     * @return The matching view method, or null if the view has no such method
+     */
+    public Method getViewMethod(final String viewClassName, final EJBMethodLocator methodLocator) {
+        final ComponentView view = this.getView(viewClassName);
+        ViewMethodIndex index = this.viewMethodIndexes.get(viewClassName);
+        // Rebuild the index if the view was restarted
+        if (index == null || index.view != view) {
+            index = new ViewMethodIndex(view);
+            this.viewMethodIndexes.put(viewClassName, index);
+        }
+        return index.methods.get(methodLocator);
+    }
+
     public ClassLoader getDeploymentClassLoader() {
         return deploymentClassLoader;
     }
@@ -130,4 +153,21 @@ public class EjbDeploymentInformation {
     public boolean isRemoteView(final String viewClassName) {
         return this.remoteViewClassNames.contains(viewClassName);
     }
+
+    private static class ViewMethodIndex {
+        final ComponentView view;
+        final Map<EJBMethodLocator, Method> methods = new HashMap<EJBMethodLocator, Method>();
+
+        ViewMethodIndex(final ComponentView view) {
+            this.view = view;
+            for (Method method : view.getViewMethods()) {
+                final Class<?>[] parameterTypes = method.getParameterTypes();
+                final String[] parameterTypeNames = new String[parameterTypes.length];
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    parameterTypeNames[i] = parameterTypes[i].getName();
+                }
+                this.methods.putIfAbsent(new EJBMethodLocator(method.getName(), parameterTypeNames), method);
+            }
+        }
+    }
 }
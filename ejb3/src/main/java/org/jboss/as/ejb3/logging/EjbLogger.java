@@ -3244,4 +3244,16 @@ public interface EjbLogger extends BasicLogger {
     @LogMessage(level = ERROR)
     @Message(id = 527, value = "Remoting connector (address %s, port %s) is not correctly configured for EJB client invocations, the connector must be listed in <remote/> 'connectors' attribute to receive EJB client invocations")
     void connectorNotConfiguredForEJBClientInvocations(String address, int port);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 528, value = "Cannot add the LAST_MODIFIED column to the table for timer persistence")
+    void couldNotAlterTable(@Cause SQLException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 529, value = "Ignoring invalid record at offset %d of timer journal segment %s, and all records following it")
+    void invalidTimerJournalRecord(long offset, File segment);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 530, value = "Failed to compact timer journal %s")
+    void failedToCompactTimerJournal(File directory, @Cause Throwable cause);
 }
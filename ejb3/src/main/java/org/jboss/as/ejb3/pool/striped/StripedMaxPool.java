@@ -0,0 +1,285 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.pool.striped;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size, whose free instances are distributed across a number of independent stripes.
+ * Each thread prefers the stripe selected by its identifier, and only visits other stripes if its own stripe is empty,
+ * so that threads repeatedly invoking the same bean rarely contend with each other.
+ * Instances are reused in LIFO order, favoring the most recently used (i.e. cache-warm) instance.
+ * Unlike {@link org.jboss.as.ejb3.pool.strictmax.StrictMaxPool}, neither {@link #get()} nor {@link #release(Object)} allocate,
+ * and permits are tracked via a simple counter, such that threads only block when the pool is exhausted.
+ */
+public class StripedMaxPool<T> extends AbstractPool<T> {
+
+    private static final int DEFAULT_STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+    private final int maxSize;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+    private final Stripe<T>[] stripes;
+    private final int mask;
+    /**
+     * The number of instances that may still be acquired
+     */
+    private final AtomicInteger permits;
+    /**
+     * The number of live instances, i.e. instances created, but not yet destroyed
+     */
+    private final AtomicInteger size = new AtomicInteger(0);
+    /**
+     * Guards waiting for a permit, only used when the pool is exhausted
+     */
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private volatile int waiters = 0;
+
+    public StripedMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, DEFAULT_STRIPES);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, int stripes) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        this.permits = new AtomicInteger(maxSize);
+        // Never use more stripes than instances
+        int size = Integer.highestOneBit(Math.max(Math.min(stripes, maxSize), 1));
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; ++i) {
+            this.stripes[i] = new Stripe<>();
+        }
+        this.mask = size - 1;
+    }
+
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+        this.destroy(ctx);
+        this.releasePermit();
+    }
+
+    public int getCurrentSize() {
+        return getCreateCount() - getRemoveCount();
+    }
+
+    public int getAvailableCount() {
+        return this.permits.get();
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    }
+
+    /**
+     * Get an instance without identity.
+     * Can be used by finders,create-methods, and activation
+     *
+     * @return Context /w instance
+     */
+    public T get() {
+        this.acquirePermit();
+
+        int home = this.home();
+        while (true) {
+            T bean = this.poll(home);
+            if (bean != null) {
+                //we found a bean instance in the pool, return it
+                return bean;
+            }
+            // Pool is empty, create an instance, unless we have already reached the maximum size
+            int current = this.size.get();
+            if (current < this.maxSize) {
+                if (this.size.compareAndSet(current, current + 1)) {
+                    try {
+                        bean = this.create();
+                    } finally {
+                        if (bean == null) {
+                            this.size.decrementAndGet();
+                            this.releasePermit();
+                        }
+                    }
+                    return bean;
+                }
+            } else {
+                // Since we hold a permit, a free instance must exist in some stripe, though it may have been pushed after we visited that stripe
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Return an instance after invocation.
+     * <p/>
+     * Called in 2 cases:
+     * a) Done with finder method
+     * b) Just removed
+     *
+     * @param obj
+     */
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.maxSize - this.permits.get(), this.maxSize, this);
+        }
+        // Instance must be available before its permit
+        this.stripes[this.home()].push(obj);
+        this.releasePermit();
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+        this.destroy(ctx);
+        this.releasePermit();
+    }
+
+    public void start() {
+    }
+
+    public void stop() {
+        for (Stripe<T> stripe : this.stripes) {
+            for (T obj = stripe.poll(); obj != null; obj = stripe.poll()) {
+                this.destroy(obj);
+            }
+        }
+    }
+
+    @Override
+    protected void destroy(T bean) {
+        // Instance must no longer count towards the size before its permit is released
+        this.size.decrementAndGet();
+        super.destroy(bean);
+    }
+
+    private int home() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32));
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+
+    private T poll(int home) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            T bean = this.stripes[(home + i) & this.mask].poll();
+            if (bean != null) {
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    private void acquirePermit() {
+        if (this.tryAcquirePermit()) return;
+        try {
+            long nanos = this.timeUnit.toNanos(this.timeout);
+            this.lock.lockInterruptibly();
+            try {
+                this.waiters += 1;
+                try {
+                    while (!this.tryAcquirePermit()) {
+                        if (nanos <= 0L) {
+                            throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                        }
+                        nanos = this.available.awaitNanos(nanos);
+                    }
+                } finally {
+                    this.waiters -= 1;
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        }
+    }
+
+    private boolean tryAcquirePermit() {
+        int current = this.permits.get();
+        while (current > 0) {
+            if (this.permits.compareAndSet(current, current - 1)) {
+                return true;
+            }
+            current = this.permits.get();
+        }
+        return false;
+    }
+
+    private void releasePermit() {
+        this.permits.incrementAndGet();
+        // Only contend on the lock if some thread is waiting for a permit
+        if (this.waiters > 0) {
+            this.lock.lock();
+            try {
+                this.available.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * LIFO stack of free instances.
+     */
+    private static class Stripe<T> {
+        private Object[] instances = new Object[4];
+        private int size = 0;
+
+        synchronized void push(T instance) {
+            if (this.size == this.instances.length) {
+                this.instances = Arrays.copyOf(this.instances, this.size << 1);
+            }
+            this.instances[this.size++] = instance;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized T poll() {
+            if (this.size == 0) return null;
+            int index = --this.size;
+            T instance = (T) this.instances[index];
+            this.instances[index] = null;
+            return instance;
+        }
+    }
+}
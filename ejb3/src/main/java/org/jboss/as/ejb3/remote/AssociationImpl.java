@@ -26,6 +26,7 @@ import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentIsStoppedException;
 import org.jboss.as.ee.component.ComponentView;
 import org.jboss.as.ee.component.interceptors.InvocationType;
+import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.EJBComponentUnavailableException;
 import org.jboss.as.ejb3.component.interceptors.CancellationFlag;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
@@ -45,7 +46,6 @@ import org.jboss.ejb.client.ClusterAffinity;
 import org.jboss.ejb.client.EJBClientInvocationContext;
 import org.jboss.ejb.client.EJBIdentifier;
 import org.jboss.ejb.client.EJBLocator;
-import org.jboss.ejb.client.EJBMethodLocator;
 import org.jboss.ejb.client.EJBModuleIdentifier;
 import org.jboss.ejb.client.NodeAffinity;
 import org.jboss.ejb.client.SessionID;
@@ -104,10 +104,43 @@ final class AssociationImpl implements Association, AutoCloseable {
     };
     private final DeploymentRepository deploymentRepository;
     private final Map<Integer, ClusterTopologyRegistrar> clusterTopologyRegistrars;
+    // Started EJBs resolved by identifier, replaced whenever the availability of a deployment changes
+    private volatile Map<EJBIdentifier, EjbDeploymentInformation> resolvedEJBs = new ConcurrentHashMap<>();
+    private final DeploymentRepositoryListener resolvedEJBsInvalidator = new DeploymentRepositoryListener() {
+        @Override
+        public void listenerAdded(final DeploymentRepository repository) {
+        }
+
+        @Override
+        public void deploymentAvailable(final DeploymentModuleIdentifier deployment, final ModuleDeployment moduleDeployment) {
+            invalidateResolvedEJBs();
+        }
+
+        @Override
+        public void deploymentStarted(final DeploymentModuleIdentifier deployment, final ModuleDeployment moduleDeployment) {
+            invalidateResolvedEJBs();
+        }
+
+        @Override
+        public void deploymentRemoved(final DeploymentModuleIdentifier deployment) {
+            invalidateResolvedEJBs();
+        }
+
+        @Override
+        public void deploymentSuspended(final DeploymentModuleIdentifier deployment) {
+            invalidateResolvedEJBs();
+        }
+
+        @Override
+        public void deploymentResumed(final DeploymentModuleIdentifier deployment) {
+            invalidateResolvedEJBs();
+        }
+    };
     private volatile Executor executor;
 
     AssociationImpl(final DeploymentRepository deploymentRepository, final List<Map.Entry<ProtocolSocketBinding, Registry<String, List<ClientMapping>>>> clientMappingRegistries) {
         this.deploymentRepository = deploymentRepository;
+        this.deploymentRepository.addListener(this.resolvedEJBsInvalidator);
         this.clusterTopologyRegistrars = clientMappingRegistries.isEmpty() ? Collections.emptyMap() : new HashMap<>(clientMappingRegistries.size());
         for (Map.Entry<ProtocolSocketBinding, Registry<String, List<ClientMapping>>> entry : clientMappingRegistries) {
             this.clusterTopologyRegistrars.put(entry.getKey().getSocketBinding().getSocketAddress().getPort(), new ClusterTopologyRegistrar(entry.getValue()));
@@ -116,6 +149,7 @@ final class AssociationImpl implements Association, AutoCloseable {
 
     @Override
     public void close() {
+        this.deploymentRepository.removeListener(this.resolvedEJBsInvalidator);
         for (ClusterTopologyRegistrar registrar : this.clusterTopologyRegistrars.values()) {
             registrar.close();
         }
@@ -126,12 +160,9 @@ final class AssociationImpl implements Association, AutoCloseable {
 
         final EJBIdentifier ejbIdentifier = invocationRequest.getEJBIdentifier();
 
-        final String appName = ejbIdentifier.getAppName();
-        final String moduleName = ejbIdentifier.getModuleName();
-        final String distinctName = ejbIdentifier.getDistinctName();
-        final String beanName = ejbIdentifier.getBeanName();
-
-        final EjbDeploymentInformation ejbDeploymentInformation = findEJB(appName, moduleName, distinctName, beanName);
+        final long resolutionStart = System.nanoTime();
+        final EjbDeploymentInformation ejbDeploymentInformation = findEJB(ejbIdentifier);
+        long resolutionTime = System.nanoTime() - resolutionStart;
 
         if (ejbDeploymentInformation == null) {
             invocationRequest.writeNoSuchEJB();
@@ -166,7 +197,9 @@ final class AssociationImpl implements Association, AutoCloseable {
 
         final ComponentView componentView = ejbDeploymentInformation.getView(viewClassName);
 
-        final Method invokedMethod = findMethod(componentView, invocationRequest.getMethodLocator());
+        final long methodResolutionStart = System.nanoTime();
+        final Method invokedMethod = ejbDeploymentInformation.getViewMethod(viewClassName, invocationRequest.getMethodLocator());
+        resolutionTime += System.nanoTime() - methodResolutionStart;
         if (invokedMethod == null) {
             invocationRequest.writeNoSuchMethod();
             return CancelHandle.NULL;
@@ -174,6 +207,10 @@ final class AssociationImpl implements Association, AutoCloseable {
 
         final Component component = componentView.getComponent();
 
+        if (component instanceof EJBComponent) {
+            ((EJBComponent) component).getInvocationMetrics().remoteResolution(resolutionTime);
+        }
+
         try {
             component.waitForComponentStart();
         } catch (RuntimeException e) {
@@ -351,12 +388,8 @@ final class AssociationImpl implements Association, AutoCloseable {
     public CancelHandle receiveSessionOpenRequest(@NotNull final SessionOpenRequest sessionOpenRequest) {
 
         final EJBIdentifier ejbIdentifier = sessionOpenRequest.getEJBIdentifier();
-        final String appName = ejbIdentifier.getAppName();
-        final String moduleName = ejbIdentifier.getModuleName();
-        final String beanName = ejbIdentifier.getBeanName();
-        final String distinctName = ejbIdentifier.getDistinctName();
 
-        final EjbDeploymentInformation ejbDeploymentInformation = findEJB(appName, moduleName, distinctName, beanName);
+        final EjbDeploymentInformation ejbDeploymentInformation = findEJB(ejbIdentifier);
         if (ejbDeploymentInformation == null) {
             sessionOpenRequest.writeNoSuchEJB();
             return CancelHandle.NULL;
@@ -489,6 +522,23 @@ final class AssociationImpl implements Association, AutoCloseable {
         return new EJBModuleIdentifier(identifier.getApplicationName(), identifier.getModuleName(), identifier.getDistinctName());
     }
 
+    private void invalidateResolvedEJBs() {
+        this.resolvedEJBs = new ConcurrentHashMap<>();
+    }
+
+    private EjbDeploymentInformation findEJB(final EJBIdentifier ejbIdentifier) {
+        // Capture the cache before consulting the repository, so that a result computed concurrently with the removal of its deployment is discarded
+        final Map<EJBIdentifier, EjbDeploymentInformation> resolvedEJBs = this.resolvedEJBs;
+        EjbDeploymentInformation ejbDeploymentInformation = resolvedEJBs.get(ejbIdentifier);
+        if (ejbDeploymentInformation == null) {
+            ejbDeploymentInformation = findEJB(ejbIdentifier.getAppName(), ejbIdentifier.getModuleName(), ejbIdentifier.getDistinctName(), ejbIdentifier.getBeanName());
+            if (ejbDeploymentInformation != null) {
+                resolvedEJBs.put(ejbIdentifier, ejbDeploymentInformation);
+            }
+        }
+        return ejbDeploymentInformation;
+    }
+
     private EjbDeploymentInformation findEJB(final String appName, final String moduleName, final String distinctName, final String beanName) {
         final DeploymentModuleIdentifier ejbModule = new DeploymentModuleIdentifier(appName, moduleName, distinctName);
         final Map<DeploymentModuleIdentifier, ModuleDeployment> modules = this.deploymentRepository.getStartedModules();
@@ -674,29 +724,6 @@ final class AssociationImpl implements Association, AutoCloseable {
         return securityIdentity == null ? componentView.invoke(interceptorContext) : securityIdentity.runAsFunctionEx(ComponentView::invoke, componentView, interceptorContext);
     }
 
-    private static Method findMethod(final ComponentView componentView, final EJBMethodLocator ejbMethodLocator) {
-        final Set<Method> viewMethods = componentView.getViewMethods();
-        for (final Method method : viewMethods) {
-            if (method.getName().equals(ejbMethodLocator.getMethodName())) {
-                final Class<?>[] methodParamTypes = method.getParameterTypes();
-                if (methodParamTypes.length != ejbMethodLocator.getParameterCount()) {
-                    continue;
-                }
-                boolean found = true;
-                for (int i = 0; i < methodParamTypes.length; i++) {
-                    if (!methodParamTypes[i].getName().equals(ejbMethodLocator.getParameterTypeName(i))) {
-                        found = false;
-                        break;
-                    }
-                }
-                if (found) {
-                    return method;
-                }
-            }
-        }
-        return null;
-    }
-
     private static Affinity getStrongAffinity(final StatefulSessionComponent statefulSessionComponent) {
         return statefulSessionComponent.getCache().getStrictAffinity();
     }
@@ -24,6 +24,8 @@ package org.jboss.as.ejb3.subsystem;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
+import java.util.concurrent.ExecutorService;
+
 import org.jboss.as.controller.AbstractAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.CapabilityServiceBuilder;
@@ -31,6 +33,7 @@ import org.jboss.as.controller.CapabilityServiceTarget;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.ejb3.timerservice.TimeoutScheduler;
 import org.jboss.as.ejb3.timerservice.persistence.database.DatabaseTimerPersistence;
 import org.jboss.as.naming.ManagedReferenceFactory;
 import org.jboss.as.naming.deployment.ContextNames;
@@ -47,8 +50,6 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  */
 public class DatabaseDataStoreAdd extends AbstractAddStepHandler {
 
-    private static final String TIMER_SERVICE_CAPABILITY_NAME = "org.wildfly.ejb3.timer-service";
-
     DatabaseDataStoreAdd(AttributeDefinition... attributes) {
         super(attributes);
     }
@@ -72,6 +73,10 @@ public class DatabaseDataStoreAdd extends AbstractAddStepHandler {
         int refreshInterval = DatabaseDataStoreResourceDefinition.REFRESH_INTERVAL.resolveModelAttribute(context, model).asInt();
         boolean allowExecution = DatabaseDataStoreResourceDefinition.ALLOW_EXECUTION.resolveModelAttribute(context, model).asBoolean();
 
+        // Refreshes are run by the thread pool of the timer service
+        final ModelNode timerServiceModel = context.readResourceFromRoot(context.getCurrentAddress().getParent(), false).getModel();
+        final String threadPoolName = TimerServiceResourceDefinition.THREAD_POOL_NAME.resolveModelAttribute(context, timerServiceModel).asString();
+
         final String nodeName = WildFlySecurityManager.getPropertyPrivileged(ServerEnvironment.NODE_NAME, null);
         final DatabaseTimerPersistence databaseTimerPersistence = new DatabaseTimerPersistence(database, partition, nodeName, refreshInterval, allowExecution);
 
@@ -80,7 +85,8 @@ public class DatabaseDataStoreAdd extends AbstractAddStepHandler {
         final CapabilityServiceBuilder<DatabaseTimerPersistence> builder = serviceTarget.addCapability(DatabaseDataStoreResourceDefinition.TIMER_PERSISTENCE_CAPABILITY, databaseTimerPersistence);
         builder.addDependency(Services.JBOSS_SERVICE_MODULE_LOADER, ModuleLoader.class, databaseTimerPersistence.getModuleLoader());
         builder.addDependency(ContextNames.bindInfoFor(jndiName).getBinderServiceName(), ManagedReferenceFactory.class, databaseTimerPersistence.getDataSourceInjectedValue());
-        builder.addCapabilityRequirement(TIMER_SERVICE_CAPABILITY_NAME, java.util.Timer.class, databaseTimerPersistence.getTimerInjectedValue());
+        builder.addCapabilityRequirement(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY_NAME, TimeoutScheduler.class, databaseTimerPersistence.getTimeoutSchedulerInjectedValue());
+        builder.addDependency(context.getCapabilityServiceName(TimerServiceResourceDefinition.THREAD_POOL_CAPABILITY_NAME, threadPoolName, ExecutorService.class), ExecutorService.class, databaseTimerPersistence.getExecutorInjectedValue());
         builder.install();
     }
 
@@ -195,6 +195,10 @@ public class EJB3Subsystem40Parser extends EJB3Subsystem30Parser {
     }
 
     void parseStrictMaxPool(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+        this.parseMaxPool(reader, operations, STRICT_MAX_BEAN_INSTANCE_POOL);
+    }
+
+    void parseMaxPool(final XMLExtendedStreamReader reader, List<ModelNode> operations, String poolType) throws XMLStreamException {
         final int count = reader.getAttributeCount();
         String poolName = null;
         final ModelNode operation = Util.createAddOperation();
@@ -237,7 +241,7 @@ public class EJB3Subsystem40Parser extends EJB3Subsystem30Parser {
         }
         // create and add the operation
         // create /subsystem=ejb3/strict-max-bean-instance-pool=name:add(...)
-        final PathAddress address = this.getEJB3SubsystemAddress().append(STRICT_MAX_BEAN_INSTANCE_POOL, poolName);
+        final PathAddress address = this.getEJB3SubsystemAddress().append(poolType, poolName);
         operation.get(OP_ADDR).set(address.toModelNode());
         operations.add(operation);
     }
@@ -89,6 +89,7 @@ public enum EJB3SubsystemXMLElement {
     STATELESS("stateless"),
     STATISTICS("statistics"),
     STRICT_MAX_POOL("strict-max-pool"),
+    STRIPED_MAX_POOL("striped-max-pool"),
 
     CONNECTIONS("connections"),
 
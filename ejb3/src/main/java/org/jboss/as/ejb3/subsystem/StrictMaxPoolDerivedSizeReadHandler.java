@@ -40,11 +40,17 @@ import org.jboss.msc.service.ServiceRegistry;
 
 public class StrictMaxPoolDerivedSizeReadHandler extends AbstractRuntimeOnlyHandler{
 
+    private final String capabilityName;
+
+    StrictMaxPoolDerivedSizeReadHandler(String capabilityName) {
+        this.capabilityName = capabilityName;
+    }
+
     @Override
     protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
         final String poolName = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR)).getLastElement().getValue();
 
-        ServiceName serviceName = context.getCapabilityServiceName(StrictMaxPoolResourceDefinition.STRICT_MAX_POOL_CONFIG_CAPABILITY_NAME, poolName, StrictMaxPoolConfigService.class);
+        ServiceName serviceName = context.getCapabilityServiceName(this.capabilityName, poolName, StrictMaxPoolConfigService.class);
         final ServiceRegistry registry = context.getServiceRegistry(true);
         ServiceController<?> sc = registry.getService(serviceName);
         if (sc != null) {
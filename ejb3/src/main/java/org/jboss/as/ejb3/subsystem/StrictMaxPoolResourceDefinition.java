@@ -30,6 +30,7 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
@@ -48,7 +49,7 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
- * {@link org.jboss.as.controller.ResourceDefinition} for the strict-max-bean-pool resource.
+ * {@link org.jboss.as.controller.ResourceDefinition} for the strict-max-bean-pool and striped-max-bean-pool resources.
  *
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  */
@@ -58,6 +59,10 @@ public class StrictMaxPoolResourceDefinition extends SimpleResourceDefinition {
     public static final RuntimeCapability<Void> STRICT_MAX_POOL_CONFIG_CAPABILITY =
             RuntimeCapability.Builder.of(STRICT_MAX_POOL_CONFIG_CAPABILITY_NAME, true, StrictMaxPoolConfigService.class).build();
 
+    public static final String STRIPED_MAX_POOL_CONFIG_CAPABILITY_NAME = "org.wildfly.ejb3.striped-pool-config";
+    public static final RuntimeCapability<Void> STRIPED_MAX_POOL_CONFIG_CAPABILITY =
+            RuntimeCapability.Builder.of(STRIPED_MAX_POOL_CONFIG_CAPABILITY_NAME, true, StrictMaxPoolConfigService.class).build();
+
     public static final SimpleAttributeDefinition MAX_POOL_SIZE =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_POOL_SIZE, ModelType.INT, true)
                     .setDefaultValue(new ModelNode().set(StrictMaxPoolConfig.DEFAULT_MAX_POOL_SIZE))
@@ -99,8 +104,8 @@ public class StrictMaxPoolResourceDefinition extends SimpleResourceDefinition {
                     .build();
 
     private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { MAX_POOL_SIZE, DERIVE_SIZE, INSTANCE_ACQUISITION_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT_UNIT };
-    private static final StrictMaxPoolAdd ADD_HANDLER = new StrictMaxPoolAdd(ATTRIBUTES);
-    public static final StrictMaxPoolResourceDefinition INSTANCE = new StrictMaxPoolResourceDefinition();
+    public static final StrictMaxPoolResourceDefinition INSTANCE = new StrictMaxPoolResourceDefinition(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH, STRICT_MAX_POOL_CONFIG_CAPABILITY, new StrictMaxPoolAdd(STRICT_MAX_POOL_CONFIG_CAPABILITY, ATTRIBUTES));
+    public static final StrictMaxPoolResourceDefinition STRIPED_INSTANCE = new StrictMaxPoolResourceDefinition(EJB3SubsystemModel.STRIPED_MAX_BEAN_INSTANCE_POOL_PATH, STRIPED_MAX_POOL_CONFIG_CAPABILITY, new StripedMaxPoolAdd(STRIPED_MAX_POOL_CONFIG_CAPABILITY, ATTRIBUTES));
 
     private static final String NONE_VALUE = "none";
     private static final String FROM_WORKER_POOLS_VALUE = "from-worker-pools";
@@ -148,22 +153,25 @@ public class StrictMaxPoolResourceDefinition extends SimpleResourceDefinition {
         return Derive.NONE;
     }
 
-    private StrictMaxPoolResourceDefinition() {
-        super(new SimpleResourceDefinition.Parameters(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH, EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL))
-                .setAddHandler(ADD_HANDLER)
-                .setRemoveHandler(new ServiceRemoveStepHandler(null, ADD_HANDLER, STRICT_MAX_POOL_CONFIG_CAPABILITY))
+    private final RuntimeCapability<Void> capability;
+
+    private StrictMaxPoolResourceDefinition(PathElement path, RuntimeCapability<Void> capability, StrictMaxPoolAdd addHandler) {
+        super(new SimpleResourceDefinition.Parameters(path, EJB3Extension.getResourceDescriptionResolver(path.getKey()))
+                .setAddHandler(addHandler)
+                .setRemoveHandler(new ServiceRemoveStepHandler(null, addHandler, capability))
                 .setAddRestartLevel(OperationEntry.Flag.RESTART_NONE)
                 .setRemoveRestartLevel(OperationEntry.Flag.RESTART_RESOURCE_SERVICES)
-                .setCapabilities(STRICT_MAX_POOL_CONFIG_CAPABILITY));
+                .setCapabilities(capability));
+        this.capability = capability;
     }
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
-        OperationStepHandler osh = new StrictMaxPoolWriteHandler(ATTRIBUTES);
+        OperationStepHandler osh = new StrictMaxPoolWriteHandler(this.capability.getName(), ATTRIBUTES);
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, osh);
         }
-        resourceRegistration.registerReadOnlyAttribute(DERIVED_SIZE, new StrictMaxPoolDerivedSizeReadHandler());
+        resourceRegistration.registerReadOnlyAttribute(DERIVED_SIZE, new StrictMaxPoolDerivedSizeReadHandler(this.capability.getName()));
     }
 
 }
@@ -43,8 +43,11 @@ import org.jboss.msc.service.ServiceRegistry;
  */
 class StrictMaxPoolWriteHandler extends AbstractWriteAttributeHandler<Void> {
 
-    StrictMaxPoolWriteHandler(AttributeDefinition...  attributes) {
+    private final String capabilityName;
+
+    StrictMaxPoolWriteHandler(String capabilityName, AttributeDefinition...  attributes) {
         super(attributes);
+        this.capabilityName = capabilityName;
     }
 
     @Override
@@ -61,7 +64,7 @@ class StrictMaxPoolWriteHandler extends AbstractWriteAttributeHandler<Void> {
 
         final String poolName = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR)).getLastElement().getValue();
 
-        ServiceName serviceName = context.getCapabilityServiceName(StrictMaxPoolResourceDefinition.STRICT_MAX_POOL_CONFIG_CAPABILITY_NAME, poolName, StrictMaxPoolConfigService.class);
+        ServiceName serviceName = context.getCapabilityServiceName(this.capabilityName, poolName, StrictMaxPoolConfigService.class);
         final ServiceRegistry registry = context.getServiceRegistry(true);
         ServiceController<?> sc = registry.getService(serviceName);
         if (sc != null) {
@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.suspend;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts active units of work (e.g. invocations or transactions) without a single contended memory location.
+ * Starts and completions are accumulated via separate striped counters.
+ * Because completions are always summed before starts, the computed count is never less than the number of active units of work
+ * at some instant during its computation, thus a count of 0 reliably indicates quiescence.
+ */
+class ActivityCounter {
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+
+    void start() {
+        this.started.increment();
+    }
+
+    void complete() {
+        this.completed.increment();
+    }
+
+    /**
+     * Returns the number of active units of work.
+     * @return a upper bound of the number of active units of work, which is exact if 0.
+     */
+    int getActive() {
+        // Order is significant
+        long completed = this.completed.sum();
+        return (int) (this.started.sum() - completed);
+    }
+}
@@ -15,7 +15,6 @@
  */
 package org.jboss.as.ejb3.suspend;
 
-import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import javax.transaction.RollbackException;
@@ -50,18 +49,6 @@ public class EJBSuspendHandlerService implements Service<EJBSuspendHandlerServic
      */
     public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("ejb").append("suspend-handler");
 
-    /**
-     * Updates activeInvocationCount field
-     */
-    private static final AtomicIntegerFieldUpdater<EJBSuspendHandlerService> activeInvocationCountUpdater = AtomicIntegerFieldUpdater
-            .newUpdater(EJBSuspendHandlerService.class, "activeInvocationCount");
-
-    /**
-     * Updates activeTransactionCount field
-     */
-    private static final AtomicIntegerFieldUpdater<EJBSuspendHandlerService> activeTransactionCountUpdater = AtomicIntegerFieldUpdater
-            .newUpdater(EJBSuspendHandlerService.class, "activeTransactionCount");
-
     /**
      * Updates listener field
      */
@@ -91,14 +78,14 @@ public class EJBSuspendHandlerService implements Service<EJBSuspendHandlerServic
     private final InjectedValue<DeploymentRepository> deploymentRepositoryInjectedValue = new InjectedValue<>();
 
     /**
-     * The number of active requests that are using this entry point
+     * The active requests that are using this entry point
      */
-    @SuppressWarnings("unused") private volatile int activeInvocationCount = 0;
+    private final ActivityCounter activeInvocations = new ActivityCounter();
 
     /**
-     * The number of active transactions in the server
+     * The active transactions in the server, updated by every transaction, thus striped to avoid contention
      */
-    @SuppressWarnings("unused") private volatile int activeTransactionCount = 0;
+    private final ActivityCounter activeTransactions = new ActivityCounter();
 
     /**
      * Keeps track of whether the server shutdown controller has requested suspension
@@ -205,14 +192,14 @@ public class EJBSuspendHandlerService implements Service<EJBSuspendHandlerServic
         listenerUpdater.set(this, listener);
         localTransactionContextInjectedValue.getValue().suspendRequests();
 
-        final int activeInvocationCount = activeInvocationCountUpdater.get(this);
+        final int activeInvocationCount = activeInvocations.getActive();
         if (activeInvocationCount == 0) {
             if (gracefulTxnShutdown) {
-                final int activeTransactionCountUpdaterAtShutdown = activeTransactionCountUpdater.get(this);
-                if (activeTransactionCountUpdaterAtShutdown == 0) {
+                final int activeTransactionCount = activeTransactions.getActive();
+                if (activeTransactionCount == 0) {
                     this.doneSuspended();
                 } else {
-                    EjbLogger.ROOT_LOGGER.suspensionWaitingActiveTransactions(activeTransactionCountUpdaterAtShutdown);
+                    EjbLogger.ROOT_LOGGER.suspensionWaitingActiveTransactions(activeTransactionCount);
                 }
             } else {
                 this.doneSuspended();
@@ -245,7 +232,7 @@ public class EJBSuspendHandlerService implements Service<EJBSuspendHandlerServic
             if (!gracefulTxnShutdown)
                 return false;
             // a null listener means that we are done suspending;
-            if (listenerUpdater.get(this) == null || activeTransactionCountUpdater.get(this) == 0)
+            if (listenerUpdater.get(this) == null || activeTransactions.getActive() == 0)
                 return false;
             // retrieve attachment only when we are not entirely suspended, meaning we are mid-suspension
             if (!context.hasTransaction()) {
@@ -257,7 +244,7 @@ public class EJBSuspendHandlerService implements Service<EJBSuspendHandlerServic
                 return false;
             }
         }
-        activeInvocationCountUpdater.incrementAndGet(this);
+        activeInvocations.start();
         return true;
     }
 
@@ -265,8 +252,8 @@ public class EJBSuspendHandlerService implements Service<EJBSuspendHandlerServic
      * Notifies handler that an active invocation is complete.
      */
     public void invocationComplete() {
-        int activeInvocations = activeInvocationCountUpdater.decrementAndGet(this);
-        if (suspended && activeInvocations == 0 && (!gracefulTxnShutdown || (activeTransactionCountUpdater.get(this) == 0))) {
+        activeInvocations.complete();
+        if (suspended && activeInvocations.getActive() == 0 && (!gracefulTxnShutdown || (activeTransactions.getActive() == 0))) {
             doneSuspended();
         }
     }
@@ -275,7 +262,7 @@ public class EJBSuspendHandlerService implements Service<EJBSuspendHandlerServic
      * Notifies handler that a new transaction has been created.
      */
     @Override public void transactionCreated(AbstractTransaction transaction, CreatedBy createdBy) {
-        activeTransactionCountUpdater.incrementAndGet(this);
+        activeTransactions.start();
         try {
             transaction.registerSynchronization(this);
         } catch (RollbackException | IllegalStateException e) {
@@ -328,8 +315,9 @@ public class EJBSuspendHandlerService implements Service<EJBSuspendHandlerServic
      * active transactions left.
      */
     private void decrementTransactionCount() {
-        int activeTransactionCount = activeTransactionCountUpdater.decrementAndGet(this);
-        if (suspended && activeTransactionCount == 0 && activeInvocationCountUpdater.get(this) == 0) {
+        activeTransactions.complete();
+        // Only sum counters while suspended
+        if (suspended && activeTransactions.getActive() == 0 && activeInvocations.getActive() == 0) {
             doneSuspended();
         }
     }
@@ -22,7 +22,6 @@
 package org.jboss.as.ejb3.timerservice;
 
 import java.lang.reflect.Method;
-import java.util.Calendar;
 import java.util.Date;
 
 import javax.ejb.EJBException;
@@ -93,10 +92,7 @@ public class CalendarTimer extends TimerImpl {
 
         if (builder.nextDate == null && builder.newTimer) {
             // compute the next timeout (from "now")
-            Calendar nextTimeout = this.calendarTimeout.getNextTimeout();
-            if (nextTimeout != null) {
-                this.nextExpiration = nextTimeout.getTime();
-            }
+            this.nextExpiration = this.calendarTimeout.getNextTimeout(new Date());
         }
     }
 
@@ -21,9 +21,7 @@
  */
 package org.jboss.as.ejb3.timerservice;
 
-import java.util.Calendar;
 import java.util.Date;
-import java.util.GregorianCalendar;
 
 import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
 
@@ -75,14 +73,8 @@ public class CalendarTimerTask extends TimerTask<CalendarTimer> {
         if (currentTimeout == null) {
             return null;
         }
-        Calendar cal = new GregorianCalendar();
-        cal.setTime(currentTimeout);
         // now compute the next timeout date
-        Calendar nextTimeout = ((CalendarTimer) timer).getCalendarTimeout().getNextTimeout(cal);
-        if (nextTimeout != null) {
-            return nextTimeout.getTime();
-        }
-        return null;
+        return ((CalendarTimer) timer).getCalendarTimeout().getNextTimeout(currentTimeout);
     }
 
     @Override
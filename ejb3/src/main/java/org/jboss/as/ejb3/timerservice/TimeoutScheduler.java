@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Schedules timeouts of Jakarta Enterprise Beans timers, shared by all timer services.
+ * Timeouts are distributed by key across a number of independent shards, each with its own delay queue and thread,
+ * so that scheduling and cancelling timers of unrelated timed objects do not contend on a single lock.
+ * Scheduled tasks are expected to do nothing more than hand off the timeout to an executor.
+ */
+public class TimeoutScheduler implements AutoCloseable {
+
+    private static final int DEFAULT_SHARDS = Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors() / 2, 1));
+
+    private final ScheduledThreadPoolExecutor[] shards;
+    private final int mask;
+
+    public TimeoutScheduler() {
+        this(DEFAULT_SHARDS);
+    }
+
+    /**
+     * Creates a timeout scheduler using the specified number of shards.
+     * @param shards the number of shards, rounded up to the next power of 2
+     */
+    public TimeoutScheduler(int shards) {
+        int size = Integer.highestOneBit(Math.max(shards, 1));
+        if (size < shards) {
+            size <<= 1;
+        }
+        this.shards = new ScheduledThreadPoolExecutor[size];
+        for (int i = 0; i < size; ++i) {
+            String name = "ejb3-timer-scheduler-" + i;
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, task -> {
+                // Threads must neither retain the context class loader nor the access control context of the creating thread
+                PrivilegedAction<Thread> action = () -> {
+                    Thread thread = new Thread(task, name);
+                    thread.setDaemon(true);
+                    thread.setContextClassLoader(null);
+                    return thread;
+                };
+                return WildFlySecurityManager.doUnchecked(action);
+            });
+            // Cancelled timeouts must not linger in the delay queue until their original deadline
+            executor.setRemoveOnCancelPolicy(true);
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+            // Create threads eagerly, rather than on demand by the first deployment to schedule a timeout
+            executor.prestartAllCoreThreads();
+            this.shards[i] = executor;
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Schedules a single timeout.
+     * @param key the key used to select a shard, e.g. the timer identifier
+     * @param task the task to run upon timeout
+     * @param delay the delay in milliseconds
+     * @return a future that can be used to cancel the timeout
+     */
+    public ScheduledFuture<?> schedule(Object key, Runnable task, long delay) {
+        return this.shard(key).schedule(task, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules a repeating timeout.
+     * @param key the key used to select a shard, e.g. the timer identifier
+     * @param task the task to run upon each timeout
+     * @param delay the initial delay in milliseconds
+     * @param interval the interval between timeouts in milliseconds
+     * @return a future that can be used to cancel all subsequent timeouts
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Object key, Runnable task, long delay, long interval) {
+        return this.shard(key).scheduleAtFixedRate(task, delay, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private ScheduledThreadPoolExecutor shard(Object key) {
+        int hash = key.hashCode();
+        return this.shards[(hash ^ (hash >>> 16)) & this.mask];
+    }
+
+    @Override
+    public void close() {
+        for (ScheduledThreadPoolExecutor shard : this.shards) {
+            shard.shutdownNow();
+        }
+    }
+}
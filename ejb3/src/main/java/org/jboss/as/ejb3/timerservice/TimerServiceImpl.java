@@ -36,9 +36,18 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.ejb.EJBException;
 import javax.ejb.ScheduleExpression;
 import javax.ejb.Timer;
@@ -106,7 +115,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
 
     private final InjectedValue<ExecutorService> executorServiceInjectedValue = new InjectedValue<ExecutorService>();
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimeoutScheduler> timeoutSchedulerInjectedValue = new InjectedValue<TimeoutScheduler>();
 
     private final InjectedValue<TimedObjectInvoker> timedObjectInvoker = new InjectedValue<TimedObjectInvoker>();
 
@@ -123,12 +132,29 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     /**
      * All timers which were created by this {@link TimerService}
      */
-    private final Map<String, TimerImpl> timers = new HashMap<String, TimerImpl>();
+    private final ConcurrentMap<String, TimerImpl> timers = new ConcurrentHashMap<String, TimerImpl>();
 
     /**
-     * Holds the {@link java.util.concurrent.Future} of each of the timer tasks that have been scheduled
+     * Holds the task of each of the timers that have been scheduled
      */
-    private final Map<String, java.util.TimerTask> scheduledTimerFutures = new HashMap<String, java.util.TimerTask>();
+    private final ConcurrentMap<String, Task> scheduledTimerFutures = new ConcurrentHashMap<String, Task>();
+
+    /**
+     * Timers whose post-timeout state is waiting to be persisted, see {@link TaskPostPersist#persistTimer()}
+     */
+    private final Queue<TaskPostPersist> pendingPersists = new ConcurrentLinkedQueue<>();
+
+    private final Lock persistLock = new ReentrantLock();
+
+    /**
+     * Number of timeouts handed off to the executor that have not yet completed
+     */
+    private final AtomicInteger timeoutBacklog = new AtomicInteger();
+
+    /**
+     * Maximum delay, in milliseconds, between the scheduled expiration and the start of timeouts within the last minute
+     */
+    private final WindowedMaximum timeoutLag = new WindowedMaximum(TimeUnit.MINUTES.toMillis(1), 6);
 
     /**
      * Key that is used to store timers that are waiting on transaction completion in the transaction local
@@ -216,7 +242,6 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         started = false;
         IoUtils.safeClose(listenerHandle);
         listenerHandle = null;
-        timerInjectedValue.getValue().purge(); //WFLY-3823
     }
 
 
@@ -405,13 +430,11 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         Object pk = currentPrimaryKey();
         final Set<Timer> activeTimers = new HashSet<Timer>();
         // get all active timers for this timerservice
-        synchronized (this.timers) {
-            for (final TimerImpl timer : this.timers.values()) {
-                // Less disruptive way to get WFLY-8457 fixed.
-                if (timer.isActive() || (!timer.isActive() && timer.getState() == TimerState.ACTIVE)) {
-                    if (timer.getPrimaryKey() == null || timer.getPrimaryKey().equals(pk)) {
-                        activeTimers.add(timer);
-                    }
+        for (final TimerImpl timer : this.timers.values()) {
+            // Less disruptive way to get WFLY-8457 fixed.
+            if (timer.isActive() || (!timer.isActive() && timer.getState() == TimerState.ACTIVE)) {
+                if (timer.getPrimaryKey() == null || timer.getPrimaryKey().equals(pk)) {
+                    activeTimers.add(timer);
                 }
             }
         }
@@ -571,9 +594,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     }
 
     public TimerImpl getTimer(final String timerId) {
-        synchronized (this.timers) {
-            return this.timers.get(timerId);
-        }
+        return this.timers.get(timerId);
     }
 
     /**
@@ -592,10 +613,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      */
     public TimerImpl getTimer(TimerHandle handle) {
         TimerHandleImpl timerHandle = (TimerHandleImpl) handle;
-        TimerImpl timer = null;
-        synchronized (this.timers) {
-            timer = this.timers.get(timerHandle.getId());
-        }
+        TimerImpl timer = this.timers.get(timerHandle.getId());
         if (timer != null) {
             return timer;
         }
@@ -912,16 +930,17 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      * Creates and schedules a {@link TimerTask} for the next timeout of the passed <code>timer</code>
      */
     protected void scheduleTimeout(TimerImpl timer, boolean newTimer) {
-        synchronized (scheduledTimerFutures) {
-            if (!newTimer && !scheduledTimerFutures.containsKey(timer.getId())) {
+        // Scheduling is atomic with respect to cancellation of the same timer only
+        this.scheduledTimerFutures.compute(timer.getId(), (id, existing) -> {
+            if (!newTimer && existing == null) {
                 //this timer has been cancelled by another thread. We just return
-                return;
+                return null;
             }
 
             Date nextExpiration = timer.getNextExpiration();
             if (nextExpiration == null) {
                 EJB3_TIMER_LOGGER.nextExpirationIsNull(timer);
-                return;
+                return existing;
             }
             // create the timer task
             final TimerTask<?> timerTask = timer.getTimerTask();
@@ -932,23 +951,20 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
                 delay = 0;
             }
             long intervalDuration = timer.getInterval();
-            final Task task = new Task(timerTask, ejbComponentInjectedValue.getValue().getControlPoint());
+            final Task task = new Task(timerTask, ejbComponentInjectedValue.getValue().getControlPoint(), nextExpiration.getTime(), intervalDuration);
             if (intervalDuration > 0) {
                 EJB3_TIMER_LOGGER.debugv("Scheduling timer {0} at fixed rate, starting at {1} milliseconds from now with repeated interval={2}",
                         timer, delay, intervalDuration);
                 // schedule the task
-                this.timerInjectedValue.getValue().scheduleAtFixedRate(task, delay, intervalDuration);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
+                task.future = this.timeoutSchedulerInjectedValue.getValue().scheduleAtFixedRate(id, task, delay, intervalDuration);
             } else {
                 EJB3_TIMER_LOGGER.debugv("Scheduling a single action timer {0} starting at {1} milliseconds from now", timer, delay);
                 // schedule the task
-                this.timerInjectedValue.getValue().schedule(task, delay);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
-
+                task.future = this.timeoutSchedulerInjectedValue.getValue().schedule(id, task, delay);
             }
-        }
+            // maintain it in timerservice for future use (like cancellation)
+            return task;
+        });
     }
 
     /**
@@ -957,19 +973,31 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      * @param timer
      */
     protected void cancelTimeout(final TimerImpl timer) {
-        synchronized (this.scheduledTimerFutures) {
-            java.util.TimerTask timerTask = this.scheduledTimerFutures.remove(timer.getId());
-            if (timerTask != null) {
-                timerTask.cancel();
-            }
+        Task task = this.scheduledTimerFutures.remove(timer.getId());
+        if (task != null) {
+            task.cancel();
         }
     }
 
 
     public boolean isScheduled(final String tid) {
-        synchronized (this.scheduledTimerFutures) {
-            return this.scheduledTimerFutures.containsKey(tid);
-        }
+        return this.scheduledTimerFutures.containsKey(tid);
+    }
+
+    /**
+     * Returns the number of timeouts of this timer service that were handed off for execution, but have not yet completed.
+     * @return the number of pending timeouts
+     */
+    public int getTimeoutBacklog() {
+        return this.timeoutBacklog.get();
+    }
+
+    /**
+     * Returns the maximum delay between the scheduled expiration and the actual start of the timeouts of this timer service within the last minute.
+     * @return the timeout lag, in milliseconds
+     */
+    public long getTimeoutLag() {
+        return this.timeoutLag.getMaximum();
     }
 
     /**
@@ -1137,8 +1165,8 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         return executorServiceInjectedValue;
     }
 
-    public InjectedValue<java.util.Timer> getTimerInjectedValue() {
-        return timerInjectedValue;
+    public InjectedValue<TimeoutScheduler> getTimeoutSchedulerInjectedValue() {
+        return timeoutSchedulerInjectedValue;
     }
 
     public InjectedValue<TimerPersistence> getTimerPersistence() {
@@ -1162,21 +1190,21 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     }
 
     private boolean registerTimerResource(final TimerImpl timer) {
-        synchronized (this.timers) {
-            if (this.timers.containsKey(timer.getId())) {
-                return false;
-            }
-            this.timers.put(timer.getId(), timer);
-            this.resource.timerCreated(timer.getId());
-            return true;
+        if (this.timers.containsKey(timer.getId())) {
+            return false;
         }
+        // The management resource is updated while holding the lock of the map entry
+        return this.timers.computeIfAbsent(timer.getId(), id -> {
+            this.resource.timerCreated(id);
+            return timer;
+        }) == timer;
     }
 
     private void unregisterTimerResource(final String timerId) {
-        synchronized (this.timers) {
-            this.timers.remove(timerId);
-            this.resource.timerRemoved(timerId);
-        }
+        this.timers.computeIfPresent(timerId, (id, timer) -> {
+            this.resource.timerRemoved(id);
+            return null;
+        });
     }
 
     /**
@@ -1266,10 +1294,13 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class TaskPostPersist extends java.util.TimerTask {
+    private class TaskPostPersist implements Runnable {
         private final TimerImpl timer;
         private long delta = 0;
         private long nextExpirationPristine = 0;
+        // Guarded by persistLock
+        private boolean completed = false;
+        private Exception failure;
 
         TaskPostPersist(TimerImpl timer) {
             this.timer = timer;
@@ -1289,18 +1320,35 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             executorServiceInjectedValue.getValue().submit(this::persistTimer);
         }
 
+        /**
+         * Persists the timer within its own transaction.
+         * Concurrent invocations are coalesced: the first thread to acquire the persist lock persists all pending timers
+         * within a single transaction, via {@link TimerPersistence#persistTimers(List)}, while the others await its outcome.
+         */
         void persistTimer() {
-            final ContextTransactionManager transactionManager = ContextTransactionManager.getInstance();
+            pendingPersists.add(this);
+            Exception e;
+            persistLock.lock();
             try {
-                transactionManager.begin();
-                timerPersistence.getValue().persistTimer(timer);
-                transactionManager.commit();
-            } catch (Exception e) {
-                try {
-                    transactionManager.rollback();
-                } catch (Exception ee) {
-                    // omit;
+                if (!this.completed) {
+                    final List<TaskPostPersist> tasks = new ArrayList<>();
+                    final List<TimerImpl> timers = new ArrayList<>();
+                    TaskPostPersist task;
+                    while ((task = pendingPersists.poll()) != null) {
+                        tasks.add(task);
+                        timers.add(task.timer);
+                    }
+                    final Exception failure = persistTimers(timers);
+                    for (TaskPostPersist pending : tasks) {
+                        pending.failure = failure;
+                        pending.completed = true;
+                    }
                 }
+                e = this.failure;
+            } finally {
+                persistLock.unlock();
+            }
+            if (e != null) {
                 EJB3_TIMER_LOGGER.exceptionPersistTimerState(timer, e);
                 long nextExpirationDelay;
                 if (nextExpirationPristine > 0 && timer.timerState != TimerState.RETRY_TIMEOUT &&
@@ -1308,44 +1356,83 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
                     if (delta == 0L) {
                         delta = nextExpirationDelay / (1L + MAX_RETRY.longValue());
                     }
-                    timerInjectedValue
+                    timeoutSchedulerInjectedValue
                             .getValue()
-                            .schedule(new TaskPostPersist(timer, delta, nextExpirationPristine), delta);
+                            .schedule(timer.getId(), new TaskPostPersist(timer, delta, nextExpirationPristine), delta);
                 } else {
                     EJB3_TIMER_LOGGER.exceptionPersistPostTimerState(timer, e);
                 }
             }
         }
+
+        private Exception persistTimers(final List<TimerImpl> timers) {
+            final ContextTransactionManager transactionManager = ContextTransactionManager.getInstance();
+            try {
+                transactionManager.begin();
+                timerPersistence.getValue().persistTimers(timers);
+                transactionManager.commit();
+                return null;
+            } catch (Exception e) {
+                try {
+                    transactionManager.rollback();
+                } catch (Exception ee) {
+                    // omit;
+                }
+                return e;
+            }
+        }
     }
 
-    private class Task extends java.util.TimerTask {
+    /**
+     * Hands off each timeout to the executor, so that a slow timeout never delays the timeouts of other timers.
+     */
+    private class Task implements Runnable {
 
         private final TimerTask<?> delegate;
         private final ControlPoint controlPoint;
+        private final long interval;
         /**
          * This is true if a task is queued up to be run by the request controller,
          * used to stop timer tasks banking up when the container is suspended.
          */
         private volatile boolean queued = false;
+        /**
+         * The scheduled time of the next timeout, in ms since the epoch
+         */
+        private volatile long expiration;
+        volatile ScheduledFuture<?> future;
 
-        public Task(final TimerTask<?> delegate, ControlPoint controlPoint) {
+        Task(final TimerTask<?> delegate, ControlPoint controlPoint, long expiration, long interval) {
             this.delegate = delegate;
             this.controlPoint = controlPoint;
+            this.expiration = expiration;
+            this.interval = interval;
         }
 
         @Override
         public void run() {
             final ExecutorService executor = executorServiceInjectedValue.getOptionalValue();
             if (executor != null) {
+                final long expiration = this.expiration;
+                if (this.interval > 0) {
+                    this.expiration = expiration + this.interval;
+                }
                 if (controlPoint == null) {
-                    executor.submit(delegate);
+                    timeoutBacklog.incrementAndGet();
+                    try {
+                        executor.submit(() -> this.timeout(expiration));
+                    } catch (RuntimeException e) {
+                        timeoutBacklog.decrementAndGet();
+                        throw e;
+                    }
                 } else if (!queued) {
                     queued = true;
+                    timeoutBacklog.incrementAndGet();
                     controlPoint.queueTask(new Runnable() {
                         @Override
                         public void run() {
                             queued = false;
-                            delegate.run();
+                            Task.this.timeout(expiration);
                         }
                     }, executor, -1, null, false);
                 } else {
@@ -1354,10 +1441,21 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             }
         }
 
-        @Override
-        public boolean cancel() {
+        private void timeout(long expiration) {
+            timeoutLag.record(Math.max(System.currentTimeMillis() - expiration, 0L));
+            try {
+                delegate.run();
+            } finally {
+                timeoutBacklog.decrementAndGet();
+            }
+        }
+
+        void cancel() {
             delegate.cancel();
-            return super.cancel();
+            ScheduledFuture<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+            }
         }
     }
 
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks the maximum of the values recorded within a sliding time window.
+ * The window is divided into a number of buckets of equal duration, each holding the maximum value recorded during its interval,
+ * packed together with the interval it belongs to, so that stale buckets are reset without locking.
+ * Values are clamped to 32 bits.
+ */
+final class WindowedMaximum {
+
+    private static final long VALUE_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray buckets;
+    private final long bucketDuration;
+
+    /**
+     * Creates a windowed maximum.
+     * @param window the duration of the window, in milliseconds
+     * @param buckets the number of buckets into which the window is divided
+     */
+    WindowedMaximum(long window, int buckets) {
+        this.buckets = new AtomicLongArray(buckets);
+        this.bucketDuration = Math.max(window / buckets, TimeUnit.SECONDS.toMillis(1));
+    }
+
+    /**
+     * Records the specified value.
+     * @param value a non-negative value
+     */
+    void record(long value) {
+        long interval = this.interval();
+        int index = (int) (interval % this.buckets.length());
+        long next = (interval << 32) | Math.min(value, VALUE_MASK);
+        long current = this.buckets.get(index);
+        while (((current >>> 32) != interval) || ((current & VALUE_MASK) < (next & VALUE_MASK))) {
+            if (this.buckets.compareAndSet(index, current, next)) {
+                return;
+            }
+            current = this.buckets.get(index);
+        }
+    }
+
+    /**
+     * Returns the maximum value recorded within the window.
+     * @return the maximum value, or 0 if no value was recorded within the window
+     */
+    long getMaximum() {
+        long interval = this.interval();
+        long maximum = 0;
+        for (int i = 0; i < this.buckets.length(); ++i) {
+            long bucket = this.buckets.get(i);
+            if (interval - (bucket >>> 32) < this.buckets.length()) {
+                maximum = Math.max(maximum, bucket & VALUE_MASK);
+            }
+        }
+        return maximum;
+    }
+
+    private long interval() {
+        // Intervals are truncated to 32 bits, which covers well beyond the lifetime of any server
+        return (System.currentTimeMillis() / this.bucketDuration) & VALUE_MASK;
+    }
+}
@@ -51,6 +51,18 @@ public interface TimerPersistence {
      */
     void persistTimer(TimerImpl timer);
 
+    /**
+     * Called when a number of timers are being persisted at once.
+     * By default, each timer is persisted individually.
+     *
+     * @param timers The timers
+     */
+    default void persistTimers(List<TimerImpl> timers) {
+        for (TimerImpl timer : timers) {
+            this.persistTimer(timer);
+        }
+    }
+
     /**
      * Invoked before running a timer in order to determine if this node should run the timer.
      * @param timer The timer
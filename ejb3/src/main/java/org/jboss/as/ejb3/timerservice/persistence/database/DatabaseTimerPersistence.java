@@ -50,8 +50,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
@@ -65,6 +66,7 @@ import javax.transaction.TransactionManager;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimeoutScheduler;
 import org.jboss.as.ejb3.timerservice.TimerImpl;
 import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
 import org.jboss.as.ejb3.timerservice.TimerState;
@@ -103,10 +105,14 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final InjectedValue<ModuleLoader> moduleLoader = new InjectedValue<ModuleLoader>();
     private final Map<String, TimerChangeListener> changeListeners = Collections.synchronizedMap(new HashMap<String, TimerChangeListener>());
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimeoutScheduler> timeoutSchedulerInjectedValue = new InjectedValue<TimeoutScheduler>();
+    private final InjectedValue<ExecutorService> executorInjectedValue = new InjectedValue<ExecutorService>();
 
     private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
 
+    /** Start time of the last successful refresh of each timed object */
+    private final Map<String, Long> lastRefreshes = new HashMap<>();
+
     /** Identifier for the database dialect to be used for the timer-sql.properties */
     private String database;
     /** List of extracted known dialects*/
@@ -125,6 +131,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
     private RefreshTask refreshTask;
+    private ScheduledFuture<?> refreshFuture;
 
     /** Names for the different SQL commands stored in the properties*/
     private static final String CREATE_TABLE = "create-table";
@@ -134,6 +141,17 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private static final String LOAD_TIMER = "load-timer";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
+    private static final String LOAD_TIMER_STATES = "load-timer-states";
+    private static final String LOAD_TIMERS = "load-timers";
+    private static final String LOAD_MODIFIED_TIMER_STATES = "load-modified-timer-states";
+    private static final String COUNT_TIMERS = "count-timers";
+    private static final String ADD_LAST_MODIFIED = "add-last-modified";
+    /** Maximum number of timers loaded by a single load-timers query */
+    private static final int LOAD_TIMERS_BATCH_SIZE = 100;
+    /** Margin, in milliseconds, by which refreshes read back in time, to tolerate clock skew between nodes and long running transactions */
+    private static final long REFRESH_CLOCK_SKEW_MARGIN = TimeUnit.MINUTES.toMillis(1);
+    /** Timer states considered valid, i.e. not yet cancelled nor expired */
+    private static final Set<TimerState> VALID_STATES = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
     /** Pattern to pickout MSSQL */
@@ -147,6 +165,16 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         this.allowExecution = allowExecution;
     }
 
+    /**
+     * Creates a started timer persistence using the specified data source and statements, without periodic refreshes.
+     */
+    DatabaseTimerPersistence(String partition, String nodeName, DataSource dataSource, Properties sql) {
+        this(null, partition, nodeName, 0, true);
+        this.dataSource = dataSource;
+        this.sql = sql;
+        this.refreshTask = new RefreshTask();
+    }
+
     @Override
     public void start(final StartContext context) throws StartException {
 
@@ -168,16 +196,24 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         extractDialects();
         investigateDialect();
         checkDatabase();
-        refreshTask = new RefreshTask();
+        checkLastModified();
+        final RefreshTask refreshTask = new RefreshTask();
+        this.refreshTask = refreshTask;
         if (refreshInterval > 0) {
-            timerInjectedValue.getValue().schedule(refreshTask, refreshInterval, refreshInterval);
+            // The scheduler only triggers refreshes, which query the database using the timer service thread pool
+            final ExecutorService executor = executorInjectedValue.getValue();
+            refreshFuture = timeoutSchedulerInjectedValue.getValue().scheduleAtFixedRate(this, () -> executor.execute(refreshTask), refreshInterval, refreshInterval);
         }
     }
 
     @Override
     public synchronized void stop(final StopContext context) {
-        refreshTask.cancel();
+        if (refreshFuture != null) {
+            refreshFuture.cancel(false);
+            refreshFuture = null;
+        }
         knownTimerIds.clear();
+        lastRefreshes.clear();
         managedReference.release();
         managedReference = null;
         dataSource = null;
@@ -314,6 +350,52 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
+    /**
+     * Checks whether the timer table contains the LAST_MODIFIED column used by incremental refreshes,
+     * and adds it if the table was created by a previous version.
+     */
+    private void checkLastModified() {
+        String loadModifiedTimerStates = sql(LOAD_MODIFIED_TIMER_STATES);
+        Connection connection = null;
+        Statement statement = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            //test for the existence of the column by running the load modified timer states query
+            connection = dataSource.getConnection();
+            preparedStatement = connection.prepareStatement(loadModifiedTimerStates);
+            preparedStatement.setString(1, "NON-EXISTENT");
+            preparedStatement.setString(2, "NON-EXISTENT");
+            preparedStatement.setLong(3, 0L);
+            resultSet = preparedStatement.executeQuery();
+        } catch (SQLException e) {
+            //the query failed, assume it is because the column does not exist
+            if (connection != null) {
+                try {
+                    String addLastModified = sql(ADD_LAST_MODIFIED);
+                    String[] statements = addLastModified.split(";");
+                    for (final String sql : statements) {
+                        try {
+                            statement = connection.createStatement();
+                            statement.executeUpdate(sql);
+                        } finally {
+                            safeClose(statement);
+                        }
+                    }
+                } catch (SQLException e1) {
+                    EjbLogger.EJB3_TIMER_LOGGER.couldNotAlterTable(e1);
+                }
+            } else {
+                EjbLogger.EJB3_TIMER_LOGGER.couldNotAlterTable(e);
+            }
+        } finally {
+            safeClose(resultSet);
+            safeClose(preparedStatement);
+            safeClose(statement);
+            safeClose(connection);
+        }
+    }
+
     private String sql(final String key) {
         if (database != null) {
             String result = sql.getProperty(key + "." + database);
@@ -354,37 +436,70 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
 
     @Override
     public void persistTimer(final TimerImpl timerEntity) {
+        persistTimers(Collections.singletonList(timerEntity));
+    }
+
+    /**
+     * Persists the state of the given timers using a single connection.
+     * Cancelled and expired timers are deleted, all others are updated, each via a single batched statement.
+     */
+    @Override
+    public void persistTimers(final List<TimerImpl> timerEntities) {
+        final List<TimerImpl> deleted = new ArrayList<>(timerEntities.size());
+        final List<TimerImpl> updated = new ArrayList<>(timerEntities.size());
+        for (TimerImpl timerEntity : timerEntities) {
+            if (timerEntity.getState() == TimerState.CANCELED ||
+                    timerEntity.getState() == TimerState.EXPIRED) {
+                deleted.add(timerEntity);
+            } else {
+                updated.add(timerEntity);
+            }
+        }
         Connection connection = null;
         PreparedStatement statement = null;
         try {
             connection = dataSource.getConnection();
-            if (timerEntity.getState() == TimerState.CANCELED ||
-                    timerEntity.getState() == TimerState.EXPIRED) {
+            if (!deleted.isEmpty()) {
                 String deleteTimer = sql(DELETE_TIMER);
                 statement = connection.prepareStatement(deleteTimer);
-                statement.setString(1, timerEntity.getTimedObjectId());
-                statement.setString(2, timerEntity.getId());
-                statement.setString(3, partition);
-                statement.execute();
+                for (TimerImpl timerEntity : deleted) {
+                    statement.setString(1, timerEntity.getTimedObjectId());
+                    statement.setString(2, timerEntity.getId());
+                    statement.setString(3, partition);
+                    addBatch(statement, deleted.size());
+                }
+                executeBatch(statement, deleted.size());
+                safeClose(statement);
+                statement = null;
                 synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
+                    for (TimerImpl timerEntity : deleted) {
+                        knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
+                    }
                 }
-            } else {
+            }
+            if (!updated.isEmpty()) {
                 synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+                    for (TimerImpl timerEntity : updated) {
+                        knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+                    }
                 }
                 String updateTimer = sql(UPDATE_TIMER);
                 statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
-                // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
-                statement.execute();
+                final long lastModified = System.currentTimeMillis();
+                for (TimerImpl timerEntity : updated) {
+                    statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
+                    statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
+                    statement.setString(3, timerEntity.getState().name());
+                    setNodeName(timerEntity.getState(), statement, 4);
+                    statement.setLong(5, lastModified);
+                    // WHERE CLAUSE
+                    statement.setString(6, timerEntity.getTimedObjectId());
+                    statement.setString(7, timerEntity.getId());
+                    statement.setString(8, partition);
+                    statement.setString(9, nodeName);   // only persist if this node or empty
+                    addBatch(statement, updated.size());
+                }
+                executeBatch(statement, updated.size());
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -394,6 +509,26 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
+    /**
+     * Adds the current parameters to the batch of the given statement, unless it is the only one.
+     */
+    private static void addBatch(final PreparedStatement statement, final int size) throws SQLException {
+        if (size > 1) {
+            statement.addBatch();
+        }
+    }
+
+    /**
+     * Executes the batch of the given statement, or the statement itself if batching was not necessary.
+     */
+    private static void executeBatch(final PreparedStatement statement, final int size) throws SQLException {
+        if (size > 1) {
+            statement.executeBatch();
+        } else {
+            statement.execute();
+        }
+    }
+
     @Override
     public boolean shouldRun(TimerImpl timer, @Deprecated TransactionManager ignored) {
         final ContextTransactionManager tm = ContextTransactionManager.getInstance();
@@ -455,11 +590,13 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     @Override
     public synchronized void timerUndeployed(final String timedObjectId) {
         knownTimerIds.remove(timedObjectId);
+        lastRefreshes.remove(timedObjectId);
     }
 
     @Override
     public synchronized void timerDeployed(String timedObjectId) {
         knownTimerIds.put(timedObjectId, new HashSet<>());
+        lastRefreshes.remove(timedObjectId);
     }
 
     @Override
@@ -480,24 +617,31 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             statement.setString(2, partition);
             resultSet = statement.executeQuery();
             final List<Holder> timers = new ArrayList<>();
+            final List<String> unrestorable = new ArrayList<>();
             while (resultSet.next()) {
                 try {
                     final Holder timerImpl = timerFromResult(resultSet, timerService);
                     if (timerImpl != null) {
                         timers.add(timerImpl);
                     } else {
-                        final String deleteTimer = sql(DELETE_TIMER);
-                        try (PreparedStatement deleteStatement = connection.prepareStatement(deleteTimer)) {
-                            deleteStatement.setString(1, resultSet.getString(2));
-                            deleteStatement.setString(2, resultSet.getString(1));
-                            deleteStatement.setString(3, partition);
-                            deleteStatement.execute();
-                        }
+                        unrestorable.add(resultSet.getString(1));
                     }
                 } catch (Exception e) {
                     EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
                 }
             }
+            if (!unrestorable.isEmpty()) {
+                final String deleteTimer = sql(DELETE_TIMER);
+                try (PreparedStatement deleteStatement = connection.prepareStatement(deleteTimer)) {
+                    for (String id : unrestorable) {
+                        deleteStatement.setString(1, timedObjectId);
+                        deleteStatement.setString(2, id);
+                        deleteStatement.setString(3, partition);
+                        addBatch(deleteStatement, unrestorable.size());
+                    }
+                    executeBatch(deleteStatement, unrestorable.size());
+                }
+            }
             synchronized (this) {
                 // ids should be always be not null
                 Set<String> ids = knownTimerIds.get(timedObjectId);
@@ -505,19 +649,22 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                     ids.add(timer.timer.getId());
                 }
 
+                final List<TimerImpl> reset = new ArrayList<>();
                 for(Holder timer : timers) {
                     if(timer.requiresReset) {
                         TimerImpl ret = timer.timer;
                         EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
                         if(ret.getNextExpiration() == null) {
                             ret.setTimerState(TimerState.CANCELED);
-                            persistTimer(ret);
                         } else {
                             ret.setTimerState(TimerState.ACTIVE);
-                            persistTimer(ret);
                         }
+                        reset.add(ret);
                     }
                 }
+                if (!reset.isEmpty()) {
+                    persistTimers(reset);
+                }
             }
             List<TimerImpl> ret = new ArrayList<>();
             for(Holder timer : timers) {
@@ -553,6 +700,39 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         refreshTask.run();
     }
 
+    /**
+     * Loads the specified timers using one load-timers query per {@value #LOAD_TIMERS_BATCH_SIZE} timers.
+     * @return the loaded timers by id, excluding those that no longer exist or could not be restored
+     */
+    private Map<String, Holder> loadTimers(final Connection connection, final String timedObjectId, final List<String> ids, final TimerServiceImpl timerService) throws SQLException {
+        final Map<String, Holder> timers = new HashMap<>();
+        final String loadTimers = sql(LOAD_TIMERS);
+        for (int start = 0; start < ids.size(); start += LOAD_TIMERS_BATCH_SIZE) {
+            final List<String> batch = ids.subList(start, Math.min(start + LOAD_TIMERS_BATCH_SIZE, ids.size()));
+            try (PreparedStatement statement = connection.prepareStatement(String.format(loadTimers, String.join(", ", Collections.nCopies(batch.size(), "?"))))) {
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                for (int i = 0; i < batch.size(); ++i) {
+                    statement.setString(i + 3, batch.get(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        final String id = resultSet.getString(1);
+                        try {
+                            final Holder holder = timerFromResult(resultSet, timerService);
+                            if (holder != null) {
+                                timers.put(id, holder);
+                            }
+                        } catch (Exception e) {
+                            EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+                        }
+                    }
+                }
+            }
+        }
+        return timers;
+    }
+
     private Holder timerFromResult(final ResultSet resultSet, final TimerServiceImpl timerService) throws SQLException {
         boolean calendarTimer = resultSet.getBoolean(24);
         final String nodeName = resultSet.getString(25);
@@ -676,6 +856,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
         statement.setString(25, partition);
         setNodeName(timerEntity.getState(), statement, 26);
+        statement.setLong(27, System.currentTimeMillis());
     }
 
     private String serialize(final Serializable serializable) {
@@ -770,8 +951,12 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         return moduleLoader;
     }
 
-    public InjectedValue<Timer> getTimerInjectedValue() {
-        return timerInjectedValue;
+    public InjectedValue<TimeoutScheduler> getTimeoutSchedulerInjectedValue() {
+        return timeoutSchedulerInjectedValue;
+    }
+
+    public InjectedValue<ExecutorService> getExecutorInjectedValue() {
+        return executorInjectedValue;
     }
 
     private static void safeClose(final Closeable resource) {
@@ -814,7 +999,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
-    private class RefreshTask extends TimerTask {
+    private class RefreshTask implements Runnable {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
 
@@ -831,79 +1016,142 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                         if (listener == null) {
                             continue;
                         }
-                        final Set<String> existing;
+                        final Long lastRefresh;
                         synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+                            lastRefresh = lastRefreshes.get(timedObjectId);
                         }
-                        String loadTimer = sql(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
+                        // Only read the timers modified since the previous refresh, unless timers were removed meanwhile
+                        if (lastRefresh == null || !refresh(timedObjectId, listener, lastRefresh - REFRESH_CLOCK_SKEW_MARGIN)) {
+                            refresh(timedObjectId, listener, null);
+                        }
+                    }
+                } finally {
+                    running.set(false);
+                }
+            }
+
+        }
+
+        /**
+         * Refreshes the timers of the specified timed object.
+         * @param modifiedSince if not null, only the timers modified since this time are read, otherwise the states of all timers
+         * @return false, if timers were removed since the previous refresh, in which case only a full refresh can detect them, true otherwise
+         */
+        private boolean refresh(final String timedObjectId, final TimerChangeListener listener, final Long modifiedSince) {
+            final long start = System.currentTimeMillis();
+            final Set<String> existing;
+            synchronized (DatabaseTimerPersistence.this) {
+                existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+            }
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                // Only read the states of the persistent timers, and load those timers that are new or out of sync
+                if (modifiedSince == null) {
+                    statement = connection.prepareStatement(sql(LOAD_TIMER_STATES));
+                } else {
+                    statement = connection.prepareStatement(sql(LOAD_MODIFIED_TIMER_STATES));
+                    statement.setLong(3, modifiedSince);
+                }
+                statement.setString(1, timedObjectId);
+                statement.setString(2, partition);
+                resultSet = statement.executeQuery();
+                final TimerServiceImpl timerService = listener.getTimerService();
+                final List<String> added = new ArrayList<>();
+                final List<String> changed = new ArrayList<>();
+                while (resultSet.next()) {
+                    String id = resultSet.getString(1);
+                    if (!existing.remove(id)) {
+                        added.add(id);
+                    } else {
                         try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            final TimerServiceImpl timerService = listener.getTimerService();
-                            while (resultSet.next()) {
-                                try {
-                                    String id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        final Holder holder = timerFromResult(resultSet, timerService);
-                                        if(holder != null) {
-                                            synchronized (DatabaseTimerPersistence.this) {
-                                                knownTimerIds.get(timedObjectId).add(id);
-                                                listener.timerAdded(holder.timer);
-                                            }
-                                        }
-                                    } else {
-                                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
-                                        if (holder != null) {
-                                            TimerImpl oldTimer = listener.getTimerService().getTimer(id);
-                                            // if it is already in memory but it is not in sync we have a problem
-                                            // remove and add -> the probable cause is db glitch
-                                            EnumSet<TimerState> valid = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
-                                            boolean validDBTimer = valid.contains(holder.timer.getState());
-                                            boolean validMemoryTimer = oldTimer != null && !valid.contains(oldTimer.getState());
-                                            // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                            if (validMemoryTimer && validDBTimer) {
-                                                synchronized (DatabaseTimerPersistence.this) {
-                                                    knownTimerIds.get(timedObjectId).add(holder.timer.getId());
-                                                    listener.timerSync(oldTimer, holder.timer);
-                                                }
-
-                                            }
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
-                                }
+                            TimerImpl oldTimer = timerService.getTimer(id);
+                            // if it is already in memory but it is not in sync we have a problem
+                            // remove and add -> the probable cause is db glitch
+                            boolean validDBTimer = VALID_STATES.contains(TimerState.valueOf(resultSet.getString(2)));
+                            boolean validMemoryTimer = oldTimer != null && !VALID_STATES.contains(oldTimer.getState());
+                            // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+                            if (validMemoryTimer && validDBTimer) {
+                                changed.add(id);
                             }
-
+                        } catch (Exception e) {
+                            EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+                        }
+                    }
+                }
+                safeClose(resultSet);
+                resultSet = null;
+                safeClose(statement);
+                statement = null;
+
+                if (!added.isEmpty() || !changed.isEmpty()) {
+                    // Load all added and changed timers in bulk
+                    final List<String> ids = new ArrayList<>(added.size() + changed.size());
+                    ids.addAll(added);
+                    ids.addAll(changed);
+                    final Map<String, Holder> loaded = loadTimers(connection, timedObjectId, ids, timerService);
+                    for (String id : added) {
+                        final Holder holder = loaded.get(id);
+                        if (holder != null) {
                             synchronized (DatabaseTimerPersistence.this) {
-                                Set<String> timers = knownTimerIds.get(timedObjectId);
-                                for (String timer : existing) {
-                                    TimerImpl timer1 = timerService.getTimer(timer);
-                                    if (timer1 != null && timer1.getState() != TimerState.CREATED) {
-                                        timers.remove(timer);
-                                        listener.timerRemoved(timer);
-                                    }
+                                knownTimerIds.get(timedObjectId).add(id);
+                                listener.timerAdded(holder.timer);
+                            }
+                        }
+                    }
+                    for (String id : changed) {
+                        final Holder holder = loaded.get(id);
+                        if (holder != null) {
+                            TimerImpl oldTimer = timerService.getTimer(id);
+                            if (oldTimer != null && VALID_STATES.contains(holder.timer.getState()) && !VALID_STATES.contains(oldTimer.getState())) {
+                                synchronized (DatabaseTimerPersistence.this) {
+                                    knownTimerIds.get(timedObjectId).add(holder.timer.getId());
+                                    listener.timerSync(oldTimer, holder.timer);
                                 }
                             }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
                         }
                     }
-                } finally {
-                    running.set(false);
                 }
-            }
 
+                if (modifiedSince == null) {
+                    synchronized (DatabaseTimerPersistence.this) {
+                        Set<String> timers = knownTimerIds.get(timedObjectId);
+                        for (String timer : existing) {
+                            TimerImpl timer1 = timerService.getTimer(timer);
+                            if (timer1 != null && timer1.getState() != TimerState.CREATED) {
+                                timers.remove(timer);
+                                listener.timerRemoved(timer);
+                            }
+                        }
+                    }
+                } else {
+                    // Removed timers cannot be read, so compare the number of persistent timers with the number of known timers instead
+                    statement = connection.prepareStatement(sql(COUNT_TIMERS));
+                    statement.setString(1, timedObjectId);
+                    statement.setString(2, partition);
+                    resultSet = statement.executeQuery();
+                    final int count = resultSet.next() ? resultSet.getInt(1) : 0;
+                    synchronized (DatabaseTimerPersistence.this) {
+                        if (count != knownTimerIds.get(timedObjectId).size()) {
+                            return false;
+                        }
+                    }
+                }
+                synchronized (DatabaseTimerPersistence.this) {
+                    if (knownTimerIds.containsKey(timedObjectId)) {
+                        lastRefreshes.put(timedObjectId, start);
+                    }
+                }
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+            return true;
         }
     }
 
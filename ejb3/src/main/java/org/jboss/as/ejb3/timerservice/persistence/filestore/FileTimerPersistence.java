@@ -57,6 +57,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FilePermission;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
@@ -64,6 +65,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
@@ -75,6 +77,8 @@ import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 /**
  * File based persistent timer store.
  * <p/>
+ * Timers are either stored as one XML file per timer, or within a {@link TimerJournal}.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -83,8 +87,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private static final FilePermission FILE_PERMISSION = new FilePermission("<<ALL FILES>>", "read,write,delete");
     private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final String JOURNAL_DIRECTORY = "journal";
 
     private final boolean createIfNotExists;
+    private final boolean journaled;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
     private final InjectedValue<TransactionSynchronizationRegistry> transactionSynchronizationRegistry = new InjectedValue<TransactionSynchronizationRegistry>();
@@ -94,11 +100,22 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     private final String pathRelativeTo;
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
+    private TimerJournal journal;
+    private EjbTimerBinaryFormat binaryFormat;
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
+    // Timed objects whose XML timers were already imported into the journal
+    private final Set<String> imported = ConcurrentHashMap.newKeySet();
 
     public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+        this(createIfNotExists, path, pathRelativeTo, false);
+    }
+
+    /**
+     * @param journaled indicates whether timers should be stored within an append-only journal, rather than as individual XML files
+     */
+    public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo, final boolean journaled) {
         final SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
             sm.checkPermission(FILE_PERMISSION);
@@ -106,6 +123,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         this.createIfNotExists = createIfNotExists;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.journaled = journaled;
     }
 
     @Override
@@ -146,12 +164,31 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         if (!baseDir.isDirectory()) {
             throw EJB3_TIMER_LOGGER.invalidTimerFileStoreDir(baseDir);
         }
+        if (journaled) {
+            binaryFormat = new EjbTimerBinaryFormat(factory, configuration);
+            journal = new TimerJournal(new File(baseDir, JOURNAL_DIRECTORY));
+            try {
+                journal.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
 
     @Override
     public void stop(final StopContext context) {
         locks.clear();
         directories.clear();
+        imported.clear();
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                EJB3_TIMER_LOGGER.failToCloseFile(e);
+            }
+            journal = null;
+            binaryFormat = null;
+        }
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
@@ -213,6 +250,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             if (status == Status.STATUS_NO_TRANSACTION ||
                     status == Status.STATUS_UNKNOWN || isBeforeCompletion()
                     || status == Status.STATUS_COMMITTED) {
+                if (journal != null) {
+                    writeJournal(timer, newTimer);
+                    return;
+                }
                 Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                 if (timer.getState() == TimerState.CANCELED ||
                         timer.getState() == TimerState.EXPIRED) {
@@ -253,6 +294,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             lock.lock();
             locks.remove(timedObjectId);
             directories.remove(timedObjectId);
+            imported.remove(timedObjectId);
         } finally {
             lock.unlock();
         }
@@ -331,7 +373,64 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
-        return loadTimersFromFile(timedObjectId, timerService);
+        return (journal != null) ? loadTimersFromJournal(timedObjectId, timerService) : loadTimersFromFile(timedObjectId, timerService);
+    }
+
+    private Map<String, TimerImpl> loadTimersFromJournal(String timedObjectId, TimerServiceImpl timerService) {
+        if (imported.add(timedObjectId)) {
+            importTimers(timedObjectId, timerService);
+        }
+        final Map<String, byte[]> records;
+        try {
+            records = journal.read(timedObjectId);
+        } catch (IOException e) {
+            EJB3_TIMER_LOGGER.failToRestoreTimersFromFile(new File(baseDir, JOURNAL_DIRECTORY), e);
+            return new HashMap<>();
+        }
+        Map<String, TimerImpl> timers = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : records.entrySet()) {
+            try {
+                TimerImpl timer = binaryFormat.read(timedObjectId, entry.getKey(), entry.getValue(), timerService);
+                if (timer != null) {
+                    timers.put(timer.getId(), timer);
+                } else {
+                    journal.remove(timedObjectId, entry.getKey());
+                }
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), e);
+            }
+        }
+        return timers;
+    }
+
+    /**
+     * Moves any timers of the specified timed object that were stored as XML files into the journal.
+     */
+    private void importTimers(String timedObjectId, TimerServiceImpl timerService) {
+        final File directory = new File(baseDir, timedObjectId.replace(File.separator, "-"));
+        if (!directory.isDirectory()) {
+            return;
+        }
+        Map<String, TimerImpl> timers = loadTimersFromFile(timedObjectId, timerService);
+        Map<String, byte[]> records = new HashMap<>();
+        for (TimerImpl timer : timers.values()) {
+            try {
+                records.put(timer.getId(), binaryFormat.write(timer));
+            } catch (IOException e) {
+                EJB3_TIMER_LOGGER.failedToPersistTimer(timer, e);
+            }
+        }
+        try {
+            journal.writeAll(timedObjectId, records);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String timerId : records.keySet()) {
+            fileName(timedObjectId, timerId).delete();
+        }
+        // Only succeeds if the directory is now empty
+        directory.delete();
+        directories.remove(timedObjectId);
     }
 
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
@@ -460,6 +559,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                     try {
                         lock.lock();
                         if (status == Status.STATUS_COMMITTED) {
+                            if (journal != null) {
+                                writeJournal(timer, newTimer);
+                                return null;
+                            }
                             final Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
                             if (timer.getState() == TimerState.CANCELED ||
                                     timer.getState() == TimerState.EXPIRED) {
@@ -483,6 +586,21 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     }
 
+    private void writeJournal(TimerImpl timer, boolean newTimer) {
+        try {
+            if (timer.getState() == TimerState.CANCELED ||
+                    timer.getState() == TimerState.EXPIRED) {
+                journal.remove(timer.getTimedObjectId(), timer.getId());
+            } else if (newTimer || journal.contains(timer.getTimedObjectId(), timer.getId())) {
+                //if it is not a new timer and is not in the journal then it has
+                //been removed by another thread.
+                journal.write(timer.getTimedObjectId(), timer.getId(), binaryFormat.write(timer));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private void writeFile(TimerImpl timer) {
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
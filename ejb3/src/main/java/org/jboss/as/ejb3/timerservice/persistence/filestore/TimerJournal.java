@@ -0,0 +1,514 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Segmented, append-only journal of persistent timers.
+ * <p/>
+ * Each record either contains the binary representation of a timer, or marks a timer as removed.
+ * Records are appended to the last segment, which is rolled over once it reaches its maximum size.
+ * The location of the most recent record of each timer is tracked by an in-memory index, which is rebuilt on {@link #open()} by scanning the record headers of each segment.
+ * Writers block until their record is forced to disk, where concurrent writers share a single force (i.e. group commit).
+ * Once obsolete records make up more than half of the rolled over segments, the oldest segments are compacted in the background by copying their live records to the last segment.
+ */
+public class TimerJournal implements Closeable {
+
+    static final long DEFAULT_SEGMENT_SIZE = 16L << 20;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    // Record header consists of the length of the record body, and its checksum
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private final File directory;
+    private final long segmentSize;
+    private final Map<String, Map<String, Location>> index = new HashMap<>();
+    // Ordered from oldest to newest, the last of which is the current segment
+    private final LinkedList<Segment> segments = new LinkedList<>();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    // Serializes forcing of the current segment
+    private final Object syncLock = new Object();
+
+    private ExecutorService compactor;
+    private boolean closed = false;
+    // Total number of bytes appended since the journal was opened
+    private volatile long written = 0;
+    // Number of appended bytes known to be forced to disk
+    private volatile long synced = 0;
+
+    public TimerJournal(File directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public TimerJournal(File directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens this journal, rebuilding its index from any existing segments.
+     * @throws IOException if the existing segments could not be read
+     */
+    public synchronized void open() throws IOException {
+        if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+            throw EJB3_TIMER_LOGGER.failToCreateTimerFileStoreDir(this.directory);
+        }
+        List<Long> ids = new ArrayList<>();
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        ids.add(Long.parseUnsignedLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()), 16));
+                    } catch (NumberFormatException e) {
+                        // Not a segment
+                    }
+                }
+            }
+        }
+        Collections.sort(ids);
+        for (int i = 0; i < ids.size(); ++i) {
+            Segment segment = this.openSegment(ids.get(i));
+            this.segments.addLast(segment);
+            this.load(segment, i == ids.size() - 1);
+        }
+        if (this.segments.isEmpty()) {
+            this.segments.addLast(this.openSegment(0));
+        }
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "ejb3-timer-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduleCompaction();
+    }
+
+    /**
+     * Returns the most recent binary representation of each timer of the specified timed object.
+     * @param timedObjectId a timed object identifier
+     * @return a map of timer identifier to binary timer
+     * @throws IOException if the timers could not be read
+     */
+    public synchronized Map<String, byte[]> read(String timedObjectId) throws IOException {
+        Map<String, Location> locations = this.index.get(timedObjectId);
+        if (locations == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, byte[]> result = new HashMap<>();
+        for (Map.Entry<String, Location> entry : locations.entrySet()) {
+            result.put(entry.getKey(), this.readPayload(entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Indicates whether this journal contains the specified timer.
+     * @param timedObjectId a timed object identifier
+     * @param timerId a timer identifier
+     * @return true, if this journal contains the specified timer, false otherwise
+     */
+    public synchronized boolean contains(String timedObjectId, String timerId) {
+        Map<String, Location> locations = this.index.get(timedObjectId);
+        return (locations != null) && locations.containsKey(timerId);
+    }
+
+    /**
+     * Appends the binary representation of the specified timer, returning once it was forced to disk.
+     * @param timedObjectId a timed object identifier
+     * @param timerId a timer identifier
+     * @param timer the binary representation of the timer
+     * @throws IOException if the record could not be written
+     */
+    public void write(String timedObjectId, String timerId, byte[] timer) throws IOException {
+        long position;
+        synchronized (this) {
+            position = this.append(PUT, timedObjectId, timerId, timer);
+        }
+        this.sync(position);
+    }
+
+    /**
+     * Appends the binary representation of the specified timers of a given timed object, returning once they were forced to disk.
+     * @param timedObjectId a timed object identifier
+     * @param timers a map of timer identifier to binary timer
+     * @throws IOException if the records could not be written
+     */
+    public void writeAll(String timedObjectId, Map<String, byte[]> timers) throws IOException {
+        long position = 0;
+        synchronized (this) {
+            for (Map.Entry<String, byte[]> entry : timers.entrySet()) {
+                position = this.append(PUT, timedObjectId, entry.getKey(), entry.getValue());
+            }
+        }
+        this.sync(position);
+    }
+
+    /**
+     * Marks the specified timer as removed, returning once the removal was forced to disk.
+     * @param timedObjectId a timed object identifier
+     * @param timerId a timer identifier
+     * @throws IOException if the record could not be written
+     */
+    public void remove(String timedObjectId, String timerId) throws IOException {
+        long position;
+        synchronized (this) {
+            if (!this.contains(timedObjectId, timerId)) return;
+            position = this.append(REMOVE, timedObjectId, timerId, null);
+        }
+        this.sync(position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (this.closed) return;
+            this.closed = true;
+        }
+        if (this.compactor != null) {
+            this.compactor.shutdown();
+            try {
+                this.compactor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            try {
+                if (!this.segments.isEmpty()) {
+                    this.segments.getLast().channel.force(false);
+                }
+            } finally {
+                for (Segment segment : this.segments) {
+                    segment.channel.close();
+                }
+                this.segments.clear();
+                this.index.clear();
+            }
+        }
+    }
+
+    /**
+     * Appends a record to the current segment, and updates the index accordingly.
+     * Must be called while holding the monitor of this journal.
+     * @return the position of the end of the record within the journal
+     */
+    private long append(byte type, String timedObjectId, String timerId, byte[] payload) throws IOException {
+        if (this.closed) {
+            throw new IOException(this.directory.getPath());
+        }
+        ByteBuffer record = createRecord(type, timedObjectId, timerId, payload);
+        int length = record.remaining();
+        Segment segment = this.segments.getLast();
+        if ((segment.size > 0) && (segment.size + length > this.segmentSize)) {
+            segment = this.roll();
+        }
+        long position = segment.size;
+        while (record.hasRemaining()) {
+            segment.channel.write(record, position + record.position());
+        }
+        segment.size += length;
+        Location previous;
+        if (type == PUT) {
+            previous = this.index.computeIfAbsent(timedObjectId, key -> new HashMap<>()).put(timerId, new Location(segment, position, length));
+            segment.live += length;
+        } else {
+            previous = this.removeLocation(timedObjectId, timerId);
+        }
+        if (previous != null) {
+            previous.segment.live -= previous.length;
+        }
+        long written = this.written + length;
+        this.written = written;
+        return written;
+    }
+
+    private Location removeLocation(String timedObjectId, String timerId) {
+        Map<String, Location> locations = this.index.get(timedObjectId);
+        if (locations == null) return null;
+        Location location = locations.remove(timerId);
+        if (locations.isEmpty()) {
+            this.index.remove(timedObjectId);
+        }
+        return location;
+    }
+
+    /**
+     * Forces all records up to the specified position to disk, unless a concurrent writer already did so.
+     */
+    private void sync(long position) throws IOException {
+        if (this.synced >= position) return;
+        synchronized (this.syncLock) {
+            if (this.synced >= position) return;
+            long written;
+            FileChannel channel;
+            synchronized (this) {
+                // Segments were already forced on close
+                if (this.closed) return;
+                written = this.written;
+                channel = this.segments.getLast().channel;
+            }
+            // Previous segments were already forced when rolled over
+            channel.force(false);
+            this.synced = written;
+        }
+    }
+
+    /**
+     * Seals the current segment, and starts a new one.
+     * Must be called while holding the monitor of this journal.
+     */
+    private Segment roll() throws IOException {
+        Segment current = this.segments.getLast();
+        current.channel.force(false);
+        Segment segment = this.openSegment(current.id + 1);
+        this.segments.addLast(segment);
+        this.scheduleCompaction();
+        return segment;
+    }
+
+    private Segment openSegment(long id) throws IOException {
+        File file = new File(this.directory, String.format("%016x%s", id, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(id, file, channel);
+    }
+
+    /**
+     * Scans the records of the specified segment, updating the index accordingly.
+     * An invalid record, e.g. an incomplete write, invalidates the remainder of the segment.
+     */
+    private void load(Segment segment, boolean current) throws IOException {
+        long size = segment.channel.size();
+        byte[] data = new byte[(int) size];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            if (segment.channel.read(buffer, buffer.position()) < 0) break;
+        }
+        int position = 0;
+        while (position < size) {
+            if (position + HEADER_SIZE > size) break;
+            int length = buffer.getInt(position);
+            if ((length <= 0) || (position + HEADER_SIZE + length > size)) break;
+            CRC32 checksum = new CRC32();
+            checksum.update(data, position + HEADER_SIZE, length);
+            if ((int) checksum.getValue() != buffer.getInt(position + Integer.BYTES)) break;
+
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(data, position + HEADER_SIZE, length));
+            byte type = input.readByte();
+            String timedObjectId = input.readUTF();
+            String timerId = input.readUTF();
+            int recordLength = HEADER_SIZE + length;
+            Location previous;
+            if (type == PUT) {
+                previous = this.index.computeIfAbsent(timedObjectId, key -> new HashMap<>()).put(timerId, new Location(segment, position, recordLength));
+                segment.live += recordLength;
+            } else {
+                previous = this.removeLocation(timedObjectId, timerId);
+            }
+            if (previous != null) {
+                previous.segment.live -= previous.length;
+            }
+            position += recordLength;
+        }
+        if (position < size) {
+            EJB3_TIMER_LOGGER.invalidTimerJournalRecord(position, segment.file);
+            if (current) {
+                // Discard incomplete write, so that subsequent records are appended to the last valid record
+                segment.channel.truncate(position);
+                segment.channel.force(false);
+            }
+        }
+        segment.size = position;
+    }
+
+    private byte[] readPayload(Location location) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(location.length);
+        while (buffer.hasRemaining()) {
+            if (location.segment.channel.read(buffer, location.position + buffer.position()) < 0) {
+                throw new IOException(location.segment.file.getPath());
+            }
+        }
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(buffer.array(), HEADER_SIZE, location.length - HEADER_SIZE));
+        input.readByte();
+        input.readUTF();
+        input.readUTF();
+        byte[] payload = new byte[input.available()];
+        input.readFully(payload);
+        return payload;
+    }
+
+    private static ByteBuffer createRecord(byte type, String timedObjectId, String timerId, byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + 128 + ((payload != null) ? payload.length : 0));
+        DataOutputStream output = new DataOutputStream(bytes);
+        // Reserve space for header
+        output.writeLong(0L);
+        output.writeByte(type);
+        output.writeUTF(timedObjectId);
+        output.writeUTF(timerId);
+        if (payload != null) {
+            output.write(payload);
+        }
+        output.flush();
+        byte[] record = bytes.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(record, HEADER_SIZE, record.length - HEADER_SIZE);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putInt(0, record.length - HEADER_SIZE);
+        buffer.putInt(Integer.BYTES, (int) checksum.getValue());
+        return buffer;
+    }
+
+    /**
+     * Must be called while holding the monitor of this journal.
+     */
+    private void scheduleCompaction() {
+        if (!this.closed && (this.compactor != null) && (this.nextCompactionCandidate() != null) && this.compacting.compareAndSet(false, true)) {
+            this.compactor.execute(this::compact);
+        }
+    }
+
+    /**
+     * Returns the oldest segment, if obsolete records make up more than half of the sealed segments.
+     * Must be called while holding the monitor of this journal.
+     */
+    private Segment nextCompactionCandidate() {
+        if (this.closed || (this.segments.size() < 2)) return null;
+        long size = 0;
+        long live = 0;
+        for (Segment segment : this.segments.subList(0, this.segments.size() - 1)) {
+            size += segment.size;
+            live += segment.live;
+        }
+        return (size - live > size / 2) ? this.segments.getFirst() : null;
+    }
+
+    private void compact() {
+        try {
+            Segment segment = this.nextCandidate();
+            while (segment != null) {
+                this.compact(segment);
+                segment = this.nextCandidate();
+            }
+        } catch (IOException e) {
+            EJB3_TIMER_LOGGER.failedToCompactTimerJournal(this.directory, e);
+        } finally {
+            this.compacting.set(false);
+        }
+    }
+
+    private synchronized Segment nextCandidate() {
+        return this.nextCompactionCandidate();
+    }
+
+    /**
+     * Copies the live records of the specified segment to the current segment, then deletes it.
+     * Since only the oldest segment is ever compacted, any removal records it contains are no longer needed.
+     */
+    private void compact(Segment segment) throws IOException {
+        List<Map.Entry<String, Map.Entry<String, Location>>> live = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<String, Map<String, Location>> entry : this.index.entrySet()) {
+                for (Map.Entry<String, Location> locationEntry : entry.getValue().entrySet()) {
+                    if (locationEntry.getValue().segment == segment) {
+                        live.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), locationEntry));
+                    }
+                }
+            }
+        }
+        long position = 0;
+        for (Map.Entry<String, Map.Entry<String, Location>> entry : live) {
+            String timedObjectId = entry.getKey();
+            String timerId = entry.getValue().getKey();
+            Location location = entry.getValue().getValue();
+            synchronized (this) {
+                if (this.closed) return;
+                Map<String, Location> locations = this.index.get(timedObjectId);
+                // Skip records superseded since we started
+                if ((locations != null) && (locations.get(timerId) == location)) {
+                    position = this.append(PUT, timedObjectId, timerId, this.readPayload(location));
+                }
+            }
+        }
+        this.sync(position);
+        synchronized (this) {
+            if (this.closed) return;
+            this.segments.remove(segment);
+            segment.channel.close();
+            Files.deleteIfExists(segment.file.toPath());
+        }
+    }
+
+    private static class Segment {
+        final long id;
+        final File file;
+        final FileChannel channel;
+        // Guarded by the monitor of the journal
+        long size = 0;
+        long live = 0;
+
+        Segment(long id, File file, FileChannel channel) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+        }
+    }
+
+    private static class Location {
+        final Segment segment;
+        final long position;
+        final int length;
+
+        Location(Segment segment, long position, int length) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.schedule;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfMonth;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfWeek;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Hour;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Minute;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Month;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Second;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Year;
+
+/**
+ * Compiled form of a {@link ScheduleExpression}, whose attributes are precomputed as bit sets.
+ * Timeouts are computed by searching the local date/time fields of the schedule's time zone, without creating any {@link java.util.Calendar}.
+ * Instances are thread-safe, and are shared by all timers with an equivalent schedule.
+ */
+class CompiledScheduleExpression {
+
+    private static final int MAX_CACHE_SIZE = 1024;
+    // Schedules are only compiled when timers are created, thus a synchronized LRU map does not contend with timeouts
+    private static final Map<List<Object>, CompiledScheduleExpression> CACHE = Collections.synchronizedMap(new LinkedHashMap<List<Object>, CompiledScheduleExpression>(16, 0.75f, true) {
+        private static final long serialVersionUID = -2473207880329626431L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, CompiledScheduleExpression> eldest) {
+            return this.size() > MAX_CACHE_SIZE;
+        }
+    });
+
+    /**
+     * Returns the compiled form of the specified schedule, reusing a previously compiled form of an equivalent schedule, if possible.
+     * The compiled forms of the {@value #MAX_CACHE_SIZE} most recently used schedules are retained.
+     *
+     * @param schedule a schedule expression whose attributes are non-null
+     * @return the compiled schedule expression
+     * @throws IllegalArgumentException if the schedule expression is not valid
+     */
+    static CompiledScheduleExpression compile(ScheduleExpression schedule) {
+        // The default time zone is part of the key, since it applies to schedules that do not specify a valid time zone
+        List<Object> key = Arrays.asList(schedule.getSecond(), schedule.getMinute(), schedule.getHour(), schedule.getDayOfWeek(), schedule.getDayOfMonth(), schedule.getMonth(), schedule.getYear(), schedule.getTimezone(), TimeZone.getDefault().getID(), getTime(schedule.getStart()), getTime(schedule.getEnd()));
+        CompiledScheduleExpression compiled = CACHE.get(key);
+        if (compiled == null) {
+            compiled = new CompiledScheduleExpression(schedule);
+            CompiledScheduleExpression existing = CACHE.putIfAbsent(key, compiled);
+            if (existing != null) {
+                compiled = existing;
+            }
+        }
+        return compiled;
+    }
+
+    private static Long getTime(Date date) {
+        return (date != null) ? date.getTime() : null;
+    }
+
+    private final BitSet seconds;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet months;
+    // null, if any year matches
+    private final BitSet years;
+    // null, if any day of week matches
+    private final BitSet daysOfWeek;
+    // null, if any day of month matches
+    private final DayOfMonth dayOfMonth;
+    private final TimeZone timezone;
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final long start;
+    private final long end;
+
+    // Most recently computed timeout, shared by all timers using this schedule
+    private volatile Timeout lastTimeout;
+    // Matching days of the most recently searched month
+    private volatile MonthDays lastMonthDays;
+
+    private CompiledScheduleExpression(ScheduleExpression schedule) {
+        this.seconds = new Second(schedule.getSecond()).getAbsoluteValueSet();
+        this.minutes = new Minute(schedule.getMinute()).getAbsoluteValueSet();
+        this.hours = new Hour(schedule.getHour()).getAbsoluteValueSet();
+        DayOfWeek dayOfWeek = new DayOfWeek(schedule.getDayOfWeek());
+        DayOfMonth dayOfMonth = new DayOfMonth(schedule.getDayOfMonth());
+        this.months = new Month(schedule.getMonth()).getAbsoluteValueSet();
+        Year year = new Year(schedule.getYear());
+        this.years = year.isWildcard() ? null : year.getAbsoluteValueSet();
+        // A day matches either the day of month or the day of week, unless either is a wildcard
+        boolean anyDayOfWeek = dayOfWeek.isWildcard();
+        boolean anyDayOfMonth = dayOfMonth.isWildcard();
+        this.daysOfWeek = anyDayOfWeek ? null : dayOfWeek.getAbsoluteValueSet();
+        this.dayOfMonth = (anyDayOfMonth && !anyDayOfWeek) ? null : dayOfMonth;
+        this.timezone = resolveTimeZone(schedule.getTimezone());
+        this.zone = this.timezone.toZoneId();
+        this.rules = this.zone.getRules();
+        Date start = schedule.getStart();
+        Date end = schedule.getEnd();
+        this.start = (start != null) ? start.getTime() : Long.MIN_VALUE;
+        this.end = (end != null) ? end.getTime() : Long.MAX_VALUE;
+    }
+
+    private static TimeZone resolveTimeZone(String timezoneId) {
+        if (timezoneId != null && !(timezoneId = timezoneId.trim()).isEmpty()) {
+            // If the timezone ID wasn't valid, then Timezone.getTimeZone returns
+            // GMT, which may not always be desirable.
+            // So we first check to see if the timezone id specified is available in
+            // timezone ids in the system. If it's available then we log a WARN message
+            // and fallback on the server's timezone.
+            String[] availableTimeZoneIDs = TimeZone.getAvailableIDs();
+            if (availableTimeZoneIDs != null && Arrays.asList(availableTimeZoneIDs).contains(timezoneId)) {
+                return TimeZone.getTimeZone(timezoneId);
+            }
+            // use server's timezone
+            TimeZone timezone = TimeZone.getDefault();
+            EJB3_TIMER_LOGGER.unknownTimezoneId(timezoneId, timezone.getID());
+            return timezone;
+        }
+        return TimeZone.getDefault();
+    }
+
+    /**
+     * Returns the time zone of this schedule.
+     *
+     * @return a time zone
+     */
+    TimeZone getTimeZone() {
+        return this.timezone;
+    }
+
+    /**
+     * Returns the first timeout of this schedule, i.e. on or after its start date, if any,
+     * otherwise on or after the first scheduled time of day of the specified day.
+     *
+     * @param time the time, in milliseconds since the epoch, identifying the current day
+     * @return the local date/time and offset of the first timeout, or null, if there are no more timeouts
+     */
+    OffsetDateTime getFirstTimeout(long time) {
+        if (this.start != Long.MIN_VALUE) {
+            return this.getNextTimeout(this.start, false);
+        }
+        ZonedDateTime now = Instant.ofEpochMilli(time).atZone(this.zone);
+        LocalDateTime first = now.toLocalDate().atTime(this.hours.nextSetBit(0), this.minutes.nextSetBit(0), this.seconds.nextSetBit(0));
+        return this.getNextTimeout(ZonedDateTime.ofLocal(first, this.zone, now.getOffset()).toInstant().toEpochMilli(), false);
+    }
+
+    /**
+     * Returns the next timeout of this schedule following the specified time.
+     *
+     * @param time a time in milliseconds since the epoch
+     * @param increment indicates whether to exclude the second of the specified time
+     * @return the local date/time and offset of the next timeout, or null, if there are no more timeouts
+     */
+    OffsetDateTime getNextTimeout(long time, boolean increment) {
+        if (time > this.end) {
+            return null;
+        }
+        // Timeouts preceding the start of the schedule retain the milliseconds of the start time
+        long origin = (time < this.start) ? this.start : (Math.floorDiv(time, 1000L) + (increment ? 1 : 0)) * 1000L;
+        Timeout timeout = this.lastTimeout;
+        if ((timeout == null) || (timeout.origin != origin)) {
+            timeout = new Timeout(origin, this.search(origin));
+            this.lastTimeout = timeout;
+        }
+        return timeout.time;
+    }
+
+    private OffsetDateTime search(long origin) {
+        long epochSecond = Math.floorDiv(origin, 1000L);
+        int millis = (int) Math.floorMod(origin, 1000L);
+        ZoneOffset offset = this.rules.getOffset(Instant.ofEpochSecond(epochSecond));
+        LocalDateTime current = LocalDateTime.ofEpochSecond(epochSecond, 0, offset);
+        int year = current.getYear();
+        int month = current.getMonthValue();
+        int day = current.getDayOfMonth();
+        int hour = current.getHour();
+        int minute = current.getMinute();
+        int second = current.getSecond();
+        // Matching days of the current month, computed lazily
+        long days = 0;
+        int daysYear = 0;
+        int daysMonth = 0;
+        while (year <= Year.MAX_YEAR) {
+            if ((this.years != null) && !this.years.get(year)) {
+                year = this.years.nextSetBit(year);
+                if (year < 0) {
+                    return null;
+                }
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+            }
+            int nextMonth = this.months.nextSetBit(month);
+            if (nextMonth < 0) {
+                year += 1;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextMonth != month) {
+                month = nextMonth;
+                day = 1;
+                hour = minute = second = 0;
+            }
+            if ((year != daysYear) || (month != daysMonth)) {
+                days = this.getDaysOfMonth(year, month);
+                daysYear = year;
+                daysMonth = month;
+            }
+            long remainingDays = (day < Long.SIZE) ? days & (-1L << day) : 0L;
+            if (remainingDays == 0) {
+                if (month == 12) {
+                    year += 1;
+                    month = 1;
+                } else {
+                    month += 1;
+                }
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            int nextDay = Long.numberOfTrailingZeros(remainingDays);
+            if (nextDay != day) {
+                day = nextDay;
+                hour = minute = second = 0;
+            }
+            int nextHour = this.hours.nextSetBit(hour);
+            if (nextHour < 0) {
+                day += 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = second = 0;
+            }
+            int nextMinute = this.minutes.nextSetBit(minute);
+            if (nextMinute < 0) {
+                hour += 1;
+                minute = second = 0;
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+            int nextSecond = this.seconds.nextSetBit(second);
+            if (nextSecond < 0) {
+                minute += 1;
+                second = 0;
+                continue;
+            }
+            LocalDateTime local = LocalDateTime.of(year, month, day, hour, minute, nextSecond, millis * 1000000);
+            List<ZoneOffset> offsets = this.rules.getValidOffsets(local);
+            OffsetDateTime timeout;
+            if (offsets.isEmpty()) {
+                // Local times within a gap retain the preceding offset, i.e. are shifted forward by the length of the gap
+                timeout = OffsetDateTime.of(local, this.rules.getTransition(local).getOffsetBefore());
+            } else if (offsets.contains(offset)) {
+                timeout = OffsetDateTime.of(local, offset);
+            } else if (offsets.get(0).getTotalSeconds() > offset.getTotalSeconds()) {
+                timeout = OffsetDateTime.of(local, offsets.get(0));
+            } else {
+                // The local time was set back since the origin, e.g. at the end of daylight saving time.
+                // Resume searching from the equivalent time using the offset of the origin, so that repeated local times are not scheduled twice.
+                return this.search(local.toEpochSecond(offset) * 1000L + millis);
+            }
+            return (timeout.toInstant().toEpochMilli() <= this.end) ? timeout : null;
+        }
+        return null;
+    }
+
+    private long getDaysOfMonth(int year, int month) {
+        MonthDays monthDays = this.lastMonthDays;
+        if ((monthDays == null) || (monthDays.year != year) || (monthDays.month != month)) {
+            monthDays = new MonthDays(year, month, this.resolveDaysOfMonth(year, month));
+            this.lastMonthDays = monthDays;
+        }
+        return monthDays.days;
+    }
+
+    private long resolveDaysOfMonth(int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        long daysOfMonth = (this.dayOfMonth != null) ? this.dayOfMonth.getDaysOfMonth(yearMonth) : 0L;
+        if (this.daysOfWeek == null) {
+            return daysOfMonth;
+        }
+        // Day of week of the 1st of the month, where Sunday = 0
+        int dayOfWeek = yearMonth.atDay(1).getDayOfWeek().getValue() % 7;
+        int length = yearMonth.lengthOfMonth();
+        long days = daysOfMonth;
+        for (int day = 1; day <= length; ++day) {
+            if (this.daysOfWeek.get(dayOfWeek)) {
+                days |= 1L << day;
+            }
+            dayOfWeek = (dayOfWeek == 6) ? 0 : dayOfWeek + 1;
+        }
+        return days;
+    }
+
+    private static class MonthDays {
+        final int year;
+        final int month;
+        final long days;
+
+        MonthDays(int year, int month, long days) {
+            this.year = year;
+            this.month = month;
+            this.days = days;
+        }
+    }
+
+    private static class Timeout {
+        final long origin;
+        final OffsetDateTime time;
+
+        Timeout(long origin, OffsetDateTime time) {
+            this.origin = origin;
+            this.time = time;
+        }
+    }
+}
@@ -28,6 +28,8 @@ import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleExpressionType;
 import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleValue;
 import org.jboss.as.ejb3.timerservice.schedule.value.SingleValue;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -104,6 +106,11 @@ public class DayOfMonth extends IntegerBasedExpression {
 
     }
 
+    /**
+     * One or more spaces (which includes tabs and other forms of space)
+     */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     private static final Set<String> ORDINALS = new HashSet<String>();
 
     private static final Map<String, Integer> ORDINAL_TO_WEEK_NUMBER_MAPPING = new HashMap<String, Integer>();
@@ -300,6 +307,81 @@ public class DayOfMonth extends IntegerBasedExpression {
         throw EjbLogger.EJB3_TIMER_LOGGER.invalidRelativeValue(relativeDayOfMonth);
     }
 
+    /**
+     * Returns the days of the specified month that match this expression, resolving any relative values against that month.
+     *
+     * @param month a year and month
+     * @return a bit mask, where bit n is set if day n of the specified month matches this expression
+     */
+    public long getDaysOfMonth(YearMonth month) {
+        long days = 0;
+        if (this.scheduleExpressionType == ScheduleExpressionType.WILDCARD) {
+            days = -1L;
+        } else {
+            for (Integer day : this.absoluteValues) {
+                days |= dayMask(day, day);
+            }
+            for (ScheduleValue relativeValue : this.relativeValues) {
+                if (relativeValue instanceof SingleValue) {
+                    int day = this.getAbsoluteDayOfMonth(month, ((SingleValue) relativeValue).getValue());
+                    days |= dayMask(day, day);
+                } else if (relativeValue instanceof RangeValue) {
+                    RangeValue range = (RangeValue) relativeValue;
+                    String start = range.getStart();
+                    String end = range.getEnd();
+                    Integer dayOfMonthStart = this.isRelativeValue(start) ? this.getAbsoluteDayOfMonth(month, start) : this.parseInt(start);
+                    Integer dayOfMonthEnd = this.isRelativeValue(end) ? this.getAbsoluteDayOfMonth(month, end) : this.parseInt(end);
+                    this.assertValid(dayOfMonthStart);
+                    this.assertValid(dayOfMonthEnd);
+                    if (dayOfMonthStart > dayOfMonthEnd) {
+                        // Equivalent to "x-max, min-y"
+                        days |= dayMask(dayOfMonthStart, MAX_DAY_OF_MONTH) | dayMask(MIN_DAY_OF_MONTH, dayOfMonthEnd);
+                    } else {
+                        days |= dayMask(dayOfMonthStart, dayOfMonthEnd);
+                    }
+                }
+            }
+        }
+        // Retain only the days of this month
+        return days & (((1L << month.lengthOfMonth()) - 1) << 1);
+    }
+
+    private static long dayMask(int start, int end) {
+        int from = Math.max(start, 1);
+        return (from <= end) ? ((-1L >>> (63 - end)) & (-1L << from)) : 0L;
+    }
+
+    private int getAbsoluteDayOfMonth(YearMonth month, String relativeDayOfMonth) {
+        if (relativeDayOfMonth == null || relativeDayOfMonth.trim().isEmpty()) {
+            throw EjbLogger.EJB3_TIMER_LOGGER.relativeDayOfMonthIsNull();
+        }
+        String trimmedRelativeDayOfMonth = relativeDayOfMonth.trim();
+        int lastDayOfMonth = month.lengthOfMonth();
+        if (trimmedRelativeDayOfMonth.equalsIgnoreCase("last")) {
+            return lastDayOfMonth;
+        }
+        if (this.isValidNegativeDayOfMonth(trimmedRelativeDayOfMonth)) {
+            return lastDayOfMonth + Integer.parseInt(trimmedRelativeDayOfMonth);
+        }
+        if (this.isDayOfWeekBased(trimmedRelativeDayOfMonth)) {
+            String[] parts = WHITESPACE.split(trimmedRelativeDayOfMonth);
+            String ordinal = parts[0];
+            // Calendar based day of week, i.e. Sunday = 1
+            int dayOfWeek = DAY_OF_MONTH_ALIAS.get(parts[1].toLowerCase(Locale.ENGLISH));
+            if (ordinal.equalsIgnoreCase("last")) {
+                int lastDayOfWeek = month.atDay(lastDayOfMonth).getDayOfWeek().getValue() % 7 + 1;
+                return lastDayOfMonth - Math.floorMod(lastDayOfWeek - dayOfWeek, 7);
+            }
+            LocalDate first = month.atDay(1);
+            int firstDayOfWeek = first.getDayOfWeek().getValue() % 7 + 1;
+            int weekNumber = ORDINAL_TO_WEEK_NUMBER_MAPPING.get(ordinal.toLowerCase(Locale.ENGLISH));
+            int date = 1 + Math.floorMod(dayOfWeek - firstDayOfWeek, 7) + (weekNumber - 1) * 7;
+            // As with the calendar based computation, use the last date of the month if the month has no such day
+            return (date <= lastDayOfMonth) ? date : lastDayOfMonth;
+        }
+        throw EjbLogger.EJB3_TIMER_LOGGER.invalidRelativeValue(relativeDayOfMonth);
+    }
+
     private boolean isValidNegativeDayOfMonth(String dayOfMonth) {
         try {
             Integer val = Integer.parseInt(dayOfMonth.trim());
@@ -315,9 +397,7 @@ public class DayOfMonth extends IntegerBasedExpression {
 
     private boolean isDayOfWeekBased(String relativeVal) {
         String trimmedVal = relativeVal.trim();
-        // one or more spaces (which includes tabs and other forms of space)
-        Pattern p = Pattern.compile("\\s+");
-        String[] relativeParts = p.split(trimmedVal);
+        String[] relativeParts = WHITESPACE.split(trimmedVal);
         if (relativeParts == null) {
             return false;
         }
@@ -30,6 +30,7 @@ import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleExpressionType;
 import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleValue;
 import org.jboss.as.ejb3.timerservice.schedule.value.SingleValue;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.SortedSet;
@@ -213,4 +214,35 @@ public abstract class IntegerBasedExpression {
 
     public abstract boolean isRelativeValue(String value);
 
+    /**
+     * Indicates whether this expression matches all possible values.
+     *
+     * @return true, if this expression is a wildcard, false otherwise
+     */
+    public boolean isWildcard() {
+        return this.scheduleExpressionType == ScheduleExpressionType.WILDCARD;
+    }
+
+    /**
+     * Returns the absolute values of this expression as a bit set, where bit n is set if value n matches this expression.
+     * A wildcard expression sets all non-negative values between the minimum and maximum value.
+     * Relative values are not included.
+     *
+     * @return a bit set of matching absolute values
+     */
+    public BitSet getAbsoluteValueSet() {
+        int max = this.getMaxValue();
+        BitSet values = new BitSet(max + 1);
+        if (this.isWildcard()) {
+            values.set(Math.max(this.getMinValue(), 0), max + 1);
+        } else {
+            for (Integer value : this.absoluteValues) {
+                if (value >= 0) {
+                    values.set(value);
+                }
+            }
+        }
+        return values;
+    }
+
 }
@@ -22,14 +22,16 @@
  */
 package org.jboss.as.ejb3.tx;
 
-
-import org.wildfly.common.Assert;
-
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+
+import org.wildfly.common.Assert;
 
 /**
  * A lock that supports reentrancy based on owner (and not on current thread).
+ * Waiting threads are queued and parked via an {@link AbstractQueuedSynchronizer}, whose state is the hold count of the current owner.
+ * Consequently, a lock may be released by a thread other than the one that acquired it, as long as it is released on behalf of the same owner.
  *
  * @author Stuart Douglas
  */
@@ -37,104 +39,78 @@ public class OwnableReentrantLock {
 
     private static final long serialVersionUID = 493297473462848792L;
 
-    /**
-     * Current owner
-     */
-    private Object owner;
-
-    private final Object lock = new Object();
-
-    private int lockCount = 0;
+    // The owner on whose behalf the current thread is acquiring or releasing a lock.
+    // A thread can only ever acquire or release a single lock at a time, so this can be shared by all locks.
+    private static final ThreadLocal<Object> REQUESTOR = new ThreadLocal<>();
 
-    private int waiters = 0;
+    private final Sync sync;
 
     /**
-     * Creates a new lock instance.
+     * Creates a new non-fair lock instance.
      */
     public OwnableReentrantLock() {
+        this(false);
+    }
+
+    /**
+     * Creates a new lock instance using the specified fairness policy.
+     * @param fair indicates whether the lock should be granted to waiting owners in arrival order
+     */
+    public OwnableReentrantLock(boolean fair) {
+        this.sync = new Sync(fair);
     }
 
     public void lock(Object owner) {
         Assert.checkNotNullParam("owner", owner);
-        synchronized (this.lock) {
-            if (Objects.equals(owner, this.owner)) {
-                lockCount++;
-            } else if (this.owner == null) {
-                this.owner = owner;
-                lockCount ++;
-            } else {
-                while (this.owner != null) {
-                    try {
-                        waiters++;
-                        try {
-                            lock.wait();
-                        } finally {
-                            --waiters;
-                        }
-                    } catch (InterruptedException e) {
-                        throw new RuntimeException(e);
-                    }
-                }
-                this.owner = owner;
-                lockCount ++;
-            }
-
+        REQUESTOR.set(owner);
+        try {
+            this.sync.acquire(1);
+        } finally {
+            REQUESTOR.remove();
         }
     }
 
+    /**
+     * Acquires this lock on behalf of the specified owner, only if it is immediately available.
+     * @param owner the lock owner
+     * @return true, if the lock was acquired, false otherwise
+     */
+    public boolean tryLock(Object owner) {
+        Assert.checkNotNullParam("owner", owner);
+        return this.sync.tryAcquire(owner, 1);
+    }
 
     public boolean tryLock(long timeValue, TimeUnit timeUnit, Object owner) {
         Assert.checkNotNullParam("owner", owner);
-        synchronized (this.lock) {
-            if (Objects.equals(owner, this.owner)) {
-                lockCount++;
-                return true;
-            } else if (this.owner == null) {
-                this.owner = owner;
-                lockCount ++;
-                return true;
-            } else {
-                long endTime = System.currentTimeMillis() + timeUnit.toMillis(timeValue);
-                while (this.owner != null && System.currentTimeMillis() < endTime) {
-                    try {
-                        waiters++;
-                        try {
-                            lock.wait(endTime - System.currentTimeMillis());
-                        } finally {
-                            waiters--;
-                        }
-                    } catch (InterruptedException e) {
-                        throw new RuntimeException(e);
-                    }
-                }
-                if(this.owner == null) {
-                    this.owner = owner;
-                    lockCount++;
-                    return true;
-                } else {
-                    return false;
-                }
-            }
-
+        REQUESTOR.set(owner);
+        try {
+            return this.sync.tryAcquireNanos(1, timeUnit.toNanos(timeValue));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            REQUESTOR.remove();
         }
     }
 
     public void unlock(Object owner) {
         Assert.checkNotNullParam("owner", owner);
-        synchronized (this.lock) {
-            if (!Objects.equals(owner,this.owner)) {
-                throw new IllegalMonitorStateException();
-            } else {
-                if (--lockCount == 0) {
-                    this.owner = null;
-                    if (waiters > 0) {
-                        lock.notifyAll();
-                    }
-                }
-            }
+        REQUESTOR.set(owner);
+        try {
+            this.sync.release(1);
+        } finally {
+            REQUESTOR.remove();
         }
     }
 
+    /**
+     * Indicates whether this lock grants access to waiting owners in arrival order.
+     * @return true, if this lock is fair, false otherwise
+     */
+    public boolean isFair() {
+        return this.sync.fair;
+    }
+
     /**
      * Returns a string identifying this lock, as well as its lock state.  The state, in brackets, includes either the
      * String &quot;Unlocked&quot; or the String &quot;Locked by&quot; followed by the String representation of the lock
@@ -143,8 +119,86 @@ public class OwnableReentrantLock {
      * @return a string identifying this lock, as well as its lock state.
      */
     public String toString() {
+        Object owner = this.sync.owner;
         return super.toString() + ((owner == null) ?
                 "[Unlocked]" :
                 "[Locked by " + owner + "]");
     }
+
+    private static class Sync extends AbstractQueuedSynchronizer {
+        private static final long serialVersionUID = -2425225547263451493L;
+
+        // Transient state while the last hold of an owner is released
+        private static final int RELEASING = -1;
+
+        final boolean fair;
+        transient volatile Object owner;
+
+        Sync(boolean fair) {
+            this.fair = fair;
+        }
+
+        @Override
+        protected boolean tryAcquire(int acquires) {
+            return this.tryAcquire(REQUESTOR.get(), acquires);
+        }
+
+        boolean tryAcquire(Object requestor, int acquires) {
+            for (;;) {
+                int count = this.getState();
+                if (count == 0) {
+                    if (this.fair && this.hasQueuedPredecessors()) {
+                        return false;
+                    }
+                    if (this.compareAndSetState(0, acquires)) {
+                        this.owner = requestor;
+                        return true;
+                    }
+                } else if (count > 0) {
+                    Object owner = this.owner;
+                    if (owner == null) {
+                        // Owner of a new acquisition is not yet visible
+                        continue;
+                    }
+                    if (!Objects.equals(requestor, owner)) {
+                        return false;
+                    }
+                    // A transaction might be associated with multiple threads, so reentrant acquisitions must also be atomic
+                    if (this.compareAndSetState(count, count + acquires)) {
+                        return true;
+                    }
+                } else {
+                    // Being released by the previous owner
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        protected boolean tryRelease(int releases) {
+            Object requestor = REQUESTOR.get();
+            if (!Objects.equals(requestor, this.owner)) {
+                throw new IllegalMonitorStateException();
+            }
+            for (;;) {
+                int count = this.getState();
+                int remaining = count - releases;
+                if (remaining == 0) {
+                    // Prevent acquisition by a new owner until the current owner was cleared
+                    if (this.compareAndSetState(count, RELEASING)) {
+                        this.owner = null;
+                        this.setState(0);
+                        return true;
+                    }
+                } else if (this.compareAndSetState(count, remaining)) {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        protected boolean isHeldExclusively() {
+            return this.getState() > 0;
+        }
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InvocationMetrics}.
+ */
+public class InvocationMetricsTestCase {
+
+    @Test
+    public void test() throws NoSuchMethodException {
+        Method toString = Object.class.getMethod("toString");
+        Method equals = Object.class.getMethod("equals", Object.class);
+        Method wait = Object.class.getMethod("wait");
+        Method waitMillis = Object.class.getMethod("wait", long.class);
+
+        InvocationMetrics metrics = new InvocationMetrics();
+        Assert.assertEquals(0, metrics.getInvocations());
+        Assert.assertEquals(0, metrics.getExecutionTimePercentile(0.99));
+
+        for (int i = 1; i <= 1000; ++i) {
+            metrics.startInvocation();
+            metrics.finishInvocation(toString, 1, TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        metrics.startInvocation();
+        metrics.finishInvocation(equals, 2, TimeUnit.MILLISECONDS.toNanos(10));
+        metrics.startInvocation();
+        metrics.finishInvocation(wait, 3, TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.startInvocation();
+        metrics.finishInvocation(waitMillis, 4, TimeUnit.MILLISECONDS.toNanos(30));
+
+        Assert.assertEquals(0, metrics.getConcurrent());
+        Assert.assertEquals(1, metrics.getPeakConcurrent());
+        Assert.assertEquals(1003, metrics.getInvocations());
+        Assert.assertEquals(1009, metrics.getWaitTime());
+        // 500500 microseconds + 60 milliseconds
+        Assert.assertEquals(560, metrics.getExecutionTime());
+
+        long p50 = metrics.getExecutionTimePercentile(0.5);
+        Assert.assertTrue(String.valueOf(p50), (p50 >= 500) && (p50 <= 625));
+        long p999 = metrics.getExecutionTimePercentile(0.999);
+        Assert.assertTrue(String.valueOf(p999), p999 >= 10000);
+
+        Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        Assert.assertEquals(3, methods.size());
+
+        InvocationMetrics.Values values = methods.get("toString");
+        Assert.assertEquals(1000, values.getInvocations());
+        Assert.assertEquals(1000, values.getWaitTime());
+        Assert.assertEquals(500, values.getExecutionTime());
+        long p99 = values.getExecutionTimePercentile(0.99);
+        Assert.assertTrue(String.valueOf(p99), (p99 >= 990) && (p99 <= 1250));
+
+        // Overloaded methods are combined
+        values = methods.get("wait");
+        Assert.assertEquals(2, values.getInvocations());
+        Assert.assertEquals(7, values.getWaitTime());
+        Assert.assertEquals(50, values.getExecutionTime());
+        long p50wait = values.getExecutionTimePercentile(0.5);
+        Assert.assertTrue(String.valueOf(p50wait), (p50wait >= 20000) && (p50wait <= 25000));
+    }
+}
@@ -89,7 +89,7 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/wildfly-ejb3_9_0.xsd";
+        return "schema/wildfly-ejb3_10_0.xsd";
     }
 
     @Override
@@ -335,6 +335,10 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
         PathAddress subsystemAddress = PathAddress.pathAddress(EJB3Extension.SUBSYSTEM_PATH);
 
+        // need to include changes in 10.0.0 for all legacy versions
+        // reject the resource /subsystem=ejb3/striped-max-bean-instance-pool=striped-max-pool
+        config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.STRIPED_MAX_BEAN_INSTANCE_POOL, "striped-max-pool")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
         // EAP 6.4.0
         if (EJB3Model.VERSION_1_2_1.matches(version)) {
 
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.suspend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ActivityCounter}.
+ */
+public class ActivityCounterTestCase {
+
+    @Test
+    public void test() {
+        ActivityCounter counter = new ActivityCounter();
+        Assert.assertEquals(0, counter.getActive());
+        counter.start();
+        counter.start();
+        Assert.assertEquals(2, counter.getActive());
+        counter.complete();
+        Assert.assertEquals(1, counter.getActive());
+        counter.complete();
+        Assert.assertEquals(0, counter.getActive());
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        ActivityCounter counter = new ActivityCounter();
+        int threads = Runtime.getRuntime().availableProcessors() + 1;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            // Remains active for the duration of the test, thus counter must never report quiescence
+            counter.start();
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(() -> {
+                    while (running.get()) {
+                        counter.start();
+                        counter.complete();
+                    }
+                }));
+            }
+            long stop = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+            while (System.nanoTime() < stop) {
+                Assert.assertTrue(counter.getActive() > 0);
+            }
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            Assert.assertEquals(1, counter.getActive());
+            counter.complete();
+            Assert.assertEquals(0, counter.getActive());
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timer.schedule;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.schedule.CalendarBasedTimeout;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Verifies the timeouts computed by {@link CalendarBasedTimeout} against those of the original calendar based implementation,
+ * for a corpus of commonly used schedule expressions.
+ */
+public class CalendarBasedTimeoutOracleTestCase {
+
+    // second, minute, hour, day-of-month, month, day-of-week, year
+    private static final String[][] EXPRESSIONS = new String[][] {
+        { "0", "0", "0", "*", "*", "*", "*" },
+        { "0", "*/5", "*", "*", "*", "*", "*" },
+        { "0", "0/15", "*", "*", "*", "*", "*" },
+        { "*/10", "*", "*", "*", "*", "*", "*" },
+        { "30", "15", "5", "*", "*", "*", "*" },
+        { "0", "0", "*/2", "*", "*", "*", "*" },
+        { "0", "0", "1-4", "*", "*", "*", "*" },
+        { "0", "0", "22-2", "*", "*", "*", "*" },
+        { "0", "15", "8", "*", "*", "Mon-Fri", "*" },
+        { "0", "30", "12", "*", "*", "Mon,Wed,Fri", "*" },
+        { "0", "0", "0", "*", "*", "Sat-Sun", "*" },
+        { "0", "0", "0", "31", "*", "*", "*" },
+        { "0", "0", "0", "29", "Feb", "*", "*" },
+        { "0", "0", "23", "Last", "*", "*", "*" },
+        { "0", "0", "9", "-3", "*", "*", "*" },
+        { "0", "0", "0", "20-Last", "*", "*", "*" },
+        { "0", "0", "10", "1st Mon", "*", "*", "*" },
+        { "0", "0", "10", "Last Fri", "*", "*", "*" },
+        { "0", "0", "12", "5th Wed", "*", "*", "*" },
+        { "0", "0", "0", "1", "Jan,Apr,Jul,Oct", "*", "*" },
+        { "0", "0", "3", "15", "*", "Sun", "*" },
+        { "0", "0", "0", "1", "*", "*", "2030-2032" },
+        { "0", "30", "2", "*", "*", "*", "*" },
+    };
+
+    private static final String[] TIME_ZONES = new String[] { "UTC", "Europe/Berlin", "America/Los_Angeles", "Australia/Lord_Howe", "Asia/Kolkata", "America/Sao_Paulo" };
+
+    private static final int TIMEOUTS = 50;
+
+    @Test
+    public void test() {
+        for (String zone : TIME_ZONES) {
+            TimeZone timezone = TimeZone.getTimeZone(zone);
+            for (String[] expression : EXPRESSIONS) {
+                ScheduleExpression schedule = createScheduleExpression(expression, zone);
+                CalendarBasedTimeout timeout = new CalendarBasedTimeout(schedule);
+                LegacyCalendarBasedTimeout oracle = new LegacyCalendarBasedTimeout(schedule);
+                for (int year = 2016; year <= 2024; year += 4) {
+                    for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month += 5) {
+                        Calendar current = new GregorianCalendar(timezone);
+                        current.clear();
+                        current.set(year, month, 7 * (month % 4) + 1, month, 7 * month, 500);
+                        verify(timeout, oracle, current, schedule);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void start() {
+        for (String zone : TIME_ZONES) {
+            TimeZone timezone = TimeZone.getTimeZone(zone);
+            Calendar start = new GregorianCalendar(timezone);
+            start.clear();
+            start.set(2021, Calendar.JUNE, 3, 4, 5, 6);
+            start.set(Calendar.MILLISECOND, 789);
+            Calendar end = new GregorianCalendar(timezone);
+            end.clear();
+            end.set(2021, Calendar.SEPTEMBER, 1);
+            for (String[] expression : EXPRESSIONS) {
+                ScheduleExpression schedule = createScheduleExpression(expression, zone).start(start.getTime()).end(end.getTime());
+                CalendarBasedTimeout timeout = new CalendarBasedTimeout(schedule);
+                LegacyCalendarBasedTimeout oracle = new LegacyCalendarBasedTimeout(schedule);
+                assertEquals(schedule, null, oracle.getFirstTimeout(), timeout.getFirstTimeout());
+                Calendar current = new GregorianCalendar(timezone);
+                current.clear();
+                current.set(2021, Calendar.MAY, 1);
+                verify(timeout, oracle, current, schedule);
+            }
+        }
+    }
+
+    /**
+     * The calendar based implementation does not reevaluate the day of week after advancing to the next year.
+     */
+    @Test
+    public void weekendsOfDecember() {
+        ScheduleExpression schedule = new ScheduleExpression().second("0").minute("0").hour("0").month("12").dayOfWeek("Sat-Sun").timezone("UTC");
+        Calendar current = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        current.clear();
+        current.set(2019, Calendar.DECEMBER, 29);
+        Calendar timeout = new CalendarBasedTimeout(schedule).getNextTimeout(current);
+        Assert.assertNotNull(timeout);
+        Assert.assertEquals(2020, timeout.get(Calendar.YEAR));
+        Assert.assertEquals(Calendar.DECEMBER, timeout.get(Calendar.MONTH));
+        Assert.assertEquals(5, timeout.get(Calendar.DAY_OF_MONTH));
+        Assert.assertEquals(Calendar.SATURDAY, timeout.get(Calendar.DAY_OF_WEEK));
+    }
+
+    /**
+     * A scheduled time that does not exist due to a daylight saving time transition is shifted forward by the length of the transition,
+     * whereas the calendar based implementation may shift it backward, depending on the preceding time.
+     */
+    @Test
+    public void lastDayOfMonthWithinDaylightSavingTransition() {
+        TimeZone timezone = TimeZone.getTimeZone("Europe/Berlin");
+        ScheduleExpression schedule = new ScheduleExpression().second("0").minute("0").hour("2").dayOfMonth("Last").timezone(timezone.getID());
+        Calendar current = new GregorianCalendar(timezone);
+        current.clear();
+        current.set(2019, Calendar.FEBRUARY, 28, 2, 0, 0);
+        Calendar expected = new GregorianCalendar(timezone);
+        expected.clear();
+        expected.set(2019, Calendar.MARCH, 31, 3, 0, 0);
+        Calendar timeout = new CalendarBasedTimeout(schedule).getNextTimeout(current);
+        Assert.assertNotNull(timeout);
+        Assert.assertEquals(expected.getTime(), timeout.getTime());
+        Assert.assertEquals(31, timeout.get(Calendar.DAY_OF_MONTH));
+        Assert.assertEquals(2, timeout.get(Calendar.HOUR_OF_DAY));
+        Assert.assertEquals(0, timeout.get(Calendar.DST_OFFSET));
+    }
+
+    private static void verify(CalendarBasedTimeout timeout, LegacyCalendarBasedTimeout oracle, Calendar current, ScheduleExpression schedule) {
+        for (int i = 0; (i < TIMEOUTS) && (current != null); ++i) {
+            Calendar expected = oracle.getNextTimeout(current);
+            Calendar result = timeout.getNextTimeout(current);
+            assertEquals(schedule, current, expected, result);
+            if (expected != null) {
+                Assert.assertEquals(expected.getTime(), timeout.getNextTimeout(current.getTime()));
+            }
+            current = expected;
+        }
+    }
+
+    private static void assertEquals(ScheduleExpression schedule, Calendar current, Calendar expected, Calendar result) {
+        String message = String.format("%s %s %s %s %s %s %s [%s] from %s", schedule.getSecond(), schedule.getMinute(), schedule.getHour(), schedule.getDayOfMonth(), schedule.getMonth(), schedule.getDayOfWeek(), schedule.getYear(), schedule.getTimezone(), (current != null) ? current.getTime() : null);
+        if (expected == null) {
+            Assert.assertNull(message, result);
+        } else {
+            Assert.assertNotNull(message, result);
+            Assert.assertEquals(message, expected.getTime(), result.getTime());
+        }
+    }
+
+    private static ScheduleExpression createScheduleExpression(String[] expression, String zone) {
+        return new ScheduleExpression().second(expression[0]).minute(expression[1]).hour(expression[2]).dayOfMonth(expression[3]).month(expression[4]).dayOfWeek(expression[5]).year(expression[6]).timezone(zone);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimeoutScheduler}.
+ */
+public class TimeoutSchedulerTestCase {
+
+    @Test
+    public void schedule() throws InterruptedException {
+        int timeouts = 100;
+        CountDownLatch latch = new CountDownLatch(timeouts);
+        Map<String, ClassLoader> loaders = new ConcurrentHashMap<>();
+        Map<String, String> threads = new ConcurrentHashMap<>();
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        try (TimeoutScheduler scheduler = new TimeoutScheduler(4)) {
+            // Scheduling thread context class loader must not leak into scheduler threads
+            Thread.currentThread().setContextClassLoader(new ClassLoader() { });
+            try {
+                for (int i = 0; i < timeouts; ++i) {
+                    String key = Integer.toString(i);
+                    scheduler.schedule(key, () -> {
+                        ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+                        if (contextLoader != null) {
+                            loaders.put(key, contextLoader);
+                        }
+                        threads.put(key, Thread.currentThread().getName());
+                        latch.countDown();
+                    }, i % 10);
+                }
+            } finally {
+                Thread.currentThread().setContextClassLoader(loader);
+            }
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        }
+        Assert.assertTrue(loaders.toString(), loaders.isEmpty());
+        // Timeouts are distributed across shards
+        Assert.assertTrue(threads.values().stream().distinct().count() > 1);
+        Assert.assertTrue(threads.values().stream().distinct().count() <= 4);
+    }
+
+    @Test
+    public void sameKeySameShard() throws InterruptedException {
+        List<String> threads = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(10);
+        try (TimeoutScheduler scheduler = new TimeoutScheduler(4)) {
+            for (int i = 0; i < 10; ++i) {
+                scheduler.schedule("foo", () -> {
+                    synchronized (threads) {
+                        threads.add(Thread.currentThread().getName());
+                    }
+                    latch.countDown();
+                }, 0);
+            }
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        }
+        Assert.assertEquals(1, threads.stream().distinct().count());
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        AtomicInteger cancelled = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        try (TimeoutScheduler scheduler = new TimeoutScheduler(2)) {
+            ScheduledFuture<?> future = scheduler.schedule("foo", cancelled::incrementAndGet, 100);
+            ScheduledFuture<?> periodic = scheduler.scheduleAtFixedRate("bar", cancelled::incrementAndGet, 100, 10);
+            scheduler.schedule("baz", latch::countDown, 200);
+
+            Assert.assertTrue(future.cancel(false));
+            Assert.assertTrue(periodic.cancel(false));
+
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(0, cancelled.get());
+        }
+    }
+
+    @Test
+    public void scheduleAtFixedRate() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        try (TimeoutScheduler scheduler = new TimeoutScheduler(2)) {
+            ScheduledFuture<?> future = scheduler.scheduleAtFixedRate("foo", latch::countDown, 0, 10);
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            future.cancel(false);
+        }
+    }
+}
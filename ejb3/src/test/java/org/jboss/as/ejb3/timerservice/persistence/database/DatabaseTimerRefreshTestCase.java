@@ -0,0 +1,268 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence.TimerChangeListener;
+import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit test for the incremental refresh of {@link DatabaseTimerPersistence}.
+ */
+public class DatabaseTimerRefreshTestCase {
+
+    private static final String TIMED_OBJECT_ID = "foo.bar.Baz";
+    private static final String PARTITION = "part";
+    private static final String CREATE_TIMER = "create-timer";
+    private static final String LOAD_TIMER_STATES = "load-timer-states";
+    private static final String LOAD_MODIFIED_TIMER_STATES = "load-modified-timer-states";
+    private static final String COUNT_TIMERS = "count-timers";
+    private static final String LOAD_TIMERS = "load-timers (%s)";
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statesStatement = mock(PreparedStatement.class);
+    private final PreparedStatement modifiedStatesStatement = mock(PreparedStatement.class);
+    private final PreparedStatement countStatement = mock(PreparedStatement.class);
+    private final TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+    private final TimerChangeListener listener = mock(TimerChangeListener.class);
+    private DatabaseTimerPersistence persistence;
+
+    @Before
+    public void init() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(CREATE_TIMER)).thenReturn(mock(PreparedStatement.class));
+        when(connection.prepareStatement(LOAD_TIMER_STATES)).thenReturn(statesStatement);
+        when(connection.prepareStatement(LOAD_MODIFIED_TIMER_STATES)).thenReturn(modifiedStatesStatement);
+        when(connection.prepareStatement(COUNT_TIMERS)).thenReturn(countStatement);
+
+        Properties sql = new Properties();
+        sql.setProperty(CREATE_TIMER, CREATE_TIMER);
+        sql.setProperty(LOAD_TIMER_STATES, LOAD_TIMER_STATES);
+        sql.setProperty(LOAD_MODIFIED_TIMER_STATES, LOAD_MODIFIED_TIMER_STATES);
+        sql.setProperty(COUNT_TIMERS, COUNT_TIMERS);
+        sql.setProperty("load-timers", LOAD_TIMERS);
+        this.persistence = new DatabaseTimerPersistence(PARTITION, "nodeA", this.dataSource, sql);
+
+        TimedObjectInvoker invoker = mock(TimedObjectInvoker.class);
+        when(this.timerService.getInvoker()).thenReturn(invoker);
+        when(invoker.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        when(this.listener.getTimerService()).thenReturn(this.timerService);
+
+        this.persistence.timerDeployed(TIMED_OBJECT_ID);
+        this.persistence.registerChangeListener(TIMED_OBJECT_ID, this.listener);
+    }
+
+    @Test
+    public void refresh() throws Exception {
+        PreparedStatement timersStatement = mock(PreparedStatement.class);
+        when(this.connection.prepareStatement(String.format(LOAD_TIMERS, "?, ?, ?"))).thenReturn(timersStatement);
+
+        // Timers 1 and 2 are known, timers 3 and 4 were created by another node
+        ResultSet states = resultSet(
+                state("1", TimerState.ACTIVE),
+                state("2", TimerState.ACTIVE),
+                state("3", TimerState.ACTIVE),
+                state("4", TimerState.ACTIVE));
+        when(this.statesStatement.executeQuery()).thenReturn(states);
+        ResultSet timers = resultSet(
+                timer("3", TimerState.ACTIVE),
+                timer("4", TimerState.ACTIVE),
+                timer("1", TimerState.ACTIVE));
+        when(timersStatement.executeQuery()).thenReturn(timers);
+
+        // Timer 1 was cancelled in memory, but is still active in the database
+        TimerImpl timer1 = this.addTimer("1", TimerState.CANCELED);
+        this.addTimer("2", TimerState.ACTIVE);
+
+        this.persistence.refreshTimers();
+
+        // Added and changed timers must be loaded via a single query
+        verify(this.connection).prepareStatement(String.format(LOAD_TIMERS, "?, ?, ?"));
+        verify(timersStatement).executeQuery();
+        verify(timersStatement).setString(1, TIMED_OBJECT_ID);
+        verify(timersStatement).setString(2, PARTITION);
+        verify(timersStatement).setString(3, "3");
+        verify(timersStatement).setString(4, "4");
+        verify(timersStatement).setString(5, "1");
+
+        ArgumentCaptor<TimerImpl> added = ArgumentCaptor.forClass(TimerImpl.class);
+        verify(this.listener, times(2)).timerAdded(added.capture());
+        Assert.assertEquals(Arrays.asList("3", "4"), Arrays.asList(added.getAllValues().get(0).getId(), added.getAllValues().get(1).getId()));
+
+        ArgumentCaptor<TimerImpl> synced = ArgumentCaptor.forClass(TimerImpl.class);
+        verify(this.listener).timerSync(same(timer1), synced.capture());
+        Assert.assertEquals("1", synced.getValue().getId());
+        Assert.assertEquals(TimerState.ACTIVE, synced.getValue().getState());
+
+        verify(this.listener, never()).timerRemoved(anyString());
+    }
+
+    @Test
+    public void refreshWithoutChanges() throws Exception {
+        when(this.statesStatement.executeQuery()).thenReturn(resultSet(state("1", TimerState.ACTIVE)));
+        this.addTimer("1", TimerState.ACTIVE);
+
+        this.persistence.refreshTimers();
+
+        // No timer needs to be loaded
+        verify(this.connection, never()).prepareStatement(String.format(LOAD_TIMERS, "?"));
+        verify(this.listener, never()).timerAdded(any());
+        verify(this.listener, never()).timerSync(any(), any());
+        verify(this.listener, never()).timerRemoved(anyString());
+    }
+
+    @Test
+    public void incrementalRefresh() throws Exception {
+        PreparedStatement timersStatement = mock(PreparedStatement.class);
+        when(this.connection.prepareStatement(String.format(LOAD_TIMERS, "?"))).thenReturn(timersStatement);
+        when(this.statesStatement.executeQuery()).thenReturn(resultSet(state("1", TimerState.ACTIVE)));
+        this.addTimer("1", TimerState.ACTIVE);
+
+        this.persistence.refreshTimers();
+
+        // Only timer 2, created by another node, was modified since the previous refresh
+        when(this.modifiedStatesStatement.executeQuery()).thenReturn(resultSet(state("2", TimerState.ACTIVE)));
+        when(timersStatement.executeQuery()).thenReturn(resultSet(timer("2", TimerState.ACTIVE)));
+        when(this.countStatement.executeQuery()).thenReturn(count(2));
+
+        this.persistence.refreshTimers();
+
+        verify(this.statesStatement, times(1)).executeQuery();
+        verify(this.modifiedStatesStatement).setString(1, TIMED_OBJECT_ID);
+        verify(this.modifiedStatesStatement).setString(2, PARTITION);
+        verify(this.modifiedStatesStatement).setLong(eq(3), anyLong());
+        verify(timersStatement).setString(3, "2");
+
+        ArgumentCaptor<TimerImpl> added = ArgumentCaptor.forClass(TimerImpl.class);
+        verify(this.listener).timerAdded(added.capture());
+        Assert.assertEquals("2", added.getValue().getId());
+        verify(this.listener, never()).timerRemoved(anyString());
+    }
+
+    @Test
+    public void incrementalRefreshWithRemovedTimer() throws Exception {
+        when(this.statesStatement.executeQuery()).thenReturn(resultSet(state("1", TimerState.ACTIVE), state("2", TimerState.ACTIVE)));
+        this.addTimer("1", TimerState.ACTIVE);
+        this.addTimer("2", TimerState.ACTIVE);
+
+        this.persistence.refreshTimers();
+
+        // Timer 2 was removed by another node, which an incremental refresh cannot read
+        when(this.modifiedStatesStatement.executeQuery()).thenReturn(resultSet());
+        when(this.countStatement.executeQuery()).thenReturn(count(1));
+        when(this.statesStatement.executeQuery()).thenReturn(resultSet(state("1", TimerState.ACTIVE)));
+
+        this.persistence.refreshTimers();
+
+        // The number of timers no longer matches, so a full refresh must follow
+        verify(this.modifiedStatesStatement).executeQuery();
+        verify(this.statesStatement, times(2)).executeQuery();
+        verify(this.listener).timerRemoved("2");
+        verify(this.listener, never()).timerRemoved("1");
+    }
+
+    private TimerImpl addTimer(String id, TimerState state) {
+        TimerImpl timer = mock(TimerImpl.class);
+        when(timer.getId()).thenReturn(id);
+        when(timer.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        when(timer.getState()).thenReturn(state);
+        when(this.timerService.getTimer(id)).thenReturn(timer);
+        this.persistence.addTimer(timer);
+        return timer;
+    }
+
+    /**
+     * Creates a row of the load-timer-states query.
+     */
+    private static Map<Integer, String> state(String id, TimerState state) {
+        Map<Integer, String> row = new HashMap<>();
+        row.put(1, id);
+        row.put(2, state.name());
+        return row;
+    }
+
+    /**
+     * Creates a row of the load-timers query for an interval timer.
+     */
+    private static Map<Integer, String> timer(String id, TimerState state) {
+        Map<Integer, String> row = new HashMap<>();
+        row.put(1, id);
+        row.put(2, TIMED_OBJECT_ID);
+        row.put(9, state.name());
+        return row;
+    }
+
+    /**
+     * Creates the result of the count-timers query.
+     */
+    private static ResultSet count(int count) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getInt(1)).thenReturn(count);
+        return resultSet;
+    }
+
+    @SafeVarargs
+    private static ResultSet resultSet(Map<Integer, String>... rows) throws SQLException {
+        List<Map<Integer, String>> list = Arrays.asList(rows);
+        ResultSet resultSet = mock(ResultSet.class);
+        int[] index = new int[] { -1 };
+        when(resultSet.next()).thenAnswer(invocation -> ++index[0] < list.size());
+        when(resultSet.getString(anyInt())).thenAnswer(invocation -> {
+            int column = invocation.getArgument(0);
+            return list.get(index[0]).get(column);
+        });
+        return resultSet;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private static final String TIMED_OBJECT_ID = "foo.bar.Baz";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void test() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = new TimerJournal(directory)) {
+            journal.open();
+
+            Assert.assertTrue(journal.read(TIMED_OBJECT_ID).isEmpty());
+            Assert.assertFalse(journal.contains(TIMED_OBJECT_ID, "1"));
+
+            journal.write(TIMED_OBJECT_ID, "1", bytes("one"));
+            journal.write(TIMED_OBJECT_ID, "2", bytes("two"));
+            journal.write(TIMED_OBJECT_ID, "1", bytes("uno"));
+            journal.writeAll(TIMED_OBJECT_ID, Collections.singletonMap("3", bytes("three")));
+            journal.remove(TIMED_OBJECT_ID, "2");
+
+            Assert.assertTrue(journal.contains(TIMED_OBJECT_ID, "1"));
+            Assert.assertFalse(journal.contains(TIMED_OBJECT_ID, "2"));
+            Map<String, byte[]> timers = journal.read(TIMED_OBJECT_ID);
+            Assert.assertEquals(2, timers.size());
+            Assert.assertArrayEquals(bytes("uno"), timers.get("1"));
+            Assert.assertArrayEquals(bytes("three"), timers.get("3"));
+        }
+
+        // Verify index is rebuilt
+        try (TimerJournal journal = new TimerJournal(directory)) {
+            journal.open();
+
+            Map<String, byte[]> timers = journal.read(TIMED_OBJECT_ID);
+            Assert.assertEquals(2, timers.size());
+            Assert.assertArrayEquals(bytes("uno"), timers.get("1"));
+            Assert.assertArrayEquals(bytes("three"), timers.get("3"));
+            Assert.assertTrue(journal.read("foo.bar.Qux").isEmpty());
+        }
+    }
+
+    @Test
+    public void incompleteWrite() throws IOException {
+        File directory = this.folder.newFolder();
+        try (TimerJournal journal = new TimerJournal(directory)) {
+            journal.open();
+            journal.write(TIMED_OBJECT_ID, "1", bytes("one"));
+            journal.write(TIMED_OBJECT_ID, "2", bytes("two"));
+        }
+        File[] segments = directory.listFiles();
+        Assert.assertEquals(1, segments.length);
+        // Simulate an incomplete write of the last record
+        try (RandomAccessFile file = new RandomAccessFile(segments[0], "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        try (TimerJournal journal = new TimerJournal(directory)) {
+            journal.open();
+            Assert.assertTrue(journal.contains(TIMED_OBJECT_ID, "1"));
+            Assert.assertFalse(journal.contains(TIMED_OBJECT_ID, "2"));
+
+            // Subsequent records must be readable
+            journal.write(TIMED_OBJECT_ID, "3", bytes("three"));
+        }
+
+        try (TimerJournal journal = new TimerJournal(directory)) {
+            journal.open();
+            Map<String, byte[]> timers = journal.read(TIMED_OBJECT_ID);
+            Assert.assertEquals(2, timers.size());
+            Assert.assertArrayEquals(bytes("one"), timers.get("1"));
+            Assert.assertArrayEquals(bytes("three"), timers.get("3"));
+        }
+    }
+
+    @Test
+    public void compaction() throws IOException, InterruptedException {
+        File directory = this.folder.newFolder();
+        // Use tiny segments to force frequent roll over
+        try (TimerJournal journal = new TimerJournal(directory, 256)) {
+            journal.open();
+            journal.write(TIMED_OBJECT_ID, "static", bytes("static"));
+            for (int i = 0; i < 100; ++i) {
+                journal.write(TIMED_OBJECT_ID, "interval", bytes(Integer.toString(i)));
+            }
+            // Wait for background compaction to remove obsolete segments
+            long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((directory.listFiles().length > 4) && (System.nanoTime() < timeout)) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(directory.listFiles().length <= 4);
+
+            Map<String, byte[]> timers = journal.read(TIMED_OBJECT_ID);
+            Assert.assertEquals(2, timers.size());
+            Assert.assertArrayEquals(bytes("static"), timers.get("static"));
+            Assert.assertArrayEquals(bytes("99"), timers.get("interval"));
+        }
+
+        try (TimerJournal journal = new TimerJournal(directory, 256)) {
+            journal.open();
+            Map<String, byte[]> timers = journal.read(TIMED_OBJECT_ID);
+            Assert.assertEquals(2, timers.size());
+            Assert.assertArrayEquals(bytes("static"), timers.get("static"));
+            Assert.assertArrayEquals(bytes("99"), timers.get("interval"));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.tx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link OwnableReentrantLock}.
+ */
+public class OwnableReentrantLockTestCase {
+
+    @Test
+    public void reentrancy() throws InterruptedException, ExecutionException {
+        OwnableReentrantLock lock = new OwnableReentrantLock();
+        Object owner = new Object();
+        Object otherOwner = new Object();
+
+        lock.lock(owner);
+        Assert.assertTrue(lock.tryLock(owner));
+        Assert.assertTrue(lock.tryLock(1, TimeUnit.MILLISECONDS, owner));
+        Assert.assertFalse(lock.tryLock(otherOwner));
+        Assert.assertFalse(lock.tryLock(10, TimeUnit.MILLISECONDS, otherOwner));
+
+        try {
+            lock.unlock(otherOwner);
+            Assert.fail("Lock released by non-owner");
+        } catch (IllegalMonitorStateException e) {
+            // Expected
+        }
+
+        lock.unlock(owner);
+        lock.unlock(owner);
+        Assert.assertFalse(lock.tryLock(otherOwner));
+
+        // Lock may be released by a different thread on behalf of the same owner
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> lock.unlock(owner)).get();
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(lock.tryLock(otherOwner));
+        lock.unlock(otherOwner);
+
+        try {
+            lock.unlock(otherOwner);
+            Assert.fail("Unlocked lock was released");
+        } catch (IllegalMonitorStateException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void nonFairContention() throws InterruptedException, ExecutionException {
+        contention(new OwnableReentrantLock(false));
+    }
+
+    @Test
+    public void fairContention() throws InterruptedException, ExecutionException {
+        contention(new OwnableReentrantLock(true));
+    }
+
+    private static void contention(OwnableReentrantLock lock) throws InterruptedException, ExecutionException {
+        int threads = 8;
+        int iterations = 1000;
+        AtomicInteger holders = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(() -> {
+                    Object owner = new Object();
+                    for (int j = 0; j < iterations; ++j) {
+                        Assert.assertTrue(lock.tryLock(10, TimeUnit.SECONDS, owner));
+                        try {
+                            Assert.assertEquals(1, holders.incrementAndGet());
+                            Thread.yield();
+                            Assert.assertEquals(0, holders.decrementAndGet());
+                        } finally {
+                            lock.unlock(owner);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Object owner = new Object();
+        Assert.assertTrue(lock.tryLock(owner));
+        lock.unlock(owner);
+    }
+}
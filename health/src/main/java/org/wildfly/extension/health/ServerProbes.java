@@ -23,6 +23,7 @@
 package org.wildfly.extension.health;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BOOT_ERRORS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CORE_SERVICE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
@@ -34,10 +35,12 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUT
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STATUS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.LocalModelControllerClient;
 import org.jboss.as.controller.PathAddress;
@@ -48,6 +51,7 @@ class ServerProbes {
     private static final ModelNode READ_SERVER_STATE_ATTRIBUTE;
     private static final ModelNode READ_BOOT_ERRORS;
     private static final ModelNode READ_DEPLOYMENTS_STATUS;
+    private static final ModelNode READ_SERVER_STATUS;
 
     static {
         READ_SERVER_STATE_ATTRIBUTE = new ModelNode();
@@ -63,6 +67,65 @@ class ServerProbes {
         READ_DEPLOYMENTS_STATUS.get(OP).set(READ_ATTRIBUTE_OPERATION);
         READ_DEPLOYMENTS_STATUS.get(OP_ADDR).add(DEPLOYMENT, "*");
         READ_DEPLOYMENTS_STATUS.get(NAME).set(STATUS);
+
+        READ_SERVER_STATUS = new ModelNode();
+        READ_SERVER_STATUS.get(OP).set(COMPOSITE);
+        READ_SERVER_STATUS.get(OP_ADDR).setEmptyList();
+        ModelNode steps = READ_SERVER_STATUS.get(STEPS);
+        steps.add(READ_SERVER_STATE_ATTRIBUTE);
+        steps.add(READ_BOOT_ERRORS);
+        steps.add(READ_DEPLOYMENTS_STATUS);
+    }
+
+    /**
+     * Reads the server state, boot errors, and deployment status via a single composite operation.
+     * The response is shared by all probes evaluated shortly after it was requested, so that a health check request
+     * results in a single management operation, rather than one per probe.
+     */
+    static class ServerStatusReader {
+        private static final long MAX_AGE = TimeUnit.SECONDS.toNanos(1);
+
+        private final LocalModelControllerClient modelControllerClient;
+        private volatile Response response;
+
+        ServerStatusReader(LocalModelControllerClient modelControllerClient) {
+            this.modelControllerClient = modelControllerClient;
+        }
+
+        /**
+         * Returns the response of the specified operation, which must be one of the steps of the composite operation.
+         * Falls back to executing the operation individually if the composite operation did not succeed.
+         */
+        ModelNode read(ModelNode operation, int step) {
+            Response response = this.response;
+            if ((response == null) || (System.nanoTime() - response.time > MAX_AGE)) {
+                synchronized (this) {
+                    response = this.response;
+                    if ((response == null) || (System.nanoTime() - response.time > MAX_AGE)) {
+                        long time = System.nanoTime();
+                        response = new Response(this.modelControllerClient.execute(READ_SERVER_STATUS), time);
+                        this.response = response;
+                    }
+                }
+            }
+            if (SUCCESS.equals(response.value.get(OUTCOME).asStringOrNull())) {
+                ModelNode stepResponse = response.value.get(RESULT).get("step-" + (step + 1));
+                if (stepResponse.isDefined()) {
+                    return stepResponse;
+                }
+            }
+            return this.modelControllerClient.execute(operation);
+        }
+
+        private static class Response {
+            final ModelNode value;
+            final long time;
+
+            Response(ModelNode value, long time) {
+                this.value = value;
+                this.time = time;
+            }
+        }
     }
 
     /**
@@ -70,15 +133,15 @@ class ServerProbes {
      */
     static class ServerStateCheck implements ServerProbe {
 
-        private LocalModelControllerClient modelControllerClient;
+        private final ServerStatusReader reader;
 
-        public ServerStateCheck(LocalModelControllerClient modelControllerClient) {
-            this.modelControllerClient = modelControllerClient;
+        public ServerStateCheck(ServerStatusReader reader) {
+            this.reader = reader;
         }
 
         @Override
         public Outcome getOutcome() {
-            ModelNode response = modelControllerClient.execute(READ_SERVER_STATE_ATTRIBUTE);
+            ModelNode response = reader.read(READ_SERVER_STATE_ATTRIBUTE, 0);
 
             if (!SUCCESS.equals(response.get(OUTCOME).asStringOrNull())) {
                 return Outcome.FAILURE;
@@ -109,15 +172,15 @@ class ServerProbes {
      */
     static class NoBootErrorsCheck implements ServerProbe {
 
-        private LocalModelControllerClient modelControllerClient;
+        private final ServerStatusReader reader;
 
-        NoBootErrorsCheck(LocalModelControllerClient modelControllerClient) {
-            this.modelControllerClient = modelControllerClient;
+        NoBootErrorsCheck(ServerStatusReader reader) {
+            this.reader = reader;
         }
 
         @Override
         public Outcome getOutcome() {
-            ModelNode response = modelControllerClient.execute(READ_BOOT_ERRORS);
+            ModelNode response = reader.read(READ_BOOT_ERRORS, 1);
 
             if (!SUCCESS.equals(response.get(OUTCOME).asStringOrNull())) {
                 return Outcome.FAILURE;
@@ -153,16 +216,16 @@ class ServerProbes {
      */
     static class DeploymentsStatusCheck implements ServerProbe {
 
-        private LocalModelControllerClient modelControllerClient;
+        private final ServerStatusReader reader;
 
-        DeploymentsStatusCheck(LocalModelControllerClient modelControllerClient) {
-            this.modelControllerClient = modelControllerClient;
+        DeploymentsStatusCheck(ServerStatusReader reader) {
+            this.reader = reader;
         }
 
         @Override
         public Outcome getOutcome() {
 
-            ModelNode responses = modelControllerClient.execute(READ_DEPLOYMENTS_STATUS);
+            ModelNode responses = reader.read(READ_DEPLOYMENTS_STATUS, 2);
 
             if (!SUCCESS.equals(responses.get(OUTCOME).asStringOrNull())) {
                 return Outcome.FAILURE;
@@ -74,9 +74,10 @@ public class ServerProbesService implements Service {
         // The user accessing the management endpoints must be authenticated (if security-enabled is true) but the server checks are not executed on their behalf.
         modelControllerClient = modelControllerClientFactory.get().createSuperUserClient(managementExecutor.get(), true);
 
-        serverProbes.add(new ServerProbes.ServerStateCheck(modelControllerClient));
-        serverProbes.add(new ServerProbes.DeploymentsStatusCheck(modelControllerClient));
-        serverProbes.add(new ServerProbes.NoBootErrorsCheck(modelControllerClient));
+        ServerProbes.ServerStatusReader reader = new ServerProbes.ServerStatusReader(modelControllerClient);
+        serverProbes.add(new ServerProbes.ServerStateCheck(reader));
+        serverProbes.add(new ServerProbes.DeploymentsStatusCheck(reader));
+        serverProbes.add(new ServerProbes.NoBootErrorsCheck(reader));
 
         consumer.accept(this);
     }
@@ -17,16 +17,303 @@
 package org.jboss.as.jpa.hibernate5;
 
 
+import static org.jboss.as.jpa.hibernate5.JpaLogger.JPA_LOGGER;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.boot.archive.scan.internal.ClassDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.MappingFileDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.PackageDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.ScanResultImpl;
 import org.hibernate.boot.archive.scan.spi.AbstractScannerImpl;
+import org.hibernate.boot.archive.scan.spi.ClassDescriptor;
+import org.hibernate.boot.archive.scan.spi.MappingFileDescriptor;
+import org.hibernate.boot.archive.scan.spi.PackageDescriptor;
+import org.hibernate.boot.archive.scan.spi.ScanEnvironment;
+import org.hibernate.boot.archive.scan.spi.ScanOptions;
+import org.hibernate.boot.archive.scan.spi.ScanParameters;
+import org.hibernate.boot.archive.scan.spi.ScanResult;
 import org.hibernate.boot.archive.scan.spi.Scanner;
+import org.hibernate.boot.archive.spi.InputStreamAccess;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
 
 /**
  * Annotation scanner for Hibernate.  Essentially just passes along the VFS-based ArchiveDescriptorFactory
+ * <p/>
+ * Scan results are cached, keyed by a digest of the scanned archive entries (path and content)
+ * and of the scan environment (explicitly listed classes and mapping files from persistence.xml, and scan options),
+ * so that redeploying an unchanged persistence unit does not require parsing every class file again.
+ * Any change to an archive or to persistence.xml produces a different key, and thus invalidates the cached result.
+ * The key deliberately ignores modification times, which change whenever a deployment is copied or exploded,
+ * even if its content does not.
+ * <p/>
+ * A scanner instance is created per persistence unit, and records the duration of its scan,
+ * and whether its result was obtained from the cache, for exposure via the persistence unit statistics.
  *
  * @author Steve Ebersole
  */
 public class HibernateArchiveScanner extends AbstractScannerImpl implements Scanner {
+
+    private static final int MAX_CACHED_RESULTS = 64;
+    private static final Map<String, CachedScanResult> CACHE = Collections.synchronizedMap(new LinkedHashMap<String, CachedScanResult>(16, 0.75f, true) {
+        private static final long serialVersionUID = 3216016185347658476L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedScanResult> eldest) {
+            return this.size() > MAX_CACHED_RESULTS;
+        }
+    });
+
+    private volatile long scanTime;
+    private volatile boolean scanResultCached;
+
     public HibernateArchiveScanner() {
         super( VirtualFileSystemArchiveDescriptorFactory.INSTANCE );
     }
+
+    @Override
+    public ScanResult scan(ScanEnvironment environment, ScanOptions options, ScanParameters parameters) {
+        long start = System.nanoTime();
+        List<VirtualFile> roots = resolveRoots(environment);
+        String key = (roots != null) ? createKey(roots, environment, options) : null;
+        CachedScanResult cached = (key != null) ? CACHE.get(key) : null;
+        ScanResult result;
+        if (cached != null) {
+            result = cached.resolve(roots);
+        } else {
+            result = super.scan(environment, options, parameters);
+            if (key != null) {
+                CachedScanResult cacheable = CachedScanResult.of(result, roots);
+                if (cacheable != null) {
+                    CACHE.put(key, cacheable);
+                }
+            }
+        }
+        this.scanResultCached = (cached != null);
+        this.scanTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (cached != null) {
+            JPA_LOGGER.debugf("Reused cached scan result of %s in %d ms", environment.getRootUrl(), this.scanTime);
+        } else {
+            JPA_LOGGER.debugf("Scanned %s in %d ms", environment.getRootUrl(), this.scanTime);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the duration of the most recent scan performed by this scanner.
+     *
+     * @return the duration in milliseconds, or 0 if no scan was performed
+     */
+    public long getScanTime() {
+        return this.scanTime;
+    }
+
+    /**
+     * Indicates whether the result of the most recent scan performed by this scanner was obtained from the cache.
+     *
+     * @return true, if the scan result was reused from a previous scan of unchanged archives, false otherwise
+     */
+    public boolean isScanResultCached() {
+        return this.scanResultCached;
+    }
+
+    /**
+     * Resolves the virtual files of the root and non-root urls of the specified environment.
+     * @return a list of virtual files, or null, if any url cannot be resolved to an existing virtual file
+     */
+    private static List<VirtualFile> resolveRoots(ScanEnvironment environment) {
+        List<URL> urls = new ArrayList<>();
+        if (environment.getRootUrl() != null) {
+            urls.add(environment.getRootUrl());
+        }
+        if (environment.getNonRootUrls() != null) {
+            urls.addAll(environment.getNonRootUrls());
+        }
+        List<VirtualFile> roots = new ArrayList<>(urls.size());
+        for (URL url : urls) {
+            try {
+                VirtualFile root = VFS.getChild(url.toURI());
+                if (!root.exists()) {
+                    return null;
+                }
+                roots.add(root);
+            } catch (URISyntaxException e) {
+                return null;
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Creates a digest of the specified roots, scan environment and scan options.
+     * @return a cache key, or null, if the archive entries could not be enumerated
+     */
+    private static String createKey(List<VirtualFile> roots, ScanEnvironment environment, ScanOptions options) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+        update(digest, String.valueOf(options.canDetectUnlistedClassesInRoot()));
+        update(digest, String.valueOf(options.canDetectUnlistedClassesInNonRoot()));
+        update(digest, String.valueOf(options.canDetectHibernateMappingFiles()));
+        update(digest, String.valueOf(environment.getExplicitlyListedClassNames()));
+        update(digest, String.valueOf(environment.getExplicitlyListedMappingFiles()));
+        try {
+            for (VirtualFile root : roots) {
+                update(digest, root.getName());
+                for (VirtualFile file : root.getChildrenRecursively()) {
+                    if (file.isFile()) {
+                        update(digest, file.getPathNameRelativeTo(root));
+                        update(digest, file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static void update(MessageDigest digest, VirtualFile file) throws IOException {
+        byte[] buffer = new byte[8192];
+        long size = 0;
+        try (InputStream input = file.openStream()) {
+            int read = input.read(buffer);
+            while (read >= 0) {
+                digest.update(buffer, 0, read);
+                size += read;
+                read = input.read(buffer);
+            }
+        }
+        // Delimits the content of this file from the path of the next
+        update(digest, Long.toString(size));
+    }
+
+    /**
+     * Location of a scanned resource, relative to the archive in which it was found.
+     */
+    private static class CachedResource {
+        final String name;
+        final int root;
+        final String path;
+
+        CachedResource(String name, int root, String path) {
+            this.name = name;
+            this.root = root;
+            this.path = path;
+        }
+
+        InputStreamAccess resolve(List<VirtualFile> roots) {
+            VirtualFile file = roots.get(this.root).getChild(this.path);
+            return new VirtualFileInputStreamAccess(file.getPathName(), file);
+        }
+
+        static CachedResource of(String name, InputStreamAccess access, List<VirtualFile> roots) {
+            if (!(access instanceof VirtualFileInputStreamAccess)) {
+                return null;
+            }
+            VirtualFile file = ((VirtualFileInputStreamAccess) access).getVirtualFile();
+            for (int i = 0; i < roots.size(); ++i) {
+                VirtualFile root = roots.get(i);
+                if (file.getPathName().startsWith(root.getPathName() + '/')) {
+                    return new CachedResource(name, i, file.getPathNameRelativeTo(root));
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A scan result that no longer references the virtual files of the deployment from which it was created.
+     */
+    private static class CachedScanResult {
+        final List<CachedResource> packages;
+        final List<CachedResource> classes;
+        final List<ClassDescriptor.Categorization> categorizations;
+        final List<CachedResource> mappingFiles;
+
+        private CachedScanResult(List<CachedResource> packages, List<CachedResource> classes, List<ClassDescriptor.Categorization> categorizations, List<CachedResource> mappingFiles) {
+            this.packages = packages;
+            this.classes = classes;
+            this.categorizations = categorizations;
+            this.mappingFiles = mappingFiles;
+        }
+
+        /**
+         * Creates a cacheable representation of the specified scan result.
+         * @return a cacheable scan result, or null, if any resource of the scan result was not found within the specified roots
+         */
+        static CachedScanResult of(ScanResult result, List<VirtualFile> roots) {
+            List<CachedResource> packages = new ArrayList<>(result.getLocatedPackages().size());
+            for (PackageDescriptor descriptor : result.getLocatedPackages()) {
+                CachedResource resource = CachedResource.of(descriptor.getName(), descriptor.getStreamAccess(), roots);
+                if (resource == null) {
+                    return null;
+                }
+                packages.add(resource);
+            }
+            List<CachedResource> classes = new ArrayList<>(result.getLocatedClasses().size());
+            List<ClassDescriptor.Categorization> categorizations = new ArrayList<>(result.getLocatedClasses().size());
+            for (ClassDescriptor descriptor : result.getLocatedClasses()) {
+                CachedResource resource = CachedResource.of(descriptor.getName(), descriptor.getStreamAccess(), roots);
+                if (resource == null) {
+                    return null;
+                }
+                classes.add(resource);
+                categorizations.add(descriptor.getCategorization());
+            }
+            List<CachedResource> mappingFiles = new ArrayList<>(result.getLocatedMappingFiles().size());
+            for (MappingFileDescriptor descriptor : result.getLocatedMappingFiles()) {
+                CachedResource resource = CachedResource.of(descriptor.getName(), descriptor.getStreamAccess(), roots);
+                if (resource == null) {
+                    return null;
+                }
+                mappingFiles.add(resource);
+            }
+            return new CachedScanResult(packages, classes, categorizations, mappingFiles);
+        }
+
+        /**
+         * Recreates the scan result against the virtual files of the current deployment.
+         */
+        ScanResult resolve(List<VirtualFile> roots) {
+            Set<PackageDescriptor> packages = new HashSet<>();
+            for (CachedResource resource : this.packages) {
+                packages.add(new PackageDescriptorImpl(resource.name, resource.resolve(roots)));
+            }
+            Set<ClassDescriptor> classes = new HashSet<>();
+            for (int i = 0; i < this.classes.size(); ++i) {
+                CachedResource resource = this.classes.get(i);
+                classes.add(new ClassDescriptorImpl(resource.name, this.categorizations.get(i), resource.resolve(roots)));
+            }
+            Set<MappingFileDescriptor> mappingFiles = new HashSet<>();
+            for (CachedResource resource : this.mappingFiles) {
+                mappingFiles.add(new MappingFileDescriptorImpl(resource.name, resource.resolve(roots)));
+            }
+            return new ScanResultImpl(packages, classes, mappingFiles);
+        }
+    }
 }
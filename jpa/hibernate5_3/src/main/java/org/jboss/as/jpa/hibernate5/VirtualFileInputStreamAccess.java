@@ -54,4 +54,7 @@ public class VirtualFileInputStreamAccess implements InputStreamAccess {
         }
     }
 
+    VirtualFile getVirtualFile() {
+        return virtualFile;
+    }
 }
@@ -25,6 +25,8 @@ import javax.persistence.Cache;
 import javax.persistence.EntityManagerFactory;
 
 import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.jboss.as.jpa.hibernate5.HibernateArchiveScanner;
 import org.jipijapa.management.spi.EntityManagerFactoryAccess;
 import org.jipijapa.management.spi.Operation;
 import org.jipijapa.management.spi.PathAddress;
@@ -72,6 +74,10 @@ public class HibernateStatistics extends HibernateAbstractStatistics {
     public static final String OPERATION_PREPARED_STATEMENT_COUNT = "prepared-statement-count";
     public static final String OPERATION_CLOSE_STATEMENT_COUNT = "close-statement-count";
     public static final String OPERATION_OPTIMISTIC_FAILURE_COUNT = "optimistic-failure-count";
+    public static final String OPERATION_BOOTSTRAP_PHASE_ONE_TIME = "bootstrap-phase-one-time";
+    public static final String OPERATION_BOOTSTRAP_PHASE_TWO_TIME = "bootstrap-phase-two-time";
+    public static final String OPERATION_SCAN_TIME = "scan-time";
+    public static final String OPERATION_SCAN_RESULT_CACHED = "scan-result-cached";
     public static final String ENTITYCACHE = "entity-cache";
     public static final String COLLECTION = "collection";
     public static final String ENTITY = "entity";
@@ -187,6 +193,18 @@ public class HibernateStatistics extends HibernateAbstractStatistics {
         operations.put(OPERATION_SECONDLEVELCACHE_PUT_COUNT, secondLevelCachePutCount);
         types.put(OPERATION_SECONDLEVELCACHE_PUT_COUNT, Long.class);
 
+        operations.put(OPERATION_BOOTSTRAP_PHASE_ONE_TIME, bootstrapPhaseOneTime);
+        types.put(OPERATION_BOOTSTRAP_PHASE_ONE_TIME, Long.class);
+
+        operations.put(OPERATION_BOOTSTRAP_PHASE_TWO_TIME, bootstrapPhaseTwoTime);
+        types.put(OPERATION_BOOTSTRAP_PHASE_TWO_TIME, Long.class);
+
+        operations.put(OPERATION_SCAN_TIME, scanTime);
+        types.put(OPERATION_SCAN_TIME, Long.class);
+
+        operations.put(OPERATION_SCAN_RESULT_CACHED, scanResultCached);
+        types.put(OPERATION_SCAN_RESULT_CACHED, Boolean.class);
+
         /**
          * Specify the children statistics
          */
@@ -220,6 +238,14 @@ public class HibernateStatistics extends HibernateAbstractStatistics {
         return null;
     }
 
+    static final HibernateArchiveScanner getScanner(final EntityManagerFactory entityManagerFactory) {
+        if (entityManagerFactory == null) {
+            return null;
+        }
+        Object scanner = entityManagerFactory.getProperties().get(AvailableSettings.SCANNER);
+        return (scanner instanceof HibernateArchiveScanner) ? (HibernateArchiveScanner) scanner : null;
+    }
+
     @Override
     public Collection<String> getDynamicChildrenNames(EntityManagerFactoryAccess entityManagerFactoryLookup, PathAddress pathAddress) {
 
@@ -279,6 +305,40 @@ public class HibernateStatistics extends HibernateAbstractStatistics {
         }
     };
 
+    private Operation bootstrapPhaseOneTime = new Operation() {
+        @Override
+        public Object invoke(Object... args) {
+            EntityManagerFactoryAccess entityManagerFactoryAccess = getEntityManagerFactoryAccess(args);
+            PathAddress pathAddress = getPathAddress(args);
+            return Long.valueOf(entityManagerFactoryAccess != null ? entityManagerFactoryAccess.phaseOneBootstrapTime(pathAddress.getValue(PROVIDER_LABEL)) : 0);
+        }
+    };
+
+    private Operation bootstrapPhaseTwoTime = new Operation() {
+        @Override
+        public Object invoke(Object... args) {
+            EntityManagerFactoryAccess entityManagerFactoryAccess = getEntityManagerFactoryAccess(args);
+            PathAddress pathAddress = getPathAddress(args);
+            return Long.valueOf(entityManagerFactoryAccess != null ? entityManagerFactoryAccess.phaseTwoBootstrapTime(pathAddress.getValue(PROVIDER_LABEL)) : 0);
+        }
+    };
+
+    private Operation scanTime = new Operation() {
+        @Override
+        public Object invoke(Object... args) {
+            HibernateArchiveScanner scanner = getScanner(getEntityManagerFactory(args));
+            return Long.valueOf(scanner != null ? scanner.getScanTime() : 0);
+        }
+    };
+
+    private Operation scanResultCached = new Operation() {
+        @Override
+        public Object invoke(Object... args) {
+            HibernateArchiveScanner scanner = getScanner(getEntityManagerFactory(args));
+            return Boolean.valueOf(scanner != null && scanner.isScanResultCached());
+        }
+    };
+
     private Operation entityDeleteCount = new Operation() {
         @Override
         public Object invoke(Object... args) {
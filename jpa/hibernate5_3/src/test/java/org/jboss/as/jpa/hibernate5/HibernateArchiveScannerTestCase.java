@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.hibernate5;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.hibernate.boot.archive.scan.internal.StandardScanOptions;
+import org.hibernate.boot.archive.scan.internal.StandardScanParameters;
+import org.hibernate.boot.archive.scan.spi.MappingFileDescriptor;
+import org.hibernate.boot.archive.scan.spi.ScanEnvironment;
+import org.hibernate.boot.archive.scan.spi.ScanResult;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link HibernateArchiveScanner}.
+ */
+public class HibernateArchiveScannerTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void test() throws IOException {
+        File root = this.folder.newFolder();
+        write(new File(root, "Foo.hbm.xml"), "<hibernate-mapping/>");
+        ScanEnvironment environment = new TestScanEnvironment(root.toURI().toURL());
+
+        HibernateArchiveScanner scanner = new HibernateArchiveScanner();
+        Assert.assertEquals(Collections.singleton("Foo.hbm.xml"), mappingFiles(scan(scanner, environment)));
+        Assert.assertFalse(scanner.isScanResultCached());
+
+        // Unchanged archive should reuse cached result
+        scanner = new HibernateArchiveScanner();
+        Assert.assertEquals(Collections.singleton("Foo.hbm.xml"), mappingFiles(scan(scanner, environment)));
+        Assert.assertTrue(scanner.isScanResultCached());
+
+        // Added entry should invalidate cached result
+        write(new File(root, "Bar.hbm.xml"), "<hibernate-mapping/>");
+        scanner = new HibernateArchiveScanner();
+        Assert.assertEquals(new TreeSet<>(Arrays.asList("Bar.hbm.xml", "Foo.hbm.xml")), mappingFiles(scan(scanner, environment)));
+        Assert.assertFalse(scanner.isScanResultCached());
+
+        scanner = new HibernateArchiveScanner();
+        scan(scanner, environment);
+        Assert.assertTrue(scanner.isScanResultCached());
+
+        // Modified entry should invalidate cached result
+        write(new File(root, "Bar.hbm.xml"), "<hibernate-mapping package=\"bar\"/>");
+        scanner = new HibernateArchiveScanner();
+        Assert.assertEquals(2, mappingFiles(scan(scanner, environment)).size());
+        Assert.assertFalse(scanner.isScanResultCached());
+
+        // Modified entry of the same size and modification time should invalidate cached result
+        File bar = new File(root, "Bar.hbm.xml");
+        long lastModified = bar.lastModified();
+        write(bar, "<hibernate-mapping package=\"baz\"/>");
+        Assert.assertTrue(bar.setLastModified(lastModified));
+        scanner = new HibernateArchiveScanner();
+        scan(scanner, environment);
+        Assert.assertFalse(scanner.isScanResultCached());
+
+        // Touched entry with unchanged content should reuse cached result
+        Assert.assertTrue(bar.setLastModified(lastModified - 60000));
+        scanner = new HibernateArchiveScanner();
+        scan(scanner, environment);
+        Assert.assertTrue(scanner.isScanResultCached());
+    }
+
+    private static ScanResult scan(HibernateArchiveScanner scanner, ScanEnvironment environment) {
+        return scanner.scan(environment, new StandardScanOptions(), StandardScanParameters.INSTANCE);
+    }
+
+    private static Set<String> mappingFiles(ScanResult result) {
+        Set<String> names = new TreeSet<>();
+        for (MappingFileDescriptor descriptor : result.getLocatedMappingFiles()) {
+            names.add(descriptor.getName());
+        }
+        return names;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class TestScanEnvironment implements ScanEnvironment {
+        private final URL rootUrl;
+
+        TestScanEnvironment(URL rootUrl) {
+            this.rootUrl = rootUrl;
+        }
+
+        @Override
+        public URL getRootUrl() {
+            return this.rootUrl;
+        }
+
+        @Override
+        public List<URL> getNonRootUrls() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<String> getExplicitlyListedClassNames() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<String> getExplicitlyListedMappingFiles() {
+            return Collections.emptyList();
+        }
+    }
+}
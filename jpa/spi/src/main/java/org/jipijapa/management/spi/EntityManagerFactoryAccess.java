@@ -41,4 +41,26 @@ public interface EntityManagerFactoryAccess {
      */
     EntityManagerFactory entityManagerFactory(String scopedPersistenceUnitName) throws IllegalStateException;
 
+    /**
+     * returns the time taken by the first phase of a two phase persistence unit bootstrap.
+     *
+     * @param scopedPersistenceUnitName is persistence unit name scoped to the current platform
+     *
+     * @return bootstrap time in milliseconds, or 0 if unknown or if the persistence unit was not bootstrapped in two phases
+     */
+    default long phaseOneBootstrapTime(String scopedPersistenceUnitName) {
+        return 0;
+    }
+
+    /**
+     * returns the time taken by the second phase of a two phase persistence unit bootstrap, or by the entire bootstrap otherwise.
+     *
+     * @param scopedPersistenceUnitName is persistence unit name scoped to the current platform
+     *
+     * @return bootstrap time in milliseconds, or 0 if unknown
+     */
+    default long phaseTwoBootstrapTime(String scopedPersistenceUnitName) {
+        return 0;
+    }
+
 }
@@ -24,6 +24,7 @@ package org.jboss.as.jpa.management;
 
 import javax.persistence.EntityManagerFactory;
 
+import org.jboss.as.jpa.service.PersistenceUnitServiceImpl;
 import org.jboss.as.jpa.subsystem.PersistenceUnitRegistryImpl;
 import org.jipijapa.management.spi.EntityManagerFactoryAccess;
 import org.jipijapa.plugin.spi.PersistenceUnitService;
@@ -45,4 +46,22 @@ public class EntityManagerFactoryLookup implements EntityManagerFactoryAccess {
 
     }
 
+    @Override
+    public long phaseOneBootstrapTime(final String scopedPersistenceUnitName) {
+        PersistenceUnitService persistenceUnitService = PersistenceUnitRegistryImpl.INSTANCE.getPersistenceUnitService(scopedPersistenceUnitName);
+        if (persistenceUnitService instanceof PersistenceUnitServiceImpl) {
+            return ((PersistenceUnitServiceImpl) persistenceUnitService).getPhaseOneBootstrapTime();
+        }
+        return 0;
+    }
+
+    @Override
+    public long phaseTwoBootstrapTime(final String scopedPersistenceUnitName) {
+        PersistenceUnitService persistenceUnitService = PersistenceUnitRegistryImpl.INSTANCE.getPersistenceUnitService(scopedPersistenceUnitName);
+        if (persistenceUnitService instanceof PersistenceUnitServiceImpl) {
+            return ((PersistenceUnitServiceImpl) persistenceUnitService).getPhaseTwoBootstrapTime();
+        }
+        return 0;
+    }
+
 }
@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.enterprise.inject.spi.BeanManager;
 import javax.persistence.EntityManagerFactory;
@@ -90,6 +91,8 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
 
     private volatile EntityManagerFactory entityManagerFactory;
     private volatile ProxyBeanManager proxyBeanManager;
+    private volatile long phaseOneBootstrapTime;
+    private volatile long phaseTwoBootstrapTime;
     private final SetupAction javaNamespaceSetup;
 
     public PersistenceUnitServiceImpl(
@@ -167,7 +170,11 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                         }
 
                                         // get the EntityManagerFactory from the second phase of the persistence unit bootstrap
+                                        long start = System.nanoTime();
                                         entityManagerFactory = emfBuilder.build();
+                                        phaseOneBootstrapTime = phaseOnePersistenceUnitService.getBootstrapTime();
+                                        phaseTwoBootstrapTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                                        ROOT_LOGGER.debugf("Phase 2 of 2 of persistence unit %s completed in %d ms (%d ms total)", pu.getScopedPersistenceUnitName(), phaseTwoBootstrapTime, phaseOneBootstrapTime + phaseTwoBootstrapTime);
                                     } else {
                                         ROOT_LOGGER.startingService("Persistence Unit", pu.getScopedPersistenceUnitName());
                                         // start the persistence unit in one pass (1 of 1)
@@ -187,7 +194,11 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                               properties.put(CDI_BEAN_MANAGER, proxyBeanManager);
                                             }
                                         }
+                                        long start = System.nanoTime();
                                         entityManagerFactory = createContainerEntityManagerFactory();
+                                        phaseOneBootstrapTime = 0;
+                                        phaseTwoBootstrapTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                                        ROOT_LOGGER.debugf("Persistence unit %s completed in %d ms", pu.getScopedPersistenceUnitName(), phaseTwoBootstrapTime);
                                     }
                                     persistenceUnitRegistry.add(getScopedPersistenceUnitName(), getValue());
                                     if(wrapperBeanManagerLifeCycle != null) {
@@ -320,6 +331,24 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
         return entityManagerFactory;
     }
 
+    /**
+     * Returns the duration of the first phase of the persistence unit bootstrap.
+     *
+     * @return the duration in milliseconds, or 0 if the persistence unit did not start, or was not bootstrapped in two phases
+     */
+    public long getPhaseOneBootstrapTime() {
+        return phaseOneBootstrapTime;
+    }
+
+    /**
+     * Returns the duration of the second phase of the persistence unit bootstrap, or of the entire bootstrap if not performed in two phases.
+     *
+     * @return the duration in milliseconds, or 0 if the persistence unit did not start
+     */
+    public long getPhaseTwoBootstrapTime() {
+        return phaseTwoBootstrapTime;
+    }
+
     @Override
     public String getScopedPersistenceUnitName() {
         return pu.getScopedPersistenceUnitName();
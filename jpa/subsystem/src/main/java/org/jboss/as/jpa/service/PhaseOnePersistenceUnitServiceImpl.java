@@ -30,6 +30,7 @@ import java.security.PrivilegedAction;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
 
@@ -75,6 +76,8 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
 
     private volatile boolean secondPhaseStarted = false;
 
+    private volatile long bootstrapTime;
+
     public PhaseOnePersistenceUnitServiceImpl(
             final ClassLoader classLoader,
             final PersistenceUnitMetadata pu,
@@ -122,7 +125,10 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
                                     }
 
                                     WritableServiceBasedNamingStore.pushOwner(deploymentUnitServiceName);
+                                    long start = System.nanoTime();
                                     entityManagerFactoryBuilder = createContainerEntityManagerFactoryBuilder();
+                                    bootstrapTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                                    ROOT_LOGGER.debugf("Phase 1 of 2 of persistence unit %s completed in %d ms", pu.getScopedPersistenceUnitName(), bootstrapTime);
                                     context.complete();
                                 } catch (Throwable t) {
                                     context.failed(new StartException(t));
@@ -218,6 +224,15 @@ public class PhaseOnePersistenceUnitServiceImpl implements Service<PhaseOnePersi
         return entityManagerFactoryBuilder;
     }
 
+    /**
+     * Returns the duration of the first phase of the persistence unit bootstrap.
+     *
+     * @return the duration in milliseconds, or 0 if the first phase did not complete
+     */
+    public long getBootstrapTime() {
+        return bootstrapTime;
+    }
+
     public void setSecondPhaseStarted(boolean secondPhaseStarted) {
         this.secondPhaseStarted = secondPhaseStarted;
     }
@@ -21,50 +21,110 @@
  */
 package org.wildfly.extension.metrics;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.wildfly.extension.metrics.MetricMetadata.MetricTag;
 
 public class PrometheusExporter {
 
-    private static final String LF = "\n";
+    private static final char LF = '\n';
+
+    // Rendered HELP/TYPE headers and sample prefixes, valid for a given version of the registry
+    private volatile RenderCache cache = new RenderCache(-1L);
+    // Size of the last export, used to presize the output buffer
+    private volatile int lastExportLength = 1024;
 
     public String export(WildFlyMetricRegistry registry) {
-        Set<String> alreadyExportedMetrics = new HashSet<String>();
+        StringBuilder out = new StringBuilder(lastExportLength);
+        export(registry, out);
+        lastExportLength = out.length();
+        return out.toString();
+    }
 
-        StringBuilder out = new StringBuilder();
+    public void export(WildFlyMetricRegistry registry, StringBuilder out) {
+        RenderCache cache = this.cache;
+        long version = registry.getVersion();
+        if (cache.version != version) {
+            cache = new RenderCache(version);
+            this.cache = cache;
+        }
 
-        for (Map.Entry<MetricID, Metric> entry : registry.getMetrics().entrySet()) {
-            MetricID metricID = entry.getKey();
-            String metricName = metricID.getMetricName();
-            MetricMetadata metadata = registry.getMetricMetadata().get(metricName);
-            String prometheusMetricName = toPrometheusMetricName(metricID, metadata);
-            OptionalDouble metricValue = entry.getValue().getValue();
+        List<Map.Entry<MetricID, Metric>> entries = new ArrayList<>(registry.getMetrics().entrySet());
+        OptionalDouble[] values = getValues(registry, entries);
+
+        Set<String> alreadyExportedMetrics = new HashSet<String>();
+        for (int i = 0; i < entries.size(); i++) {
+            OptionalDouble metricValue = values[i];
             // if the metric does not return a value, we skip printing the HELP and TYPE
             if (!metricValue.isPresent()) {
                 continue;
             }
-            if (!alreadyExportedMetrics.contains(metricName)) {
-                out.append("# HELP " + prometheusMetricName + " " + metadata.getDescription());
-                out.append(LF);
-                out.append("# TYPE " + prometheusMetricName + " " + metadata.getType());
-                out.append(LF);
-                alreadyExportedMetrics.add(metricName);
+            MetricID metricID = entries.get(i).getKey();
+            String metricName = metricID.getMetricName();
+            MetricMetadata metadata = registry.getMetricMetadata().get(metricName);
+            if (alreadyExportedMetrics.add(metricName)) {
+                out.append(cache.headers.computeIfAbsent(metricName, name -> renderHeader(metricID, metadata)));
             }
             double scaledValue = scaleToBaseUnit(metricValue.getAsDouble(), metadata.getMeasurementUnit());
-            // I'm pretty sure this is incorrect but that aligns with smallrye-metrics OpenMetricsExporter behaviour
-            if (metadata.getType() == MetricMetadata.Type.COUNTER && metadata.getMeasurementUnit() != MeasurementUnit.NONE) {
-                prometheusMetricName += "_" + metadata.getBaseMetricUnit();
+            out.append(cache.samplePrefixes.computeIfAbsent(metricID, id -> renderSamplePrefix(id, metadata)))
+                    .append(scaledValue)
+                    .append(LF);
+        }
+    }
+
+    /**
+     * Resolves the values of the specified metrics.
+     * Values of management attributes with a registered metric supplier are read directly, the remaining management attributes are read in bulk.
+     */
+    private static OptionalDouble[] getValues(WildFlyMetricRegistry registry, List<Map.Entry<MetricID, Metric>> entries) {
+        OptionalDouble[] values = new OptionalDouble[entries.size()];
+        List<WildFlyMetric> managementMetrics = new ArrayList<>();
+        List<Integer> managementIndexes = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Metric metric = entries.get(i).getValue();
+            if (metric instanceof WildFlyMetric) {
+                WildFlyMetric wildFlyMetric = (WildFlyMetric) metric;
+                Metric supplier = registry.getMetricSupplier(wildFlyMetric.getAddress(), wildFlyMetric.getAttributeName());
+                if (supplier == null) {
+                    managementMetrics.add(wildFlyMetric);
+                    managementIndexes.add(i);
+                    continue;
+                }
+                metric = supplier;
+            }
+            values[i] = metric.getValue();
+        }
+        if (!managementMetrics.isEmpty()) {
+            OptionalDouble[] managementValues = WildFlyMetric.getValues(managementMetrics);
+            for (int i = 0; i < managementValues.length; i++) {
+                values[managementIndexes.get(i)] = managementValues[i];
             }
-            out.append(prometheusMetricName + getTagsAsAString(metricID) + " " + scaledValue);
-            out.append(LF);
         }
+        return values;
+    }
 
-        return out.toString();
+    private static String renderHeader(MetricID metricID, MetricMetadata metadata) {
+        String prometheusMetricName = toPrometheusMetricName(metricID, metadata);
+        return new StringBuilder()
+                .append("# HELP ").append(prometheusMetricName).append(' ').append(metadata.getDescription()).append(LF)
+                .append("# TYPE ").append(prometheusMetricName).append(' ').append(metadata.getType()).append(LF)
+                .toString();
+    }
+
+    private static String renderSamplePrefix(MetricID metricID, MetricMetadata metadata) {
+        StringBuilder prefix = new StringBuilder(toPrometheusMetricName(metricID, metadata));
+        // I'm pretty sure this is incorrect but that aligns with smallrye-metrics OpenMetricsExporter behaviour
+        if (metadata.getType() == MetricMetadata.Type.COUNTER && metadata.getMeasurementUnit() != MeasurementUnit.NONE) {
+            prefix.append('_').append(metadata.getBaseMetricUnit());
+        }
+        return prefix.append(getTagsAsAString(metricID)).append(' ').toString();
     }
 
     private static double scaleToBaseUnit(double value, MeasurementUnit unit) {
@@ -97,8 +157,19 @@ public class PrometheusExporter {
                 out.append(",");
             }
             MetricTag tag = tags[i];
-            out.append(tag.getKey() + "=\"" + tag.getValue() + "\"");
+            out.append(tag.getKey()).append("=\"").append(tag.getValue()).append('"');
         }
         return out.append("}").toString();
     }
-}
\ No newline at end of file
+
+    private static class RenderCache {
+        final long version;
+        /* Key is the metric name */
+        final Map<String, String> headers = new ConcurrentHashMap<>();
+        final Map<MetricID, String> samplePrefixes = new ConcurrentHashMap<>();
+
+        RenderCache(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -22,14 +22,24 @@
  */
 package org.wildfly.extension.metrics;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.wildfly.extension.metrics._private.MetricsLogger.LOGGER;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.OptionalDouble;
 
 import org.jboss.as.controller.LocalModelControllerClient;
@@ -55,9 +65,58 @@ public class WildFlyMetric implements Metric {
         this.attributeName = attributeName;
     }
 
+    public PathAddress getAddress() {
+        return address;
+    }
+
+    public String getAttributeName() {
+        return attributeName;
+    }
+
     @Override
     public OptionalDouble getValue() {
-        ModelNode result = readAttributeValue(address, attributeName);
+        return toValue(readAttributeValue(address, attributeName));
+    }
+
+    /**
+     * Reads the values of the specified metrics using a single composite operation per management client,
+     * instead of one read-attribute operation per metric.
+     * Metrics whose step did not succeed are read individually, so that failures are reported as for {@link #getValue()}.
+     *
+     * @param metrics the metrics to read
+     * @return the metric values, in the same order as the specified metrics
+     */
+    static OptionalDouble[] getValues(List<WildFlyMetric> metrics) {
+        OptionalDouble[] values = new OptionalDouble[metrics.size()];
+        Map<LocalModelControllerClient, List<Integer>> clientIndexes = new IdentityHashMap<>();
+        for (int i = 0; i < metrics.size(); i++) {
+            clientIndexes.computeIfAbsent(metrics.get(i).modelControllerClient, client -> new ArrayList<>()).add(i);
+        }
+        for (Map.Entry<LocalModelControllerClient, List<Integer>> entry : clientIndexes.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            final ModelNode compositeOp = new ModelNode();
+            compositeOp.get(OP).set(COMPOSITE);
+            compositeOp.get(OP_ADDR).setEmptyList();
+            compositeOp.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).set(false);
+            ModelNode steps = compositeOp.get(STEPS);
+            for (int index : indexes) {
+                WildFlyMetric metric = metrics.get(index);
+                steps.add(createReadAttributeOperation(metric.address, metric.attributeName));
+            }
+            ModelNode result = entry.getKey().execute(compositeOp).get(RESULT);
+            for (int i = 0; i < indexes.size(); i++) {
+                int index = indexes.get(i);
+                WildFlyMetric metric = metrics.get(index);
+                String stepName = "step-" + (i + 1);
+                ModelNode step = result.has(stepName) ? result.get(stepName) : null;
+                boolean success = (step != null) && step.hasDefined(OUTCOME) && SUCCESS.equals(step.get(OUTCOME).asString());
+                values[index] = success ? metric.toValue(step.get(RESULT)) : metric.getValue();
+            }
+        }
+        return values;
+    }
+
+    private OptionalDouble toValue(ModelNode result) {
         if (result.isDefined()) {
             try {
                 return OptionalDouble.of(result.asDouble());
@@ -68,13 +127,17 @@ public class WildFlyMetric implements Metric {
         return OptionalDouble.empty();
     }
 
-    private ModelNode readAttributeValue(PathAddress address, String attributeName) {
+    private static ModelNode createReadAttributeOperation(PathAddress address, String attributeName) {
         final ModelNode readAttributeOp = new ModelNode();
         readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
         readAttributeOp.get(OP_ADDR).set(address.toModelNode());
         readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(false);
         readAttributeOp.get(NAME).set(attributeName);
-        ModelNode response = modelControllerClient.execute(readAttributeOp);
+        return readAttributeOp;
+    }
+
+    private ModelNode readAttributeValue(PathAddress address, String attributeName) {
+        ModelNode response = modelControllerClient.execute(createReadAttributeOperation(address, attributeName));
         String error = getFailureDescription(response);
         if (error != null) {
             // [WFLY-11933] if the value can not be read if the management resource is not accessible due to RBAC,
@@ -27,9 +27,11 @@ import java.io.Closeable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.jboss.as.controller.PathAddress;
 
 public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
 
@@ -37,7 +39,10 @@ public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
     private Map<String, MetricMetadata> metadataMap = new HashMap();
     private Map<MetricID, Metric> metricMap = new TreeMap<>();
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
-
+    /* Metrics that read a management attribute value directly, keyed by resource address and attribute name */
+    private final Map<PathAddress, Map<String, Metric>> metricSuppliers = new ConcurrentHashMap<>();
+    /* Incremented whenever a metric is registered or unregistered */
+    private volatile long version;
 
     @Override
     public void close() {
@@ -46,6 +51,8 @@ public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
         try {
             metricMap.clear();
             metadataMap.clear();
+            metricSuppliers.clear();
+            version++;
         } finally {
             lock.writeLock().unlock();
         }
@@ -59,6 +66,42 @@ public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
         return metadataMap;
     }
 
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Registers a metric that supplies the value of the specified management attribute directly from the runtime,
+     * bypassing the read-attribute operation otherwise used to collect it.
+     *
+     * @param address the address of the resource. Cannot be {@code null}
+     * @param attributeName the name of the metric attribute. Cannot be {@code null}
+     * @param supplier a metric supplying the attribute value. Cannot be {@code null}
+     */
+    public void registerMetricSupplier(PathAddress address, String attributeName, Metric supplier) {
+        requireNonNull(attributeName);
+        requireNonNull(supplier);
+        metricSuppliers.computeIfAbsent(address, key -> new ConcurrentHashMap<>()).put(attributeName, supplier);
+    }
+
+    /**
+     * Unregisters the metric supplier of the specified management attribute, if one is registered.
+     *
+     * @param address the address of the resource. Cannot be {@code null}
+     * @param attributeName the name of the metric attribute. Cannot be {@code null}
+     */
+    public void unregisterMetricSupplier(PathAddress address, String attributeName) {
+        metricSuppliers.computeIfPresent(address, (key, suppliers) -> {
+            suppliers.remove(attributeName);
+            return suppliers.isEmpty() ? null : suppliers;
+        });
+    }
+
+    Metric getMetricSupplier(PathAddress address, String attributeName) {
+        Map<String, Metric> suppliers = metricSuppliers.get(address);
+        return (suppliers != null) ? suppliers.get(attributeName) : null;
+    }
+
     @Override
     public synchronized void registerMetric(Metric metric, MetricMetadata metadata) {
         requireNonNull(metadata);
@@ -71,6 +114,7 @@ public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
                 metadataMap.put(metadata.getMetricName(), metadata);
             }
             metricMap.put(metricID, metric);
+            version++;
         } finally {
             lock.writeLock().unlock();
         }
@@ -80,7 +124,9 @@ public class WildFlyMetricRegistry implements Closeable, MetricRegistry {
     public void unregister(MetricID metricID) {
         lock.writeLock().lock();
         try {
-            metricMap.remove(metricID);
+            if (metricMap.remove(metricID) != null) {
+                version++;
+            }
         } finally {
             lock.writeLock().unlock();
         }
@@ -46,28 +46,32 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StopContext;
 import org.wildfly.extension.metrics.MetricCollector;
 import org.wildfly.extension.metrics.MetricRegistration;
-import org.wildfly.extension.metrics.MetricRegistry;
+import org.wildfly.extension.metrics.WildFlyMetricRegistry;
 
 public class DeploymentMetricService implements Service {
 
+    // Indicates whether the Undertow extension, whose servlet metrics can be published directly, is available
+    private static final boolean UNDERTOW_AVAILABLE = isAvailable("org.wildfly.extension.undertow.deployment.UndertowMetricsCollector");
 
     private final Resource rootResource;
     private final ManagementResourceRegistration managementResourceRegistration;
     private PathAddress deploymentAddress;
     private final Supplier<MetricCollector> metricCollector;
-    private Supplier<MetricRegistry> metricRegistry;
+    private Supplier<WildFlyMetricRegistry> metricRegistry;
+    private final DeploymentUnit deploymentUnit;
     private Supplier<Executor> managementExecutor;
     private final boolean exposeAnySubsystem;
     private final List<String> exposedSubsystems;
     private final String prefix;
     private MetricRegistration registration;
+    private Runnable metricSuppliersUnregistration;
 
     public static void install(ServiceTarget serviceTarget, DeploymentUnit deploymentUnit, Resource rootResource, ManagementResourceRegistration managementResourceRegistration, boolean exposeAnySubsystem, List<String> exposedSubsystems, String prefix) {
         PathAddress deploymentAddress = createDeploymentAddressPrefix(deploymentUnit);
 
         ServiceBuilder<?> sb = serviceTarget.addService(deploymentUnit.getServiceName().append("metrics"));
         Supplier<MetricCollector> metricCollector = sb.requires(WILDFLY_COLLECTOR);
-        Supplier<MetricRegistry> metricRegistry = sb.requires(METRICS_REGISTRY_RUNTIME_CAPABILITY.getCapabilityServiceName());
+        Supplier<WildFlyMetricRegistry> metricRegistry = sb.requires(METRICS_REGISTRY_RUNTIME_CAPABILITY.getCapabilityServiceName());
         Supplier<Executor> managementExecutor = sb.requires(ServerService.EXECUTOR_CAPABILITY.getCapabilityServiceName());
 
         /*
@@ -75,14 +79,15 @@ public class DeploymentMetricService implements Service {
          * the deployment are collected and registered once the deployment services have all been properly installed.
          */
         sb.requires(DeploymentCompleteServiceProcessor.serviceName(deploymentUnit.getServiceName()));
-        sb.setInstance(new DeploymentMetricService(rootResource, managementResourceRegistration, deploymentAddress, metricCollector, metricRegistry, managementExecutor,
+        sb.setInstance(new DeploymentMetricService(deploymentUnit, rootResource, managementResourceRegistration, deploymentAddress, metricCollector, metricRegistry, managementExecutor,
                 exposeAnySubsystem, exposedSubsystems, prefix))
                 .install();
     }
 
-    private DeploymentMetricService(Resource rootResource, ManagementResourceRegistration managementResourceRegistration, PathAddress deploymentAddress,
-                                    Supplier<MetricCollector> metricCollector, Supplier<MetricRegistry> metricRegistry,
+    private DeploymentMetricService(DeploymentUnit deploymentUnit, Resource rootResource, ManagementResourceRegistration managementResourceRegistration, PathAddress deploymentAddress,
+                                    Supplier<MetricCollector> metricCollector, Supplier<WildFlyMetricRegistry> metricRegistry,
                                     Supplier<Executor> managementExecutor, boolean exposeAnySubsystem, List<String> exposedSubsystems, String prefix) {
+        this.deploymentUnit = deploymentUnit;
         this.rootResource = rootResource;
         this.managementResourceRegistration = managementResourceRegistration;
         this.deploymentAddress = deploymentAddress;
@@ -106,6 +111,8 @@ public class DeploymentMetricService implements Service {
                         address -> deploymentAddress.append(address),
                         exposeAnySubsystem, exposedSubsystems, prefix,
                         registration);
+                metricSuppliersUnregistration = (UNDERTOW_AVAILABLE && (exposeAnySubsystem || exposedSubsystems.contains("undertow"))) ?
+                        UndertowDeploymentMetrics.register(metricRegistry.get(), deploymentUnit, rootResource, deploymentAddress) : null;
                 startContext.complete();
             }
         };
@@ -121,6 +128,18 @@ public class DeploymentMetricService implements Service {
     @Override
     public void stop(StopContext stopContext) {
         registration.unregister();
+        if (metricSuppliersUnregistration != null) {
+            metricSuppliersUnregistration.run();
+        }
+    }
+
+    private static boolean isAvailable(String className) {
+        try {
+            Class.forName(className, false, DeploymentMetricService.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
     }
 
     private static PathAddress createDeploymentAddressPrefix(DeploymentUnit deploymentUnit) {
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.metrics.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.wildfly.extension.metrics.WildFlyMetricRegistry;
+import org.wildfly.extension.undertow.deployment.ServletMetrics;
+import org.wildfly.extension.undertow.deployment.UndertowAttachments;
+import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
+
+/**
+ * Publishes the servlet metrics of an Undertow deployment directly into the metric registry,
+ * so that these are read from the servlet metrics themselves, rather than via a management operation per scrape.
+ * Must only be used if the Undertow extension is available.
+ */
+class UndertowDeploymentMetrics {
+
+    private static final PathElement UNDERTOW_SUBSYSTEM = PathElement.pathElement(SUBSYSTEM, "undertow");
+    private static final String SERVLET = "servlet";
+
+    // Keyed by the name of the corresponding management attribute of a servlet resource
+    private static final Map<String, ToLongFunction<ServletMetrics>> METRICS = new LinkedHashMap<>();
+    static {
+        METRICS.put("request-count", ServletMetrics::getRequestCount);
+        METRICS.put("total-request-time", ServletMetrics::getTotalRequestTime);
+        METRICS.put("min-request-time", ServletMetrics::getMinRequestTime);
+        METRICS.put("max-request-time", ServletMetrics::getMaxRequestTime);
+        METRICS.put("request-time-p50", metrics -> metrics.getRequestTimePercentile(0.5));
+        METRICS.put("request-time-p99", metrics -> metrics.getRequestTimePercentile(0.99));
+        METRICS.put("request-time-p999", metrics -> metrics.getRequestTimePercentile(0.999));
+        for (int i = 1; i <= 5; ++i) {
+            int statusClass = i;
+            METRICS.put("response-count-" + statusClass + "xx", metrics -> metrics.getResponseCount(statusClass));
+        }
+    }
+
+    /**
+     * Registers metric suppliers for each servlet resource of the specified deployment.
+     * @param registry a metric registry
+     * @param deploymentUnit a deployment unit
+     * @param deploymentResource the management resource of the deployment
+     * @param deploymentAddress the management address of the deployment
+     * @return a task that unregisters the metric suppliers
+     */
+    static Runnable register(WildFlyMetricRegistry registry, DeploymentUnit deploymentUnit, Resource deploymentResource, PathAddress deploymentAddress) {
+        UndertowMetricsCollector collector = deploymentUnit.getAttachment(UndertowAttachments.METRICS_COLLECTOR);
+        Resource subsystem = (collector != null) ? deploymentResource.getChild(UNDERTOW_SUBSYSTEM) : null;
+        if (subsystem == null) {
+            return () -> {};
+        }
+        List<PathAddress> addresses = new ArrayList<>();
+        for (Resource.ResourceEntry entry : subsystem.getChildren(SERVLET)) {
+            String servletName = entry.getName();
+            PathAddress address = deploymentAddress.append(UNDERTOW_SUBSYSTEM, entry.getPathElement());
+            for (Map.Entry<String, ToLongFunction<ServletMetrics>> metric : METRICS.entrySet()) {
+                ToLongFunction<ServletMetrics> function = metric.getValue();
+                registry.registerMetricSupplier(address, metric.getKey(), () -> {
+                    // Metrics are only registered if statistics were enabled
+                    ServletMetrics metrics = collector.getMetrics(servletName);
+                    return (metrics != null) ? OptionalDouble.of(function.applyAsLong(metrics)) : OptionalDouble.empty();
+                });
+            }
+            addresses.add(address);
+        }
+        return () -> {
+            for (PathAddress address : addresses) {
+                for (String attributeName : METRICS.keySet()) {
+                    registry.unregisterMetricSupplier(address, attributeName);
+                }
+            }
+        };
+    }
+}
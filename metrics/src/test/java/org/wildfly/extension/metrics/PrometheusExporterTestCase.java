@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.metrics;
+
+import static org.wildfly.extension.metrics.MetricMetadata.Type.COUNTER;
+import static org.wildfly.extension.metrics.MetricMetadata.Type.GAUGE;
+
+import java.util.OptionalDouble;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrometheusExporterTestCase {
+
+    private static final PathAddress ADDRESS = PathAddress.pathAddress("subsystem", "foo").append("bar", "baz");
+
+    @Test
+    public void testExport() {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        registry.registerMetric(() -> OptionalDouble.of(3), new WildFlyMetricMetadata("requestCount", ADDRESS, null, "Number of requests", MeasurementUnit.NONE, COUNTER));
+        registry.registerMetric(() -> OptionalDouble.of(1500), new WildFlyMetricMetadata("processingTime", ADDRESS, null, "Processing time", MeasurementUnit.MILLISECONDS, GAUGE));
+        registry.registerMetric(OptionalDouble::empty, new WildFlyMetricMetadata("undefined", ADDRESS, null, "Undefined", MeasurementUnit.NONE, GAUGE));
+
+        PrometheusExporter exporter = new PrometheusExporter();
+        String expected = "# HELP foo_processing_time_seconds Processing time\n" +
+                "# TYPE foo_processing_time_seconds gauge\n" +
+                "foo_processing_time_seconds{bar=\"baz\"} 1.5\n" +
+                "# HELP foo_request_count_total Number of requests\n" +
+                "# TYPE foo_request_count_total counter\n" +
+                "foo_request_count_total{bar=\"baz\"} 3.0\n";
+        Assert.assertEquals(expected, exporter.export(registry));
+        // Exporting again must reuse cached headers without changing the output
+        Assert.assertEquals(expected, exporter.export(registry));
+
+        registry.unregister(new WildFlyMetricMetadata("processingTime", ADDRESS, null, "Processing time", MeasurementUnit.MILLISECONDS, GAUGE).getMetricID());
+        Assert.assertEquals("# HELP foo_request_count_total Number of requests\n" +
+                "# TYPE foo_request_count_total counter\n" +
+                "foo_request_count_total{bar=\"baz\"} 3.0\n", exporter.export(registry));
+    }
+
+    @Test
+    public void testMetricSupplier() {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        // Management client is never used if a metric supplier is registered
+        WildFlyMetric metric = new WildFlyMetric(null, ADDRESS, "active");
+        registry.registerMetric(metric, new WildFlyMetricMetadata("active", ADDRESS, null, "Active", MeasurementUnit.NONE, GAUGE));
+        registry.registerMetricSupplier(ADDRESS, "active", () -> OptionalDouble.of(42));
+
+        Assert.assertEquals("# HELP foo_active Active\n" +
+                "# TYPE foo_active gauge\n" +
+                "foo_active{bar=\"baz\"} 42.0\n", new PrometheusExporter().export(registry));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.microprofile.health;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Metric handler that returns the execution statistics of each health check known to the health reporter.
+ */
+public class CheckStatisticsHandler extends AbstractRuntimeOnlyHandler {
+
+    private static final SimpleAttributeDefinition NAME = SimpleAttributeDefinitionBuilder.create("name", ModelType.STRING).build();
+    private static final SimpleAttributeDefinition INVOCATION_COUNT = SimpleAttributeDefinitionBuilder.create("invocation-count", ModelType.LONG).build();
+    private static final SimpleAttributeDefinition TIMEOUT_COUNT = SimpleAttributeDefinitionBuilder.create("timeout-count", ModelType.LONG).build();
+    private static final SimpleAttributeDefinition LAST_EXECUTION_TIME = SimpleAttributeDefinitionBuilder.create("last-execution-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+    private static final SimpleAttributeDefinition MAX_EXECUTION_TIME = SimpleAttributeDefinitionBuilder.create("max-execution-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+    private static final SimpleAttributeDefinition AVERAGE_EXECUTION_TIME = SimpleAttributeDefinitionBuilder.create("average-execution-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+
+    private static final ObjectTypeAttributeDefinition CHECK_STATISTIC = ObjectTypeAttributeDefinition.Builder.of("check-statistic", NAME, INVOCATION_COUNT, TIMEOUT_COUNT, LAST_EXECUTION_TIME, MAX_EXECUTION_TIME, AVERAGE_EXECUTION_TIME).build();
+
+    static final AttributeDefinition CHECK_STATISTICS = ObjectListAttributeDefinition.Builder.of("check-statistics", CHECK_STATISTIC)
+            .setStorageRuntime()
+            .build();
+
+    static void register(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerMetric(CHECK_STATISTICS, new CheckStatisticsHandler());
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) {
+        ServiceName serviceName = context.getCapabilityServiceName(MicroProfileHealthSubsystemDefinition.MICROPROFILE_HEALTH_REPORTER_CAPABILITY, MicroProfileHealthReporter.class);
+        MicroProfileHealthReporter reporter = (MicroProfileHealthReporter) context.getServiceRegistry(false).getService(serviceName).getValue();
+
+        ModelNode result = context.getResult().setEmptyList();
+        for (HealthCheckStatistics statistics : reporter.getCheckStatistics()) {
+            ModelNode check = new ModelNode();
+            check.get(NAME.getName()).set(statistics.getName());
+            check.get(INVOCATION_COUNT.getName()).set(statistics.getInvocationCount());
+            check.get(TIMEOUT_COUNT.getName()).set(statistics.getTimeoutCount());
+            check.get(LAST_EXECUTION_TIME.getName()).set(statistics.getLastExecutionTime());
+            check.get(MAX_EXECUTION_TIME.getName()).set(statistics.getMaxExecutionTime());
+            check.get(AVERAGE_EXECUTION_TIME.getName()).set(statistics.getAverageExecutionTime());
+            result.add(check);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.microprofile.health;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.PlaceholderResource;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Runtime resource of a single health check of a deployment, whose model reflects the current statistics of the check.
+ */
+class HealthCheckResource extends PlaceholderResource.PlaceholderResourceEntry {
+
+    private final HealthCheckStatistics statistics;
+
+    HealthCheckResource(String name, HealthCheckStatistics statistics) {
+        super(PathElement.pathElement(HealthCheckResourceDefinition.PATH.getKey(), name));
+        this.statistics = statistics;
+    }
+
+    @Override
+    public ModelNode getModel() {
+        ModelNode model = new ModelNode();
+        model.get(HealthCheckResourceDefinition.INVOCATION_COUNT.getName()).set(this.statistics.getInvocationCount());
+        model.get(HealthCheckResourceDefinition.TIMEOUT_COUNT.getName()).set(this.statistics.getTimeoutCount());
+        model.get(HealthCheckResourceDefinition.LAST_EXECUTION_TIME.getName()).set(this.statistics.getLastExecutionTime());
+        model.get(HealthCheckResourceDefinition.MAX_EXECUTION_TIME.getName()).set(this.statistics.getMaxExecutionTime());
+        model.get(HealthCheckResourceDefinition.AVERAGE_EXECUTION_TIME.getName()).set(this.statistics.getAverageExecutionTime());
+        return model;
+    }
+
+    @Override
+    public boolean isModelDefined() {
+        return true;
+    }
+
+    @Override
+    public HealthCheckResource clone() {
+        return new HealthCheckResource(this.getName(), this.statistics);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.microprofile.health;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.GAUGE_METRIC;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Runtime resource definition for the execution statistics of a single health check of a deployment.
+ */
+class HealthCheckResourceDefinition extends SimpleResourceDefinition {
+
+    static final PathElement PATH = PathElement.pathElement("check");
+
+    static final AttributeDefinition INVOCATION_COUNT = new SimpleAttributeDefinitionBuilder("invocation-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition TIMEOUT_COUNT = new SimpleAttributeDefinitionBuilder("timeout-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition LAST_EXECUTION_TIME = new SimpleAttributeDefinitionBuilder("last-execution-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(GAUGE_METRIC)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition MAX_EXECUTION_TIME = new SimpleAttributeDefinitionBuilder("max-execution-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(GAUGE_METRIC)
+            .setStorageRuntime()
+            .build();
+    static final AttributeDefinition AVERAGE_EXECUTION_TIME = new SimpleAttributeDefinitionBuilder("average-execution-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(GAUGE_METRIC)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = { INVOCATION_COUNT, TIMEOUT_COUNT, LAST_EXECUTION_TIME, MAX_EXECUTION_TIME, AVERAGE_EXECUTION_TIME };
+
+    HealthCheckResourceDefinition() {
+        super(new Parameters(PATH, MicroProfileHealthExtension.getResourceDescriptionResolver(MicroProfileHealthExtension.SUBSYSTEM_NAME, "deployment", "check"))
+                .setRuntime()
+                .setFeature(false));
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        HealthCheckMetricHandler handler = new HealthCheckMetricHandler();
+        for (AttributeDefinition attribute : ATTRIBUTES) {
+            resourceRegistration.registerMetric(attribute, handler);
+        }
+    }
+
+    /**
+     * Reads a metric from the model of a {@link HealthCheckResource}, which reflects the current statistics of its health check.
+     */
+    private static class HealthCheckMetricHandler extends AbstractRuntimeOnlyHandler {
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) {
+            String name = operation.get(NAME).asString();
+            ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS, false).getModel();
+            context.getResult().set(model.get(name));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.microprofile.health;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.json.JsonObject;
+
+/**
+ * Execution statistics, and the most recent result, of a single health check.
+ */
+class HealthCheckStatistics {
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalExecutionTime = new LongAdder();
+    private final LongAccumulator maxExecutionTime = new LongAccumulator(Math::max, 0L);
+    private volatile long lastExecutionTime = 0L;
+    private volatile String name;
+    private volatile Result result;
+
+    HealthCheckStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of the health check, as reported by its most recent response.
+     * @return the name of the health check
+     */
+    String getName() {
+        return this.name;
+    }
+
+    /**
+     * Records the specified response of the health check.
+     * @param response the JSON response of the health check
+     * @param executionTime the execution time of the health check in nanoseconds
+     * @param time the {@link System#nanoTime()} at which the health check was invoked
+     */
+    void recordResponse(JsonObject response, long executionTime, long time) {
+        this.invocations.increment();
+        this.totalExecutionTime.add(executionTime);
+        this.maxExecutionTime.accumulate(executionTime);
+        this.lastExecutionTime = executionTime;
+        this.name = response.getString("name", this.name);
+        this.result = new Result(response, time);
+    }
+
+    void recordTimeout() {
+        this.timeouts.increment();
+    }
+
+    /**
+     * Returns the most recent response of the health check, if it was invoked within the specified interval.
+     * @param time the current {@link System#nanoTime()}
+     * @param ttl the maximum age of a cached response, in nanoseconds
+     * @return a cached response, or null, if there is none
+     */
+    JsonObject getCachedResponse(long time, long ttl) {
+        Result result = this.result;
+        return ((result != null) && (time - result.time < ttl)) ? result.response : null;
+    }
+
+    long getInvocationCount() {
+        return this.invocations.sum();
+    }
+
+    long getTimeoutCount() {
+        return this.timeouts.sum();
+    }
+
+    /**
+     * @return the last execution time of the health check, in milliseconds
+     */
+    long getLastExecutionTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.lastExecutionTime);
+    }
+
+    /**
+     * @return the maximum execution time of the health check, in milliseconds
+     */
+    long getMaxExecutionTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxExecutionTime.get());
+    }
+
+    /**
+     * @return the average execution time of the health check, in milliseconds
+     */
+    long getAverageExecutionTime() {
+        long invocations = this.invocations.sum();
+        return (invocations > 0) ? TimeUnit.NANOSECONDS.toMillis(this.totalExecutionTime.sum() / invocations) : 0L;
+    }
+
+    private static class Result {
+        final JsonObject response;
+        final long time;
+
+        Result(JsonObject response, long time) {
+            this.response = response;
+            this.time = time;
+        }
+    }
+}
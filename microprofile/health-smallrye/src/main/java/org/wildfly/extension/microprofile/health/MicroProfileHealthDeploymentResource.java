@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.microprofile.health;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Runtime resource of the health checks of a deployment, whose children are the health checks currently registered
+ * with the health reporter by the deployment module.
+ */
+public class MicroProfileHealthDeploymentResource implements Resource {
+
+    private static final String CHECK = HealthCheckResourceDefinition.PATH.getKey();
+
+    private final MicroProfileHealthReporter reporter;
+    private final ClassLoader moduleClassLoader;
+    private ModelNode model = new ModelNode();
+
+    public MicroProfileHealthDeploymentResource(MicroProfileHealthReporter reporter, ClassLoader moduleClassLoader) {
+        this.reporter = reporter;
+        this.moduleClassLoader = moduleClassLoader;
+    }
+
+    private Map<String, HealthCheckStatistics> getCheckStatistics() {
+        return this.reporter.getCheckStatistics(this.moduleClassLoader);
+    }
+
+    @Override
+    public ModelNode getModel() {
+        return this.model;
+    }
+
+    @Override
+    public void writeModel(ModelNode newModel) {
+        this.model = newModel;
+    }
+
+    @Override
+    public boolean isModelDefined() {
+        return this.model.isDefined();
+    }
+
+    @Override
+    public boolean hasChild(PathElement element) {
+        return CHECK.equals(element.getKey()) && this.getCheckStatistics().containsKey(element.getValue());
+    }
+
+    @Override
+    public Resource getChild(PathElement element) {
+        if (CHECK.equals(element.getKey())) {
+            HealthCheckStatistics statistics = this.getCheckStatistics().get(element.getValue());
+            if (statistics != null) {
+                return new HealthCheckResource(element.getValue(), statistics);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Resource requireChild(PathElement element) {
+        Resource child = this.getChild(element);
+        if (child == null) {
+            throw new NoSuchResourceException(element);
+        }
+        return child;
+    }
+
+    @Override
+    public boolean hasChildren(String childType) {
+        return CHECK.equals(childType) && !this.getCheckStatistics().isEmpty();
+    }
+
+    @Override
+    public Resource navigate(PathAddress address) {
+        if (address.size() == 0) {
+            return this;
+        }
+        Resource child = this.requireChild(address.getElement(0));
+        return (address.size() == 1) ? child : child.navigate(address.subAddress(1));
+    }
+
+    @Override
+    public Set<String> getChildTypes() {
+        return Collections.singleton(CHECK);
+    }
+
+    @Override
+    public Set<String> getChildrenNames(String childType) {
+        return CHECK.equals(childType) ? new LinkedHashSet<>(this.getCheckStatistics().keySet()) : Collections.emptySet();
+    }
+
+    @Override
+    public Set<ResourceEntry> getChildren(String childType) {
+        if (!CHECK.equals(childType)) {
+            return Collections.emptySet();
+        }
+        Map<String, HealthCheckStatistics> checks = this.getCheckStatistics();
+        Set<ResourceEntry> result = new LinkedHashSet<>(checks.size());
+        for (Map.Entry<String, HealthCheckStatistics> entry : checks.entrySet()) {
+            result.add(new HealthCheckResource(entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+
+    @Override
+    public void registerChild(PathElement address, Resource resource) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void registerChild(PathElement address, int index, Resource resource) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Resource removeChild(PathElement address) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<String> getOrderedChildTypes() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public boolean isRuntime() {
+        return true;
+    }
+
+    @Override
+    public boolean isProxy() {
+        return false;
+    }
+
+    @Override
+    public Resource clone() {
+        MicroProfileHealthDeploymentResource clone = new MicroProfileHealthDeploymentResource(this.reporter, this.moduleClassLoader);
+        clone.writeModel(this.model.clone());
+        return clone;
+    }
+}
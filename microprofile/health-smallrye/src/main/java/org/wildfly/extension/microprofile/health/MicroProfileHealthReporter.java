@@ -22,9 +22,24 @@
 package org.wildfly.extension.microprofile.health;
 
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.json.Json;
 import javax.json.JsonArray;
@@ -48,6 +63,12 @@ public class MicroProfileHealthReporter {
     private Map<HealthCheck, ClassLoader> livenessChecks = new HashMap<>();
     private Map<HealthCheck, ClassLoader> readinessChecks = new HashMap<>();
     private Map<HealthCheck, ClassLoader> serverReadinessChecks = new HashMap<>();
+    private final ConcurrentMap<HealthCheck, HealthCheckStatistics> statistics = new ConcurrentHashMap<>();
+    // Pending invocation of each health check, shared by concurrent requests
+    private final ConcurrentMap<HealthCheck, Future<JsonObject>> invocations = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final long checkTimeout;
+    private final long checkCacheTTL;
 
     private final HealthCheck emptyDeploymentLivenessCheck;
     private final HealthCheck emptyDeploymentReadinessCheck;
@@ -70,10 +91,22 @@ public class MicroProfileHealthReporter {
     }
 
 
-    public MicroProfileHealthReporter(String emptyLivenessChecksStatus, String emptyReadinessChecksStatus, boolean defaultServerProceduresDisabled) {
+    /**
+     * Creates a health reporter.
+     * @param emptyLivenessChecksStatus the status reported if no deployment defines a liveness check
+     * @param emptyReadinessChecksStatus the status reported if no deployment defines a readiness check
+     * @param defaultServerProceduresDisabled indicates whether server checks are disabled
+     * @param executor the executor used to invoke health checks concurrently
+     * @param checkTimeout the duration in milliseconds after which a health check is reported as down, or 0, to wait indefinitely
+     * @param checkCacheTTL the duration in milliseconds for which the response of a health check is reused, or 0, to invoke health checks on every request
+     */
+    public MicroProfileHealthReporter(String emptyLivenessChecksStatus, String emptyReadinessChecksStatus, boolean defaultServerProceduresDisabled, ExecutorService executor, long checkTimeout, long checkCacheTTL) {
         this.emptyDeploymentLivenessCheck  = new EmptyDeploymentCheckStatus("empty-liveness-checks", emptyLivenessChecksStatus);
         this.emptyDeploymentReadinessCheck  = new EmptyDeploymentCheckStatus("empty-readiness-checks", emptyReadinessChecksStatus);
         this.defaultServerProceduresDisabled = defaultServerProceduresDisabled;
+        this.executor = executor;
+        this.checkTimeout = TimeUnit.MILLISECONDS.toNanos(checkTimeout);
+        this.checkCacheTTL = TimeUnit.MILLISECONDS.toNanos(checkCacheTTL);
     }
 
     public SmallRyeHealth getHealth() {
@@ -112,12 +145,18 @@ public class MicroProfileHealthReporter {
     }
 
     private final SmallRyeHealth getHealth(Map<HealthCheck, ClassLoader> serverChecks, Map<HealthCheck, ClassLoader> deploymentChecks) {
+        // Invoke all checks concurrently, then collect their responses in order
+        List<Map.Entry<HealthCheck, Future<JsonObject>>> responses = new ArrayList<>(serverChecks.size() + deploymentChecks.size());
+        long start = System.nanoTime();
+        submitChecks(serverChecks, responses, start);
+        submitChecks(deploymentChecks, responses, start);
+
         JsonArrayBuilder results = Json.createArrayBuilder();
         HealthCheckResponse.Status status = HealthCheckResponse.Status.UP;
 
-        status = processChecks(serverChecks, results, status);
-
-        status = processChecks(deploymentChecks, results, status);
+        for (Map.Entry<HealthCheck, Future<JsonObject>> entry : responses) {
+            status = fillCheck(getResponse(entry.getKey(), entry.getValue(), start), results, status);
+        }
 
         JsonObjectBuilder builder = Json.createObjectBuilder();
 
@@ -129,27 +168,122 @@ public class MicroProfileHealthReporter {
         return new SmallRyeHealth(builder.build());
     }
 
-    private HealthCheckResponse.Status processChecks(Map<HealthCheck, ClassLoader> checks, JsonArrayBuilder results, HealthCheckResponse.Status status) {
+    private void submitChecks(Map<HealthCheck, ClassLoader> checks, List<Map.Entry<HealthCheck, Future<JsonObject>>> responses, long start) {
         if (checks != null) {
             for (Map.Entry<HealthCheck, ClassLoader> entry : checks.entrySet()) {
-                // use the classloader of the deployment's module instead of the TCCL (which is the server's ModuleClassLoader
-                // to ensure that any resources that checks the TCCL (such as MP Config) will use the correct one
-                // when the health checks are called.
-                final ClassLoader oldTCCL = Thread.currentThread().getContextClassLoader();
-                try {
-                    Thread.currentThread().setContextClassLoader(entry.getValue());
-                    status = fillCheck(entry.getKey(), results, status);
-                } finally {
-                    Thread.currentThread().setContextClassLoader(oldTCCL);
+                HealthCheck check = entry.getKey();
+                HealthCheckStatistics statistics = this.getStatistics(check);
+                JsonObject cachedResponse = (this.checkCacheTTL > 0) ? statistics.getCachedResponse(start, this.checkCacheTTL) : null;
+                Future<JsonObject> response = (cachedResponse != null) ? CompletableFuture.completedFuture(cachedResponse) : this.submitCheck(check, entry.getValue(), statistics);
+                responses.add(new AbstractMap.SimpleImmutableEntry<>(check, response));
+            }
+        }
+    }
+
+    /**
+     * Returns the pending invocation of the specified health check, submitting a new invocation if there is none.
+     */
+    private Future<JsonObject> submitCheck(HealthCheck check, ClassLoader classLoader, HealthCheckStatistics statistics) {
+        Future<JsonObject> invocation = this.invocations.get(check);
+        if (invocation != null) return invocation;
+
+        FutureTask<JsonObject> task = new FutureTask<JsonObject>(() -> this.invokeCheck(check, classLoader, statistics)) {
+            @Override
+            protected void done() {
+                MicroProfileHealthReporter.this.invocations.remove(check, this);
+            }
+        };
+        invocation = this.invocations.putIfAbsent(check, task);
+        if (invocation != null) return invocation;
+
+        try {
+            this.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (this.executor.isShutdown()) {
+                // Reporter is stopping
+                task.run();
+            } else {
+                this.invocations.remove(check, task);
+                MicroProfileHealthLogger.LOGGER.healthCheckRejected(statistics.getName());
+                return CompletableFuture.completedFuture(jsonObject(HealthCheckResponse.named(statistics.getName()).down().build()));
+            }
+        }
+        return task;
+    }
+
+    private JsonObject invokeCheck(HealthCheck check, ClassLoader classLoader, HealthCheckStatistics statistics) {
+        // use the classloader of the deployment's module instead of the TCCL (which is the server's ModuleClassLoader
+        // to ensure that any resources that checks the TCCL (such as MP Config) will use the correct one
+        // when the health checks are called.
+        final ClassLoader oldTCCL = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            long start = System.nanoTime();
+            JsonObject response = jsonObject(check);
+            statistics.recordResponse(response, System.nanoTime() - start, start);
+            return response;
+        } finally {
+            Thread.currentThread().setContextClassLoader(oldTCCL);
+        }
+    }
+
+    private JsonObject getResponse(HealthCheck check, Future<JsonObject> response, long start) {
+        try {
+            if (this.checkTimeout > 0) {
+                return response.get(Math.max(start + this.checkTimeout - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+            }
+            return response.get();
+        } catch (TimeoutException e) {
+            // Do not cancel, since the pending invocation may be shared by other requests
+            HealthCheckStatistics statistics = this.statistics.get(check);
+            String name = (statistics != null) ? statistics.getName() : check.getClass().getName();
+            if (statistics != null) {
+                statistics.recordTimeout();
+            }
+            MicroProfileHealthLogger.LOGGER.healthCheckTimeout(name, TimeUnit.NANOSECONDS.toMillis(this.checkTimeout));
+            return jsonObject(HealthCheckResponse.named(name).down().build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return jsonObject(HealthCheckResponse.named(check.getClass().getName()).down().build());
+        } catch (ExecutionException e) {
+            MicroProfileHealthLogger.LOGGER.error("Error processing Health Checks", e.getCause());
+            return jsonObject(HealthCheckResponse.named(check.getClass().getName()).down().build());
+        }
+    }
+
+    /**
+     * Returns the execution statistics of all registered health checks.
+     * @return a collection of health check statistics
+     */
+    Iterable<HealthCheckStatistics> getCheckStatistics() {
+        return Collections.unmodifiableCollection(this.statistics.values());
+    }
+
+    /**
+     * Returns the statistics of the health checks registered by the specified deployment module, keyed by the class name of each check.
+     * @param moduleClassLoader the class loader of a deployment module
+     * @return a map of health check statistics
+     */
+    Map<String, HealthCheckStatistics> getCheckStatistics(ClassLoader moduleClassLoader) {
+        Map<String, HealthCheckStatistics> result = new TreeMap<>();
+        for (Map<HealthCheck, ClassLoader> checks : Arrays.asList(healthChecks, livenessChecks, readinessChecks)) {
+            for (Map.Entry<HealthCheck, ClassLoader> entry : checks.entrySet()) {
+                if (entry.getValue() == moduleClassLoader) {
+                    HealthCheckStatistics statistics = this.statistics.get(entry.getKey());
+                    if (statistics != null) {
+                        result.putIfAbsent(entry.getKey().getClass().getName(), statistics);
+                    }
                 }
             }
         }
+        return result;
+    }
 
-        return status;
+    private HealthCheckStatistics getStatistics(HealthCheck check) {
+        return this.statistics.computeIfAbsent(check, key -> new HealthCheckStatistics(key.getClass().getName()));
     }
 
-    private HealthCheckResponse.Status fillCheck(HealthCheck check, JsonArrayBuilder results, HealthCheckResponse.Status globalOutcome) {
-        JsonObject each = jsonObject(check);
+    private HealthCheckResponse.Status fillCheck(JsonObject each, JsonArrayBuilder results, HealthCheckResponse.Status globalOutcome) {
         results.add(each);
         if (globalOutcome == HealthCheckResponse.Status.UP) {
             String status = each.getString("status");
@@ -198,36 +332,43 @@ public class MicroProfileHealthReporter {
     public void addHealthCheck(HealthCheck check, ClassLoader moduleClassLoader) {
         if (check != null) {
             healthChecks.put(check, moduleClassLoader);
+            getStatistics(check);
         }
     }
 
     public void removeHealthCheck(HealthCheck check) {
         healthChecks.remove(check);
+        statistics.remove(check);
     }
 
     public void addReadinessCheck(HealthCheck check, ClassLoader moduleClassLoader) {
         if (check != null) {
             readinessChecks.put(check, moduleClassLoader);
+            getStatistics(check);
         }
     }
 
     public void addServerReadinessCheck(HealthCheck check, ClassLoader moduleClassLoader) {
         if (check != null) {
             serverReadinessChecks.put(check, moduleClassLoader);
+            getStatistics(check);
         }
     }
 
     public void removeReadinessCheck(HealthCheck check) {
         readinessChecks.remove(check);
+        statistics.remove(check);
     }
 
     public void addLivenessCheck(HealthCheck check, ClassLoader moduleClassLoader) {
         if (check != null) {
             livenessChecks.put(check, moduleClassLoader);
+            getStatistics(check);
         }
     }
 
     public void removeLivenessCheck(HealthCheck check) {
         livenessChecks.remove(check);
+        statistics.remove(check);
     }
 }
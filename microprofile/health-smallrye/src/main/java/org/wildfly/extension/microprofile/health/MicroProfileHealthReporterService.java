@@ -25,6 +25,13 @@ package org.wildfly.extension.microprofile.health;
 import static org.wildfly.extension.microprofile.health.MicroProfileHealthSubsystemDefinition.HEALTH_SERVER_PROBE_CAPABILITY;
 import static org.wildfly.extension.microprofile.health.MicroProfileHealthSubsystemDefinition.MICROPROFILE_HEALTH_REPORTER_CAPABILITY;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import io.smallrye.health.ResponseProvider;
@@ -41,6 +48,7 @@ import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.extension.health.ServerProbe;
 import org.wildfly.extension.health.ServerProbesService;
 
@@ -50,33 +58,52 @@ import org.wildfly.extension.health.ServerProbesService;
  */
 public class MicroProfileHealthReporterService implements Service<MicroProfileHealthReporter> {
 
+    // Bounds the number of health checks invoked concurrently
+    private static final int MAX_THREADS = Math.max(Runtime.getRuntime().availableProcessors(), 2);
+    // Bounds the number of health checks awaiting invocation
+    private static final int MAX_QUEUE_SIZE = 256;
+
     private static MicroProfileHealthReporter healthReporter;
     private Supplier<ServerProbesService> serverProbesService;
     private String emptyLivenessChecksStatus;
     private String emptyReadinessChecksStatus;
+    private final long checkTimeout;
+    private final long checkCacheTTL;
+    private ExecutorService executor;
 
-    static void install(OperationContext context, String emptyLivenessChecksStatus, String emptyReadinessChecksStatus) {
+    static void install(OperationContext context, String emptyLivenessChecksStatus, String emptyReadinessChecksStatus, long checkTimeout, long checkCacheTTL) {
 
         CapabilityServiceBuilder<?> serviceBuilder = context.getCapabilityServiceTarget()
                 .addCapability(RuntimeCapability.Builder.of(MICROPROFILE_HEALTH_REPORTER_CAPABILITY, SmallRyeHealthReporter.class).build());
 
         Supplier<ServerProbesService> serverProbesService = serviceBuilder.requires(ServiceName.parse(HEALTH_SERVER_PROBE_CAPABILITY));
 
-        serviceBuilder.setInstance(new MicroProfileHealthReporterService(serverProbesService, emptyLivenessChecksStatus, emptyReadinessChecksStatus))
+        serviceBuilder.setInstance(new MicroProfileHealthReporterService(serverProbesService, emptyLivenessChecksStatus, emptyReadinessChecksStatus, checkTimeout, checkCacheTTL))
                 .install();
     }
 
-    private MicroProfileHealthReporterService(Supplier<ServerProbesService> serverProbesService, String emptyLivenessChecksStatus, String emptyReadinessChecksStatus) {
+    private MicroProfileHealthReporterService(Supplier<ServerProbesService> serverProbesService, String emptyLivenessChecksStatus, String emptyReadinessChecksStatus, long checkTimeout, long checkCacheTTL) {
         this.serverProbesService = serverProbesService;
         this.emptyLivenessChecksStatus = emptyLivenessChecksStatus;
         this.emptyReadinessChecksStatus = emptyReadinessChecksStatus;
+        this.checkTimeout = checkTimeout;
+        this.checkCacheTTL = checkCacheTTL;
     }
 
     @Override
     public void start(StartContext context) {
         // MicroProfile Health supports the mp.health.disable-default-procedures to let users disable any vendor procedures
         final boolean defaultServerProceduresDisabled = ConfigProvider.getConfig().getOptionalValue("mp.health.disable-default-procedures", Boolean.class).orElse(false);
-        healthReporter = new MicroProfileHealthReporter(emptyLivenessChecksStatus, emptyReadinessChecksStatus, defaultServerProceduresDisabled);
+        ThreadFactory threadFactory = AccessController.doPrivileged(new PrivilegedAction<ThreadFactory>() {
+            @Override
+            public ThreadFactory run() {
+                return new JBossThreadFactory(new ThreadGroup("microprofile-health-check"), Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(MAX_QUEUE_SIZE), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+        healthReporter = new MicroProfileHealthReporter(emptyLivenessChecksStatus, emptyReadinessChecksStatus, defaultServerProceduresDisabled, executor, checkTimeout, checkCacheTTL);
 
         if (!defaultServerProceduresDisabled) {
             ClassLoader tccl = Thread.currentThread().getContextClassLoader();
@@ -92,6 +119,7 @@ public class MicroProfileHealthReporterService implements Service<MicroProfileHe
     public void stop(StopContext context) {
         healthReporter = null;
         HealthCheckResponse.setResponseProvider(null);
+        executor.shutdownNow();
     }
 
     @Override
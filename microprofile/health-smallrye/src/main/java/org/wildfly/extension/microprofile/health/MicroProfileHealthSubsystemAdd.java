@@ -63,9 +63,11 @@ class MicroProfileHealthSubsystemAdd extends AbstractBoottimeAddStepHandler {
         final boolean securityEnabled = MicroProfileHealthSubsystemDefinition.SECURITY_ENABLED.resolveModelAttribute(context, model).asBoolean();
         final String emptyLivenessChecksStatus = MicroProfileHealthSubsystemDefinition.EMPTY_LIVENESS_CHECKS_STATUS.resolveModelAttribute(context, model).asString();
         final String emptyReadinessChecksStatus = MicroProfileHealthSubsystemDefinition.EMPTY_READINESS_CHECKS_STATUS.resolveModelAttribute(context, model).asString();
+        final long checkTimeout = MicroProfileHealthSubsystemDefinition.CHECK_TIMEOUT.resolveModelAttribute(context, model).asLong();
+        final long checkCacheTTL = MicroProfileHealthSubsystemDefinition.CHECK_CACHE_TTL.resolveModelAttribute(context, model).asLong();
 
         HealthHTTPSecurityService.install(context, securityEnabled);
-        MicroProfileHealthReporterService.install(context, emptyLivenessChecksStatus, emptyReadinessChecksStatus);
+        MicroProfileHealthReporterService.install(context, emptyLivenessChecksStatus, emptyReadinessChecksStatus, checkTimeout, checkCacheTTL);
         MicroProfileHealthContextService.install(context);
 
         MicroProfileHealthLogger.LOGGER.activatingSubsystem();
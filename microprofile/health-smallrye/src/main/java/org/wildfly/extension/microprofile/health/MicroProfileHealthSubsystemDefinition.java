@@ -32,6 +32,8 @@ import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -85,7 +87,25 @@ public class MicroProfileHealthSubsystemDefinition extends PersistentResourceDef
             .setAllowedValues("UP", "DOWN")
             .build();
 
-    static final AttributeDefinition[] ATTRIBUTES = { SECURITY_ENABLED, EMPTY_LIVENESS_CHECKS_STATUS, EMPTY_READINESS_CHECKS_STATUS};
+    static final AttributeDefinition CHECK_TIMEOUT = SimpleAttributeDefinitionBuilder.create("check-timeout", ModelType.LONG)
+            .setDefaultValue(ModelNode.ZERO_LONG)
+            .setRequired(false)
+            .setRestartAllServices()
+            .setAllowExpression(true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setValidator(new LongRangeValidator(0, true, true))
+            .build();
+
+    static final AttributeDefinition CHECK_CACHE_TTL = SimpleAttributeDefinitionBuilder.create("check-cache-ttl", ModelType.LONG)
+            .setDefaultValue(ModelNode.ZERO_LONG)
+            .setRequired(false)
+            .setRestartAllServices()
+            .setAllowExpression(true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setValidator(new LongRangeValidator(0, true, true))
+            .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = { SECURITY_ENABLED, EMPTY_LIVENESS_CHECKS_STATUS, EMPTY_READINESS_CHECKS_STATUS, CHECK_TIMEOUT, CHECK_CACHE_TTL };
     private boolean registerRuntimeOperations;
 
     protected MicroProfileHealthSubsystemDefinition(boolean registerRuntimeOperations) {
@@ -111,5 +131,14 @@ public class MicroProfileHealthSubsystemDefinition extends PersistentResourceDef
         }
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+
+        if (registerRuntimeOperations) {
+            CheckStatisticsHandler.register(resourceRegistration);
+        }
+    }
+
 
 }
@@ -45,9 +45,14 @@ public class MicroProfileHealthTransformers implements ExtensionTransformerRegis
     public void registerTransformers(SubsystemTransformerRegistration registration) {
         ChainedTransformationDescriptionBuilder builder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(registration.getCurrentSubsystemVersion());
 
+        registerTransformers_WildFly_23(builder.createBuilder(MicroProfileHealthExtension.VERSION_3_0_0, MicroProfileHealthExtension.VERSION_2_0_0));
         registerTransformers_WildFly_17(builder.createBuilder(MicroProfileHealthExtension.VERSION_2_0_0, MicroProfileHealthExtension.VERSION_1_0_0));
 
-        builder.buildAndRegister(registration, new ModelVersion[] { MicroProfileHealthExtension.VERSION_1_0_0});
+        builder.buildAndRegister(registration, new ModelVersion[] { MicroProfileHealthExtension.VERSION_2_0_0, MicroProfileHealthExtension.VERSION_1_0_0});
+    }
+
+    private void registerTransformers_WildFly_23(ResourceTransformationDescriptionBuilder subsystem) {
+        rejectDefinedAttributeWithDefaultValue(subsystem, MicroProfileHealthSubsystemDefinition.CHECK_TIMEOUT, MicroProfileHealthSubsystemDefinition.CHECK_CACHE_TTL);
     }
 
     private void registerTransformers_WildFly_17(ResourceTransformationDescriptionBuilder subsystem) {
@@ -23,6 +23,7 @@
 package org.wildfly.extension.microprofile.health._private;
 
 import static org.jboss.logging.Logger.Level.INFO;
+import static org.jboss.logging.Logger.Level.WARN;
 
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.logging.BasicLogger;
@@ -52,4 +53,12 @@ public interface MicroProfileHealthLogger extends BasicLogger {
 
     @Message(id = 2, value = "Deployment %s requires use of the '%s' capability but it is not currently registered")
     DeploymentUnitProcessingException deploymentRequiresCapability(String deploymentName, String capabilityName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 3, value = "Health check %s did not respond within %d ms")
+    void healthCheckTimeout(String name, long timeout);
+
+    @LogMessage(level = WARN)
+    @Message(id = 4, value = "Health check %s was rejected, since too many health checks are awaiting invocation")
+    void healthCheckRejected(String name);
 }
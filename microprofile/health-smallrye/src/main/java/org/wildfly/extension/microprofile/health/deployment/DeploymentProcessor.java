@@ -32,6 +32,8 @@ import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.weld.WeldCapability;
 import org.jboss.modules.Module;
+import org.wildfly.extension.microprofile.health.MicroProfileHealthDeploymentResource;
+import org.wildfly.extension.microprofile.health.MicroProfileHealthExtension;
 import org.wildfly.extension.microprofile.health.MicroProfileHealthReporter;
 import org.wildfly.extension.microprofile.health.MicroProfileHealthSubsystemDefinition;
 import org.wildfly.extension.microprofile.health._private.MicroProfileHealthLogger;
@@ -60,6 +62,9 @@ public class DeploymentProcessor implements DeploymentUnitProcessor {
             final MicroProfileHealthReporter healthReporter = (MicroProfileHealthReporter) phaseContext.getServiceRegistry().getService(MicroProfileHealthSubsystemDefinition.HEALTH_REPORTER_SERVICE).getValue();
 
             weldCapability.registerExtensionInstance(new CDIExtension(healthReporter, module), deploymentUnit);
+
+            // Expose the statistics of the health checks of this deployment, once registered by the CDI extension
+            deploymentUnit.getAttachment(Attachments.DEPLOYMENT_RESOURCE_SUPPORT).registerDeploymentSubsystemResource(MicroProfileHealthExtension.SUBSYSTEM_NAME, new MicroProfileHealthDeploymentResource(healthReporter, module.getClassLoader()));
         }
 
     }
@@ -54,6 +54,11 @@ public class Subsystem_2_0_ParsingTestCase extends AbstractSubsystemBaseTest {
     }
 
 
+    @Override
+    protected KernelServices standardSubsystemTest(String configId, boolean compareXml) throws Exception {
+        return super.standardSubsystemTest(configId, false);
+    }
+
     @Override
     protected String getSubsystemXml() throws IOException {
         return readResource("subsystem_2_0.xml");
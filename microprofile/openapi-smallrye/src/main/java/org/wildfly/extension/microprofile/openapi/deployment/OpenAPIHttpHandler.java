@@ -22,20 +22,27 @@
 
 package org.wildfly.extension.microprofile.openapi.deployment;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import javax.ws.rs.core.MediaType;
 
@@ -46,7 +53,10 @@ import io.smallrye.openapi.runtime.io.Format;
 import io.smallrye.openapi.runtime.io.OpenApiSerializer;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.util.ETag;
+import io.undertow.util.ETagUtils;
 import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
 import io.undertow.util.Methods;
@@ -54,6 +64,8 @@ import io.undertow.util.StatusCodes;
 
 /**
  * {@link HttpHandler} for the Open API endpoint.
+ * Since the model is immutable for the lifetime of this handler, each document format is serialized only once.
+ * Documents using the default charset are also encoded and compressed only once.
  * @author Michael Edgar
  * @author Paul Ferraro
  */
@@ -65,6 +77,7 @@ public class OpenAPIHttpHandler implements HttpHandler {
     private static final Map<MediaType, Format> ACCEPTED_TYPES = new LinkedHashMap<>();
     private static final Map<String, Format> FORMATS = new HashMap<>();
     private static final String FORMAT = "format";
+    private static final String GZIP = "gzip";
 
     static {
         for (Format format : EnumSet.allOf(Format.class)) {
@@ -73,10 +86,21 @@ public class OpenAPIHttpHandler implements HttpHandler {
         }
     }
 
-    private final OpenAPI model;
+    // Serialized documents per format
+    private final Map<Format, String> texts = new EnumMap<>(Format.class);
+    // Encoded documents per format, using the default charset
+    private final Map<Format, Document> documents = new EnumMap<>(Format.class);
 
     public OpenAPIHttpHandler(OpenAPI model) {
-        this.model = model;
+        for (Format format : EnumSet.allOf(Format.class)) {
+            try {
+                String text = OpenApiSerializer.serialize(model, format);
+                this.texts.put(format, text);
+                this.documents.put(format, new Document(text.getBytes(StandardCharsets.UTF_8), true));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
 
     @Override
@@ -120,13 +144,28 @@ public class OpenAPIHttpHandler implements HttpHandler {
             // Use format preferred by Accept header if unambiguous, otherwise determine format from query parameter
             Format format = (preferredTypes.size() == 1) ? ACCEPTED_TYPES.get(preferredTypes.get(0)) : parseFormatParameter(exchange);
 
-            byte[] result = OpenApiSerializer.serialize(this.model, format).getBytes(charset);
+            // Only documents using the default charset are retained, documents using any other charset are encoded per request
+            Document document = charset.equals(StandardCharsets.UTF_8) ? this.documents.get(format) : new Document(this.texts.get(format).getBytes(charset), false);
+            boolean compressed = acceptsGzip(exchange);
+            ETag etag = compressed ? document.getCompressedETag() : document.getETag();
 
             responseHeaders.put(Headers.CONTENT_TYPE, format.getMimeType());
-            responseHeaders.put(Headers.CONTENT_LENGTH, result.length);
+            responseHeaders.put(Headers.ETAG, etag.toString());
+            responseHeaders.put(Headers.VARY, Headers.ACCEPT_ENCODING_STRING);
+
+            if (!ETagUtils.handleIfNoneMatch(exchange, etag, true)) {
+                exchange.setStatusCode(StatusCodes.NOT_MODIFIED);
+                return;
+            }
+
+            ByteBuffer content = compressed ? document.getCompressedContent() : document.getContent();
+            if (compressed) {
+                responseHeaders.put(Headers.CONTENT_ENCODING, GZIP);
+            }
+            responseHeaders.put(Headers.CONTENT_LENGTH, content.remaining());
 
             if (requestMethod.equals(Methods.GET)) {
-                exchange.getResponseSender().send(ByteBuffer.wrap(result));
+                exchange.getResponseSender().send(content);
             }
         } else if (requestMethod.equals(Methods.OPTIONS)) {
             responseHeaders.put(Headers.ALLOW, ALLOW_METHODS);
@@ -175,6 +214,32 @@ public class OpenAPIHttpHandler implements HttpHandler {
         return defaultCharset;
     }
 
+    private static boolean acceptsGzip(HttpServerExchange exchange) {
+        HeaderValues headerValues = exchange.getRequestHeaders().get(Headers.ACCEPT_ENCODING);
+        if (headerValues == null) return false;
+
+        for (String headerValue : headerValues) {
+            for (String value : headerValue.split(",")) {
+                String[] parameters = value.split(";");
+                String coding = parameters[0].trim();
+                if (coding.equalsIgnoreCase(GZIP) || coding.equals("*")) {
+                    for (int i = 1; i < parameters.length; ++i) {
+                        String parameter = parameters[i].trim();
+                        if (parameter.startsWith("q=")) {
+                            try {
+                                return Float.parseFloat(parameter.substring(2)) > 0f;
+                            } catch (NumberFormatException e) {
+                                return false;
+                            }
+                        }
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     private static Format parseFormatParameter(HttpServerExchange exchange) {
         Deque<String> formatValues = exchange.getQueryParameters().get(FORMAT);
         String formatValue = (formatValues != null) ? formatValues.peek() : null;
@@ -182,4 +247,67 @@ public class OpenAPIHttpHandler implements HttpHandler {
         // Default format is YAML
         return (format != null) ? format : Format.YAML;
     }
+
+    /**
+     * An encoded document, along with its compressed form.
+     * A retained document is stored, eagerly compressed, within read-only direct buffers.
+     * A transient document is compressed only on demand.
+     */
+    private static class Document {
+        private final byte[] bytes;
+        private final ByteBuffer content;
+        private final ByteBuffer compressedContent;
+        private final ETag etag;
+        private final ETag compressedETag;
+
+        Document(byte[] content, boolean retain) {
+            String digest = digest(content);
+            this.bytes = retain ? null : content;
+            this.content = retain ? toReadOnlyDirectBuffer(content) : ByteBuffer.wrap(content).asReadOnlyBuffer();
+            this.compressedContent = retain ? toReadOnlyDirectBuffer(compress(content)) : null;
+            this.etag = new ETag(false, digest);
+            this.compressedETag = new ETag(false, digest + "-" + GZIP);
+        }
+
+        ByteBuffer getContent() {
+            // Each response requires its own position/limit
+            return this.content.duplicate();
+        }
+
+        ByteBuffer getCompressedContent() {
+            return (this.compressedContent != null) ? this.compressedContent.duplicate() : ByteBuffer.wrap(compress(this.bytes));
+        }
+
+        ETag getETag() {
+            return this.etag;
+        }
+
+        ETag getCompressedETag() {
+            return this.compressedETag;
+        }
+
+        private static ByteBuffer toReadOnlyDirectBuffer(byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            return buffer.asReadOnlyBuffer();
+        }
+
+        private static byte[] compress(byte[] bytes) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+                gzip.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return output.toByteArray();
+        }
+
+        private static String digest(byte[] bytes) {
+            try {
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
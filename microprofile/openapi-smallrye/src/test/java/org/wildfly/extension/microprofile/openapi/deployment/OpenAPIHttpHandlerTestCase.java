@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.microprofile.openapi.deployment;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.eclipse.microprofile.openapi.OASFactory;
+import org.eclipse.microprofile.openapi.models.OpenAPI;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.undertow.Undertow;
+import io.undertow.util.Headers;
+
+/**
+ * Unit test for {@link OpenAPIHttpHandler}.
+ */
+public class OpenAPIHttpHandlerTestCase {
+
+    private Undertow server;
+    private URL url;
+
+    @Before
+    public void init() throws IOException {
+        OpenAPI model = OASFactory.createOpenAPI().openapi("3.0.3").info(OASFactory.createInfo().title("test").version("1.0"));
+        this.server = Undertow.builder().addHttpListener(0, "localhost").setHandler(new OpenAPIHttpHandler(model)).build();
+        this.server.start();
+        InetSocketAddress address = (InetSocketAddress) this.server.getListenerInfo().get(0).getAddress();
+        this.url = new URL("http", address.getHostString(), address.getPort(), "/openapi");
+    }
+
+    @After
+    public void destroy() {
+        this.server.stop();
+    }
+
+    @Test
+    public void conditional() throws IOException {
+        HttpURLConnection connection = this.connect();
+        try {
+            assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+            assertEquals("application/yaml", connection.getContentType());
+            String etag = connection.getHeaderField(Headers.ETAG_STRING);
+            assertNotNull(etag);
+            String content = read(connection.getInputStream(), StandardCharsets.UTF_8);
+            assertTrue(content, content.contains("title: test"));
+
+            connection = this.connect();
+            connection.setRequestProperty(Headers.IF_NONE_MATCH_STRING, etag);
+            assertEquals(HttpURLConnection.HTTP_NOT_MODIFIED, connection.getResponseCode());
+            assertEquals(etag, connection.getHeaderField(Headers.ETAG_STRING));
+
+            // ETag is specific to the requested format
+            connection = this.connect("?format=JSON");
+            connection.setRequestProperty(Headers.IF_NONE_MATCH_STRING, etag);
+            assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+            assertEquals("application/json", connection.getContentType());
+            assertNotEquals(etag, connection.getHeaderField(Headers.ETAG_STRING));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    public void gzip() throws IOException {
+        HttpURLConnection connection = this.connect();
+        try {
+            String content = read(connection.getInputStream(), StandardCharsets.UTF_8);
+            String etag = connection.getHeaderField(Headers.ETAG_STRING);
+
+            connection = this.connect();
+            connection.setRequestProperty(Headers.ACCEPT_ENCODING_STRING, "gzip");
+            assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+            assertEquals("gzip", connection.getContentEncoding());
+            String compressedETag = connection.getHeaderField(Headers.ETAG_STRING);
+            assertNotEquals(etag, compressedETag);
+            try (InputStream input = new GZIPInputStream(connection.getInputStream())) {
+                assertEquals(content, read(input, StandardCharsets.UTF_8));
+            }
+
+            connection = this.connect();
+            connection.setRequestProperty(Headers.ACCEPT_ENCODING_STRING, "gzip");
+            connection.setRequestProperty(Headers.IF_NONE_MATCH_STRING, compressedETag);
+            assertEquals(HttpURLConnection.HTTP_NOT_MODIFIED, connection.getResponseCode());
+
+            // Gzip explicitly refused
+            connection = this.connect();
+            connection.setRequestProperty(Headers.ACCEPT_ENCODING_STRING, "gzip;q=0");
+            assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+            assertNull(connection.getContentEncoding());
+            assertEquals(etag, connection.getHeaderField(Headers.ETAG_STRING));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    public void charset() throws IOException {
+        HttpURLConnection connection = this.connect();
+        try {
+            String content = read(connection.getInputStream(), StandardCharsets.UTF_8);
+            String etag = connection.getHeaderField(Headers.ETAG_STRING);
+
+            // Non-default charsets are encoded per request
+            for (int i = 0; i < 2; ++i) {
+                connection = this.connect();
+                connection.setRequestProperty(Headers.ACCEPT_CHARSET_STRING, StandardCharsets.UTF_16.name());
+                assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+                String utf16ETag = connection.getHeaderField(Headers.ETAG_STRING);
+                assertNotEquals(etag, utf16ETag);
+                assertEquals(content, read(connection.getInputStream(), StandardCharsets.UTF_16));
+
+                connection = this.connect();
+                connection.setRequestProperty(Headers.ACCEPT_CHARSET_STRING, StandardCharsets.UTF_16.name());
+                connection.setRequestProperty(Headers.IF_NONE_MATCH_STRING, utf16ETag);
+                assertEquals(HttpURLConnection.HTTP_NOT_MODIFIED, connection.getResponseCode());
+            }
+
+            connection = this.connect();
+            connection.setRequestProperty(Headers.ACCEPT_CHARSET_STRING, StandardCharsets.UTF_16.name());
+            connection.setRequestProperty(Headers.ACCEPT_ENCODING_STRING, "gzip");
+            assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+            assertEquals("gzip", connection.getContentEncoding());
+            try (InputStream input = new GZIPInputStream(connection.getInputStream())) {
+                assertEquals(content, read(input, StandardCharsets.UTF_16));
+            }
+
+            connection = this.connect();
+            connection.setRequestProperty(Headers.ACCEPT_CHARSET_STRING, "unsupported");
+            assertEquals(HttpURLConnection.HTTP_NOT_ACCEPTABLE, connection.getResponseCode());
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private HttpURLConnection connect() throws IOException {
+        return this.connect("");
+    }
+
+    private HttpURLConnection connect(String query) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(this.url, this.url.getPath() + query).openConnection();
+        connection.setUseCaches(false);
+        // Defer to format query parameter
+        connection.setRequestProperty(Headers.ACCEPT_STRING, "*/*");
+        return connection;
+    }
+
+    private static String read(InputStream input, Charset charset) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read = input.read(buffer);
+        while (read >= 0) {
+            output.write(buffer, 0, read);
+            read = input.read(buffer);
+        }
+        return new String(output.toByteArray(), charset);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.mod_cluster;
+
+import java.util.function.ToDoubleFunction;
+
+import org.jboss.modcluster.container.Connector;
+import org.jboss.modcluster.container.Engine;
+import org.jboss.modcluster.load.metric.impl.AbstractLoadMetric;
+
+/**
+ * Load metric that returns a rate, summed over the connectors of an engine.
+ * Unlike the corresponding mod_cluster metrics, which compute the rate from the change of cumulative counts between successive invocations,
+ * the rate is computed by each connector over an exponentially weighted window of recent requests, and is thus independent of the frequency of invocation.
+ */
+public abstract class AbstractRequestRateLoadMetric extends AbstractLoadMetric {
+
+    private final ToDoubleFunction<RequestRateProvider> rate;
+
+    protected AbstractRequestRateLoadMetric(ToDoubleFunction<RequestRateProvider> rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public double getLoad(Engine engine) {
+        double load = 0;
+        for (Connector connector : engine.getConnectors()) {
+            if (connector instanceof RequestRateProvider) {
+                load += this.rate.applyAsDouble((RequestRateProvider) connector);
+            }
+        }
+        return load;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.mod_cluster;
+
+import org.jboss.modcluster.container.Context;
+import org.jboss.modcluster.container.Engine;
+import org.jboss.modcluster.container.Host;
+import org.jboss.modcluster.load.metric.impl.AbstractLoadMetric;
+
+/**
+ * Load metric that returns the request latency, in milliseconds, of the slowest context of an engine at a given percentile.
+ * Using the slowest context, rather than an aggregate of all contexts, allows a single saturated context to raise the load of its node.
+ * Requires an explicit capacity, i.e. the latency corresponding to a fully loaded node.
+ */
+public class LatencyLoadMetric extends AbstractLoadMetric {
+
+    public static final double DEFAULT_PERCENTILE = 99;
+
+    private volatile double percentile = DEFAULT_PERCENTILE;
+
+    public double getPercentile() {
+        return this.percentile;
+    }
+
+    /**
+     * Sets the percentile of request latency used to compute load.
+     * @param percentile a percentile, greater than 0 and less than or equal to 100
+     */
+    public void setPercentile(double percentile) {
+        if ((percentile <= 0) || (percentile > 100)) {
+            throw new IllegalArgumentException(Double.toString(percentile));
+        }
+        this.percentile = percentile;
+    }
+
+    @Override
+    public double getLoad(Engine engine) {
+        double load = 0;
+        for (Host host : engine.getHosts()) {
+            for (Context context : host.getContexts()) {
+                if (context instanceof RequestLatencyProvider) {
+                    load = Math.max(load, ((RequestLatencyProvider) context).getRequestLatency(this.percentile));
+                }
+            }
+        }
+        return load;
+    }
+}
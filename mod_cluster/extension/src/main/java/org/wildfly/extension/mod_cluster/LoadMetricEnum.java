@@ -46,6 +46,10 @@ public enum LoadMetricEnum {
     SEND_TRAFFIC("send-traffic", SendTrafficLoadMetric.class),
     REQUEST_COUNT("requests", RequestCountLoadMetric.class),
     BUSY_CONNECTORS("busyness", BusyConnectorsLoadMetric.class),
+    LATENCY("latency", LatencyLoadMetric.class),
+    RECEIVE_TRAFFIC_RATE("receive-traffic-rate", ReceiveTrafficRateLoadMetric.class),
+    SEND_TRAFFIC_RATE("send-traffic-rate", SendTrafficRateLoadMetric.class),
+    REQUEST_RATE("request-rate", RequestRateLoadMetric.class),
     ;
 
     private final String type;
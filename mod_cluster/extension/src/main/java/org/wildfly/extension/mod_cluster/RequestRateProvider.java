@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.mod_cluster;
+
+/**
+ * Implemented by connectors that record the rates of the requests and traffic they service.
+ */
+public interface RequestRateProvider {
+
+    /**
+     * Returns the rate of requests, computed over an exponentially weighted window of recent requests.
+     *
+     * @return the number of requests per second
+     */
+    double getRequestRate();
+
+    /**
+     * Returns the rate of sent bytes, computed over an exponentially weighted window of recent requests.
+     *
+     * @return the number of bytes sent per second
+     */
+    double getBytesSentRate();
+
+    /**
+     * Returns the rate of received bytes, computed over an exponentially weighted window of recent requests.
+     *
+     * @return the number of bytes received per second
+     */
+    double getBytesReceivedRate();
+}
@@ -22,6 +22,7 @@
 
 package org.wildfly.extension.mod_cluster;
 
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -222,6 +223,15 @@ public class ModClusterTransformersTestCase extends AbstractSubsystemTest {
         PathAddress configurationAddress = subsystemAddress.append(ProxyConfigurationResourceDefinition.pathElement("default"));
         PathAddress dynamicLoadProviderAddress = configurationAddress.append(DynamicLoadProviderResourceDefinition.PATH);
 
+        if (ModClusterModel.VERSION_8_0_0.requiresTransformation(version)) {
+            for (LoadMetricEnum metric : EnumSet.of(LoadMetricEnum.LATENCY, LoadMetricEnum.RECEIVE_TRAFFIC_RATE, LoadMetricEnum.SEND_TRAFFIC_RATE, LoadMetricEnum.REQUEST_RATE)) {
+                config.addFailedAttribute(dynamicLoadProviderAddress.append(LoadMetricResourceDefinition.pathElement(metric.getType())),
+                        FailedOperationTransformationConfig.ChainedConfig.createBuilder(LoadMetricResourceDefinition.Attribute.TYPE.getName())
+                                .addConfig(new LoadMetricTypeConfig(metric))
+                                .build());
+            }
+        }
+
         if (ModClusterModel.VERSION_7_0_0.requiresTransformation(version)) {
             config.addFailedAttribute(dynamicLoadProviderAddress, FailedOperationTransformationConfig.ChainedConfig.createBuilder(DynamicLoadProviderResourceDefinition.Attribute.INITIAL_LOAD.getName())
                     .addConfig(new InitialLoadFailedAttributeConfig())
@@ -310,6 +320,30 @@ public class ModClusterTransformersTestCase extends AbstractSubsystemTest {
         }
     }
 
+    static class LoadMetricTypeConfig extends FailedOperationTransformationConfig.AttributesPathAddressConfig<LoadMetricTypeConfig> {
+        private final LoadMetricEnum metric;
+
+        LoadMetricTypeConfig(LoadMetricEnum metric) {
+            super(LoadMetricResourceDefinition.Attribute.TYPE.getName());
+            this.metric = metric;
+        }
+
+        @Override
+        protected boolean isAttributeWritable(String attributeName) {
+            return true;
+        }
+
+        @Override
+        protected boolean checkValue(String attrName, ModelNode attribute, boolean isWriteAttribute) {
+            return attribute.equals(new ModelNode(this.metric.getType()));
+        }
+
+        @Override
+        protected ModelNode correctValue(ModelNode toResolve, boolean isWriteAttribute) {
+            return new ModelNode(LoadMetricEnum.REQUEST_COUNT.getType());
+        }
+    }
+
     static class InitialLoadFailedAttributeConfig extends FailedOperationTransformationConfig.AttributesPathAddressConfig<InitialLoadFailedAttributeConfig> {
         InitialLoadFailedAttributeConfig() {
             super(DynamicLoadProviderResourceDefinition.Attribute.INITIAL_LOAD.getName());
@@ -24,6 +24,7 @@ package org.wildfly.mod_cluster.undertow;
 
 import java.util.Set;
 
+import org.jboss.as.server.deployment.AttachmentKey;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
@@ -33,10 +34,17 @@ import org.jboss.modcluster.load.metric.impl.BusyConnectorsLoadMetric;
 import org.jboss.modcluster.load.metric.impl.ReceiveTrafficLoadMetric;
 import org.jboss.modcluster.load.metric.impl.RequestCountLoadMetric;
 import org.jboss.modcluster.load.metric.impl.SendTrafficLoadMetric;
+import org.wildfly.extension.mod_cluster.LatencyLoadMetric;
+import org.wildfly.extension.mod_cluster.ReceiveTrafficRateLoadMetric;
+import org.wildfly.extension.mod_cluster.RequestRateLoadMetric;
+import org.wildfly.extension.mod_cluster.SendTrafficRateLoadMetric;
 import org.wildfly.extension.undertow.deployment.UndertowAttachments;
 import org.wildfly.mod_cluster.undertow.metric.BytesReceivedHttpHandler;
 import org.wildfly.mod_cluster.undertow.metric.BytesSentHttpHandler;
+import org.wildfly.mod_cluster.undertow.metric.LatencyHttpHandler;
 import org.wildfly.mod_cluster.undertow.metric.RequestCountHttpHandler;
+import org.wildfly.mod_cluster.undertow.metric.RequestStatistics;
+import org.wildfly.mod_cluster.undertow.metric.RequestStatisticsRegistry;
 import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
 
 /**
@@ -48,13 +56,18 @@ import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
  * <li>{@link org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler}</li>
  * <li>{@link org.wildfly.mod_cluster.undertow.metric.BytesReceivedHttpHandler}</li>
  * <li>{@link org.wildfly.mod_cluster.undertow.metric.BytesSentHttpHandler}</li>
+ * <li>{@link org.wildfly.mod_cluster.undertow.metric.LatencyHttpHandler}</li>
  * </ul>
+ * Metrics are recorded per deployment, via {@link RequestStatistics} attached to the deployment unit and exposed to {@link UndertowContext}
+ * and {@link UndertowConnector} via {@link RequestStatisticsRegistry}, and per listener.
  *
  * @author Radoslav Husar
  * @since 8.0
  */
 public class ModClusterUndertowDeploymentProcessor implements DeploymentUnitProcessor {
 
+    private static final AttachmentKey<RequestStatistics> REQUEST_STATISTICS = AttachmentKey.create(RequestStatistics.class);
+
     private final Set<String> adapterNames;
     private final Set<LoadMetric> enabledMetrics;
 
@@ -72,43 +85,58 @@ public class ModClusterUndertowDeploymentProcessor implements DeploymentUnitProc
             deploymentUnit.addToAttachmentList(Attachments.WEB_DEPENDENCIES, new UndertowEventHandlerAdapterServiceNameProvider(adapter).getServiceName());
         }
 
+        // Statistics of this deployment, registered under the name of its Undertow deployment
+        RequestStatistics statistics = new RequestStatistics();
+        deploymentUnit.putAttachment(REQUEST_STATISTICS, statistics);
+        deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_SERVLET_EXTENSIONS, (deploymentInfo, servletContext) -> RequestStatisticsRegistry.INSTANCE.add(deploymentInfo.getDeploymentName(), statistics));
+
         // Request count wrapping
-        if (isMetricEnabled(RequestCountLoadMetric.class)) {
-            deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_INITIAL_HANDLER_CHAIN_WRAPPERS, RequestCountHttpHandler::new);
+        if (isMetricEnabled(RequestRateLoadMetric.class, RequestCountLoadMetric.class)) {
+            deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_INITIAL_HANDLER_CHAIN_WRAPPERS, handler -> new RequestCountHttpHandler(handler, statistics));
         }
 
         // Bytes Sent wrapping
-        if (isMetricEnabled(SendTrafficLoadMetric.class)) {
-            deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_INITIAL_HANDLER_CHAIN_WRAPPERS, BytesSentHttpHandler::new);
+        if (isMetricEnabled(SendTrafficRateLoadMetric.class, SendTrafficLoadMetric.class)) {
+            deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_INITIAL_HANDLER_CHAIN_WRAPPERS, handler -> new BytesSentHttpHandler(handler, statistics));
         }
 
         // Bytes Received wrapping
-        if (isMetricEnabled(ReceiveTrafficLoadMetric.class)) {
-            deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_INITIAL_HANDLER_CHAIN_WRAPPERS, BytesReceivedHttpHandler::new);
+        if (isMetricEnabled(ReceiveTrafficRateLoadMetric.class, ReceiveTrafficLoadMetric.class)) {
+            deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_INITIAL_HANDLER_CHAIN_WRAPPERS, handler -> new BytesReceivedHttpHandler(handler, statistics));
+        }
+
+        // Request latency wrapping
+        if (isMetricEnabled(LatencyLoadMetric.class)) {
+            deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_INITIAL_HANDLER_CHAIN_WRAPPERS, handler -> new LatencyHttpHandler(handler, statistics));
         }
 
         // Busyness thread setup actions
         if (isMetricEnabled(BusyConnectorsLoadMetric.class)) {
-            deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_OUTER_HANDLER_CHAIN_WRAPPERS, RunningRequestsHttpHandler::new);
+            deploymentUnit.addToAttachmentList(UndertowAttachments.UNDERTOW_OUTER_HANDLER_CHAIN_WRAPPERS, handler -> new RunningRequestsHttpHandler(handler, statistics));
         }
 
     }
 
     @Override
     public void undeploy(DeploymentUnit context) {
-        // Do nothing.
+        RequestStatistics statistics = context.removeAttachment(REQUEST_STATISTICS);
+        if (statistics != null) {
+            RequestStatisticsRegistry.INSTANCE.remove(statistics);
+        }
     }
 
     /**
-     * Checks whether this {@link Class} is configured to be used.
+     * Checks whether any of these {@link Class}es is configured to be used.
      *
-     * @param metricClass Class to check whether it's configured to be used
+     * @param metricClasses Classes to check whether they are configured to be used
      * @return true if any of the enabled metrics is enabled, false otherwise
      */
-    private boolean isMetricEnabled(Class metricClass) {
+    private boolean isMetricEnabled(Class<?>... metricClasses) {
         for (LoadMetric enabledMetric : enabledMetrics) {
-            if (metricClass.isInstance(enabledMetric)) {
-                return true;
+            for (Class<?> metricClass : metricClasses) {
+                if (metricClass.isInstance(enabledMetric)) {
+                    return true;
+                }
             }
         }
 
@@ -23,29 +23,37 @@
 package org.wildfly.mod_cluster.undertow;
 
 import java.net.InetAddress;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 import org.jboss.modcluster.container.Connector;
+import org.wildfly.extension.mod_cluster.RequestRateProvider;
 import org.wildfly.extension.undertow.AjpListenerService;
 import org.wildfly.extension.undertow.HttpListenerService;
 import org.wildfly.extension.undertow.UndertowListener;
-import org.wildfly.mod_cluster.undertow.metric.BytesReceivedStreamSourceConduit;
-import org.wildfly.mod_cluster.undertow.metric.BytesSentStreamSinkConduit;
-import org.wildfly.mod_cluster.undertow.metric.RequestCountHttpHandler;
-import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
+import org.wildfly.mod_cluster.undertow.metric.RequestStatistics;
+import org.wildfly.mod_cluster.undertow.metric.RequestStatisticsRegistry;
 
 /**
  * Adapts {@link UndertowListener} to a {@link Connector}.
+ * The statistics of a listener are aggregated from the per-listener statistics of each deployment via {@link RequestStatisticsRegistry}.
  *
  * @author Radoslav Husar
  * @since 8.0
  */
-public class UndertowConnector implements Connector {
+public class UndertowConnector implements Connector, RequestRateProvider {
 
     private final UndertowListener listener;
+    private final RequestStatisticsRegistry registry;
     private InetAddress address;
 
     public UndertowConnector(UndertowListener listener) {
+        this(listener, RequestStatisticsRegistry.INSTANCE);
+    }
+
+    UndertowConnector(UndertowListener listener, RequestStatisticsRegistry registry) {
         this.listener = listener;
+        this.registry = registry;
     }
 
     @Override
@@ -97,35 +105,58 @@ public class UndertowConnector implements Connector {
     }
 
     /**
-     * @return int number of <em>running requests</em> on all connectors as opposed to busy threads
+     * @return int number of <em>running requests</em> on this listener as opposed to busy threads
      */
     @Override
     public int getBusyThreads() {
-        return RunningRequestsHttpHandler.getRunningRequestCount();
+        return (int) this.sum(RequestStatistics::getRunningRequestCount);
     }
 
     /**
-     * @return long number of bytes sent on all connectors
+     * @return long number of bytes sent on this listener
      */
     @Override
     public long getBytesSent() {
-        return BytesSentStreamSinkConduit.getBytesSent();
+        return this.sum(RequestStatistics::getBytesSent);
     }
 
     /**
-     * @return long number of bytes received on all listeners without HTTP request size itself
+     * @return long number of bytes received on this listener without HTTP request size itself
      */
     @Override
     public long getBytesReceived() {
-        return BytesReceivedStreamSourceConduit.getBytesReceived();
+        return this.sum(RequestStatistics::getBytesReceived);
     }
 
     /**
-     * @return long number of requests on all listeners as opposed to only this 'connector'
+     * @return long number of requests on this listener
      */
     @Override
     public long getRequestCount() {
-        return RequestCountHttpHandler.getRequestCount();
+        return this.sum(RequestStatistics::getRequestCount);
+    }
+
+    @Override
+    public double getRequestRate() {
+        return this.sum(RequestStatistics::getRequestRate);
+    }
+
+    @Override
+    public double getBytesSentRate() {
+        return this.sum(RequestStatistics::getBytesSentRate);
+    }
+
+    @Override
+    public double getBytesReceivedRate() {
+        return this.sum(RequestStatistics::getBytesReceivedRate);
+    }
+
+    private long sum(ToLongFunction<RequestStatistics> function) {
+        return this.registry.sum(this.getPort(), function);
+    }
+
+    private double sum(ToDoubleFunction<RequestStatistics> function) {
+        return this.registry.sumRate(this.getPort(), function);
     }
 
     @Override
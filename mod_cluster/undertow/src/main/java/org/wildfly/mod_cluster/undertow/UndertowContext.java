@@ -34,6 +34,9 @@ import javax.servlet.http.HttpSessionListener;
 
 import org.jboss.modcluster.container.Context;
 import org.jboss.modcluster.container.Host;
+import org.wildfly.extension.mod_cluster.RequestLatencyProvider;
+import org.wildfly.mod_cluster.undertow.metric.RequestStatistics;
+import org.wildfly.mod_cluster.undertow.metric.RequestStatisticsRegistry;
 
 /**
  * Adapts {@link Deployment} to an {@link Context}.
@@ -42,7 +45,7 @@ import org.jboss.modcluster.container.Host;
  * @author Paul Ferraro
  * @since 8.0
  */
-public class UndertowContext implements Context {
+public class UndertowContext implements Context, RequestLatencyProvider {
 
     private Deployment deployment;
     private Host host;
@@ -110,6 +113,24 @@ public class UndertowContext implements Context {
         return !(this.deployment.getDeploymentInfo().getSessionManagerFactory() instanceof InMemorySessionManagerFactory);
     }
 
+    @Override
+    public double getRequestLatency(double percentile) {
+        RequestStatistics statistics = this.getStatistics();
+        return (statistics != null) ? statistics.getRequestLatency(percentile) : 0;
+    }
+
+    /**
+     * Returns the request statistics of this context, e.g. its exponentially weighted request rate.
+     * @return the request statistics of this context, or null, if unavailable.
+     */
+    public RequestStatistics getStatistics() {
+        return getStatistics(this.deployment);
+    }
+
+    static RequestStatistics getStatistics(Deployment deployment) {
+        return RequestStatisticsRegistry.INSTANCE.get(deployment.getDeploymentInfo().getDeploymentName());
+    }
+
     @Override
     public String toString() {
         return this.getPath();
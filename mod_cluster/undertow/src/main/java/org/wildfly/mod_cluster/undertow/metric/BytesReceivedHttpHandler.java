@@ -38,9 +38,11 @@ import org.xnio.conduits.StreamSourceConduit;
 public class BytesReceivedHttpHandler implements HttpHandler {
 
     private final HttpHandler wrappedHandler;
+    private final RequestStatistics statistics;
 
-    public BytesReceivedHttpHandler(final HttpHandler handler) {
+    public BytesReceivedHttpHandler(final HttpHandler handler, RequestStatistics statistics) {
         this.wrappedHandler = handler;
+        this.statistics = statistics;
     }
 
     @Override
@@ -51,7 +53,7 @@ public class BytesReceivedHttpHandler implements HttpHandler {
         exchange.addRequestWrapper(new ConduitWrapper<StreamSourceConduit>() {
             @Override
             public StreamSourceConduit wrap(ConduitFactory<StreamSourceConduit> factory, HttpServerExchange exchange) {
-                return new BytesReceivedStreamSourceConduit(factory.create());
+                return new BytesReceivedStreamSourceConduit(factory.create(), BytesReceivedHttpHandler.this.statistics, BytesReceivedHttpHandler.this.statistics.forListener(exchange));
             }
         });
 
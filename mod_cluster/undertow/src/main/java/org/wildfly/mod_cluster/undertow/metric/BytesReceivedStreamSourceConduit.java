@@ -25,7 +25,6 @@ package org.wildfly.mod_cluster.undertow.metric;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
-import java.util.concurrent.atomic.LongAdder;
 
 import org.xnio.channels.StreamSinkChannel;
 import org.xnio.conduits.AbstractSourceConduit;
@@ -33,7 +32,7 @@ import org.xnio.conduits.StreamSourceConduit;
 
 /**
  * Implementation of {@link StreamSourceConduit} wrapping that wraps around byte-transferring methods to calculate total
- * number of bytes transferred leveraging {@link LongAdder}.
+ * number of bytes transferred, per deployment and per listener.
  *
  * @author Radoslav Husar
  * @since 8.0
@@ -41,43 +40,46 @@ import org.xnio.conduits.StreamSourceConduit;
 public class BytesReceivedStreamSourceConduit extends AbstractSourceConduit implements StreamSourceConduit {
 
     private final StreamSourceConduit next;
-    private static final LongAdder bytesReceived = new LongAdder();
+    private final RequestStatistics[] statistics;
 
-    public BytesReceivedStreamSourceConduit(StreamSourceConduit next) {
+    public BytesReceivedStreamSourceConduit(StreamSourceConduit next, RequestStatistics... statistics) {
         super(next);
         this.next = next;
+        this.statistics = statistics;
     }
 
     @Override
     public long transferTo(long position, long count, FileChannel target) throws IOException {
         long bytes = next.transferTo(position, count, target);
-        bytesReceived.add(bytes);
+        this.record(bytes);
         return bytes;
     }
 
     @Override
     public long transferTo(long count, ByteBuffer throughBuffer, StreamSinkChannel target) throws IOException {
         long bytes = next.transferTo(count, throughBuffer, target);
-        bytesReceived.add(bytes);
+        this.record(bytes);
         return bytes;
     }
 
     @Override
     public int read(ByteBuffer dst) throws IOException {
         int bytes = next.read(dst);
-        bytesReceived.add(bytes);
+        this.record(bytes);
         return bytes;
     }
 
     @Override
     public long read(ByteBuffer[] dsts, int offs, int len) throws IOException {
         long bytes = next.read(dsts, offs, len);
-        bytesReceived.add(bytes);
+        this.record(bytes);
         return bytes;
     }
 
-    public static long getBytesReceived() {
-        return bytesReceived.longValue();
+    private void record(long bytes) {
+        for (RequestStatistics statistics : this.statistics) {
+            statistics.bytesReceived(bytes);
+        }
     }
 }
 
@@ -38,9 +38,11 @@ import org.xnio.conduits.StreamSinkConduit;
 public class BytesSentHttpHandler implements HttpHandler {
 
     private final HttpHandler wrappedHandler;
+    private final RequestStatistics statistics;
 
-    public BytesSentHttpHandler(final HttpHandler handler) {
+    public BytesSentHttpHandler(final HttpHandler handler, RequestStatistics statistics) {
         this.wrappedHandler = handler;
+        this.statistics = statistics;
     }
 
     @Override
@@ -51,7 +53,7 @@ public class BytesSentHttpHandler implements HttpHandler {
         exchange.addResponseWrapper(new ConduitWrapper<StreamSinkConduit>() {
             @Override
             public StreamSinkConduit wrap(ConduitFactory<StreamSinkConduit> factory, HttpServerExchange exchange) {
-                return new BytesSentStreamSinkConduit(factory.create());
+                return new BytesSentStreamSinkConduit(factory.create(), BytesSentHttpHandler.this.statistics, BytesSentHttpHandler.this.statistics.forListener(exchange));
             }
         });
 
@@ -25,7 +25,6 @@ package org.wildfly.mod_cluster.undertow.metric;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
-import java.util.concurrent.atomic.LongAdder;
 
 import org.xnio.channels.StreamSourceChannel;
 import org.xnio.conduits.AbstractSinkConduit;
@@ -33,7 +32,7 @@ import org.xnio.conduits.StreamSinkConduit;
 
 /**
  * Implementation of {@link StreamSinkConduit} wrapping that wraps around byte-transferring methods to calculate total
- * number of bytes transferred leveraging {@link LongAdder}.
+ * number of bytes transferred, per deployment and per listener.
  *
  * @author Radoslav Husar
  * @since 8.0
@@ -41,17 +40,18 @@ import org.xnio.conduits.StreamSinkConduit;
 public class BytesSentStreamSinkConduit extends AbstractSinkConduit implements StreamSinkConduit {
 
     private final StreamSinkConduit next;
-    private static final LongAdder bytesSent = new LongAdder();
+    private final RequestStatistics[] statistics;
 
-    public BytesSentStreamSinkConduit(StreamSinkConduit next) {
+    public BytesSentStreamSinkConduit(StreamSinkConduit next, RequestStatistics... statistics) {
         super(next);
         this.next = next;
+        this.statistics = statistics;
     }
 
     @Override
     public long transferFrom(FileChannel src, long position, long count) throws IOException {
         long bytes = next.transferFrom(src, position, count);
-        bytesSent.add(bytes);
+        this.record(bytes);
         return bytes;
     }
 
@@ -59,7 +59,7 @@ public class BytesSentStreamSinkConduit extends AbstractSinkConduit implements S
     @Override
     public long transferFrom(StreamSourceChannel source, long count, ByteBuffer throughBuffer) throws IOException {
         long bytes = next.transferFrom(source, count, throughBuffer);
-        bytesSent.add(bytes);
+        this.record(bytes);
         return bytes;
     }
 
@@ -67,7 +67,7 @@ public class BytesSentStreamSinkConduit extends AbstractSinkConduit implements S
     @Override
     public int write(ByteBuffer src) throws IOException {
         int bytes = next.write(src);
-        bytesSent.add(bytes);
+        this.record(bytes);
         return bytes;
     }
 
@@ -75,25 +75,27 @@ public class BytesSentStreamSinkConduit extends AbstractSinkConduit implements S
     @Override
     public long write(ByteBuffer[] srcs, int offs, int len) throws IOException {
         long bytes = next.write(srcs, offs, len);
-        bytesSent.add(bytes);
+        this.record(bytes);
         return bytes;
     }
 
     @Override
     public int writeFinal(ByteBuffer src) throws IOException {
         int bytes = next.writeFinal(src);
-        bytesSent.add(bytes);
+        this.record(bytes);
         return bytes;
     }
 
     @Override
     public long writeFinal(ByteBuffer[] srcs, int offset, int length) throws IOException {
         long bytes = next.writeFinal(srcs, offset, length);
-        bytesSent.add(bytes);
+        this.record(bytes);
         return bytes;
     }
 
-    public static long getBytesSent() {
-        return bytesSent.longValue();
+    private void record(long bytes) {
+        for (RequestStatistics statistics : this.statistics) {
+            statistics.bytesSent(bytes);
+        }
     }
 }
@@ -22,13 +22,11 @@
 
 package org.wildfly.mod_cluster.undertow.metric;
 
-import java.util.concurrent.atomic.LongAdder;
-
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 
 /**
- * {@link HttpHandler} that counts number of incoming requests.
+ * {@link HttpHandler} that counts number of incoming requests per deployment and per listener.
  *
  * @author Radoslav Husar
  * @since 8.0
@@ -36,26 +34,22 @@ import io.undertow.server.HttpServerExchange;
 public class RequestCountHttpHandler implements HttpHandler {
 
     private final HttpHandler wrappedHandler;
-    private static final LongAdder requestCount = new LongAdder();
+    private final RequestStatistics statistics;
 
-    public RequestCountHttpHandler(final HttpHandler handler) {
+    public RequestCountHttpHandler(final HttpHandler handler, RequestStatistics statistics) {
         this.wrappedHandler = handler;
+        this.statistics = statistics;
     }
 
     @Override
     public void handleRequest(HttpServerExchange httpServerExchange) throws Exception {
 
         // Count incoming request
-        requestCount.increment();
+        long time = System.nanoTime();
+        this.statistics.requestStarted(time);
+        this.statistics.forListener(httpServerExchange).requestStarted(time);
 
         // Proceed
         wrappedHandler.handleRequest(httpServerExchange);
     }
-
-    /**
-     * @return long value of all incoming requests on all connectors
-     */
-    public static long getRequestCount() {
-        return requestCount.longValue();
-    }
 }
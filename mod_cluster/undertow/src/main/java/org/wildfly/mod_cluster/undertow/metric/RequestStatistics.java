@@ -0,0 +1,325 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.undertow.server.HttpServerExchange;
+import org.jboss.as.ee.utils.LatencyHistogram;
+
+/**
+ * Request statistics of a deployment, from which mod_cluster load metrics are computed.
+ * The statistics of each deployment additionally track the subset of its requests accepted by each listener,
+ * from which the statistics of a listener are aggregated over all deployments by {@link RequestStatisticsRegistry}.
+ * Totals are maintained via {@link LongAdder}s.
+ * Request counts, transferred bytes, and latencies are additionally recorded within a ring of fixed duration time slices,
+ * from which request/traffic rates and latency percentiles are computed, weighting each slice by an exponential decay of its age.
+ */
+public class RequestStatistics {
+
+    static final long SLICE_DURATION = TimeUnit.SECONDS.toNanos(5);
+    // Slices spanning 1 minute
+    static final int SLICES = 12;
+    // Time constant of exponential decay
+    private static final double DECAY_PERIOD = TimeUnit.SECONDS.toNanos(20);
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder runningRequestCount = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final AtomicReferenceArray<Slice> slices = new AtomicReferenceArray<>(SLICES);
+    private final ConcurrentMap<Integer, RequestStatistics> listeners = new ConcurrentHashMap<>();
+    private final long created;
+
+    public RequestStatistics() {
+        this(System.nanoTime());
+    }
+
+    RequestStatistics(long created) {
+        this.created = created;
+    }
+
+    /**
+     * Returns the statistics of the requests of this deployment accepted by the listener with the specified port.
+     * @param port the port of a listener
+     * @return the statistics of a listener, or null, if this deployment has not yet serviced requests from the specified listener.
+     */
+    public RequestStatistics getListenerStatistics(int port) {
+        return this.listeners.get(port);
+    }
+
+    /**
+     * Returns the statistics of the requests of this deployment accepted by each listener, keyed by listener port.
+     * @return a map of listener statistics
+     */
+    Map<Integer, RequestStatistics> getListenerStatistics() {
+        return Collections.unmodifiableMap(this.listeners);
+    }
+
+    /**
+     * Adds the cumulative totals of the specified statistics to the totals of this statistics.
+     * Recent request/traffic rates and latencies are not affected.
+     * @param statistics the statistics of a listener
+     */
+    void accumulate(RequestStatistics statistics) {
+        this.requestCount.add(statistics.getRequestCount());
+        this.bytesSent.add(statistics.getBytesSent());
+        this.bytesReceived.add(statistics.getBytesReceived());
+    }
+
+    /**
+     * Returns the statistics of the requests of this deployment accepted by the listener of the connection of the specified exchange.
+     * @param exchange an HTTP exchange
+     * @return the statistics of a listener
+     */
+    RequestStatistics forListener(HttpServerExchange exchange) {
+        InetSocketAddress address = exchange.getConnection().getLocalAddress(InetSocketAddress.class);
+        return this.forListener((address != null) ? address.getPort() : -1);
+    }
+
+    /**
+     * Returns the statistics of the requests of this deployment accepted by the listener with the specified port, creating them if necessary.
+     * @param port the port of a listener
+     * @return the statistics of a listener
+     */
+    RequestStatistics forListener(int port) {
+        RequestStatistics statistics = this.listeners.get(port);
+        return (statistics != null) ? statistics : this.listeners.computeIfAbsent(port, key -> new RequestStatistics());
+    }
+
+    public void requestStarted() {
+        this.requestStarted(System.nanoTime());
+    }
+
+    void requestStarted(long time) {
+        this.requestCount.increment();
+        this.slice(time).requests.increment();
+    }
+
+    public void requestRunning() {
+        this.runningRequestCount.increment();
+    }
+
+    public void requestCompleted() {
+        this.runningRequestCount.decrement();
+    }
+
+    /**
+     * Records the latency of a completed request.
+     * @param latency the duration of a request in nanoseconds
+     */
+    public void recordLatency(long latency) {
+        this.recordLatency(latency, System.nanoTime());
+    }
+
+    void recordLatency(long latency, long time) {
+        this.slice(time).latencies.record(TimeUnit.NANOSECONDS.toMicros(latency));
+    }
+
+    public void bytesSent(long bytes) {
+        this.bytesSent(bytes, System.nanoTime());
+    }
+
+    void bytesSent(long bytes, long time) {
+        if (bytes > 0) {
+            this.bytesSent.add(bytes);
+            this.slice(time).bytesSent.add(bytes);
+        }
+    }
+
+    public void bytesReceived(long bytes) {
+        this.bytesReceived(bytes, System.nanoTime());
+    }
+
+    void bytesReceived(long bytes, long time) {
+        if (bytes > 0) {
+            this.bytesReceived.add(bytes);
+            this.slice(time).bytesReceived.add(bytes);
+        }
+    }
+
+    public long getRequestCount() {
+        return this.requestCount.sum();
+    }
+
+    public int getRunningRequestCount() {
+        return this.runningRequestCount.intValue();
+    }
+
+    public long getBytesSent() {
+        return this.bytesSent.sum();
+    }
+
+    public long getBytesReceived() {
+        return this.bytesReceived.sum();
+    }
+
+    /**
+     * Returns the exponentially weighted rate of recent requests.
+     * @return the number of requests per second
+     */
+    public double getRequestRate() {
+        return this.getRequestRate(System.nanoTime());
+    }
+
+    double getRequestRate(long time) {
+        return this.getRate(slice -> slice.requests, time);
+    }
+
+    /**
+     * Returns the exponentially weighted rate of recently sent bytes.
+     * @return the number of bytes sent per second
+     */
+    public double getBytesSentRate() {
+        return this.getBytesSentRate(System.nanoTime());
+    }
+
+    double getBytesSentRate(long time) {
+        return this.getRate(slice -> slice.bytesSent, time);
+    }
+
+    /**
+     * Returns the exponentially weighted rate of recently received bytes.
+     * @return the number of bytes received per second
+     */
+    public double getBytesReceivedRate() {
+        return this.getBytesReceivedRate(System.nanoTime());
+    }
+
+    double getBytesReceivedRate(long time) {
+        return this.getRate(slice -> slice.bytesReceived, time);
+    }
+
+    private double getRate(Function<Slice, LongAdder> counter, long time) {
+        long currentEpoch = Math.floorDiv(time, SLICE_DURATION);
+        double weightedCount = 0;
+        double weightedDuration = 0;
+        for (int i = 0; i < SLICES; ++i) {
+            long epoch = currentEpoch - i;
+            long start = Math.max(epoch * SLICE_DURATION, this.created);
+            long end = Math.min((epoch + 1) * SLICE_DURATION, time);
+            // Skip empty periods, e.g. prior to creation
+            if (end <= start) continue;
+            double weight = weight(i);
+            Slice slice = this.slices.get(index(epoch));
+            // A missing or obsolete slice indicates an idle period
+            if ((slice != null) && (slice.epoch == epoch)) {
+                weightedCount += weight * counter.apply(slice).sum();
+            }
+            weightedDuration += weight * (end - start);
+        }
+        return (weightedDuration > 0) ? weightedCount * TimeUnit.SECONDS.toNanos(1) / weightedDuration : 0;
+    }
+
+    /**
+     * Returns the exponentially weighted request latency at the specified percentile.
+     * @param percentile a percentile, greater than 0 and less than or equal to 100
+     * @return a latency in milliseconds, or 0, if no requests completed within the last minute
+     */
+    public double getRequestLatency(double percentile) {
+        return this.getRequestLatency(percentile, System.nanoTime());
+    }
+
+    double getRequestLatency(double percentile, long time) {
+        long currentEpoch = Math.floorDiv(time, SLICE_DURATION);
+        double[] weightedCounts = new double[LatencyHistogram.BUCKETS];
+        long[] counts = new long[LatencyHistogram.BUCKETS];
+        double total = 0;
+        for (int i = 0; i < SLICES; ++i) {
+            long epoch = currentEpoch - i;
+            Slice slice = this.slices.get(index(epoch));
+            if ((slice != null) && (slice.epoch == epoch)) {
+                double weight = weight(i);
+                Arrays.fill(counts, 0L);
+                slice.latencies.accumulateInto(counts);
+                for (int bucket = 0; bucket < LatencyHistogram.BUCKETS; ++bucket) {
+                    if (counts[bucket] > 0) {
+                        weightedCounts[bucket] += weight * counts[bucket];
+                        total += weight * counts[bucket];
+                    }
+                }
+            }
+        }
+        if (total == 0) return 0;
+        double threshold = total * percentile / 100;
+        double cumulative = 0;
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKETS; ++bucket) {
+            cumulative += weightedCounts[bucket];
+            if (cumulative >= threshold) {
+                return latency(bucket);
+            }
+        }
+        return latency(LatencyHistogram.BUCKETS - 1);
+    }
+
+    private Slice slice(long time) {
+        long epoch = Math.floorDiv(time, SLICE_DURATION);
+        int index = index(epoch);
+        Slice slice = this.slices.get(index);
+        // Replace obsolete slice, retrying if replaced concurrently
+        while ((slice == null) || (slice.epoch < epoch)) {
+            Slice newSlice = new Slice(epoch);
+            if (this.slices.compareAndSet(index, slice, newSlice)) {
+                return newSlice;
+            }
+            slice = this.slices.get(index);
+        }
+        return slice;
+    }
+
+    private static int index(long epoch) {
+        return (int) Math.floorMod(epoch, (long) SLICES);
+    }
+
+    private static double weight(int age) {
+        return Math.exp(-age * SLICE_DURATION / DECAY_PERIOD);
+    }
+
+    /**
+     * Returns the highest latency of the specified histogram bucket in milliseconds.
+     */
+    private static double latency(int bucket) {
+        return LatencyHistogram.highestValue(bucket) / 1000d;
+    }
+
+    private static class Slice {
+        final long epoch;
+        final LongAdder requests = new LongAdder();
+        final LongAdder bytesSent = new LongAdder();
+        final LongAdder bytesReceived = new LongAdder();
+        final LatencyHistogram latencies = new LatencyHistogram();
+
+        Slice(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Registry of the {@link RequestStatistics} of each web deployment, keyed by the name of its Undertow deployment.
+ * The statistics of a listener are aggregated over the per-listener statistics of each registered deployment.
+ * On removal of a deployment, its per-listener totals are retained, so that the cumulative counts of a listener never decrease.
+ */
+public class RequestStatisticsRegistry {
+
+    public static final RequestStatisticsRegistry INSTANCE = new RequestStatisticsRegistry();
+
+    private final Map<String, RequestStatistics> deployments = new ConcurrentHashMap<>();
+    // Cumulative totals of removed deployments, per listener port
+    private final Map<Integer, RequestStatistics> removed = new HashMap<>();
+
+    /**
+     * Registers the statistics of the specified deployment.
+     * @param deploymentName the name of an Undertow deployment
+     * @param statistics the statistics of the deployment
+     */
+    public synchronized void add(String deploymentName, RequestStatistics statistics) {
+        this.deployments.put(deploymentName, statistics);
+    }
+
+    /**
+     * Unregisters the specified statistics, retaining the cumulative totals of each listener.
+     * @param statistics the statistics of a deployment
+     */
+    public synchronized void remove(RequestStatistics statistics) {
+        if (this.deployments.values().remove(statistics)) {
+            for (Map.Entry<Integer, RequestStatistics> entry : statistics.getListenerStatistics().entrySet()) {
+                this.removed.computeIfAbsent(entry.getKey(), key -> new RequestStatistics()).accumulate(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of the specified deployment.
+     * @param deploymentName the name of an Undertow deployment
+     * @return the statistics of the deployment, or null, if none were registered
+     */
+    public RequestStatistics get(String deploymentName) {
+        return this.deployments.get(deploymentName);
+    }
+
+    /**
+     * Sums the specified statistic of the listener with the specified port, over all deployments, including removed deployments.
+     * @param port the port of a listener
+     * @param statistic a statistic
+     * @return the sum of the statistic
+     */
+    public synchronized long sum(int port, ToLongFunction<RequestStatistics> statistic) {
+        long result = 0;
+        for (RequestStatistics statistics : this.deployments.values()) {
+            RequestStatistics listenerStatistics = statistics.getListenerStatistics(port);
+            if (listenerStatistics != null) {
+                result += statistic.applyAsLong(listenerStatistics);
+            }
+        }
+        RequestStatistics removedStatistics = this.removed.get(port);
+        if (removedStatistics != null) {
+            result += statistic.applyAsLong(removedStatistics);
+        }
+        return result;
+    }
+
+    /**
+     * Sums the specified rate of the listener with the specified port, over all registered deployments.
+     * @param port the port of a listener
+     * @param rate a rate
+     * @return the sum of the rate
+     */
+    public double sumRate(int port, ToDoubleFunction<RequestStatistics> rate) {
+        double result = 0;
+        for (RequestStatistics statistics : this.deployments.values()) {
+            RequestStatistics listenerStatistics = statistics.getListenerStatistics(port);
+            if (listenerStatistics != null) {
+                result += rate.applyAsDouble(listenerStatistics);
+            }
+        }
+        return result;
+    }
+}
@@ -22,27 +22,25 @@
 
 package org.wildfly.mod_cluster.undertow.metric;
 
-import java.util.concurrent.atomic.LongAdder;
-
 import io.undertow.server.ExchangeCompletionListener;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 
 /**
- * {@link HttpHandler} implementation that counts number of active / running requests to replace the busyness
- * metric.
+ * {@link HttpHandler} implementation that counts number of active / running requests per deployment and per listener to
+ * replace the busyness metric.
  *
  * @author Radoslav Husar
  * @since 8.0
  */
 public class RunningRequestsHttpHandler implements HttpHandler {
 
-    private static final LongAdder runningCount = new LongAdder();
-
     private final HttpHandler wrappedHandler;
+    private final RequestStatistics statistics;
 
-    public RunningRequestsHttpHandler(final HttpHandler handler) {
+    public RunningRequestsHttpHandler(final HttpHandler handler, RequestStatistics statistics) {
         this.wrappedHandler = handler;
+        this.statistics = statistics;
     }
 
     /**
@@ -50,12 +48,15 @@ public class RunningRequestsHttpHandler implements HttpHandler {
      */
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
-        runningCount.increment();
+        RequestStatistics listenerStatistics = this.statistics.forListener(exchange);
+        this.statistics.requestRunning();
+        listenerStatistics.requestRunning();
 
         exchange.addExchangeCompleteListener(new ExchangeCompletionListener() {
             @Override
             public void exchangeEvent(HttpServerExchange exchange, NextListener nextListener) {
-                runningCount.decrement();
+                RunningRequestsHttpHandler.this.statistics.requestCompleted();
+                listenerStatistics.requestCompleted();
 
                 // Proceed to next listener must be called!
                 nextListener.proceed();
@@ -64,9 +65,4 @@ public class RunningRequestsHttpHandler implements HttpHandler {
 
         wrappedHandler.handleRequest(exchange);
     }
-
-    public static int getRunningRequestCount() {
-        return runningCount.intValue();
-    }
-
 }
@@ -21,6 +21,7 @@
  */
 package org.wildfly.mod_cluster.undertow;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -41,6 +42,8 @@ import org.wildfly.extension.undertow.Constants;
 import org.wildfly.extension.undertow.HttpListenerService;
 import org.wildfly.extension.undertow.HttpsListenerService;
 import org.wildfly.extension.undertow.ListenerService;
+import org.wildfly.mod_cluster.undertow.metric.RequestStatistics;
+import org.wildfly.mod_cluster.undertow.metric.RequestStatisticsRegistry;
 import org.xnio.OptionMap;
 
 public class UndertowConnectorTestCase {
@@ -89,4 +92,39 @@ public class UndertowConnectorTestCase {
 
         verifyZeroInteractions(this.listener);
     }
+
+    @Test
+    public void getStatistics() throws UnknownHostException {
+        int port = 8080;
+        NetworkInterfaceBinding interfaceBinding = new NetworkInterfaceBinding(Collections.emptySet(), InetAddress.getLocalHost());
+        SocketBindingManager bindingManager = mock(SocketBindingManager.class);
+        SocketBinding binding = new SocketBinding("socket", port, true, null, 0, interfaceBinding, bindingManager, Collections.emptyList());
+        RequestStatisticsRegistry registry = new RequestStatisticsRegistry();
+        RequestStatistics statistics1 = mock(RequestStatistics.class);
+        RequestStatistics statistics2 = mock(RequestStatistics.class);
+        RequestStatistics listenerStatistics1 = mock(RequestStatistics.class);
+
+        when(this.listener.getSocketBinding()).thenReturn(binding);
+        registry.add("deployment1", statistics1);
+        registry.add("deployment2", statistics2);
+        when(statistics1.getListenerStatistics(port)).thenReturn(listenerStatistics1);
+        // Deployment that has not yet serviced requests from this listener
+        when(statistics2.getListenerStatistics(port)).thenReturn(null);
+        when(listenerStatistics1.getRequestCount()).thenReturn(10L);
+        when(listenerStatistics1.getRunningRequestCount()).thenReturn(2);
+        when(listenerStatistics1.getBytesSent()).thenReturn(100L);
+        when(listenerStatistics1.getBytesReceived()).thenReturn(50L);
+        when(listenerStatistics1.getRequestRate()).thenReturn(1.5);
+        when(listenerStatistics1.getBytesSentRate()).thenReturn(15d);
+        when(listenerStatistics1.getBytesReceivedRate()).thenReturn(7.5);
+
+        UndertowConnector connector = new UndertowConnector(this.listener, registry);
+        assertEquals(10L, connector.getRequestCount());
+        assertEquals(2, connector.getBusyThreads());
+        assertEquals(100L, connector.getBytesSent());
+        assertEquals(50L, connector.getBytesReceived());
+        assertEquals(1.5, connector.getRequestRate(), 0);
+        assertEquals(15, connector.getBytesSentRate(), 0);
+        assertEquals(7.5, connector.getBytesReceivedRate(), 0);
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RequestStatisticsRegistry}.
+ */
+public class RequestStatisticsRegistryTestCase {
+
+    @Test
+    public void sum() {
+        RequestStatisticsRegistry registry = new RequestStatisticsRegistry();
+        RequestStatistics statistics1 = new RequestStatistics();
+        RequestStatistics statistics2 = new RequestStatistics();
+
+        registry.add("foo.war", statistics1);
+        registry.add("bar.war", statistics2);
+
+        assertSame(statistics1, registry.get("foo.war"));
+        assertSame(statistics2, registry.get("bar.war"));
+        assertNull(registry.get("baz.war"));
+
+        record(statistics1.forListener(8080), 2, 100, 10);
+        record(statistics1.forListener(8443), 1, 50, 5);
+        record(statistics2.forListener(8080), 3, 200, 20);
+        statistics2.forListener(8080).requestRunning();
+
+        assertEquals(5, registry.sum(8080, RequestStatistics::getRequestCount));
+        assertEquals(300, registry.sum(8080, RequestStatistics::getBytesSent));
+        assertEquals(30, registry.sum(8080, RequestStatistics::getBytesReceived));
+        assertEquals(1, registry.sum(8080, RequestStatistics::getRunningRequestCount));
+        assertEquals(1, registry.sum(8443, RequestStatistics::getRequestCount));
+        assertEquals(0, registry.sum(8009, RequestStatistics::getRequestCount));
+    }
+
+    @Test
+    public void remove() {
+        RequestStatisticsRegistry registry = new RequestStatisticsRegistry();
+        RequestStatistics statistics1 = new RequestStatistics();
+        RequestStatistics statistics2 = new RequestStatistics();
+
+        registry.add("foo.war", statistics1);
+        registry.add("bar.war", statistics2);
+
+        record(statistics1.forListener(8080), 2, 100, 10);
+        record(statistics2.forListener(8080), 3, 200, 20);
+
+        registry.remove(statistics1);
+
+        assertNull(registry.get("foo.war"));
+        // Cumulative counts of a listener must not decrease on removal of a deployment
+        assertEquals(5, registry.sum(8080, RequestStatistics::getRequestCount));
+        assertEquals(300, registry.sum(8080, RequestStatistics::getBytesSent));
+        assertEquals(30, registry.sum(8080, RequestStatistics::getBytesReceived));
+
+        // Removing unregistered statistics is a no-op
+        registry.remove(statistics1);
+        assertEquals(5, registry.sum(8080, RequestStatistics::getRequestCount));
+
+        registry.remove(statistics2);
+        assertEquals(5, registry.sum(8080, RequestStatistics::getRequestCount));
+        assertEquals(0, registry.sumRate(8080, RequestStatistics::getRequestRate), 0);
+    }
+
+    private static void record(RequestStatistics statistics, int requests, long bytesSent, long bytesReceived) {
+        for (int i = 0; i < requests; ++i) {
+            statistics.requestStarted();
+        }
+        statistics.bytesSent(bytesSent);
+        statistics.bytesReceived(bytesReceived);
+    }
+}
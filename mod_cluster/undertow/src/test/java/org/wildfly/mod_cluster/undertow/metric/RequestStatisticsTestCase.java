@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link RequestStatistics}.
+ */
+public class RequestStatisticsTestCase {
+
+    private static final long START = TimeUnit.HOURS.toNanos(1);
+
+    @Test
+    public void totals() {
+        RequestStatistics statistics = new RequestStatistics(START);
+        statistics.requestStarted(START);
+        statistics.requestStarted(START);
+        statistics.requestRunning();
+        statistics.requestRunning();
+        statistics.requestCompleted();
+        statistics.bytesSent(10);
+        statistics.bytesReceived(20);
+        // End of stream
+        statistics.bytesReceived(-1);
+
+        assertEquals(2, statistics.getRequestCount());
+        assertEquals(1, statistics.getRunningRequestCount());
+        assertEquals(10, statistics.getBytesSent());
+        assertEquals(20, statistics.getBytesReceived());
+        // Listener statistics are created on demand
+        assertNull(statistics.getListenerStatistics(8080));
+    }
+
+    @Test
+    public void requestRate() {
+        RequestStatistics statistics = new RequestStatistics(START);
+        assertEquals(0, statistics.getRequestRate(START), 0);
+
+        // Steady rate of 10 requests per second for a minute
+        long time = START;
+        for (int i = 0; i < 600; ++i) {
+            time += TimeUnit.MILLISECONDS.toNanos(100);
+            statistics.requestStarted(time);
+        }
+        assertEquals(10, statistics.getRequestRate(time), 1);
+
+        // Rate decays once idle
+        double rate = statistics.getRequestRate(time + TimeUnit.SECONDS.toNanos(15));
+        assertTrue(rate < 10);
+        assertTrue(statistics.getRequestRate(time + TimeUnit.SECONDS.toNanos(30)) < rate);
+        assertEquals(0, statistics.getRequestRate(time + TimeUnit.MINUTES.toNanos(2)), 0);
+    }
+
+    @Test
+    public void trafficRate() {
+        RequestStatistics statistics = new RequestStatistics(START);
+        assertEquals(0, statistics.getBytesSentRate(START), 0);
+        assertEquals(0, statistics.getBytesReceivedRate(START), 0);
+
+        // Steady rate of 1000 bytes sent and 100 bytes received per second for a minute
+        long time = START;
+        for (int i = 0; i < 600; ++i) {
+            time += TimeUnit.MILLISECONDS.toNanos(100);
+            statistics.bytesSent(100, time);
+            statistics.bytesReceived(10, time);
+        }
+        assertEquals(1000, statistics.getBytesSentRate(time), 100);
+        assertEquals(100, statistics.getBytesReceivedRate(time), 10);
+        assertEquals(60000, statistics.getBytesSent());
+        assertEquals(6000, statistics.getBytesReceived());
+
+        assertEquals(0, statistics.getBytesSentRate(time + TimeUnit.MINUTES.toNanos(2)), 0);
+        assertEquals(0, statistics.getBytesReceivedRate(time + TimeUnit.MINUTES.toNanos(2)), 0);
+    }
+
+    @Test
+    public void requestLatency() {
+        RequestStatistics statistics = new RequestStatistics(START);
+        assertEquals(0, statistics.getRequestLatency(99, START), 0);
+
+        long time = START;
+        for (int i = 0; i < 100; ++i) {
+            time += TimeUnit.MILLISECONDS.toNanos(100);
+            // 1 in 10 requests are slow
+            statistics.recordLatency(TimeUnit.MILLISECONDS.toNanos((i % 10 == 0) ? 1000 : 10), time);
+        }
+        assertEquals(10, statistics.getRequestLatency(50, time), 2.5);
+        assertEquals(1000, statistics.getRequestLatency(99, time), 250);
+
+        // Recent slow requests outweigh older fast requests
+        time += RequestStatistics.SLICE_DURATION * 4;
+        for (int i = 0; i < 100; ++i) {
+            statistics.recordLatency(TimeUnit.MILLISECONDS.toNanos(1000), time);
+        }
+        assertEquals(1000, statistics.getRequestLatency(50, time), 250);
+
+        // Latencies expire after a minute
+        assertEquals(0, statistics.getRequestLatency(99, time + TimeUnit.MINUTES.toNanos(2)), 0);
+    }
+}
@@ -22,10 +22,10 @@
 
 package org.wildfly.extension.undertow;
 
+import static org.jboss.as.controller.client.helpers.MeasurementUnit.MICROSECONDS;
 import static org.jboss.as.controller.client.helpers.MeasurementUnit.MILLISECONDS;
 import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
 
-import io.undertow.server.handlers.MetricsHandler;
 import io.undertow.servlet.api.DeploymentInfo;
 import io.undertow.servlet.api.ServletInfo;
 import org.jboss.as.controller.OperationContext;
@@ -40,9 +40,14 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.Services;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.wildfly.extension.undertow.deployment.ServletMetrics;
+import org.wildfly.extension.undertow.deployment.UndertowAttachments;
 import org.wildfly.extension.undertow.deployment.UndertowDeploymentService;
 import org.wildfly.extension.undertow.deployment.UndertowMetricsCollector;
 
@@ -76,6 +81,16 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
             .setFlags(COUNTER_METRIC)
             .setStorageRuntime()
             .build();
+    static final SimpleAttributeDefinition REQUEST_TIME_P50 = createRequestTimePercentile("request-time-p50");
+    static final SimpleAttributeDefinition REQUEST_TIME_P99 = createRequestTimePercentile("request-time-p99");
+    static final SimpleAttributeDefinition REQUEST_TIME_P999 = createRequestTimePercentile("request-time-p999");
+    static final SimpleAttributeDefinition[] RESPONSE_COUNTS = new SimpleAttributeDefinition[] {
+            createResponseCount(1),
+            createResponseCount(2),
+            createResponseCount(3),
+            createResponseCount(4),
+            createResponseCount(5),
+    };
     static final SimpleListAttributeDefinition SERVLET_MAPPINGS = new SimpleListAttributeDefinition.Builder("mappings", new SimpleAttributeDefinitionBuilder("mapping", ModelType.STRING).setRequired(false).build())
             .setRequired(false)
             .setStorageRuntime()
@@ -93,28 +108,40 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
         registration.registerReadOnlyAttribute(SERVLET_CLASS, null);
         registration.registerMetric(MAX_REQUEST_TIME, new AbstractMetricsHandler() {
             @Override
-            void handle(final ModelNode response, final MetricsHandler.MetricResult metricResult) {
-                response.set((long) metricResult.getMaxRequestTime());
+            void handle(final ModelNode response, final ServletMetrics metrics) {
+                response.set(metrics.getMaxRequestTime());
             }
         });
         registration.registerMetric(MIN_REQUEST_TIME, new AbstractMetricsHandler() {
             @Override
-            void handle(final ModelNode response, final MetricsHandler.MetricResult metricResult) {
-                response.set((long) metricResult.getMinRequestTime());
+            void handle(final ModelNode response, final ServletMetrics metrics) {
+                response.set(metrics.getMinRequestTime());
             }
         });
         registration.registerMetric(TOTAL_REQUEST_TIME, new AbstractMetricsHandler() {
             @Override
-            void handle(final ModelNode response, final MetricsHandler.MetricResult metricResult) {
-                response.set(metricResult.getTotalRequestTime());
+            void handle(final ModelNode response, final ServletMetrics metrics) {
+                response.set(metrics.getTotalRequestTime());
             }
         });
         registration.registerMetric(REQUEST_COUNT, new AbstractMetricsHandler() {
             @Override
-            void handle(final ModelNode response, final MetricsHandler.MetricResult metricResult) {
-                response.set(metricResult.getTotalRequests());
+            void handle(final ModelNode response, final ServletMetrics metrics) {
+                response.set(metrics.getRequestCount());
             }
         });
+        registration.registerMetric(REQUEST_TIME_P50, new RequestTimePercentileMetricsHandler(0.5));
+        registration.registerMetric(REQUEST_TIME_P99, new RequestTimePercentileMetricsHandler(0.99));
+        registration.registerMetric(REQUEST_TIME_P999, new RequestTimePercentileMetricsHandler(0.999));
+        for (int i = 0; i < RESPONSE_COUNTS.length; ++i) {
+            int statusClass = i + 1;
+            registration.registerMetric(RESPONSE_COUNTS[i], new AbstractMetricsHandler() {
+                @Override
+                void handle(final ModelNode response, final ServletMetrics metrics) {
+                    response.set(metrics.getResponseCount(statusClass));
+                }
+            });
+        }
         registration.registerReadOnlyAttribute(SERVLET_MAPPINGS, new OperationStepHandler() {
             @Override
             public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -149,36 +176,62 @@ public class DeploymentServletDefinition extends SimpleResourceDefinition {
         });
     }
 
+    private static SimpleAttributeDefinition createRequestTimePercentile(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(MICROSECONDS)
+                .setStorageRuntime()
+                .build();
+    }
+
+    private static SimpleAttributeDefinition createResponseCount(int statusClass) {
+        return new SimpleAttributeDefinitionBuilder("response-count-" + statusClass + "xx", ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setFlags(COUNTER_METRIC)
+                .setStorageRuntime()
+                .build();
+    }
+
+    static class RequestTimePercentileMetricsHandler extends AbstractMetricsHandler {
+        private final double percentile;
+
+        RequestTimePercentileMetricsHandler(double percentile) {
+            this.percentile = percentile;
+        }
+
+        @Override
+        void handle(final ModelNode response, final ServletMetrics metrics) {
+            response.set(metrics.getRequestTimePercentile(this.percentile));
+        }
+    }
+
     abstract static class AbstractMetricsHandler implements OperationStepHandler {
 
-        abstract void handle(ModelNode response, MetricsHandler.MetricResult metricResult);
+        abstract void handle(ModelNode response, ServletMetrics metrics);
 
         @Override
         public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
             final PathAddress address = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.OP_ADDR));
 
-            final Resource web = context.readResourceFromRoot(address.subAddress(0, address.size() - 1), false);
-            final ModelNode subModel = web.getModel();
-
-            final String host = DeploymentDefinition.VIRTUAL_HOST.resolveModelAttribute(context, subModel).asString();
-            final String path = DeploymentDefinition.CONTEXT_ROOT.resolveModelAttribute(context, subModel).asString();
-            final String server = DeploymentDefinition.SERVER.resolveModelAttribute(context, subModel).asString();
+            // Metrics are collected by the deployment unit of the (sub)deployment
+            final String deploymentName = context.readResourceFromRoot(address.subAddress(0, 1), false).getModel().get(ModelDescriptionConstants.RUNTIME_NAME).asString();
+            final PathElement element = address.getElement(1);
+            final ServiceName deploymentUnitServiceName = element.getKey().equals(ModelDescriptionConstants.SUBDEPLOYMENT) ? Services.deploymentUnitName(deploymentName, element.getValue()) : Services.deploymentUnitName(deploymentName);
 
             context.addStep(new OperationStepHandler() {
                 @Override
                 public void execute(final OperationContext context, final ModelNode operation) {
-                    final ServiceController<?> deploymentServiceController = context.getServiceRegistry(false).getService(UndertowService.deploymentServiceName(server, host, path));
-                    if (deploymentServiceController == null || deploymentServiceController.getState() != ServiceController.State.UP) {
+                    final ServiceController<?> deploymentUnitController = context.getServiceRegistry(false).getService(deploymentUnitServiceName);
+                    if (deploymentUnitController == null || deploymentUnitController.getState() != ServiceController.State.UP) {
                         return;
                     }
-                    final UndertowDeploymentService deploymentService = (UndertowDeploymentService) deploymentServiceController.getService();
-                    final DeploymentInfo deploymentInfo = deploymentService.getDeploymentInfo();
-                    final UndertowMetricsCollector collector = (UndertowMetricsCollector)deploymentInfo.getMetricsCollector();
+                    final DeploymentUnit deploymentUnit = (DeploymentUnit) deploymentUnitController.getValue();
+                    final UndertowMetricsCollector collector = deploymentUnit.getAttachment(UndertowAttachments.METRICS_COLLECTOR);
 
-                    MetricsHandler.MetricResult result = collector != null ? collector.getMetrics(context.getCurrentAddressValue()) : null;
-                    if (result != null) {
+                    ServletMetrics metrics = collector != null ? collector.getMetrics(context.getCurrentAddressValue()) : null;
+                    if (metrics != null) {
                         final ModelNode response = new ModelNode();
-                        handle(response, result);
+                        handle(response, metrics);
                         context.getResult().set(response);
                     }
                 }
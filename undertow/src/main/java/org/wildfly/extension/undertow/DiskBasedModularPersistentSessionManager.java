@@ -91,6 +91,10 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
     }
 
 
+    File getBaseDir() {
+        return baseDir;
+    }
+
     @Override
     protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException {
         File file = new File(baseDir, deploymentName);
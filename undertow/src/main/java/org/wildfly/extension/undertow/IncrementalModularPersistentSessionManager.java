@@ -0,0 +1,440 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow;
+
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.session.Session;
+import io.undertow.server.session.SessionListener;
+import io.undertow.servlet.UndertowServletLogger;
+import io.undertow.servlet.api.SessionPersistenceManager;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Persistent session manager that incrementally stores the sessions of each deployment to a {@link SessionJournal} on disk.
+ * <p/>
+ * Sessions are tracked via a {@link SessionListener} registered with each deployment.
+ * A background task periodically writes those sessions that were either modified or accessed since they were last written,
+ * so that stopping a deployment only needs to write those sessions that changed since the last such flush.
+ * On start, only the identifier and expiration time of each session are read from the journal,
+ * while the attributes of a session are only read and deserialized upon the first request for that session.
+ */
+public class IncrementalModularPersistentSessionManager extends DiskBasedModularPersistentSessionManager {
+
+    private static final long FLUSH_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+    private static final String JOURNAL_SUFFIX = ".sessions";
+
+    private final ConcurrentMap<String, DeploymentSessions> deployments = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService executor;
+
+    IncrementalModularPersistentSessionManager(final Consumer<SessionPersistenceManager> serviceConsumer,
+                                               final Supplier<ModuleLoader> moduleLoader,
+                                               final Supplier<PathManager> pathManager,
+                                               final String path, final String pathRelativeTo) {
+        super(serviceConsumer, moduleLoader, pathManager, path, pathRelativeTo);
+    }
+
+    /**
+     * Returns a listener that tracks the sessions of the specified deployment, so that they can be persisted incrementally.
+     * @param deploymentName the name of a deployment
+     * @return a session listener
+     */
+    public SessionListener getSessionListener(String deploymentName) {
+        return this.getDeploymentSessions(deploymentName);
+    }
+
+    @Override
+    public void persistSessions(String deploymentName, Map<String, PersistentSession> sessionData) {
+        try {
+            this.getDeploymentSessions(deploymentName).persist(sessionData);
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+        }
+    }
+
+    @Override
+    public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, final ClassLoader classLoader) {
+        try {
+            return this.getDeploymentSessions(deploymentName).load();
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+        }
+        return null;
+    }
+
+    @Override
+    public void start(final StartContext startContext) throws StartException {
+        super.start(startContext);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "undertow-persistent-sessions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+        this.executor = executor;
+    }
+
+    @Override
+    public void stop(final StopContext stopContext) {
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (DeploymentSessions deployment : this.deployments.values()) {
+            try {
+                deployment.flush();
+            } catch (Exception e) {
+                UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+            } finally {
+                deployment.close();
+            }
+        }
+        this.deployments.clear();
+        super.stop(stopContext);
+    }
+
+    private DeploymentSessions getDeploymentSessions(String deploymentName) {
+        return this.deployments.computeIfAbsent(deploymentName, DeploymentSessions::new);
+    }
+
+    private void flush() {
+        for (DeploymentSessions deployment : this.deployments.values()) {
+            try {
+                deployment.flush();
+            } catch (Exception e) {
+                UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+            }
+        }
+    }
+
+    /**
+     * Serializes the specified session attributes.
+     * @return the serialized attributes, or null, if any attribute could not be serialized
+     */
+    private byte[] writeAttributes(Marshaller marshaller, String sessionId, Map<String, Object> attributes) throws IOException {
+        Map<String, byte[]> data = new HashMap<>();
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            try {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                marshaller.start(new OutputStreamByteOutput(out));
+                marshaller.writeObject(attribute.getValue());
+                marshaller.finish();
+                data.put(attribute.getKey(), out.toByteArray());
+            } catch (Exception e) {
+                UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(attribute.getKey(), attribute.getValue(), sessionId, e);
+                // Writing the remaining attributes would overwrite the last complete record of this session
+                return null;
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(data.size());
+        for (Map.Entry<String, byte[]> entry : data.entrySet()) {
+            output.writeUTF(entry.getKey());
+            output.writeInt(entry.getValue().length);
+            output.write(entry.getValue());
+        }
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    private Map<String, Object> readAttributes(byte[] data) throws IOException, ClassNotFoundException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+        int size = input.readInt();
+        Map<String, Object> attributes = new HashMap<>();
+        Unmarshaller unmarshaller = this.createUnmarshaller();
+        try {
+            for (int i = 0; i < size; ++i) {
+                String name = input.readUTF();
+                byte[] value = new byte[input.readInt()];
+                input.readFully(value);
+                unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(value)));
+                attributes.put(name, unmarshaller.readObject());
+                unmarshaller.finish();
+            }
+        } finally {
+            unmarshaller.close();
+        }
+        return attributes;
+    }
+
+    /**
+     * Tracks the sessions of a deployment, and persists them to the journal of that deployment.
+     * The journal, along with its index, remains open across redeployments.
+     */
+    private class DeploymentSessions implements SessionListener {
+        private final String name;
+        private final ConcurrentMap<String, TrackedSession> sessions = new ConcurrentHashMap<>();
+        private final Set<String> removed = ConcurrentHashMap.newKeySet();
+        // Serializes flushes, which marshal session attributes, without blocking requests that read from the journal
+        private final Object flushLock = new Object();
+        // Guarded by the monitor of this object
+        private SessionJournal journal;
+
+        DeploymentSessions(String name) {
+            this.name = name;
+        }
+
+        synchronized SessionJournal getJournal() throws IOException {
+            if (this.journal == null) {
+                SessionJournal journal = new SessionJournal(new File(getBaseDir(), this.name + JOURNAL_SUFFIX), IncrementalModularPersistentSessionManager.this.executor);
+                journal.open();
+                this.journal = journal;
+            }
+            return this.journal;
+        }
+
+        Map<String, PersistentSession> load() throws IOException {
+            long now = System.currentTimeMillis();
+            Map<String, PersistentSession> result = new HashMap<>();
+            this.getJournal().forEach((id, expiration) -> {
+                if (expiration > now) {
+                    result.put(id, new JournaledPersistentSession(this, id, new Date(expiration)));
+                }
+            });
+            return result;
+        }
+
+        Map<String, Object> readAttributes(String id) {
+            try {
+                byte[] data = this.getJournal().read(id);
+                if (data != null) {
+                    return IncrementalModularPersistentSessionManager.this.readAttributes(data);
+                }
+            } catch (Exception e) {
+                UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+            }
+            return Collections.emptyMap();
+        }
+
+        /**
+         * Writes those sessions that were modified or accessed since they were last written, as well as any session removals.
+         */
+        void flush() throws IOException {
+            synchronized (this.flushLock) {
+                this.flushSessions();
+            }
+        }
+
+        private void flushSessions() throws IOException {
+            if (this.sessions.isEmpty() && this.removed.isEmpty()) return;
+            SessionJournal journal = this.getJournal();
+            Marshaller marshaller = createMarshaller();
+            try {
+                for (Map.Entry<String, TrackedSession> entry : this.sessions.entrySet()) {
+                    TrackedSession tracked = entry.getValue();
+                    Session session = tracked.session;
+                    long expiration = session.getLastAccessedTime() + (session.getMaxInactiveInterval() * 1000L);
+                    // Accessed sessions are written regardless of modification, since attributes may have been mutated in place
+                    if (!tracked.dirty && (expiration == tracked.expiration)) continue;
+                    // Reset before reading attributes, so that concurrent modifications are written by the next flush
+                    tracked.dirty = false;
+                    Map<String, Object> attributes = new HashMap<>();
+                    try {
+                        for (String attributeName : session.getAttributeNames()) {
+                            Object value = session.getAttribute(attributeName);
+                            if (value != null) {
+                                attributes.put(attributeName, value);
+                            }
+                        }
+                    } catch (IllegalStateException e) {
+                        // Session was invalidated concurrently
+                        continue;
+                    }
+                    byte[] data = writeAttributes(marshaller, entry.getKey(), attributes);
+                    if (data == null) {
+                        // Retry on next flush
+                        tracked.dirty = true;
+                        continue;
+                    }
+                    journal.write(entry.getKey(), expiration, data);
+                    tracked.expiration = expiration;
+                }
+            } finally {
+                marshaller.close();
+            }
+            this.remove(journal);
+            journal.force();
+        }
+
+        /**
+         * Writes the specified sessions of a stopping deployment, skipping those that were neither modified nor accessed since they were last written.
+         */
+        void persist(Map<String, PersistentSession> sessionData) throws IOException {
+            synchronized (this.flushLock) {
+                this.persistSessions(sessionData);
+            }
+        }
+
+        private void persistSessions(Map<String, PersistentSession> sessionData) throws IOException {
+            SessionJournal journal = this.getJournal();
+            Marshaller marshaller = createMarshaller();
+            try {
+                for (Map.Entry<String, PersistentSession> entry : sessionData.entrySet()) {
+                    String id = entry.getKey();
+                    long expiration = entry.getValue().getExpiration().getTime();
+                    TrackedSession tracked = this.sessions.get(id);
+                    if ((tracked != null) && !tracked.dirty && (expiration == tracked.expiration)) continue;
+                    byte[] data = writeAttributes(marshaller, id, entry.getValue().getSessionData());
+                    if (data != null) {
+                        journal.write(id, expiration, data);
+                    }
+                }
+            } finally {
+                marshaller.close();
+            }
+            this.remove(journal);
+            journal.force();
+            // Remaining sessions are about to be destroyed on undeploy
+            this.sessions.clear();
+        }
+
+        private void remove(SessionJournal journal) throws IOException {
+            Iterator<String> ids = this.removed.iterator();
+            while (ids.hasNext()) {
+                String id = ids.next();
+                ids.remove();
+                journal.remove(id);
+            }
+        }
+
+        synchronized void close() {
+            if (this.journal != null) {
+                try {
+                    this.journal.close();
+                } catch (IOException e) {
+                    UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+                }
+                this.journal = null;
+            }
+        }
+
+        @Override
+        public void sessionCreated(Session session, HttpServerExchange exchange) {
+            this.sessions.put(session.getId(), new TrackedSession(session));
+        }
+
+        @Override
+        public void sessionDestroyed(Session session, HttpServerExchange exchange, SessionDestroyedReason reason) {
+            this.sessions.remove(session.getId());
+            // Sessions destroyed on undeploy were already persisted
+            if (reason != SessionDestroyedReason.UNDEPLOY) {
+                this.removed.add(session.getId());
+            }
+        }
+
+        @Override
+        public void attributeAdded(Session session, String name, Object value) {
+            this.modified(session);
+        }
+
+        @Override
+        public void attributeUpdated(Session session, String name, Object newValue, Object oldValue) {
+            this.modified(session);
+        }
+
+        @Override
+        public void attributeRemoved(Session session, String name, Object oldValue) {
+            this.modified(session);
+        }
+
+        @Override
+        public void sessionIdChanged(Session session, String oldSessionId) {
+            this.sessions.remove(oldSessionId);
+            this.removed.add(oldSessionId);
+            this.sessions.put(session.getId(), new TrackedSession(session));
+        }
+
+        private void modified(Session session) {
+            TrackedSession tracked = this.sessions.get(session.getId());
+            if (tracked != null) {
+                tracked.dirty = true;
+            }
+        }
+    }
+
+    private static class TrackedSession {
+        final Session session;
+        // Expiration time of the last record written for this session, or 0 if none was written yet
+        volatile long expiration = 0;
+        volatile boolean dirty = false;
+
+        TrackedSession(Session session) {
+            this.session = session;
+        }
+    }
+
+    /**
+     * A persistent session whose attributes are read from the journal upon first access.
+     */
+    private static class JournaledPersistentSession extends PersistentSession {
+        private final DeploymentSessions deployment;
+        private final String id;
+        private Map<String, Object> attributes;
+
+        JournaledPersistentSession(DeploymentSessions deployment, String id, Date expiration) {
+            super(expiration, null);
+            this.deployment = deployment;
+            this.id = id;
+        }
+
+        @Override
+        public synchronized Map<String, Object> getSessionData() {
+            if (this.attributes == null) {
+                this.attributes = this.deployment.readAttributes(this.id);
+            }
+            return this.attributes;
+        }
+    }
+}
@@ -70,9 +70,18 @@ class PersistentSessionsDefinition extends PersistentResourceDefinition {
                     .setAllowExpression(true)
                     .build();
 
+    protected static final SimpleAttributeDefinition INCREMENTAL =
+            new SimpleAttributeDefinitionBuilder(Constants.INCREMENTAL, ModelType.BOOLEAN, true)
+                    .setRestartAllServices()
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .setRequires(Constants.PATH)
+                    .build();
+
     protected static final SimpleAttributeDefinition[] ATTRIBUTES = {
             PATH,
-            RELATIVE_TO
+            RELATIVE_TO,
+            INCREMENTAL
     };
     static final Map<String, AttributeDefinition> ATTRIBUTES_MAP = new HashMap<>();
 
@@ -135,7 +144,11 @@ class PersistentSessionsDefinition extends PersistentResourceDefinition {
                     final ModelNode relativeToValue = RELATIVE_TO.resolveModelAttribute(context, model);
                     final String relativeTo = relativeToValue.isDefined() ? relativeToValue.asString() : null;
                     final Supplier<PathManager> pmSupplier = sb.requires(PathManagerService.SERVICE_NAME);
-                    sb.setInstance(new DiskBasedModularPersistentSessionManager(sConsumer, mlSupplier, pmSupplier, path, relativeTo));
+                    if (INCREMENTAL.resolveModelAttribute(context, model).asBoolean()) {
+                        sb.setInstance(new IncrementalModularPersistentSessionManager(sConsumer, mlSupplier, pmSupplier, path, relativeTo));
+                    } else {
+                        sb.setInstance(new DiskBasedModularPersistentSessionManager(sConsumer, mlSupplier, pmSupplier, path, relativeTo));
+                    }
                 } else {
                     sb.setInstance(new InMemoryModularPersistentSessionManager(sConsumer, mlSupplier));
                 }
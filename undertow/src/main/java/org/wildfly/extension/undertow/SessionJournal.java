@@ -0,0 +1,486 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow;
+
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Segmented, append-only journal of the persistent sessions of a single deployment.
+ * <p/>
+ * Each record either contains the expiration time and serialized attributes of a session, or marks a session as removed.
+ * Records are appended to the last segment, which is rolled over once it reaches its maximum size.
+ * The location and expiration time of the most recent record of each session is tracked by an in-memory index,
+ * which is rebuilt on {@link #open()} by scanning the record headers of each segment, without reading any session attributes.
+ * Once obsolete records make up more than half of the rolled over segments, the oldest segments are compacted in the background
+ * by copying their live, unexpired records to the last segment.
+ * Compaction reads those records without holding the monitor of this journal, so that it does not block concurrent reads and writes.
+ */
+class SessionJournal implements Closeable {
+
+    static final long DEFAULT_SEGMENT_SIZE = 16L << 20;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    // Record header consists of the length of the record body, and its checksum
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private final File directory;
+    private final long segmentSize;
+    private final Executor compactor;
+    private final Map<String, Location> index = new HashMap<>();
+    // Ordered from oldest to newest, the last of which is the current segment
+    private final LinkedList<Segment> segments = new LinkedList<>();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private boolean opened = false;
+    // Also read by compaction without holding the monitor of this journal
+    private volatile boolean closed = false;
+
+    SessionJournal(File directory, Executor compactor) {
+        this(directory, DEFAULT_SEGMENT_SIZE, compactor);
+    }
+
+    SessionJournal(File directory, long segmentSize, Executor compactor) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.compactor = compactor;
+    }
+
+    /**
+     * Opens this journal, rebuilding its index from any existing segments.
+     * @throws IOException if the existing segments could not be read
+     */
+    synchronized void open() throws IOException {
+        Files.createDirectories(this.directory.toPath());
+        List<Long> ids = new ArrayList<>();
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        ids.add(Long.parseUnsignedLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()), 16));
+                    } catch (NumberFormatException e) {
+                        // Not a segment
+                    }
+                }
+            }
+        }
+        Collections.sort(ids);
+        for (int i = 0; i < ids.size(); ++i) {
+            Segment segment = this.openSegment(ids.get(i));
+            this.segments.addLast(segment);
+            this.load(segment, i == ids.size() - 1);
+        }
+        if (this.segments.isEmpty()) {
+            this.segments.addLast(this.openSegment(0));
+        }
+        this.opened = true;
+        this.scheduleCompaction();
+    }
+
+    /**
+     * Passes the identifier and expiration time of each session in this journal to the specified consumer.
+     * @param consumer a consumer of a session identifier and its expiration time
+     */
+    synchronized void forEach(ObjLongConsumer<String> consumer) {
+        for (Map.Entry<String, Location> entry : this.index.entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue().expiration);
+        }
+    }
+
+    /**
+     * Returns the serialized attributes of the specified session.
+     * @param id a session identifier
+     * @return the serialized session attributes, or null, if this journal does not contain the specified session
+     * @throws IOException if the session could not be read
+     */
+    synchronized byte[] read(String id) throws IOException {
+        Location location = this.index.get(id);
+        return (location != null) ? this.readPayload(location) : null;
+    }
+
+    /**
+     * Appends the serialized attributes of the specified session.
+     * Appended records are not guaranteed to be durable until the next {@link #force()}.
+     * @param id a session identifier
+     * @param expiration the expiration time of the session
+     * @param attributes the serialized session attributes
+     * @throws IOException if the record could not be written
+     */
+    synchronized void write(String id, long expiration, byte[] attributes) throws IOException {
+        this.append(PUT, id, expiration, attributes);
+    }
+
+    /**
+     * Marks the specified session as removed.
+     * @param id a session identifier
+     * @throws IOException if the record could not be written
+     */
+    synchronized void remove(String id) throws IOException {
+        if (this.index.containsKey(id)) {
+            this.append(REMOVE, id, 0L, null);
+        }
+    }
+
+    /**
+     * Forces all appended records to disk.
+     * @throws IOException if the current segment could not be forced
+     */
+    synchronized void force() throws IOException {
+        // Previous segments were already forced when rolled over
+        if (!this.closed && !this.segments.isEmpty()) {
+            this.segments.getLast().channel.force(false);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) return;
+        this.closed = true;
+        try {
+            if (!this.segments.isEmpty()) {
+                this.segments.getLast().channel.force(false);
+            }
+        } finally {
+            for (Segment segment : this.segments) {
+                segment.channel.close();
+            }
+            this.segments.clear();
+            this.index.clear();
+        }
+    }
+
+    /**
+     * Appends a record to the current segment, and updates the index accordingly.
+     * Must be called while holding the monitor of this journal.
+     */
+    private void append(byte type, String id, long expiration, byte[] payload) throws IOException {
+        if (!this.opened || this.closed) {
+            throw new IOException(this.directory.getPath());
+        }
+        ByteBuffer record = createRecord(type, id, expiration, payload);
+        int length = record.remaining();
+        Segment segment = this.segments.getLast();
+        if ((segment.size > 0) && (segment.size + length > this.segmentSize)) {
+            segment = this.roll();
+        }
+        long position = segment.size;
+        while (record.hasRemaining()) {
+            segment.channel.write(record, position + record.position());
+        }
+        segment.size += length;
+        this.index(segment, type, id, expiration, position, length);
+    }
+
+    private void index(Segment segment, byte type, String id, long expiration, long position, int length) {
+        Location previous;
+        if (type == PUT) {
+            previous = this.index.put(id, new Location(segment, position, length, expiration));
+            segment.live += length;
+        } else {
+            previous = this.index.remove(id);
+        }
+        if (previous != null) {
+            previous.segment.live -= previous.length;
+        }
+    }
+
+    /**
+     * Seals the current segment, and starts a new one.
+     * Must be called while holding the monitor of this journal.
+     */
+    private Segment roll() throws IOException {
+        Segment current = this.segments.getLast();
+        current.channel.force(false);
+        Segment segment = this.openSegment(current.id + 1);
+        this.segments.addLast(segment);
+        this.scheduleCompaction();
+        return segment;
+    }
+
+    private Segment openSegment(long id) throws IOException {
+        File file = new File(this.directory, String.format("%016x%s", id, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(id, file, channel);
+    }
+
+    /**
+     * Scans the records of the specified segment, updating the index accordingly.
+     * Only the header, session identifier, and expiration time of each record are read, while its payload is skipped.
+     * The checksum of a record is instead verified when its payload is read.
+     * An invalid record, e.g. an incomplete write, invalidates the remainder of the segment.
+     */
+    private void load(Segment segment, boolean current) throws IOException {
+        long size = segment.channel.size();
+        // Record header, type, and length of session identifier
+        ByteBuffer prefix = ByteBuffer.allocate(HEADER_SIZE + Byte.BYTES + Short.BYTES);
+        long position = 0;
+        while (position + prefix.capacity() <= size) {
+            prefix.clear();
+            if (!read(segment.channel, prefix, position)) break;
+            int length = prefix.getInt(0);
+            byte type = prefix.get(HEADER_SIZE);
+            int idLength = Short.toUnsignedInt(prefix.getShort(HEADER_SIZE + Byte.BYTES));
+            if ((type != PUT) && (type != REMOVE)) break;
+            if ((length < Byte.BYTES + Short.BYTES + idLength + Long.BYTES) || (position + HEADER_SIZE + length > size)) break;
+
+            // Session identifier is prefixed by its length, as expected by DataInput.readUTF()
+            ByteBuffer buffer = ByteBuffer.allocate(Short.BYTES + idLength + Long.BYTES);
+            buffer.putShort(prefix.getShort(HEADER_SIZE + Byte.BYTES));
+            if (!read(segment.channel, buffer, position + prefix.capacity())) break;
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+            String id;
+            try {
+                id = input.readUTF();
+            } catch (UTFDataFormatException e) {
+                break;
+            }
+            long expiration = input.readLong();
+            int recordLength = HEADER_SIZE + length;
+            this.index(segment, type, id, expiration, position, recordLength);
+            position += recordLength;
+        }
+        if (position < size) {
+            UndertowLogger.ROOT_LOGGER.invalidSessionJournalRecord(position, segment.file);
+            if (current) {
+                // Discard incomplete write, so that subsequent records are appended to the last valid record
+                segment.channel.truncate(position);
+                segment.channel.force(false);
+            }
+        }
+        segment.size = position;
+    }
+
+    /**
+     * Reads the remaining bytes of the specified buffer from the specified channel, starting at the specified position.
+     * @return false, if the end of the channel was reached, true otherwise
+     */
+    private static boolean read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) return false;
+        }
+        return true;
+    }
+
+    private byte[] readPayload(Location location) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(location.length);
+        if (!read(location.segment.channel, buffer, location.position)) {
+            throw new IOException(location.segment.file.getPath());
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), HEADER_SIZE, location.length - HEADER_SIZE);
+        if ((int) checksum.getValue() != buffer.getInt(Integer.BYTES)) {
+            throw UndertowLogger.ROOT_LOGGER.corruptSessionJournalRecord(location.position, location.segment.file);
+        }
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(buffer.array(), HEADER_SIZE, location.length - HEADER_SIZE));
+        input.readByte();
+        input.readUTF();
+        input.readLong();
+        byte[] payload = new byte[input.available()];
+        input.readFully(payload);
+        return payload;
+    }
+
+    private static ByteBuffer createRecord(byte type, String id, long expiration, byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + 64 + ((payload != null) ? payload.length : 0));
+        DataOutputStream output = new DataOutputStream(bytes);
+        // Reserve space for header
+        output.writeLong(0L);
+        output.writeByte(type);
+        output.writeUTF(id);
+        output.writeLong(expiration);
+        if (payload != null) {
+            output.write(payload);
+        }
+        output.flush();
+        byte[] record = bytes.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(record, HEADER_SIZE, record.length - HEADER_SIZE);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putInt(0, record.length - HEADER_SIZE);
+        buffer.putInt(Integer.BYTES, (int) checksum.getValue());
+        return buffer;
+    }
+
+    /**
+     * Must be called while holding the monitor of this journal.
+     */
+    private void scheduleCompaction() {
+        if ((this.nextCompactionCandidate() != null) && this.compacting.compareAndSet(false, true)) {
+            try {
+                this.compactor.execute(this::compact);
+            } catch (RejectedExecutionException e) {
+                this.compacting.set(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the oldest segment, if obsolete records make up more than half of the sealed segments.
+     * Must be called while holding the monitor of this journal.
+     */
+    private Segment nextCompactionCandidate() {
+        if (this.closed || (this.segments.size() < 2)) return null;
+        long size = 0;
+        long live = 0;
+        for (Segment segment : this.segments.subList(0, this.segments.size() - 1)) {
+            size += segment.size;
+            live += segment.live;
+        }
+        return (size - live > size / 2) ? this.segments.getFirst() : null;
+    }
+
+    private void compact() {
+        try {
+            Segment segment = this.nextCandidate();
+            while (segment != null) {
+                this.compact(segment);
+                segment = this.nextCandidate();
+            }
+        } catch (IOException e) {
+            // Segments are closed concurrently when this journal is closed
+            if (!this.closed) {
+                UndertowLogger.ROOT_LOGGER.failedToCompactSessionJournal(this.directory, e);
+            }
+        } finally {
+            this.compacting.set(false);
+        }
+    }
+
+    private synchronized Segment nextCandidate() {
+        return this.nextCompactionCandidate();
+    }
+
+    /**
+     * Copies the unexpired live records of the specified segment to the current segment, then deletes it.
+     * Since only the oldest segment is ever compacted, any removal records it contains are no longer needed,
+     * nor are the records of any sessions that have since expired.
+     * Records are read without holding the monitor of this journal, and are only copied if they are still the most recent record of their session.
+     */
+    private void compact(Segment segment) throws IOException {
+        Map<String, Location> live = this.live(segment);
+        if (live == null) return;
+        for (Map.Entry<String, Location> entry : live.entrySet()) {
+            Location location = entry.getValue();
+            // The segment is neither written nor deleted concurrently, so its records can be read without holding the monitor
+            byte[] payload = this.readPayload(location);
+            synchronized (this) {
+                if (this.closed) return;
+                // Skip sessions that were written or removed meanwhile
+                if (this.index.get(entry.getKey()) == location) {
+                    this.append(PUT, entry.getKey(), location.expiration, payload);
+                }
+            }
+        }
+        this.delete(segment);
+    }
+
+    /**
+     * Removes the expired records of the specified segment from the index, and returns its remaining live records.
+     * @return the live records of the specified segment, or null, if this journal was closed
+     */
+    private synchronized Map<String, Location> live(Segment segment) {
+        if (this.closed) return null;
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Location>> entries = this.index.entrySet().iterator();
+        Map<String, Location> live = new HashMap<>();
+        while (entries.hasNext()) {
+            Map.Entry<String, Location> entry = entries.next();
+            Location location = entry.getValue();
+            if (location.segment == segment) {
+                if (location.expiration > now) {
+                    live.put(entry.getKey(), location);
+                } else {
+                    entries.remove();
+                    segment.live -= location.length;
+                }
+            }
+        }
+        return live;
+    }
+
+    private synchronized void delete(Segment segment) throws IOException {
+        if (this.closed) return;
+        this.segments.getLast().channel.force(false);
+        this.segments.remove(segment);
+        segment.channel.close();
+        Files.deleteIfExists(segment.file.toPath());
+    }
+
+    private static class Segment {
+        final long id;
+        final File file;
+        final FileChannel channel;
+        // Guarded by the monitor of the journal
+        long size = 0;
+        long live = 0;
+
+        Segment(long id, File file, FileChannel channel) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+        }
+    }
+
+    private static class Location {
+        final Segment segment;
+        final long position;
+        final int length;
+        final long expiration;
+
+        Location(Segment segment, long position, int length, long expiration) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.undertow.server.ExchangeCompletionListener;
+import io.undertow.server.HttpServerExchange;
+import org.jboss.as.ee.utils.LatencyHistogram;
+
+/**
+ * Request metrics of a single servlet, recorded by the inner handler of its deployment.
+ * Counters are striped, request times are recorded within a latency histogram, and responses are counted per status code class,
+ * so that recording a request never blocks, and rarely contends with concurrent requests.
+ */
+public class ServletMetrics {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder requestTime = new LongAdder();
+    private final AtomicLong minRequestTime = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxRequestTime = new AtomicLong();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    // Indexed by status code class, i.e. 1xx through 5xx
+    private final LongAdder[] responses = new LongAdder[5];
+
+    ServletMetrics() {
+        for (int i = 0; i < this.responses.length; ++i) {
+            this.responses[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the specified exchange upon its completion.
+     * @param exchange an HTTP exchange dispatched to this servlet
+     */
+    void track(HttpServerExchange exchange) {
+        if (!exchange.isComplete()) {
+            long start = System.nanoTime();
+            exchange.addExchangeCompleteListener(new ExchangeCompletionListener() {
+                @Override
+                public void exchangeEvent(HttpServerExchange exchange, NextListener nextListener) {
+                    try {
+                        ServletMetrics.this.record(System.nanoTime() - start, exchange.getStatusCode());
+                    } finally {
+                        nextListener.proceed();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Records a completed request.
+     * @param nanos the request time in nanoseconds
+     * @param statusCode the status code of the response
+     */
+    void record(long nanos, int statusCode) {
+        this.requests.increment();
+        this.requestTime.add(nanos);
+        this.histogram.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        long min = this.minRequestTime.get();
+        while ((nanos < min) && !this.minRequestTime.compareAndSet(min, nanos)) {
+            min = this.minRequestTime.get();
+        }
+        long max = this.maxRequestTime.get();
+        while ((nanos > max) && !this.maxRequestTime.compareAndSet(max, nanos)) {
+            max = this.maxRequestTime.get();
+        }
+        int statusClass = statusCode / 100;
+        if ((statusClass >= 1) && (statusClass <= this.responses.length)) {
+            this.responses[statusClass - 1].increment();
+        }
+    }
+
+    /**
+     * Returns the number of completed requests.
+     * @return a number of requests
+     */
+    public long getRequestCount() {
+        return this.requests.sum();
+    }
+
+    /**
+     * Returns the total time spent processing requests.
+     * @return a duration in milliseconds
+     */
+    public long getTotalRequestTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.requestTime.sum());
+    }
+
+    /**
+     * Returns the shortest time spent processing a request.
+     * @return a duration in milliseconds, or 0 if no requests completed
+     */
+    public long getMinRequestTime() {
+        long min = this.minRequestTime.get();
+        return (min != Long.MAX_VALUE) ? TimeUnit.NANOSECONDS.toMillis(min) : 0L;
+    }
+
+    /**
+     * Returns the longest time spent processing a request.
+     * @return a duration in milliseconds
+     */
+    public long getMaxRequestTime() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxRequestTime.get());
+    }
+
+    /**
+     * Returns the specified percentile of the time spent processing requests.
+     * @param percentile a percentile between 0 and 1, e.g. 0.99
+     * @return a duration in microseconds
+     */
+    public long getRequestTimePercentile(double percentile) {
+        return this.histogram.percentile(percentile);
+    }
+
+    /**
+     * Returns the number of responses with the specified class of status code.
+     * @param statusClass a status code class, i.e. 1 through 5 for 1xx through 5xx
+     * @return a number of responses
+     */
+    public long getResponseCount(int statusClass) {
+        return this.responses[statusClass - 1].sum();
+    }
+}
@@ -88,6 +88,9 @@ public class SharedSessionManagerDeploymentProcessor implements DeploymentUnitPr
         ServiceName managerServiceName = deploymentServiceName.append(SharedSessionManagerConfig.SHARED_SESSION_MANAGER_SERVICE_NAME);
         ServiceName codecServiceName = deploymentServiceName.append(SharedSessionManagerConfig.SHARED_SESSION_IDENTIFIER_CODEC_SERVICE_NAME);
 
+        // Enabled by the metrics collectors of the web deployments sharing this session manager
+        deploymentUnit.putAttachment(UndertowAttachments.METRICS_COLLECTOR, new UndertowMetricsCollector());
+
         SessionManagementProvider provider = this.getDistributableWebDeploymentProvider(deploymentUnit, sharedConfig);
         SessionManagerFactoryConfiguration configuration = new SessionManagerFactoryConfiguration() {
             @Override
@@ -133,6 +136,7 @@ public class SharedSessionManagerDeploymentProcessor implements DeploymentUnitPr
 
     @Override
     public void undeploy(DeploymentUnit context) {
+        context.removeAttachment(UndertowAttachments.METRICS_COLLECTOR);
     }
 
     @Override
@@ -68,6 +68,8 @@ public final class UndertowAttachments {
 
     public static final AttachmentKey<String> RESOLVED_SECURITY_DOMAIN = AttachmentKey.create(String.class);
 
+    public static final AttachmentKey<UndertowMetricsCollector> METRICS_COLLECTOR = AttachmentKey.create(UndertowMetricsCollector.class);
+
     private UndertowAttachments() {
     }
 
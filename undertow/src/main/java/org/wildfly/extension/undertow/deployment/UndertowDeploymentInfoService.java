@@ -57,6 +57,7 @@ import io.undertow.servlet.api.ServletInfo;
 import io.undertow.servlet.api.ServletSecurityInfo;
 import io.undertow.servlet.api.ServletSessionConfig;
 import io.undertow.servlet.api.SessionManagerFactory;
+import io.undertow.servlet.api.SessionPersistenceManager;
 import io.undertow.servlet.api.ThreadSetupHandler;
 import io.undertow.servlet.api.WebResourceCollection;
 import io.undertow.servlet.handlers.DefaultServlet;
@@ -124,6 +125,7 @@ import org.jboss.security.config.SecurityConfiguration;
 import org.jboss.vfs.VirtualFile;
 import org.wildfly.extension.requestcontroller.ControlPoint;
 import org.wildfly.extension.undertow.Host;
+import org.wildfly.extension.undertow.IncrementalModularPersistentSessionManager;
 import org.wildfly.extension.undertow.JSPConfig;
 import org.wildfly.extension.undertow.ServletContainerService;
 import org.wildfly.extension.undertow.SessionCookieConfig;
@@ -241,6 +243,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
     private final File tempDir;
     private final List<File> externalResources;
     private final List<Predicate> allowSuspendedRequests;
+    private final UndertowMetricsCollector metricsCollector;
 
     private UndertowDeploymentInfoService(
             final Consumer<DeploymentInfo> deploymentInfoConsumer,
@@ -256,7 +259,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             final Supplier<ServerEnvironment> serverEnvironment,
             final Supplier<SecurityDomain> rawSecurityDomain,
             final Supplier<BiFunction> applySecurityFunction,
-            final JBossWebMetaData mergedMetaData, final String deploymentName, final HashMap<String, TagLibraryInfo> tldInfo, final Module module, final ScisMetaData scisMetaData, final VirtualFile deploymentRoot, final String jaccContextId, final String securityDomain, final List<ServletContextAttribute> attributes, final String contextPath, final List<SetupAction> setupActions, final Set<VirtualFile> overlays, final List<ExpressionFactoryWrapper> expressionFactoryWrappers, List<PredicatedHandler> predicatedHandlers, List<HandlerWrapper> initialHandlerChainWrappers, List<HandlerWrapper> innerHandlerChainWrappers, List<HandlerWrapper> outerHandlerChainWrappers, List<ThreadSetupHandler> threadSetupActions, boolean explodedDeployment, List<ServletExtension> servletExtensions, SharedSessionManagerConfig sharedSessionManagerConfig, WebSocketDeploymentInfo webSocketDeploymentInfo, File tempDir, List<File> externalResources, List<Predicate> allowSuspendedRequests) {
+            final JBossWebMetaData mergedMetaData, final String deploymentName, final HashMap<String, TagLibraryInfo> tldInfo, final Module module, final ScisMetaData scisMetaData, final VirtualFile deploymentRoot, final String jaccContextId, final String securityDomain, final List<ServletContextAttribute> attributes, final String contextPath, final List<SetupAction> setupActions, final Set<VirtualFile> overlays, final List<ExpressionFactoryWrapper> expressionFactoryWrappers, List<PredicatedHandler> predicatedHandlers, List<HandlerWrapper> initialHandlerChainWrappers, List<HandlerWrapper> innerHandlerChainWrappers, List<HandlerWrapper> outerHandlerChainWrappers, List<ThreadSetupHandler> threadSetupActions, boolean explodedDeployment, List<ServletExtension> servletExtensions, SharedSessionManagerConfig sharedSessionManagerConfig, WebSocketDeploymentInfo webSocketDeploymentInfo, File tempDir, List<File> externalResources, List<Predicate> allowSuspendedRequests, UndertowMetricsCollector metricsCollector) {
         this.deploymentInfoConsumer = deploymentInfoConsumer;
         this.undertowService = undertowService;
         this.sessionManagerFactory = sessionManagerFactory;
@@ -295,6 +298,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
         this.tempDir = tempDir;
         this.externalResources = externalResources;
         this.allowSuspendedRequests = allowSuspendedRequests;
+        this.metricsCollector = (metricsCollector != null) ? metricsCollector : new UndertowMetricsCollector();
     }
 
     @Override
@@ -436,7 +440,8 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             }
             deploymentInfo.setServerName(serverEnvironment.get().getProductConfig().getPrettyVersionString());
             if (undertowService.get().isStatisticsEnabled()) {
-                deploymentInfo.setMetricsCollector(new UndertowMetricsCollector());
+                // Record metrics per servlet via an inner handler, rather than via the MetricsHandler of each servlet chain
+                this.metricsCollector.enable(deploymentInfo);
             }
 
             ControlPoint controlPoint = this.controlPoint != null ? this.controlPoint.get() : null;
@@ -649,8 +654,12 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                 d.setCheckOtherSessionManagers(false);
             }
 
-            if (servletContainer.getSessionPersistenceManager() != null) {
-                d.setSessionPersistenceManager(servletContainer.getSessionPersistenceManager());
+            SessionPersistenceManager sessionPersistenceManager = servletContainer.getSessionPersistenceManager();
+            if (sessionPersistenceManager != null) {
+                d.setSessionPersistenceManager(sessionPersistenceManager);
+                if (sessionPersistenceManager instanceof IncrementalModularPersistentSessionManager) {
+                    d.addSessionListener(((IncrementalModularPersistentSessionManager) sessionPersistenceManager).getSessionListener(d.getDeploymentName()));
+                }
             }
 
             //for 2.2 apps we do not require a leading / in path mappings
@@ -1495,6 +1504,11 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             return this;
         }
 
+        public Builder setMetricsCollector(UndertowMetricsCollector metricsCollector) {
+            this.metricsCollector = metricsCollector;
+            return this;
+        }
+
         public UndertowDeploymentInfoService createUndertowDeploymentInfoService(
                 final Consumer<DeploymentInfo> deploymentInfoConsumer,
                 final Supplier<UndertowService> undertowService,
@@ -1515,7 +1529,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                     suspendController, serverEnvironment, rawSecurityDomain, applySecurityFunction, mergedMetaData, deploymentName, tldInfo, module,
                     scisMetaData, deploymentRoot, jaccContextId, securityDomain, attributes, contextPath, setupActions, overlays,
                     expressionFactoryWrappers, predicatedHandlers, initialHandlerChainWrappers, innerHandlerChainWrappers, outerHandlerChainWrappers,
-                    threadSetupActions, explodedDeployment, servletExtensions, sharedSessionManagerConfig, webSocketDeploymentInfo, tempDir, externalResources, allowSuspendedRequests);
+                    threadSetupActions, explodedDeployment, servletExtensions, sharedSessionManagerConfig, webSocketDeploymentInfo, tempDir, externalResources, allowSuspendedRequests, metricsCollector);
         }
     }
 
@@ -361,6 +361,9 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor, Fun
             }
             cpSupplier = udisBuilder.requires(ControlPointService.serviceName(topLevelName, UndertowExtension.SUBSYSTEM_NAME));
         }
+        // Statistics of a shared session manager are enabled by those of its web deployments
+        UndertowMetricsCollector metricsCollector = new UndertowMetricsCollector((sharedSessionManagerConfig != null) ? deploymentUnit.getParent().getAttachment(UndertowAttachments.METRICS_COLLECTOR) : null);
+        deploymentUnit.putAttachment(UndertowAttachments.METRICS_COLLECTOR, metricsCollector);
         if (sharedSessionManagerConfig != null) {
             final ServiceName parentSN = deploymentUnit.getParent().getServiceName();
             smfSupplier = udisBuilder.requires(parentSN.append(SharedSessionManagerConfig.SHARED_SESSION_MANAGER_SERVICE_NAME));
@@ -436,6 +439,7 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor, Fun
                 .setTempDir(warMetaData.getTempDir())
                 .setExternalResources(deploymentUnit.getAttachmentList(UndertowAttachments.EXTERNAL_RESOURCES))
                 .setAllowSuspendedRequests(deploymentUnit.getAttachmentList(UndertowAttachments.ALLOW_REQUEST_WHEN_SUSPENDED))
+                .setMetricsCollector(metricsCollector)
                 .createUndertowDeploymentInfoService(diConsumer, usSupplier, smfSupplier, sicSupplier, sdcSupplier,
                         scsSupplier, crSupplier, hostSupplier, cpSupplier, scSupplier, serverEnvSupplier, sdSupplier, bfSupplier);
         udisBuilder.setInstance(undertowDeploymentInfoService);
@@ -574,6 +578,7 @@ public class UndertowDeploymentProcessor implements DeploymentUnitProcessor, Fun
     @Override
     public void undeploy(final DeploymentUnit deploymentUnit) {
         deploymentUnit.removeAttachment(ServletContextAttribute.ATTACHMENT_KEY);
+        deploymentUnit.removeAttachment(UndertowAttachments.METRICS_COLLECTOR);
     }
 
     private static HashMap<String, TagLibraryInfo> createTldsInfo(final TldsMetaData tldsMetaData, List<TldMetaData> sharedTlds) {
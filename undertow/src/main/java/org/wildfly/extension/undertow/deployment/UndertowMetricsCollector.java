@@ -22,27 +22,97 @@
 
 package org.wildfly.extension.undertow.deployment;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import io.undertow.server.handlers.MetricsHandler;
-import io.undertow.servlet.api.MetricsCollector;
+import io.undertow.server.HandlerWrapper;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.servlet.api.DeploymentInfo;
+import io.undertow.servlet.handlers.ServletChain;
+import io.undertow.servlet.handlers.ServletRequestContext;
 
 /**
+ * Collects request metrics of the servlets of a deployment.
+ * Metrics are created on demand for a given servlet, and are safe to register and read concurrently.
+ * Once enabled, requests are recorded by an inner handler of the deployment, and are thus recorded for every servlet,
+ * including those added programmatically.
+ *
  * @author Tomaz Cerar (c) 2014 Red Hat Inc.
  */
-public class UndertowMetricsCollector implements MetricsCollector {
-    private final Map<String, MetricsHandler> metrics = new HashMap<>();
+public class UndertowMetricsCollector implements HandlerWrapper {
 
-    @Override
-    public void registerMetric(String name, MetricsHandler handler) {
-        metrics.put(name, handler);
+    private final ConcurrentMap<String, ServletMetrics> metrics = new ConcurrentHashMap<>();
+    private final UndertowMetricsCollector parent;
+    private volatile boolean enabled = false;
+
+    public UndertowMetricsCollector() {
+        this(null);
+    }
+
+    /**
+     * Creates a metrics collector whose enablement also enables the specified collector, e.g. that of the parent deployment of a shared session manager.
+     * @param parent a metrics collector, or null
+     */
+    public UndertowMetricsCollector(UndertowMetricsCollector parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Returns the metrics of the specified servlet, creating them if necessary.
+     * @param name a servlet name
+     * @return the metrics of the specified servlet
+     */
+    public ServletMetrics register(String name) {
+        ServletMetrics metrics = this.metrics.get(name);
+        return (metrics != null) ? metrics : this.metrics.computeIfAbsent(name, key -> new ServletMetrics());
+    }
+
+    /**
+     * Returns the metrics of the specified servlet, if any were registered.
+     * @param name a servlet name
+     * @return the metrics of the specified servlet, or null, if none were registered
+     */
+    public ServletMetrics getMetrics(String name) {
+        return this.metrics.get(name);
+    }
+
+    /**
+     * Enables the recording of request metrics for the servlets of the specified deployment.
+     * @param deploymentInfo a deployment
+     */
+    public void enable(DeploymentInfo deploymentInfo) {
+        deploymentInfo.addInnerHandlerChainWrapper(this);
+        this.enable();
     }
 
-    public MetricsHandler.MetricResult getMetrics(String name) {
-        if (metrics.containsKey(name)) {
-            return metrics.get(name).getMetrics();
+    private void enable() {
+        this.enabled = true;
+        if (this.parent != null) {
+            this.parent.enable();
         }
-        return null;
+    }
+
+    /**
+     * Indicates whether statistics are enabled for the deployment of this collector.
+     * @return true, if statistics are enabled, false otherwise
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @Override
+    public HttpHandler wrap(HttpHandler handler) {
+        return new HttpHandler() {
+            @Override
+            public void handleRequest(HttpServerExchange exchange) throws Exception {
+                ServletRequestContext context = exchange.getAttachment(ServletRequestContext.ATTACHMENT_KEY);
+                ServletChain chain = (context != null) ? context.getCurrentServlet() : null;
+                if (chain != null) {
+                    UndertowMetricsCollector.this.register(chain.getManagedServlet().getServletInfo().getName()).track(exchange);
+                }
+                handler.handleRequest(exchange);
+            }
+        };
     }
 }
@@ -432,4 +432,15 @@ public interface UndertowLogger extends BasicLogger {
     @LogMessage(level = INFO)
     @Message(id = 107, value = "Generated obfuscated session route '%s' from '%s'")
     void obfuscatedSessionRoute(String obfuscatedRoute, String route);
+
+    @LogMessage(level = WARN)
+    @Message(id = 108, value = "Discarding invalid session journal record at position %d of %s")
+    void invalidSessionJournalRecord(long position, File file);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 109, value = "Failed to compact session journal %s")
+    void failedToCompactSessionJournal(File directory, @Cause IOException cause);
+
+    @Message(id = 110, value = "Corrupt session journal record at position %d of %s")
+    IOException corruptSessionJournalRecord(long position, File file);
 }
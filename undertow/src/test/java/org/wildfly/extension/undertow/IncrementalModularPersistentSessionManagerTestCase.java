@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.undertow.server.session.Session;
+import io.undertow.server.session.SessionListener;
+import io.undertow.server.session.SessionListener.SessionDestroyedReason;
+import io.undertow.servlet.api.SessionPersistenceManager.PersistentSession;
+
+/**
+ * Unit test for {@link IncrementalModularPersistentSessionManager}.
+ */
+public class IncrementalModularPersistentSessionManagerTestCase {
+
+    private static final String DEPLOYMENT = "test.war";
+    private static final String PATH = "sessions";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void persist() throws IOException, StartException {
+        File directory = this.folder.newFolder();
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+
+        IncrementalModularPersistentSessionManager manager = start(directory);
+        manager.persistSessions(DEPLOYMENT, Collections.singletonMap("a", new PersistentSession(expiration, Collections.singletonMap("name", "value"))));
+        stop(manager);
+
+        manager = start(directory);
+        try {
+            Map<String, PersistentSession> sessions = manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+            Assert.assertEquals(1, sessions.size());
+            PersistentSession session = sessions.get("a");
+            Assert.assertEquals(expiration, session.getExpiration());
+            Assert.assertEquals(Collections.singletonMap("name", "value"), session.getSessionData());
+        } finally {
+            stop(manager);
+        }
+    }
+
+    @Test
+    public void flush() throws IOException, StartException {
+        File directory = this.folder.newFolder();
+
+        IncrementalModularPersistentSessionManager manager = start(directory);
+        SessionListener listener = manager.getSessionListener(DEPLOYMENT);
+        Session sessionA = mockSession("a", Collections.singletonMap("name", "a"));
+        Session sessionB = mockSession("b", Collections.singletonMap("name", "b"));
+        listener.sessionCreated(sessionA, null);
+        listener.sessionCreated(sessionB, null);
+        listener.attributeAdded(sessionA, "name", "a");
+        listener.attributeAdded(sessionB, "name", "b");
+        // Tracked sessions are flushed on stop
+        stop(manager);
+
+        manager = start(directory);
+        Map<String, PersistentSession> sessions = manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+        Assert.assertEquals(2, sessions.size());
+        Assert.assertEquals(Collections.singletonMap("name", "a"), sessions.get("a").getSessionData());
+        Assert.assertEquals(Collections.singletonMap("name", "b"), sessions.get("b").getSessionData());
+
+        listener = manager.getSessionListener(DEPLOYMENT);
+        listener.sessionCreated(sessionB, null);
+        listener.sessionDestroyed(sessionB, null, SessionDestroyedReason.INVALIDATED);
+        stop(manager);
+
+        manager = start(directory);
+        try {
+            sessions = manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+            Assert.assertEquals(1, sessions.size());
+            Assert.assertEquals(Collections.singletonMap("name", "a"), sessions.get("a").getSessionData());
+        } finally {
+            stop(manager);
+        }
+    }
+
+    @Test
+    public void unmarshallableAttribute() throws IOException, StartException {
+        File directory = this.folder.newFolder();
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+
+        IncrementalModularPersistentSessionManager manager = start(directory);
+        manager.persistSessions(DEPLOYMENT, Collections.singletonMap("a", new PersistentSession(expiration, Collections.singletonMap("name", "value"))));
+        stop(manager);
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("name", "updated");
+        attributes.put("unmarshallable", new Object());
+
+        manager = start(directory);
+        // A session with an unmarshallable attribute must not replace the last complete record of that session
+        SessionListener listener = manager.getSessionListener(DEPLOYMENT);
+        Session session = mockSession("a", attributes);
+        listener.sessionCreated(session, null);
+        listener.attributeAdded(session, "unmarshallable", attributes.get("unmarshallable"));
+        stop(manager);
+
+        manager = start(directory);
+        manager.persistSessions(DEPLOYMENT, Collections.singletonMap("a", new PersistentSession(new Date(expiration.getTime() + 1), attributes)));
+        stop(manager);
+
+        manager = start(directory);
+        try {
+            Map<String, PersistentSession> sessions = manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+            Assert.assertEquals(1, sessions.size());
+            PersistentSession result = sessions.get("a");
+            Assert.assertEquals(expiration, result.getExpiration());
+            Assert.assertEquals(Collections.singletonMap("name", "value"), result.getSessionData());
+        } finally {
+            stop(manager);
+        }
+    }
+
+    private static IncrementalModularPersistentSessionManager start(File directory) throws StartException {
+        PathManager pathManager = mock(PathManager.class);
+        when(pathManager.resolveRelativePathEntry(PATH, null)).thenReturn(directory.getPath());
+        ModuleLoader moduleLoader = mock(ModuleLoader.class);
+        IncrementalModularPersistentSessionManager manager = new IncrementalModularPersistentSessionManager(value -> { }, () -> moduleLoader, () -> pathManager, PATH, null);
+        manager.start(mock(StartContext.class));
+        return manager;
+    }
+
+    private static void stop(IncrementalModularPersistentSessionManager manager) {
+        manager.stop(mock(StopContext.class));
+    }
+
+    private static Session mockSession(String id, Map<String, Object> attributes) {
+        Session session = mock(Session.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getLastAccessedTime()).thenReturn(System.currentTimeMillis());
+        when(session.getMaxInactiveInterval()).thenReturn((int) TimeUnit.HOURS.toSeconds(1));
+        when(session.getAttributeNames()).thenReturn(attributes.keySet());
+        when(session.getAttribute(anyString())).then(invocation -> attributes.get(invocation.getArgument(0)));
+        return session;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link SessionJournal}.
+ */
+public class SessionJournalTestCase {
+
+    private static final long EXPIRATION = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void destroy() throws InterruptedException {
+        this.executor.shutdown();
+        this.executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void test() throws IOException {
+        File directory = this.folder.newFolder();
+        try (SessionJournal journal = new SessionJournal(directory, this.executor)) {
+            journal.open();
+
+            Assert.assertNull(journal.read("1"));
+            Assert.assertTrue(expirations(journal).isEmpty());
+
+            journal.write("1", EXPIRATION, bytes("one"));
+            journal.write("2", EXPIRATION, bytes("two"));
+            journal.write("1", EXPIRATION + 1, bytes("uno"));
+            journal.write("3", EXPIRATION, bytes("three"));
+            journal.remove("2");
+            journal.remove("4");
+            journal.force();
+
+            Assert.assertArrayEquals(bytes("uno"), journal.read("1"));
+            Assert.assertNull(journal.read("2"));
+            Assert.assertArrayEquals(bytes("three"), journal.read("3"));
+            Map<String, Long> expirations = expirations(journal);
+            Assert.assertEquals(2, expirations.size());
+            Assert.assertEquals(EXPIRATION + 1, expirations.get("1").longValue());
+            Assert.assertEquals(EXPIRATION, expirations.get("3").longValue());
+        }
+
+        // Verify index is rebuilt
+        try (SessionJournal journal = new SessionJournal(directory, this.executor)) {
+            journal.open();
+
+            Map<String, Long> expirations = expirations(journal);
+            Assert.assertEquals(2, expirations.size());
+            Assert.assertEquals(EXPIRATION + 1, expirations.get("1").longValue());
+            Assert.assertEquals(EXPIRATION, expirations.get("3").longValue());
+            Assert.assertArrayEquals(bytes("uno"), journal.read("1"));
+            Assert.assertArrayEquals(bytes("three"), journal.read("3"));
+        }
+    }
+
+    @Test
+    public void incompleteWrite() throws IOException {
+        File directory = this.folder.newFolder();
+        try (SessionJournal journal = new SessionJournal(directory, this.executor)) {
+            journal.open();
+            journal.write("1", EXPIRATION, bytes("one"));
+            journal.write("2", EXPIRATION, bytes("two"));
+        }
+        File[] segments = directory.listFiles();
+        Assert.assertEquals(1, segments.length);
+        // Simulate an incomplete write of the last record
+        try (RandomAccessFile file = new RandomAccessFile(segments[0], "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        try (SessionJournal journal = new SessionJournal(directory, this.executor)) {
+            journal.open();
+            Assert.assertArrayEquals(bytes("one"), journal.read("1"));
+            Assert.assertNull(journal.read("2"));
+
+            // Subsequent records must be readable
+            journal.write("3", EXPIRATION, bytes("three"));
+        }
+
+        try (SessionJournal journal = new SessionJournal(directory, this.executor)) {
+            journal.open();
+            Assert.assertEquals(2, expirations(journal).size());
+            Assert.assertArrayEquals(bytes("one"), journal.read("1"));
+            Assert.assertArrayEquals(bytes("three"), journal.read("3"));
+        }
+    }
+
+    @Test
+    public void corruptPayload() throws IOException {
+        File directory = this.folder.newFolder();
+        try (SessionJournal journal = new SessionJournal(directory, this.executor)) {
+            journal.open();
+            journal.write("1", EXPIRATION, bytes("one"));
+            journal.write("2", EXPIRATION, bytes("two"));
+        }
+        File[] segments = directory.listFiles();
+        Assert.assertEquals(1, segments.length);
+        // Corrupt the payload of the last record
+        try (RandomAccessFile file = new RandomAccessFile(segments[0], "rw")) {
+            file.seek(file.length() - 1);
+            file.write('x');
+        }
+
+        try (SessionJournal journal = new SessionJournal(directory, this.executor)) {
+            journal.open();
+            // Payloads are not verified while rebuilding the index
+            Assert.assertEquals(2, expirations(journal).size());
+            Assert.assertArrayEquals(bytes("one"), journal.read("1"));
+            try {
+                journal.read("2");
+                Assert.fail("Corrupt record should not be readable");
+            } catch (IOException e) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void compaction() throws IOException, InterruptedException {
+        File directory = this.folder.newFolder();
+        // Use tiny segments to force frequent roll over
+        try (SessionJournal journal = new SessionJournal(directory, 256, this.executor)) {
+            journal.open();
+            journal.write("static", EXPIRATION, bytes("static"));
+            journal.write("expired", System.currentTimeMillis() - 1, bytes("expired"));
+            for (int i = 0; i < 100; ++i) {
+                journal.write("active", EXPIRATION + i, bytes(Integer.toString(i)));
+            }
+            // Wait for background compaction to remove obsolete segments
+            long timeout = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((directory.listFiles().length > 4) && (System.nanoTime() < timeout)) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(directory.listFiles().length <= 4);
+
+            Map<String, Long> expirations = expirations(journal);
+            Assert.assertEquals(2, expirations.size());
+            Assert.assertArrayEquals(bytes("static"), journal.read("static"));
+            Assert.assertArrayEquals(bytes("99"), journal.read("active"));
+            Assert.assertEquals(EXPIRATION + 99, expirations.get("active").longValue());
+        }
+
+        try (SessionJournal journal = new SessionJournal(directory, 256, this.executor)) {
+            journal.open();
+            Assert.assertEquals(2, expirations(journal).size());
+            Assert.assertArrayEquals(bytes("static"), journal.read("static"));
+            Assert.assertArrayEquals(bytes("99"), journal.read("active"));
+        }
+    }
+
+    private static Map<String, Long> expirations(SessionJournal journal) {
+        Map<String, Long> expirations = new HashMap<>();
+        journal.forEach(expirations::put);
+        return expirations;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.servlet.api.DeploymentInfo;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ServletMetrics}.
+ */
+public class ServletMetricsTestCase {
+
+    @Test
+    public void empty() {
+        ServletMetrics metrics = new UndertowMetricsCollector().register("servlet");
+        Assert.assertEquals(0, metrics.getRequestCount());
+        Assert.assertEquals(0, metrics.getTotalRequestTime());
+        Assert.assertEquals(0, metrics.getMinRequestTime());
+        Assert.assertEquals(0, metrics.getMaxRequestTime());
+        Assert.assertEquals(0, metrics.getRequestTimePercentile(0.99));
+        for (int i = 1; i <= 5; ++i) {
+            Assert.assertEquals(0, metrics.getResponseCount(i));
+        }
+    }
+
+    @Test
+    public void record() {
+        UndertowMetricsCollector collector = new UndertowMetricsCollector();
+        ServletMetrics metrics = collector.register("servlet");
+        Assert.assertSame(metrics, collector.register("servlet"));
+        Assert.assertSame(metrics, collector.getMetrics("servlet"));
+        Assert.assertNull(collector.getMetrics("other"));
+
+        for (int i = 1; i <= 100; ++i) {
+            metrics.record(TimeUnit.MILLISECONDS.toNanos(i), (i <= 90) ? 200 : 500);
+        }
+        metrics.record(TimeUnit.MILLISECONDS.toNanos(1), 404);
+
+        Assert.assertEquals(101, metrics.getRequestCount());
+        Assert.assertEquals(5051, metrics.getTotalRequestTime());
+        Assert.assertEquals(1, metrics.getMinRequestTime());
+        Assert.assertEquals(100, metrics.getMaxRequestTime());
+        Assert.assertEquals(0, metrics.getResponseCount(1));
+        Assert.assertEquals(90, metrics.getResponseCount(2));
+        Assert.assertEquals(0, metrics.getResponseCount(3));
+        Assert.assertEquals(1, metrics.getResponseCount(4));
+        Assert.assertEquals(10, metrics.getResponseCount(5));
+
+        // Percentiles have a relative error of at most 25%
+        assertApproximately(TimeUnit.MILLISECONDS.toMicros(50), metrics.getRequestTimePercentile(0.5));
+        assertApproximately(TimeUnit.MILLISECONDS.toMicros(99), metrics.getRequestTimePercentile(0.99));
+        assertApproximately(TimeUnit.MILLISECONDS.toMicros(100), metrics.getRequestTimePercentile(0.999));
+    }
+
+    @Test
+    public void enable() {
+        UndertowMetricsCollector parent = new UndertowMetricsCollector();
+        UndertowMetricsCollector collector = new UndertowMetricsCollector(parent);
+        Assert.assertFalse(collector.isEnabled());
+        Assert.assertFalse(parent.isEnabled());
+
+        DeploymentInfo deploymentInfo = new DeploymentInfo();
+        collector.enable(deploymentInfo);
+
+        Assert.assertTrue(collector.isEnabled());
+        Assert.assertTrue(parent.isEnabled());
+        // Metrics are recorded by an inner handler, so that programmatically added servlets are also recorded
+        Assert.assertTrue(deploymentInfo.getInnerHandlerChainWrappers().contains(collector));
+        Assert.assertTrue(deploymentInfo.getServletContextAttributes().isEmpty());
+    }
+
+    @Test
+    public void concurrent() throws InterruptedException, ExecutionException {
+        ServletMetrics metrics = new UndertowMetricsCollector().register("servlet");
+        int threads = 8;
+        int requests = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < requests; ++j) {
+                        metrics.record(TimeUnit.MICROSECONDS.toNanos(j), 200);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(threads * requests, metrics.getRequestCount());
+        Assert.assertEquals(threads * requests, metrics.getResponseCount(2));
+        Assert.assertEquals(0, metrics.getMinRequestTime());
+        Assert.assertEquals(9, metrics.getMaxRequestTime());
+    }
+
+    private static void assertApproximately(long expected, long actual) {
+        Assert.assertTrue(String.format("Expected ~%d, actual %d", expected, actual), Math.abs(actual - expected) <= expected / 4);
+    }
+}
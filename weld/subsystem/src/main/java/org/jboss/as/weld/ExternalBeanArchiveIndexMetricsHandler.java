@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.weld;
+
+import java.util.function.ToLongFunction;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.weld.deployment.processors.ExternalBeanArchiveIndexCache;
+import org.jboss.as.weld.deployment.processors.ExternalBeanArchiveIndexCache.IndexStatistics;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the indexing statistics of the {@link ExternalBeanArchiveIndexCache} service.
+ */
+class ExternalBeanArchiveIndexMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    private final ToLongFunction<IndexStatistics> metric;
+
+    ExternalBeanArchiveIndexMetricsHandler(ToLongFunction<IndexStatistics> metric) {
+        this.metric = metric;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (context.getRunningMode() == RunningMode.NORMAL) {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(ExternalBeanArchiveIndexCache.SERVICE_NAME);
+            if ((controller != null) && (controller.getState() == ServiceController.State.UP)) {
+                ExternalBeanArchiveIndexCache cache = (ExternalBeanArchiveIndexCache) controller.getService();
+                context.getResult().set(this.metric.applyAsLong(cache.getStatistics()));
+            }
+        }
+    }
+}
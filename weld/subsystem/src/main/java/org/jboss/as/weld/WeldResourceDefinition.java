@@ -25,6 +25,7 @@ import static org.jboss.as.weld.Capabilities.WELD_CAPABILITY_NAME;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.function.ToLongFunction;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PersistentResourceDefinition;
@@ -33,9 +34,12 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.RuntimePackageDependency;
+import org.jboss.as.weld.deployment.processors.ExternalBeanArchiveIndexCache.IndexStatistics;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -54,6 +58,9 @@ class WeldResourceDefinition extends PersistentResourceDefinition {
     static final String NON_PORTABLE_MODE_ATTRIBUTE_NAME = "non-portable-mode";
     static final String DEVELOPMENT_MODE_ATTRIBUTE_NAME = "development-mode";
     static final String THREAD_POOL_SIZE = "thread-pool-size";
+    static final String EXTERNAL_BEAN_ARCHIVE_INDEXES_REUSED = "external-bean-archive-indexes-reused";
+    static final String EXTERNAL_BEAN_ARCHIVE_INDEXES_BUILT = "external-bean-archive-indexes-built";
+    static final String EXTERNAL_BEAN_ARCHIVE_INDEXING_TIME = "external-bean-archive-indexing-time";
 
     static final SimpleAttributeDefinition REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE =
             new SimpleAttributeDefinitionBuilder(REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE_NAME, ModelType.BOOLEAN, true)
@@ -83,6 +90,10 @@ class WeldResourceDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    static final SimpleAttributeDefinition EXTERNAL_BEAN_ARCHIVE_INDEXES_REUSED_METRIC = createMetric(EXTERNAL_BEAN_ARCHIVE_INDEXES_REUSED, MeasurementUnit.NONE);
+    static final SimpleAttributeDefinition EXTERNAL_BEAN_ARCHIVE_INDEXES_BUILT_METRIC = createMetric(EXTERNAL_BEAN_ARCHIVE_INDEXES_BUILT, MeasurementUnit.NONE);
+    static final SimpleAttributeDefinition EXTERNAL_BEAN_ARCHIVE_INDEXING_TIME_METRIC = createMetric(EXTERNAL_BEAN_ARCHIVE_INDEXING_TIME, MeasurementUnit.MILLISECONDS);
+
     private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE, NON_PORTABLE_MODE_ATTRIBUTE, DEVELOPMENT_MODE_ATTRIBUTE, THREAD_POOL_SIZE_ATTRIBUTE };
 
     static final WeldResourceDefinition INSTANCE = new WeldResourceDefinition();
@@ -95,11 +106,33 @@ class WeldResourceDefinition extends PersistentResourceDefinition {
         );
     }
 
+    private static SimpleAttributeDefinition createMetric(String name, MeasurementUnit unit) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setMeasurementUnit(unit)
+                .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+                .setStorageRuntime()
+                .build();
+    }
+
     @Override
     public Collection<AttributeDefinition> getAttributes() {
         return Arrays.asList(ATTRIBUTES);
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        if (resourceRegistration.isRuntimeOnlyRegistrationValid()) {
+            registerMetric(resourceRegistration, EXTERNAL_BEAN_ARCHIVE_INDEXES_REUSED_METRIC, IndexStatistics::getReusedCount);
+            registerMetric(resourceRegistration, EXTERNAL_BEAN_ARCHIVE_INDEXES_BUILT_METRIC, IndexStatistics::getIndexedCount);
+            registerMetric(resourceRegistration, EXTERNAL_BEAN_ARCHIVE_INDEXING_TIME_METRIC, IndexStatistics::getIndexingTime);
+        }
+    }
+
+    private static void registerMetric(ManagementResourceRegistration resourceRegistration, AttributeDefinition metric, ToLongFunction<IndexStatistics> reader) {
+        resourceRegistration.registerMetric(metric, new ExternalBeanArchiveIndexMetricsHandler(reader));
+    }
+
     @Override
     public void registerAdditionalRuntimePackages(ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerAdditionalRuntimePackages(RuntimePackageDependency.passive("org.jboss.as.weld.ejb"),
@@ -24,6 +24,7 @@ package org.jboss.as.weld;
 
 import static org.jboss.as.weld.WeldResourceDefinition.REQUIRE_BEAN_DESCRIPTOR_ATTRIBUTE;
 
+import java.nio.file.Paths;
 import java.util.ServiceLoader;
 import java.util.function.Consumer;
 
@@ -36,6 +37,7 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.registry.Resource.NoSuchResourceException;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
+import org.jboss.as.server.ServerEnvironment;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.as.server.deployment.jbossallxml.JBossAllXmlParserRegisteringProcessor;
 import org.jboss.as.weld.deployment.CdiAnnotationProcessor;
@@ -44,6 +46,7 @@ import org.jboss.as.weld.deployment.processors.BeanDefiningAnnotationProcessor;
 import org.jboss.as.weld.deployment.processors.BeansXmlProcessor;
 import org.jboss.as.weld.deployment.processors.DevelopmentModeProcessor;
 import org.jboss.as.weld.deployment.processors.EarApplicationScopedObserverMethodProcessor;
+import org.jboss.as.weld.deployment.processors.ExternalBeanArchiveIndexCache;
 import org.jboss.as.weld.deployment.processors.ExternalBeanArchiveProcessor;
 import org.jboss.as.weld.deployment.processors.WebIntegrationProcessor;
 import org.jboss.as.weld.deployment.processors.WeldBeanManagerServiceProcessor;
@@ -85,6 +88,7 @@ class WeldSubsystemAdd extends AbstractBoottimeAddStepHandler {
         final boolean developmentMode = WeldResourceDefinition.DEVELOPMENT_MODE_ATTRIBUTE.resolveModelAttribute(context, model).asBoolean();
         final int threadPoolSize = WeldResourceDefinition.THREAD_POOL_SIZE_ATTRIBUTE.resolveModelAttribute(context, model)
                 .asInt(WeldExecutorServices.DEFAULT_BOUND);
+        final ExternalBeanArchiveIndexCache indexCache = createExternalBeanArchiveIndexCache();
 
         context.addStep(new AbstractDeploymentChainStep() {
             @Override
@@ -103,7 +107,7 @@ class WeldSubsystemAdd extends AbstractBoottimeAddStepHandler {
                 processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.POST_MODULE, Phase.POST_MODULE_WELD_WEB_INTEGRATION, new WebIntegrationProcessor());
                 processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.POST_MODULE, Phase.POST_MODULE_WELD_DEVELOPMENT_MODE, new DevelopmentModeProcessor());
                 processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.POST_MODULE, Phase.POST_MODULE_WELD_BEAN_ARCHIVE, new BeanArchiveProcessor());
-                processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.POST_MODULE, Phase.POST_MODULE_WELD_EXTERNAL_BEAN_ARCHIVE, new ExternalBeanArchiveProcessor());
+                processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.POST_MODULE, Phase.POST_MODULE_WELD_EXTERNAL_BEAN_ARCHIVE, new ExternalBeanArchiveProcessor(indexCache));
                 processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.POST_MODULE, Phase.POST_MODULE_WELD_PORTABLE_EXTENSIONS, new WeldPortableExtensionProcessor());
                 // TODO add processor priority to Phase
                 processorTarget.addDeploymentProcessor(WeldExtension.SUBSYSTEM_NAME, Phase.POST_MODULE, 0x0F10, new EarApplicationScopedObserverMethodProcessor());
@@ -129,6 +133,9 @@ class WeldSubsystemAdd extends AbstractBoottimeAddStepHandler {
         builder.setInstance(new WeldExecutorServices(executorServicesConsumer, threadPoolSize));
         builder.setInitialMode(Mode.ON_DEMAND);
         builder.install();
+
+        // Deployments do not depend on this service, as they can index their external bean archives without it
+        context.getServiceTarget().addService(ExternalBeanArchiveIndexCache.SERVICE_NAME).setInstance(indexCache).install();
     }
 
     // Synchronization objects created by iiop Jakarta Enterprise Beans beans require wrapping by JTSSychronizationWrapper to work correctly
@@ -143,4 +150,9 @@ class WeldSubsystemAdd extends AbstractBoottimeAddStepHandler {
             return false;
         }
     }
+
+    private static ExternalBeanArchiveIndexCache createExternalBeanArchiveIndexCache() {
+        String dataDir = WildFlySecurityManager.getPropertyPrivileged(ServerEnvironment.SERVER_DATA_DIR, null);
+        return new ExternalBeanArchiveIndexCache((dataDir != null) ? Paths.get(dataDir, "weld", "index") : null);
+    }
 }
@@ -0,0 +1,408 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.deployment.processors;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jboss.as.server.Services;
+import org.jboss.as.weld.logging.WeldLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+import org.jboss.msc.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Cache of the annotation indexes of external bean archives, i.e. jars of static modules that lack a META-INF/jandex.idx.
+ * Without this cache, every class of these archives would be indexed on every deployment.
+ * Indexes are keyed by a SHA-256 digest of the archive content, and are persisted within a directory, so that they can be reused across server restarts.
+ * Only the most recently used indexes are retained in memory.
+ * Persisted indexes not used for {@value #RETENTION_DAYS} days, e.g. of archives no longer installed, are deleted when the cache is created.
+ * Archives not yet indexed are indexed concurrently, by threads that only exist while this service is started.
+ */
+public class ExternalBeanArchiveIndexCache implements Service {
+
+    public static final ServiceName SERVICE_NAME = Services.JBOSS_AS.append("weld", "external-bean-archive-index-cache");
+
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int MAX_INDEXES = 64;
+    static final int RETENTION_DAYS = 30;
+
+    private final Path directory;
+    // Indexing statistics of all deployments
+    private final IndexStatistics statistics = new IndexStatistics();
+    // Most recently used indexes read or built by this server, by archive digest
+    private final Map<String, Index> indexes = Collections.synchronizedMap(new LinkedHashMap<String, Index>(16, 0.75f, true) {
+        private static final long serialVersionUID = 5263375484454542574L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Index> eldest) {
+            return this.size() > MAX_INDEXES;
+        }
+    });
+    // Avoids recomputing the digest of an unmodified archive
+    private final Map<File, ArchiveDigest> digests = new ConcurrentHashMap<>();
+    private volatile ExecutorService executor;
+
+    /**
+     * Creates an index cache that persists indexes within the specified directory.
+     * @param directory a directory, or null, if indexes should not be persisted
+     */
+    public ExternalBeanArchiveIndexCache(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void start(StartContext context) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), createThreadFactory());
+        // Indexing only happens during deployment, so do not retain idle threads
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+        if (this.directory != null) {
+            this.prune(Duration.ofDays(RETENTION_DAYS));
+        }
+    }
+
+    @Override
+    public void stop(StopContext context) {
+        ExecutorService executor = this.executor;
+        this.executor = null;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Returns the indexing statistics of all deployments since this server started.
+     * @return indexing statistics
+     */
+    public IndexStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    /**
+     * Deletes any persisted index files not used within the specified duration.
+     * The modification time of an index file is updated whenever it is read.
+     */
+    void prune(Duration retention) {
+        if (!Files.isDirectory(this.directory)) {
+            return;
+        }
+        FileTime threshold = FileTime.fromMillis(System.currentTimeMillis() - retention.toMillis());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+            for (Path file : files) {
+                try {
+                    if (Files.isRegularFile(file) && (Files.getLastModifiedTime(file).compareTo(threshold) < 0)) {
+                        Files.delete(file);
+                    }
+                } catch (IOException e) {
+                    WeldLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to delete unused index %s", file);
+                }
+            }
+        } catch (IOException e) {
+            WeldLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to prune unused indexes from %s", this.directory);
+        }
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        ThreadFactory factory = new JBossThreadFactory(new ThreadGroup("Weld Index ThreadGroup"), Boolean.TRUE, null, "Weld Index Thread -- %t", null, null);
+        return task -> {
+            Thread thread = factory.newThread(task);
+            // Make sure no deployment class loader leaks through the TCCL of these threads
+            if (WildFlySecurityManager.isChecking()) {
+                AccessController.doPrivileged(new PrivilegedAction<Void>() {
+                    @Override
+                    public Void run() {
+                        thread.setContextClassLoader(null);
+                        return null;
+                    }
+                });
+            } else {
+                thread.setContextClassLoader(null);
+            }
+            return thread;
+        };
+    }
+
+    /**
+     * Asynchronously returns the annotation index of the archive containing the specified beans.xml.
+     * @param beansXmlUrl the URL of the beans.xml of an external bean archive
+     * @param statistics the indexing statistics of the requesting deployment
+     * @return a future annotation index, whose value is null if the archive is not a jar file, could not be indexed, or if this service is not started
+     */
+    CompletableFuture<Index> getIndex(URL beansXmlUrl, IndexStatistics statistics) {
+        File archive = resolveArchive(beansXmlUrl);
+        ExecutorService executor = this.executor;
+        if ((archive == null) || (executor == null)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> this.getIndex(archive, statistics), executor);
+        } catch (RejectedExecutionException e) {
+            // Service was stopped concurrently
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private Index getIndex(File archive, IndexStatistics statistics) {
+        try {
+            String digest = this.digest(archive);
+            Index index = this.indexes.get(digest);
+            if (index == null) {
+                index = this.read(digest);
+                if (index == null) {
+                    index = this.index(archive, statistics);
+                    this.write(digest, index);
+                } else {
+                    this.reused(statistics);
+                }
+                Index existing = this.indexes.putIfAbsent(digest, index);
+                if (existing != null) {
+                    index = existing;
+                }
+            } else {
+                this.reused(statistics);
+            }
+            return index;
+        } catch (IOException e) {
+            WeldLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to index external bean archive %s", archive);
+            return null;
+        }
+    }
+
+    private Index index(File archive, IndexStatistics statistics) throws IOException {
+        long start = System.nanoTime();
+        Indexer indexer = new Indexer();
+        try (ZipFile zip = new ZipFile(archive)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.getName().endsWith(".class")) {
+                    try (InputStream input = zip.getInputStream(entry)) {
+                        indexer.index(input);
+                    } catch (IOException e) {
+                        WeldLogger.DEPLOYMENT_LOGGER.cannotIndexClassName(entry.getName(), archive);
+                    }
+                }
+            }
+        }
+        Index index = indexer.complete();
+        long nanos = System.nanoTime() - start;
+        statistics.indexed(nanos);
+        this.statistics.indexed(nanos);
+        return index;
+    }
+
+    private void reused(IndexStatistics statistics) {
+        statistics.reused.increment();
+        this.statistics.reused.increment();
+    }
+
+    private Index read(String digest) {
+        if (this.directory == null) {
+            return null;
+        }
+        Path file = this.directory.resolve(digest + INDEX_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream input = Files.newInputStream(file)) {
+            Index index = new IndexReader(input).read();
+            // Mark as used, so that this index is not pruned
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return index;
+        } catch (IOException | RuntimeException e) {
+            // e.g. truncated file or unsupported index version - will be overwritten
+            WeldLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to read cached index %s", file);
+            return null;
+        }
+    }
+
+    private void write(String digest, Index index) {
+        if (this.directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(this.directory);
+            // Write to a temporary file first, so that concurrent readers never observe a partially written index
+            Path temp = Files.createTempFile(this.directory, digest, ".tmp");
+            try {
+                try (OutputStream output = Files.newOutputStream(temp)) {
+                    new IndexWriter(output).write(index);
+                }
+                Files.move(temp, this.directory.resolve(digest + INDEX_SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            WeldLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to persist index of external bean archive to %s", this.directory);
+        }
+    }
+
+    private String digest(File archive) throws IOException {
+        long length = archive.length();
+        long lastModified = archive.lastModified();
+        ArchiveDigest digest = this.digests.get(archive);
+        if ((digest == null) || (digest.length != length) || (digest.lastModified != lastModified)) {
+            digest = new ArchiveDigest(length, lastModified, computeDigest(archive));
+            this.digests.put(archive, digest);
+        }
+        return digest.value;
+    }
+
+    private static String computeDigest(File archive) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream input = Files.newInputStream(archive.toPath())) {
+            int read = input.read(buffer);
+            while (read >= 0) {
+                digest.update(buffer, 0, read);
+                read = input.read(buffer);
+            }
+        }
+        byte[] bytes = digest.digest();
+        char[] result = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; ++i) {
+            result[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            result[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(result);
+    }
+
+    /**
+     * Resolves the jar file containing the specified beans.xml, using the same rules as {@link UrlScanner}.
+     * @return a jar file, or null, if the beans.xml is not located within a jar file
+     */
+    static File resolveArchive(URL beansXmlUrl) {
+        if (!"jar".equals(beansXmlUrl.getProtocol()) && !"file".equals(beansXmlUrl.getProtocol())) {
+            return null;
+        }
+        String path = beansXmlUrl.getPath();
+        int index = path.indexOf('!');
+        if (index <= 0) {
+            return null;
+        }
+        path = path.substring(0, index);
+        if (path.startsWith("file:")) {
+            path = path.substring(5);
+        }
+        try {
+            path = URLDecoder.decode(path, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        File file = new File(path);
+        return file.isFile() ? file : null;
+    }
+
+    /**
+     * Indexing statistics of a single deployment, or of all deployments.
+     */
+    public static class IndexStatistics {
+        final LongAdder reused = new LongAdder();
+        final LongAdder indexed = new LongAdder();
+        final LongAdder indexingNanos = new LongAdder();
+
+        void indexed(long nanos) {
+            this.indexed.increment();
+            this.indexingNanos.add(nanos);
+        }
+
+        /**
+         * Returns the number of archive indexes reused, either from memory or from the persistent cache.
+         */
+        public long getReusedCount() {
+            return this.reused.sum();
+        }
+
+        /**
+         * Returns the number of archives indexed.
+         */
+        public long getIndexedCount() {
+            return this.indexed.sum();
+        }
+
+        /**
+         * Returns the cumulative time spent indexing archives, in milliseconds.
+         */
+        public long getIndexingTime() {
+            return TimeUnit.NANOSECONDS.toMillis(this.indexingNanos.sum());
+        }
+    }
+
+    private static class ArchiveDigest {
+        final long length;
+        final long lastModified;
+        final String value;
+
+        ArchiveDigest(long length, long lastModified, String value) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.value = value;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 
 import org.jboss.as.ee.component.ComponentDescription;
@@ -96,6 +97,20 @@ public class ExternalBeanArchiveProcessor implements DeploymentUnitProcessor {
     private final String ALL_KNOWN_CLASSES = "ALL_KNOWN_CLASSES";
     private final String BEAN_CLASSES = "BEAN_CLASSES";
 
+    private final ExternalBeanArchiveIndexCache indexCache;
+
+    public ExternalBeanArchiveProcessor() {
+        this(null);
+    }
+
+    /**
+     * Creates a processor that obtains the annotation index of external bean archives with annotated discovery mode, but without a provided index, from the specified cache.
+     * @param indexCache an index cache, or null, if such archives should be indexed on every deployment
+     */
+    public ExternalBeanArchiveProcessor(ExternalBeanArchiveIndexCache indexCache) {
+        this.indexCache = indexCache;
+    }
+
     @Override
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
@@ -163,11 +178,15 @@ public class ExternalBeanArchiveProcessor implements DeploymentUnitProcessor {
         // This map is a cache that allows us to avoid repeated introspection of Module's exported resources
         // it is of little importance for small deployment, but makes a difference in massive ones, see WFLY-14055
         Map<String, Map<URL, URL>> exportedResourcesCache = new HashMap<>();
+        final ExternalBeanArchiveIndexCache.IndexStatistics indexStatistics = (this.indexCache != null) ? new ExternalBeanArchiveIndexCache.IndexStatistics() : null;
         for (DeploymentUnit deployment : deploymentUnits) {
             final Module module = deployment.getAttachment(Attachments.MODULE);
             if (module == null) {
                 return;
             }
+            // External bean archives of this deployment unit, grouped by dependency module
+            // Indexing of all archives is initiated before processing any of them, so that it proceeds concurrently
+            List<List<ExternalBeanArchive>> archiveGroups = new ArrayList<>();
             for (DependencySpec dep : module.getDependencies()) {
                 if (!(dep instanceof ModuleDependencySpec)) {
                     continue;
@@ -183,7 +202,7 @@ public class ExternalBeanArchiveProcessor implements DeploymentUnitProcessor {
                 }
                 Map<URL, URL> resourcesMap = findExportedResources(dependency, exportedResourcesCache);
                 if (!resourcesMap.isEmpty()) {
-                    List<BeanDeploymentArchiveImpl> moduleBdas = new ArrayList<>();
+                    List<ExternalBeanArchive> archives = new ArrayList<>();
                     for (Entry<URL,URL> entry : resourcesMap.entrySet()) {
                         URL beansXmlUrl = entry.getKey();
                         if (existing.contains(beansXmlUrl)) {
@@ -218,42 +237,57 @@ public class ExternalBeanArchiveProcessor implements DeploymentUnitProcessor {
                             continue;
                         }
 
-                        Map<String, List<String>> allAndBeanClasses = discover(beansXml.getBeanDiscoveryMode(), beansXmlUrl, entry.getValue(),
-                                beanDefiningAnnotations);
-                        Collection<String> discoveredBeanClasses = allAndBeanClasses.get(BEAN_CLASSES);
-                        Collection<String> allKnownClasses = allAndBeanClasses.get(ALL_KNOWN_CLASSES);
-                        if (discoveredBeanClasses == null) {
-                            // URL scanner probably does not understand the protocol
-                            continue;
-                        }
-                        discoveredBeanClasses.removeAll(componentClassNames);
+                        URL indexUrl = entry.getValue();
+                        CompletableFuture<Index> index = (this.indexCache != null) && (indexUrl == null) && BeanDiscoveryMode.ANNOTATED.equals(beansXml.getBeanDiscoveryMode()) ? this.indexCache.getIndex(beansXmlUrl, indexStatistics) : null;
+                        archives.add(new ExternalBeanArchive(deployment, module, dependency, beansXmlUrl, indexUrl, beansXml, index));
 
-                        final BeanDeploymentArchiveImpl bda = new BeanDeploymentArchiveImpl(new HashSet<String>(discoveredBeanClasses), new HashSet<String>(allKnownClasses), beansXml, dependency, beanArchiveIdPrefix + beansXmlUrl.toExternalForm(), BeanArchiveType.EXTERNAL);
-                        WeldLogger.DEPLOYMENT_LOGGER.beanArchiveDiscovered(bda);
+                        // make sure that if this beans.xml is seen by some other module, it is not processed twice
+                        existing.add(beansXmlUrl);
+                    }
+                    archiveGroups.add(archives);
+                }
+            }
 
-                        // Add module services to external bean deployment archive
-                        for (Entry<Class<? extends Service>, Service> moduleService : ServiceLoaders
-                                .loadModuleServices(moduleServicesProviders, deploymentUnit, deployment, module, null).entrySet()) {
-                            bda.getServices().add(moduleService.getKey(), Reflections.cast(moduleService.getValue()));
-                        }
+            for (List<ExternalBeanArchive> archives : archiveGroups) {
+                List<BeanDeploymentArchiveImpl> moduleBdas = new ArrayList<>();
+                for (ExternalBeanArchive archive : archives) {
+                    Index index = (archive.index != null) ? archive.index.join() : null;
+                    Map<String, List<String>> allAndBeanClasses = discover(archive.beansXml.getBeanDiscoveryMode(), archive.beansXmlUrl, archive.indexUrl, index,
+                            beanDefiningAnnotations);
+                    Collection<String> discoveredBeanClasses = allAndBeanClasses.get(BEAN_CLASSES);
+                    Collection<String> allKnownClasses = allAndBeanClasses.get(ALL_KNOWN_CLASSES);
+                    if (discoveredBeanClasses == null) {
+                        // URL scanner probably does not understand the protocol
+                        continue;
+                    }
+                    discoveredBeanClasses.removeAll(componentClassNames);
 
-                        deploymentUnit.addToAttachmentList(WeldAttachments.ADDITIONAL_BEAN_DEPLOYMENT_MODULES, bda);
-                        moduleBdas.add(bda);
+                    final BeanDeploymentArchiveImpl bda = new BeanDeploymentArchiveImpl(new HashSet<String>(discoveredBeanClasses), new HashSet<String>(allKnownClasses), archive.beansXml, archive.dependency, beanArchiveIdPrefix + archive.beansXmlUrl.toExternalForm(), BeanArchiveType.EXTERNAL);
+                    WeldLogger.DEPLOYMENT_LOGGER.beanArchiveDiscovered(bda);
 
-                        // make sure that if this beans.xml is seen by some other module, it is not processed twice
-                        existing.add(beansXmlUrl);
+                    // Add module services to external bean deployment archive
+                    for (Entry<Class<? extends Service>, Service> moduleService : ServiceLoaders
+                            .loadModuleServices(moduleServicesProviders, deploymentUnit, archive.deployment, archive.module, null).entrySet()) {
+                        bda.getServices().add(moduleService.getKey(), Reflections.cast(moduleService.getValue()));
                     }
-                    //BDA's from inside the same module have visibility on each other
-                    for(BeanDeploymentArchiveImpl i : moduleBdas) {
-                        for(BeanDeploymentArchiveImpl j : moduleBdas) {
-                            if(i != j) {
-                                i.addBeanDeploymentArchive(j);
-                            }
+
+                    deploymentUnit.addToAttachmentList(WeldAttachments.ADDITIONAL_BEAN_DEPLOYMENT_MODULES, bda);
+                    moduleBdas.add(bda);
+                }
+                //BDA's from inside the same module have visibility on each other
+                for(BeanDeploymentArchiveImpl i : moduleBdas) {
+                    for(BeanDeploymentArchiveImpl j : moduleBdas) {
+                        if(i != j) {
+                            i.addBeanDeploymentArchive(j);
                         }
                     }
                 }
             }
         }
+        if (indexStatistics != null) {
+            WeldLogger.DEPLOYMENT_LOGGER.debugf("%s reused %d and built %d external bean archive indexes, spending %d ms indexing", deploymentUnit.getName(),
+                    indexStatistics.getReusedCount(), indexStatistics.getIndexedCount(), indexStatistics.getIndexingTime());
+        }
     }
 
     /**
@@ -261,17 +295,18 @@ public class ExternalBeanArchiveProcessor implements DeploymentUnitProcessor {
      * @param beanDiscoveryMode
      * @param beansXmlUrl
      * @param indexUrl
+     * @param cachedIndex
      * @param beanDefiningAnnotations
      * @return the set of discovered bean classes or null if unable to handle the provided beans.xml url
      */
-    private Map<String, List<String>> discover(BeanDiscoveryMode beanDiscoveryMode, URL beansXmlUrl, URL indexUrl, Set<AnnotationType> beanDefiningAnnotations) {
+    private Map<String, List<String>> discover(BeanDiscoveryMode beanDiscoveryMode, URL beansXmlUrl, URL indexUrl, Index cachedIndex, Set<AnnotationType> beanDefiningAnnotations) {
         List<String> discoveredBeanClasses = new ArrayList<String>();
         List<String> allKnownClasses = new ArrayList<String>();
         BiConsumer<String, ClassFile> consumer;
 
         if (BeanDiscoveryMode.ANNOTATED.equals(beanDiscoveryMode)) {
             // We must only consider types with bean defining annotations
-            Index index = tryLoadIndex(indexUrl);
+            Index index = (cachedIndex != null) ? cachedIndex : tryLoadIndex(indexUrl);
             if (index != null) {
                 // Use the provided index to find ClassInfo
                 consumer = (name, classFile) -> {
@@ -396,4 +431,24 @@ public class ExternalBeanArchiveProcessor implements DeploymentUnitProcessor {
     private BeansXml parseBeansXml(URL beansXmlFile, BeansXmlParser parser, final DeploymentUnit deploymentUnit) throws DeploymentUnitProcessingException {
         return parser.parse(beansXmlFile);
     }
+
+    private static class ExternalBeanArchive {
+        final DeploymentUnit deployment;
+        final Module module;
+        final Module dependency;
+        final URL beansXmlUrl;
+        final URL indexUrl;
+        final BeansXml beansXml;
+        final CompletableFuture<Index> index;
+
+        ExternalBeanArchive(DeploymentUnit deployment, Module module, Module dependency, URL beansXmlUrl, URL indexUrl, BeansXml beansXml, CompletableFuture<Index> index) {
+            this.deployment = deployment;
+            this.module = module;
+            this.dependency = dependency;
+            this.beansXmlUrl = beansXmlUrl;
+            this.indexUrl = indexUrl;
+            this.beansXml = beansXml;
+            this.index = index;
+        }
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.weld.deployment.processors;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link ExternalBeanArchiveIndexCache}.
+ */
+public class ExternalBeanArchiveIndexCacheTestCase {
+
+    private static final DotName CLASS_NAME = DotName.createSimple(ExternalBeanArchiveIndexCacheTestCase.class.getName());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void cache() throws IOException {
+        URL beansXmlUrl = this.createArchive();
+        Path directory = this.folder.newFolder().toPath().resolve("index");
+
+        ExternalBeanArchiveIndexCache cache = new ExternalBeanArchiveIndexCache(directory);
+        cache.start(null);
+        ExternalBeanArchiveIndexCache.IndexStatistics statistics = new ExternalBeanArchiveIndexCache.IndexStatistics();
+        Index index = cache.getIndex(beansXmlUrl, statistics).join();
+
+        Assert.assertNotNull(index.getClassByName(CLASS_NAME));
+        Assert.assertEquals(0, statistics.getReusedCount());
+        Assert.assertEquals(1, statistics.getIndexedCount());
+        Assert.assertEquals(1, count(directory));
+
+        // Reused from memory
+        statistics = new ExternalBeanArchiveIndexCache.IndexStatistics();
+        Assert.assertSame(index, cache.getIndex(beansXmlUrl, statistics).join());
+        Assert.assertEquals(1, statistics.getReusedCount());
+        Assert.assertEquals(0, statistics.getIndexedCount());
+
+        // Statistics of all deployments
+        Assert.assertEquals(1, cache.getStatistics().getReusedCount());
+        Assert.assertEquals(1, cache.getStatistics().getIndexedCount());
+
+        // Archives other than jars are not indexed
+        Assert.assertNull(cache.getIndex(new URL("file:/META-INF/beans.xml"), statistics).join());
+
+        // Nothing is indexed once stopped
+        cache.stop(null);
+        Assert.assertNull(cache.getIndex(beansXmlUrl, statistics).join());
+
+        // Reused from disk, e.g. following a restart
+        cache = new ExternalBeanArchiveIndexCache(directory);
+        cache.start(null);
+        statistics = new ExternalBeanArchiveIndexCache.IndexStatistics();
+        index = cache.getIndex(beansXmlUrl, statistics).join();
+        cache.stop(null);
+        Assert.assertNotNull(index.getClassByName(CLASS_NAME));
+        Assert.assertEquals(1, statistics.getReusedCount());
+        Assert.assertEquals(0, statistics.getIndexedCount());
+        Assert.assertEquals(1, cache.getStatistics().getReusedCount());
+        Assert.assertEquals(0, cache.getStatistics().getIndexedCount());
+    }
+
+    @Test
+    public void corrupt() throws IOException {
+        URL beansXmlUrl = this.createArchive();
+        Path directory = this.folder.newFolder().toPath();
+
+        index(directory, beansXmlUrl, new ExternalBeanArchiveIndexCache.IndexStatistics());
+
+        try (Stream<Path> files = Files.list(directory)) {
+            Path file = files.findFirst().get();
+            Files.write(file, new byte[] { 1, 2, 3 });
+        }
+
+        // Corrupt index is ignored, and rebuilt
+        ExternalBeanArchiveIndexCache.IndexStatistics statistics = new ExternalBeanArchiveIndexCache.IndexStatistics();
+        Index index = index(directory, beansXmlUrl, statistics);
+        Assert.assertNotNull(index.getClassByName(CLASS_NAME));
+        Assert.assertEquals(0, statistics.getReusedCount());
+        Assert.assertEquals(1, statistics.getIndexedCount());
+
+        // Corrupt index was overwritten
+        statistics = new ExternalBeanArchiveIndexCache.IndexStatistics();
+        index(directory, beansXmlUrl, statistics);
+        Assert.assertEquals(1, statistics.getReusedCount());
+        Assert.assertEquals(0, statistics.getIndexedCount());
+    }
+
+    @Test
+    public void prune() throws IOException {
+        Path directory = this.folder.newFolder().toPath();
+        Path unused = Files.createFile(directory.resolve("unused.idx"));
+        Path used = Files.createFile(directory.resolve("used.idx"));
+        Files.setLastModifiedTime(unused, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(ExternalBeanArchiveIndexCache.RETENTION_DAYS + 1)));
+
+        ExternalBeanArchiveIndexCache cache = new ExternalBeanArchiveIndexCache(directory);
+        cache.start(null);
+        cache.stop(null);
+
+        Assert.assertFalse(Files.exists(unused));
+        Assert.assertTrue(Files.exists(used));
+    }
+
+    private static Index index(Path directory, URL beansXmlUrl, ExternalBeanArchiveIndexCache.IndexStatistics statistics) {
+        ExternalBeanArchiveIndexCache cache = new ExternalBeanArchiveIndexCache(directory);
+        cache.start(null);
+        try {
+            return cache.getIndex(beansXmlUrl, statistics).join();
+        } finally {
+            cache.stop(null);
+        }
+    }
+
+    private URL createArchive() throws IOException {
+        File archive = this.folder.newFile("test.jar");
+        String className = CLASS_NAME.toString().replace('.', '/') + ".class";
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(archive.toPath()))) {
+            output.putNextEntry(new ZipEntry("META-INF/beans.xml"));
+            output.closeEntry();
+            output.putNextEntry(new ZipEntry(className));
+            try (InputStream input = this.getClass().getClassLoader().getResourceAsStream(className)) {
+                copy(input, output);
+            }
+            output.closeEntry();
+        }
+        return new URL("jar:" + archive.toURI().toURL() + "!/META-INF/beans.xml");
+    }
+
+    private static void copy(InputStream input, OutputStream output) throws IOException {
+        byte[] buffer = new byte[8192];
+        int read = input.read(buffer);
+        while (read >= 0) {
+            output.write(buffer, 0, read);
+            read = input.read(buffer);
+        }
+    }
+
+    private static long count(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}